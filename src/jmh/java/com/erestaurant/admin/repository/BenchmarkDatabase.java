@@ -0,0 +1,104 @@
+package com.erestaurant.admin.repository;
+
+import com.erestaurant.admin.config.ApplicationProperties;
+import com.erestaurant.admin.config.DatabaseConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import java.util.List;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.r2dbc.dialect.R2dbcDialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.data.r2dbc.query.UpdateMapper;
+import org.springframework.data.relational.core.sql.render.RenderContextFactory;
+import org.springframework.data.relational.core.sql.render.SqlRenderer;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * An in-memory r2dbc-h2 database for the benchmarks, with the persistence beans wired like in
+ * {@link DatabaseConfiguration}, but without starting the application context.
+ */
+public class BenchmarkDatabase {
+
+    private final R2dbcDialect dialect = H2Dialect.INSTANCE;
+    private final DatabaseClient db;
+    private final R2dbcCustomConversions conversions;
+    private final MappingR2dbcConverter converter;
+    private final R2dbcEntityTemplate template;
+    private final EntityManager entityManager;
+
+    /**
+     * @param name the name of the database, each name is a separate database.
+     */
+    public BenchmarkDatabase(String name) {
+        this.db = DatabaseClient.create(ConnectionFactories.get("r2dbc:h2:mem:///" + name + ";DB_CLOSE_DELAY=-1"));
+        this.conversions =
+            R2dbcCustomConversions.of(
+                dialect,
+                List.of(DatabaseConfiguration.InstantWriteConverter.INSTANCE, DatabaseConfiguration.InstantReadConverter.INSTANCE)
+            );
+        R2dbcMappingContext mappingContext = new R2dbcMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        this.converter = new MappingR2dbcConverter(mappingContext, conversions);
+        this.template = new R2dbcEntityTemplate(db, dialect, converter);
+        this.entityManager =
+            new EntityManager(
+                SqlRenderer.create(new RenderContextFactory(dialect).createRenderContext()),
+                new UpdateMapper(dialect, converter),
+                template,
+                dialect,
+                new ApplicationProperties()
+            );
+    }
+
+    /**
+     * Runs the statements one after the other, e.g. to create the schema.
+     * @param statements the SQL statements.
+     */
+    public void execute(String... statements) {
+        for (String statement : statements) {
+            db.sql(statement).then().block();
+        }
+    }
+
+    /**
+     * Creates the tables of the {@code Ad} entity and of the users with their authorities.
+     */
+    public void createSchema() {
+        execute(
+            "CREATE TABLE IF NOT EXISTS ad (id VARCHAR(255) PRIMARY KEY, url VARCHAR(255) NOT NULL, description CLOB)",
+            "CREATE TABLE IF NOT EXISTS jhi_user (id VARCHAR(100) PRIMARY KEY, login VARCHAR(50) NOT NULL UNIQUE, " +
+            "first_name VARCHAR(50), last_name VARCHAR(50), email VARCHAR(191), image_url VARCHAR(256), " +
+            "activated BOOLEAN NOT NULL, lang_key VARCHAR(10), created_by VARCHAR(50) NOT NULL, created_date TIMESTAMP, " +
+            "last_modified_by VARCHAR(50), last_modified_date TIMESTAMP)",
+            "CREATE TABLE IF NOT EXISTS jhi_authority (name VARCHAR(50) PRIMARY KEY)",
+            "CREATE TABLE IF NOT EXISTS jhi_user_authority (user_id VARCHAR(100) NOT NULL, authority_name VARCHAR(50) NOT NULL, " +
+            "PRIMARY KEY (user_id, authority_name))"
+        );
+    }
+
+    public R2dbcDialect getDialect() {
+        return dialect;
+    }
+
+    public DatabaseClient getDatabaseClient() {
+        return db;
+    }
+
+    public R2dbcCustomConversions getConversions() {
+        return conversions;
+    }
+
+    public MappingR2dbcConverter getConverter() {
+        return converter;
+    }
+
+    public R2dbcEntityTemplate getTemplate() {
+        return template;
+    }
+
+    public EntityManager getEntityManager() {
+        return entityManager;
+    }
+}
@@ -0,0 +1,80 @@
+package com.erestaurant.admin.repository;
+
+import com.erestaurant.admin.domain.Ad;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.relational.core.sql.Conditions;
+import org.springframework.data.relational.core.sql.SQL;
+import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
+import org.springframework.data.relational.core.sql.Table;
+
+/**
+ * Benchmarks the rendering of the selects by {@link EntityManager#createSelect}, with and without the template cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EntityManagerBenchmark {
+
+    private static final Table entityTable = Table.aliased("ad", EntityManager.ENTITY_ALIAS);
+
+    private final Supplier<SelectFromAndJoin> selectFrom = () ->
+        Select.builder().select(AdSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS)).from(entityTable);
+
+    private final Pageable pageable = PageRequest.of(3, 20, Sort.by("url"));
+
+    private EntityManager entityManager;
+
+    @Setup
+    public void setup() {
+        entityManager = new BenchmarkDatabase("entity-manager-benchmark").getEntityManager();
+    }
+
+    @Benchmark
+    public String renderPagedSelect() {
+        return entityManager.createSelect(selectFrom.get(), Ad.class, pageable, null);
+    }
+
+    @Benchmark
+    public String cachedPagedSelect() {
+        return entityManager.createSelect("all", selectFrom, Ad.class, pageable, null);
+    }
+
+    @Benchmark
+    public String renderFindById() {
+        return entityManager.createSelect(
+            selectFrom.get(),
+            Ad.class,
+            null,
+            Conditions.isEqual(entityTable.column("id"), Conditions.just("ad-12345"))
+        );
+    }
+
+    @Benchmark
+    public String cachedFindById() {
+        return entityManager.createSelect(
+            "id",
+            selectFrom,
+            Ad.class,
+            null,
+            Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id"))
+        );
+    }
+}
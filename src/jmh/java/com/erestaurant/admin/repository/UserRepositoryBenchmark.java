@@ -0,0 +1,78 @@
+package com.erestaurant.admin.repository;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Benchmarks {@link UserRepositoryInternalImpl#findAllWithAuthorities(Pageable)} on 10k users with two authorities each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class UserRepositoryBenchmark {
+
+    private static final int USERS = 10_000;
+
+    @Param({ "20", "1000" })
+    private int pageSize;
+
+    private UserRepositoryInternalImpl userRepository;
+
+    private Pageable firstPage;
+
+    private Pageable lastPage;
+
+    @Setup
+    public void setup() {
+        BenchmarkDatabase database = new BenchmarkDatabase("user-repository-benchmark");
+        database.createSchema();
+        database.execute(
+            "DELETE FROM jhi_user_authority",
+            "DELETE FROM jhi_user",
+            "MERGE INTO jhi_authority KEY (name) VALUES ('ROLE_USER'), ('ROLE_ADMIN')",
+            "INSERT INTO jhi_user (id, login, first_name, last_name, email, activated, lang_key, created_by, created_date) " +
+            "SELECT 'user-' || X, 'user-' || X, 'first', 'last', 'user-' || X || '@localhost', TRUE, 'en', 'system', CURRENT_TIMESTAMP " +
+            "FROM SYSTEM_RANGE(1, " +
+            USERS +
+            ")",
+            "INSERT INTO jhi_user_authority (user_id, authority_name) SELECT id, 'ROLE_USER' FROM jhi_user",
+            "INSERT INTO jhi_user_authority (user_id, authority_name) SELECT id, 'ROLE_ADMIN' FROM jhi_user"
+        );
+        userRepository =
+            new UserRepositoryInternalImpl(
+                database.getDatabaseClient(),
+                database.getTemplate(),
+                database.getConverter(),
+                database.getEntityManager()
+            );
+        firstPage = PageRequest.of(0, pageSize, Sort.by("login"));
+        lastPage = PageRequest.of(USERS / pageSize - 1, pageSize, Sort.by("login"));
+    }
+
+    @Benchmark
+    public void findFirstPage(Blackhole blackhole) {
+        userRepository.findAllWithAuthorities(firstPage).doOnNext(blackhole::consume).then().block();
+    }
+
+    @Benchmark
+    public void findLastPage(Blackhole blackhole) {
+        userRepository.findAllWithAuthorities(lastPage).doOnNext(blackhole::consume).then().block();
+    }
+}
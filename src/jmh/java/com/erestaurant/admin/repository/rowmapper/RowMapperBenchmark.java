@@ -0,0 +1,82 @@
+package com.erestaurant.admin.repository.rowmapper;
+
+import com.erestaurant.admin.domain.Ad;
+import com.erestaurant.admin.repository.BenchmarkDatabase;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Benchmarks a scan of 100k rows mapped with {@link AdRowMapper}, against the former mapping by column name through
+ * {@link ColumnConverter#fromRow}. The results are per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class RowMapperBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    private static final String SELECT = "SELECT e.id AS e_id, e.url AS e_url, e.description AS e_description FROM ad e";
+
+    private DatabaseClient db;
+
+    private ColumnConverter columnConverter;
+
+    private AdRowMapper adRowMapper;
+
+    @Setup
+    public void setup() {
+        BenchmarkDatabase database = new BenchmarkDatabase("row-mapper-benchmark");
+        database.createSchema();
+        database.execute(
+            "DELETE FROM ad",
+            "INSERT INTO ad (id, url, description) SELECT 'ad-' || X, 'https://example.com/ads/' || X, 'Ad number ' || X " +
+            "FROM SYSTEM_RANGE(1, " +
+            ROWS +
+            ")"
+        );
+        db = database.getDatabaseClient();
+        columnConverter = new ColumnConverter(database.getConversions(), database.getConverter());
+        adRowMapper = new AdRowMapper(columnConverter);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void readByIndex(Blackhole blackhole) {
+        db.sql(SELECT).map((row, metadata) -> adRowMapper.apply(row, metadata, "e")).all().doOnNext(blackhole::consume).then().block();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void readByName(Blackhole blackhole) {
+        String prefix = "e";
+        db
+            .sql(SELECT)
+            .map(row -> {
+                Ad entity = new Ad();
+                entity.setId(columnConverter.fromRow(row, prefix + "_id", String.class));
+                entity.setUrl(columnConverter.fromRow(row, prefix + "_url", String.class));
+                entity.setDescription(columnConverter.fromRow(row, prefix + "_description", String.class));
+                return entity;
+            })
+            .all()
+            .doOnNext(blackhole::consume)
+            .then()
+            .block();
+    }
+}
@@ -0,0 +1,86 @@
+package com.erestaurant.admin.service.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Benchmarks the Jackson serialization of the DTOs, with the modules of {@code JacksonConfiguration}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DtoSerializationBenchmark {
+
+    private static final int LIST_SIZE = 1000;
+
+    private static final TypeReference<List<AdDTO>> AD_LIST = new TypeReference<>() {};
+
+    private ObjectMapper objectMapper;
+
+    private List<AdDTO> ads;
+
+    private List<DiscountDTO> discounts;
+
+    private String adsJson;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().modules(new JavaTimeModule(), new Jdk8Module()).build();
+        ads = IntStream.range(0, LIST_SIZE).mapToObj(DtoSerializationBenchmark::createAd).collect(Collectors.toList());
+        discounts = IntStream.range(0, LIST_SIZE).mapToObj(DtoSerializationBenchmark::createDiscount).collect(Collectors.toList());
+        adsJson = objectMapper.writeValueAsString(ads);
+    }
+
+    private static AdDTO createAd(int i) {
+        AdDTO ad = new AdDTO();
+        ad.setId("ad-" + i);
+        ad.setUrl("https://example.com/ads/" + i);
+        ad.setDescription("Ad number " + i);
+        return ad;
+    }
+
+    private static DiscountDTO createDiscount(int i) {
+        DiscountDTO discount = new DiscountDTO();
+        discount.setId("discount-" + i);
+        discount.setCode("CODE" + i);
+        discount.setDescription("Discount " + i);
+        discount.setPercentage(10f);
+        return discount;
+    }
+
+    @Benchmark
+    public byte[] serializeAds() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ads);
+    }
+
+    @Benchmark
+    public byte[] serializeDiscounts() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(discounts);
+    }
+
+    @Benchmark
+    public List<AdDTO> deserializeAds() throws JsonProcessingException {
+        return objectMapper.readValue(adsJson, AD_LIST);
+    }
+}
@@ -0,0 +1,82 @@
+package com.erestaurant.admin.service.mapper;
+
+import com.erestaurant.admin.domain.Ad;
+import com.erestaurant.admin.domain.Discount;
+import com.erestaurant.admin.service.dto.AdDTO;
+import com.erestaurant.admin.service.dto.DiscountDTO;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the MapStruct generated mappers between the entities and their DTOs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MapperBenchmark {
+
+    private static final int LIST_SIZE = 1000;
+
+    private final AdMapper adMapper = new AdMapperImpl();
+
+    private final DiscountMapper discountMapper = new DiscountMapperImpl();
+
+    private Ad ad;
+
+    private AdDTO adDTO;
+
+    private List<Ad> ads;
+
+    private List<Discount> discounts;
+
+    @Setup
+    public void setup() {
+        ads = IntStream.range(0, LIST_SIZE).mapToObj(MapperBenchmark::createAd).collect(Collectors.toList());
+        discounts =
+            IntStream
+                .range(0, LIST_SIZE)
+                .mapToObj(i -> new Discount().id("discount-" + i).code("CODE" + i).description("Discount " + i).percentage(10f))
+                .collect(Collectors.toList());
+        ad = ads.get(0);
+        adDTO = adMapper.toDto(ad);
+    }
+
+    private static Ad createAd(int i) {
+        return new Ad().id("ad-" + i).url("https://example.com/ads/" + i).description("Ad number " + i);
+    }
+
+    @Benchmark
+    public AdDTO adToDto() {
+        return adMapper.toDto(ad);
+    }
+
+    @Benchmark
+    public Ad adToEntity() {
+        return adMapper.toEntity(adDTO);
+    }
+
+    @Benchmark
+    public List<AdDTO> adListToDto() {
+        return adMapper.toDto(ads);
+    }
+
+    @Benchmark
+    public List<DiscountDTO> discountListToDto() {
+        return discountMapper.toDto(discounts);
+    }
+}
@@ -0,0 +1,164 @@
+package com.erestaurant.admin.web.rest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Open model load generator: the requests are started at a fixed arrival rate, whatever the response times, and each
+ * request picks an endpoint according to its weight.
+ * <p>
+ * The latency of a request is measured from the time it was due to start, so that a backlog caused by a slow server
+ * shows in the percentiles instead of lowering the arrival rate.
+ */
+public class LoadGenerator {
+
+    private static final Duration TICK = Duration.ofMillis(5);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final int MAX_IN_FLIGHT = 4096;
+
+    private final WebClient webClient;
+
+    private final List<Endpoint> endpoints = new ArrayList<>();
+
+    private int totalWeight;
+
+    public LoadGenerator(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    /**
+     * Adds an endpoint to the workload.
+     *
+     * @param name the name of the endpoint in the report, e.g. {@code GET /api/ads}.
+     * @param weight the relative share of the requests sent to this endpoint.
+     * @param request creates a request to this endpoint.
+     * @return this generator.
+     */
+    public LoadGenerator endpoint(String name, int weight, Function<WebClient, WebClient.RequestHeadersSpec<?>> request) {
+        endpoints.add(new Endpoint(name, weight, request));
+        totalWeight += weight;
+        return this;
+    }
+
+    /**
+     * Runs the workload and returns the statistics of the requests started after the warmup.
+     *
+     * @param rate the number of requests started per second.
+     * @param warmup the duration of the warmup, whose requests are not recorded.
+     * @param duration the duration of the measurement.
+     * @return the report of the measurement.
+     */
+    public LoadTestReport run(int rate, Duration warmup, Duration duration) {
+        if (endpoints.isEmpty()) {
+            throw new IllegalStateException("No endpoint to load");
+        }
+        endpoints.forEach(Endpoint::reset);
+        long periodNanos = Duration.ofSeconds(1).toNanos() / rate;
+        long warmupRequests = warmup.toNanos() / periodNanos;
+        long totalRequests = warmupRequests + duration.toNanos() / periodNanos;
+        AtomicLong issued = new AtomicLong();
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+
+        Flux
+            .interval(TICK)
+            .onBackpressureDrop()
+            .concatMapIterable(tick -> due(issued, (System.nanoTime() - start) / periodNanos + 1, totalRequests))
+            .take(totalRequests)
+            .flatMap(
+                sequence -> {
+                    Endpoint endpoint = pickEndpoint();
+                    long scheduled = start + sequence * periodNanos;
+                    return send(endpoint).doOnNext(status -> {
+                        if (sequence >= warmupRequests) {
+                            endpoint.record(System.nanoTime() - scheduled, status);
+                        }
+                    });
+                },
+                MAX_IN_FLIGHT
+            )
+            .blockLast();
+
+        List<LoadTestReport.EndpointReport> reports = endpoints
+            .stream()
+            .map(endpoint -> endpoint.report(duration))
+            .collect(Collectors.toList());
+        return new LoadTestReport(startedAt, rate, duration, reports);
+    }
+
+    private static List<Long> due(AtomicLong issued, long due, long total) {
+        long from = issued.get();
+        long to = Math.min(due, total);
+        if (to <= from) {
+            return Collections.emptyList();
+        }
+        issued.set(to);
+        return LongStream.range(from, to).boxed().collect(Collectors.toList());
+    }
+
+    private Endpoint pickEndpoint() {
+        int value = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Endpoint endpoint : endpoints) {
+            value -= endpoint.weight;
+            if (value < 0) {
+                return endpoint;
+            }
+        }
+        return endpoints.get(endpoints.size() - 1);
+    }
+
+    private Mono<Integer> send(Endpoint endpoint) {
+        return Mono
+            .defer(() ->
+                endpoint.request.apply(webClient).exchangeToMono(response -> response.releaseBody().thenReturn(response.rawStatusCode()))
+            )
+            .timeout(REQUEST_TIMEOUT)
+            .onErrorReturn(LoadTestReport.NO_RESPONSE);
+    }
+
+    private static class Endpoint {
+
+        private final String name;
+
+        private final int weight;
+
+        private final Function<WebClient, WebClient.RequestHeadersSpec<?>> request;
+
+        private final List<Long> latencies = new ArrayList<>();
+
+        private final List<Integer> statuses = new ArrayList<>();
+
+        Endpoint(String name, int weight, Function<WebClient, WebClient.RequestHeadersSpec<?>> request) {
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+        }
+
+        synchronized void reset() {
+            latencies.clear();
+            statuses.clear();
+        }
+
+        synchronized void record(long latencyNanos, int status) {
+            latencies.add(latencyNanos);
+            statuses.add(status);
+        }
+
+        synchronized LoadTestReport.EndpointReport report(Duration duration) {
+            return LoadTestReport.EndpointReport.of(name, weight, latencies, statuses, duration);
+        }
+    }
+}
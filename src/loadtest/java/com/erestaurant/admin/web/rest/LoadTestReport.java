@@ -0,0 +1,222 @@
+package com.erestaurant.admin.web.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Machine-readable result of a {@link LoadGenerator} run, written as JSON so that the runs of two versions can be diffed.
+ */
+public class LoadTestReport {
+
+    /**
+     * Status recorded for the requests without response, because of a connection error or a timeout.
+     */
+    public static final int NO_RESPONSE = 0;
+
+    private String label;
+
+    private final String startedAt;
+
+    private final int rate;
+
+    private final long durationSeconds;
+
+    private final List<EndpointReport> endpoints;
+
+    public LoadTestReport(Instant startedAt, int rate, Duration duration, List<EndpointReport> endpoints) {
+        this.startedAt = startedAt.toString();
+        this.rate = rate;
+        this.durationSeconds = duration.getSeconds();
+        this.endpoints = endpoints;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public String getStartedAt() {
+        return startedAt;
+    }
+
+    public int getRate() {
+        return rate;
+    }
+
+    public long getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public List<EndpointReport> getEndpoints() {
+        return endpoints;
+    }
+
+    public long getRequests() {
+        return endpoints.stream().mapToLong(EndpointReport::getRequests).sum();
+    }
+
+    public long getErrors() {
+        return endpoints.stream().mapToLong(EndpointReport::getErrors).sum();
+    }
+
+    /**
+     * Writes this report as indented JSON, creating the parent directories if needed.
+     *
+     * @param file the file to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public void writeTo(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), this);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(
+            String.format("%-40s %10s %8s %10s %10s %10s%n", "endpoint", "requests", "errors", "p50 (ms)", "p99 (ms)", "max (ms)")
+        );
+        for (EndpointReport endpoint : endpoints) {
+            builder.append(
+                String.format(
+                    "%-40s %10d %8d %10.2f %10.2f %10.2f%n",
+                    endpoint.getName(),
+                    endpoint.getRequests(),
+                    endpoint.getErrors(),
+                    endpoint.getP50Millis(),
+                    endpoint.getP99Millis(),
+                    endpoint.getMaxMillis()
+                )
+            );
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Statistics of one endpoint: the error count includes the responses with a 4xx or 5xx status and the requests
+     * without response.
+     */
+    public static class EndpointReport {
+
+        private final String name;
+
+        private final int weight;
+
+        private final long requests;
+
+        private final long errors;
+
+        private final double throughput;
+
+        private final double p50Millis;
+
+        private final double p99Millis;
+
+        private final double maxMillis;
+
+        private final Map<Integer, Long> statuses;
+
+        private EndpointReport(
+            String name,
+            int weight,
+            long requests,
+            long errors,
+            double throughput,
+            double p50Millis,
+            double p99Millis,
+            double maxMillis,
+            Map<Integer, Long> statuses
+        ) {
+            this.name = name;
+            this.weight = weight;
+            this.requests = requests;
+            this.errors = errors;
+            this.throughput = throughput;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+            this.maxMillis = maxMillis;
+            this.statuses = statuses;
+        }
+
+        static EndpointReport of(String name, int weight, List<Long> latencies, List<Integer> statuses, Duration duration) {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            Map<Integer, Long> statusCounts = new TreeMap<>();
+            statuses.forEach(status -> statusCounts.merge(status, 1L, Long::sum));
+            long errors = statuses.stream().filter(status -> status == NO_RESPONSE || status >= 400).count();
+            return new EndpointReport(
+                name,
+                weight,
+                sorted.length,
+                errors,
+                sorted.length / (double) duration.getSeconds(),
+                percentile(sorted, 0.50),
+                percentile(sorted, 0.99),
+                sorted.length == 0 ? 0 : toMillis(sorted[sorted.length - 1]),
+                statusCounts
+            );
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile * sorted.length);
+            return toMillis(sorted[Math.max(rank, 1) - 1]);
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / 1_000_000d;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public double getThroughput() {
+            return throughput;
+        }
+
+        public double getP50Millis() {
+            return p50Millis;
+        }
+
+        public double getP99Millis() {
+            return p99Millis;
+        }
+
+        public double getMaxMillis() {
+            return maxMillis;
+        }
+
+        public Map<Integer, Long> getStatuses() {
+            return statuses;
+        }
+    }
+}
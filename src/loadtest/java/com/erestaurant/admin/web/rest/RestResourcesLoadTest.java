@@ -0,0 +1,212 @@
+package com.erestaurant.admin.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import com.erestaurant.admin.ERestaurantAdminApp;
+import com.erestaurant.admin.ReactiveSqlTestContainerExtension;
+import com.erestaurant.admin.config.TestSecurityConfiguration;
+import com.erestaurant.admin.domain.Ad;
+import com.erestaurant.admin.domain.AppUser;
+import com.erestaurant.admin.domain.Discount;
+import com.erestaurant.admin.repository.AdRepository;
+import com.erestaurant.admin.repository.AppUserRepository;
+import com.erestaurant.admin.repository.DiscountRepository;
+import com.erestaurant.admin.repository.EntityManager;
+import com.erestaurant.admin.repository.UserRepository;
+import com.erestaurant.admin.security.AuthoritiesConstants;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Load test of the {@link AdResource}, {@link AppUserResource}, {@link DiscountResource} and {@link PublicUserResource}
+ * REST controllers, through the HTTP server and the security filter chain, with the bearer tokens decoded by the mock
+ * decoder of {@link TestSecurityConfiguration}.
+ * <p>
+ * The workload mixes reads and writes at a fixed arrival rate, and the report is written as JSON. It is configured with
+ * the system properties:
+ * <ul>
+ *     <li>{@code loadtest.rate}: the number of requests per second, 200 by default.</li>
+ *     <li>{@code loadtest.warmup}: the duration of the warmup, 10 seconds by default.</li>
+ *     <li>{@code loadtest.duration}: the duration of the measurement, 30 seconds by default.</li>
+ *     <li>{@code loadtest.label}: the label of the report, e.g. the version under test.</li>
+ *     <li>{@code loadtest.report}: the report file, {@code target/load-test/report.json} by default.</li>
+ *     <li>{@code loadtest.max-error-rate}: the error rate above which the test fails, 0.01 by default.</li>
+ * </ul>
+ */
+@SpringBootTest(
+    classes = { ERestaurantAdminApp.class, TestSecurityConfiguration.class },
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT
+)
+@ExtendWith(ReactiveSqlTestContainerExtension.class)
+class RestResourcesLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RestResourcesLoadTest.class);
+
+    private static final int ENTITIES = 200;
+
+    private static final String TOKEN = "load-test-token";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ReactiveJwtDecoder jwtDecoder;
+
+    @Autowired
+    private AdRepository adRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private DiscountRepository discountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private List<String> adIds;
+
+    private List<String> appUserIds;
+
+    private List<String> discountIds;
+
+    @BeforeEach
+    public void setup() {
+        Instant now = Instant.now();
+        Jwt jwt = Jwt
+            .withTokenValue(TOKEN)
+            .header("alg", "none")
+            .subject("load-test")
+            .claim("preferred_username", "load-test")
+            .claim("groups", List.of(AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER))
+            .issuedAt(now)
+            .expiresAt(now.plus(Duration.ofDays(1)))
+            .build();
+        when(jwtDecoder.decode(anyString())).thenReturn(Mono.just(jwt));
+
+        deleteEntities();
+        adIds =
+            saveAll(i ->
+                adRepository.save(AdResourceIT.createEntity(em).id("load-test-ad-" + i).description("Ad " + i)).map(Ad::getId)
+            );
+        appUserIds =
+            saveAll(i ->
+                appUserRepository
+                    .save(AppUserResourceIT.createEntity(em).id("load-test-app-user-" + i).name("App user " + i))
+                    .map(AppUser::getId)
+            );
+        discountIds =
+            saveAll(i ->
+                discountRepository
+                    .save(DiscountResourceIT.createEntity(em).id("load-test-discount-" + i).code("CODE" + i))
+                    .map(Discount::getId)
+            );
+        Flux.range(0, ENTITIES).concatMap(i -> userRepository.save(UserResourceIT.createEntity(em))).blockLast();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        deleteEntities();
+    }
+
+    private void deleteEntities() {
+        AdResourceIT.deleteEntities(em);
+        AppUserResourceIT.deleteEntities(em);
+        DiscountResourceIT.deleteEntities(em);
+        UserResourceIT.deleteEntities(em);
+    }
+
+    private static List<String> saveAll(IntFunction<Mono<String>> save) {
+        return Flux.range(0, ENTITIES).concatMap(save::apply).collectList().block();
+    }
+
+    @Test
+    void loadRestResources() throws Exception {
+        int rate = Integer.getInteger("loadtest.rate", 200);
+        Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+        Path reportFile = Paths.get(System.getProperty("loadtest.report", "target/load-test/report.json"));
+        double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+
+        WebClient webClient = WebClient
+            .builder()
+            .baseUrl("http://localhost:" + port)
+            .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN)
+            .build();
+
+        LoadTestReport report = new LoadGenerator(webClient)
+            .endpoint("GET /api/ads?cursor", 12, client -> client.get().uri("/api/ads?cursor=&size=20"))
+            .endpoint("GET /api/ads/{id}", 12, client -> client.get().uri("/api/ads/{id}", pick(adIds)))
+            .endpoint("PUT /api/ads/{id}", 4, client -> updateAd(client, pick(adIds)))
+            .endpoint("GET /api/app-users?cursor", 8, client -> client.get().uri("/api/app-users?cursor=&size=20"))
+            .endpoint("GET /api/app-users/{id}", 10, client -> client.get().uri("/api/app-users/{id}", pick(appUserIds)))
+            .endpoint("PATCH /api/app-users/{id}", 4, client -> patchAppUser(client, pick(appUserIds)))
+            .endpoint("GET /api/discounts?cursor", 8, client -> client.get().uri("/api/discounts?cursor=&size=20"))
+            .endpoint("GET /api/discounts/{id}", 12, client -> client.get().uri("/api/discounts/{id}", pick(discountIds)))
+            .endpoint("PUT /api/discounts/{id}", 4, client -> updateDiscount(client, pick(discountIds)))
+            .endpoint("GET /api/users", 8, client -> client.get().uri("/api/users?page=0&size=20"))
+            .endpoint("GET /api/authorities", 2, client -> client.get().uri("/api/authorities"))
+            .run(rate, warmup, duration);
+        report.setLabel(System.getProperty("loadtest.label", "local"));
+        report.writeTo(reportFile);
+        log.info("Load test report written to {}:\n{}", reportFile.toAbsolutePath(), report);
+
+        assertThat(report.getRequests()).isPositive();
+        assertThat(report.getErrors()).isLessThanOrEqualTo((long) (report.getRequests() * maxErrorRate));
+    }
+
+    private static String pick(List<String> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private static WebClient.RequestHeadersSpec<?> updateAd(WebClient client, String id) {
+        return client
+            .put()
+            .uri("/api/ads/{id}", id)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(Map.of("id", id, "url", "https://example.com/ads/" + id, "description", "Updated " + Instant.now()));
+    }
+
+    private static WebClient.RequestHeadersSpec<?> patchAppUser(WebClient client, String id) {
+        return client
+            .patch()
+            .uri("/api/app-users/{id}", id)
+            .contentType(MediaType.valueOf("application/merge-patch+json"))
+            .bodyValue(Map.of("id", id, "description", "Updated " + Instant.now()));
+    }
+
+    private static WebClient.RequestHeadersSpec<?> updateDiscount(WebClient client, String id) {
+        return client
+            .put()
+            .uri("/api/discounts/{id}", id)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(Map.of("id", id, "code", "CODE-" + id, "description", "Updated " + Instant.now(), "percentage", 10));
+    }
+}
@@ -1,5 +1,8 @@
 package com.erestaurant.admin.config;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -9,4 +12,511 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Cache cache = new Cache();
+
+    private final EntityChange entityChange = new EntityChange();
+
+    private final Bulk bulk = new Bulk();
+
+    private final UserSync userSync = new UserSync();
+
+    private final Export export = new Export();
+
+    private final Pagination pagination = new Pagination();
+
+    private final Count count = new Count();
+
+    private final Blob blob = new Blob();
+
+    private final Thumbnail thumbnail = new Thumbnail();
+
+    private final ChangeFeed changeFeed = new ChangeFeed();
+
+    private final KafkaSse kafkaSse = new KafkaSse();
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public EntityChange getEntityChange() {
+        return entityChange;
+    }
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public UserSync getUserSync() {
+        return userSync;
+    }
+
+    public Export getExport() {
+        return export;
+    }
+
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    public Count getCount() {
+        return count;
+    }
+
+    public Blob getBlob() {
+        return blob;
+    }
+
+    public Thumbnail getThumbnail() {
+        return thumbnail;
+    }
+
+    public ChangeFeed getChangeFeed() {
+        return changeFeed;
+    }
+
+    public KafkaSse getKafkaSse() {
+        return kafkaSse;
+    }
+
+    public static class Cache {
+
+        private boolean enabled = true;
+
+        private final Entity defaults = new Entity(1000L, Duration.ofHours(1));
+
+        private final Map<String, Entity> entities = new HashMap<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Entity getDefaults() {
+            return defaults;
+        }
+
+        /**
+         * @return the per entity overrides, keyed by entity type, e.g. {@code app-discount}.
+         */
+        public Map<String, Entity> getEntities() {
+            return entities;
+        }
+
+        /**
+         * @param entityType the entity type.
+         * @return the maximum number of cached entries for the entity type.
+         */
+        public long getMaxSize(String entityType) {
+            Entity entity = entities.get(entityType);
+            return entity != null && entity.getMaxSize() != null ? entity.getMaxSize() : defaults.getMaxSize();
+        }
+
+        /**
+         * @param entityType the entity type.
+         * @return how long an entry of the entity type is cached after it was loaded.
+         */
+        public Duration getTimeToLive(String entityType) {
+            Entity entity = entities.get(entityType);
+            return entity != null && entity.getTimeToLive() != null ? entity.getTimeToLive() : defaults.getTimeToLive();
+        }
+
+        public static class Entity {
+
+            private Long maxSize;
+
+            private Duration timeToLive;
+
+            public Entity() {}
+
+            Entity(Long maxSize, Duration timeToLive) {
+                this.maxSize = maxSize;
+                this.timeToLive = timeToLive;
+            }
+
+            public Long getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(Long maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+        }
+    }
+
+    public static class EntityChange {
+
+        private int batchSize = 100;
+
+        private Duration batchDelay = Duration.ofMillis(500);
+
+        /**
+         * @return the maximum number of entity changes sent to the other instances in one message.
+         */
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        /**
+         * @return how long an entity change may wait for a batch to fill up before it is sent.
+         */
+        public Duration getBatchDelay() {
+            return batchDelay;
+        }
+
+        public void setBatchDelay(Duration batchDelay) {
+            this.batchDelay = batchDelay;
+        }
+    }
+
+    public static class Bulk {
+
+        private int chunkSize = 500;
+
+        private int maxOperations = 10000;
+
+        /**
+         * @return the maximum number of rows written by one batched statement.
+         */
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        /**
+         * @return the maximum number of operations of one bulk request.
+         */
+        public int getMaxOperations() {
+            return maxOperations;
+        }
+
+        public void setMaxOperations(int maxOperations) {
+            this.maxOperations = maxOperations;
+        }
+    }
+
+    public static class UserSync {
+
+        private boolean enabled = true;
+
+        private long maxSize = 10000;
+
+        private Duration timeToLive = Duration.ofMinutes(10);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return the maximum number of users whose last synchronized IdP data is remembered.
+         */
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        /**
+         * @return how long the login of a user skips the synchronization with the IdP data, if that data did not change.
+         */
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+
+    public static class Export {
+
+        private int chunkSize = 1000;
+
+        /**
+         * @return the number of rows fetched by each query of an export, which bounds the rows held in memory.
+         */
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class Pagination {
+
+        private int maxPageSize = 100;
+
+        private long approximateCountThreshold = 100000;
+
+        /**
+         * @return the maximum size of a page, larger requested sizes are reduced to it.
+         */
+        public int getMaxPageSize() {
+            return maxPageSize;
+        }
+
+        public void setMaxPageSize(int maxPageSize) {
+            this.maxPageSize = maxPageSize;
+        }
+
+        /**
+         * @return the estimated number of rows above which a table is counted with the estimate of the database
+         * statistics instead of a {@code COUNT(*)}, or 0 to always count exactly.
+         */
+        public long getApproximateCountThreshold() {
+            return approximateCountThreshold;
+        }
+
+        public void setApproximateCountThreshold(long approximateCountThreshold) {
+            this.approximateCountThreshold = approximateCountThreshold;
+        }
+    }
+
+    public static class Count {
+
+        /**
+         * How the row counts of the tables are queried.
+         */
+        public enum Mode {
+            /**
+             * With a {@code COUNT(*)}.
+             */
+            EXACT,
+            /**
+             * From the database statistics for the tables larger than
+             * {@code application.pagination.approximate-count-threshold}, with a {@code COUNT(*)} for the others.
+             */
+            ESTIMATED,
+        }
+
+        private boolean enabled = true;
+
+        private Mode mode = Mode.ESTIMATED;
+
+        private Duration reconcileInterval = Duration.ofMinutes(5);
+
+        /**
+         * @return true if the row counts are kept in memory, false to query them on every request.
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+
+        /**
+         * @return the interval at which the row counts kept in memory are queried again from the database.
+         */
+        public Duration getReconcileInterval() {
+            return reconcileInterval;
+        }
+
+        public void setReconcileInterval(Duration reconcileInterval) {
+            this.reconcileInterval = reconcileInterval;
+        }
+    }
+
+    public static class Blob {
+
+        private String directory = "data/blobs";
+
+        /**
+         * @return the directory of the file system blob store, relative to the working directory or absolute.
+         */
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+    }
+
+    public static class Thumbnail {
+
+        private int size = 128;
+
+        private int workers = 2;
+
+        private int queueSize = 100;
+
+        private long maxPixels = 40_000_000L;
+
+        /**
+         * @return the width and height the thumbnails fit in, in pixels.
+         */
+        public int getSize() {
+            return size;
+        }
+
+        public void setSize(int size) {
+            this.size = size;
+        }
+
+        /**
+         * @return the number of threads decoding the images and encoding the thumbnails.
+         */
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        /**
+         * @return the number of images waiting for a worker, beyond which the thumbnails are left to the backfill.
+         */
+        public int getQueueSize() {
+            return queueSize;
+        }
+
+        public void setQueueSize(int queueSize) {
+            this.queueSize = queueSize;
+        }
+
+        /**
+         * @return the largest image decoded, in pixels, the larger images get no thumbnail.
+         */
+        public long getMaxPixels() {
+            return maxPixels;
+        }
+
+        public void setMaxPixels(long maxPixels) {
+            this.maxPixels = maxPixels;
+        }
+    }
+
+    public static class ChangeFeed {
+
+        private int historySize = 1000;
+
+        private int maxPending = 256;
+
+        private Duration heartbeat = Duration.ofSeconds(15);
+
+        /**
+         * @return the number of the last changes of an entity type replayed to the clients resuming with a
+         * {@code Last-Event-ID}.
+         */
+        public int getHistorySize() {
+            return historySize;
+        }
+
+        public void setHistorySize(int historySize) {
+            this.historySize = historySize;
+        }
+
+        /**
+         * @return the number of changes waiting to be sent to a client, beyond which the client is disconnected.
+         */
+        public int getMaxPending() {
+            return maxPending;
+        }
+
+        public void setMaxPending(int maxPending) {
+            this.maxPending = maxPending;
+        }
+
+        /**
+         * @return the interval of the comments sent to the clients, so that the idle connections are not closed.
+         */
+        public Duration getHeartbeat() {
+            return heartbeat;
+        }
+
+        public void setHeartbeat(Duration heartbeat) {
+            this.heartbeat = heartbeat;
+        }
+    }
+
+    public static class KafkaSse {
+
+        /**
+         * What happens to a client whose buffer is full.
+         */
+        public enum OverflowPolicy {
+            /**
+             * The oldest message of the buffer is dropped.
+             */
+            DROP_OLDEST,
+            /**
+             * The client is disconnected once it got the messages of its buffer.
+             */
+            DISCONNECT,
+        }
+
+        private int bufferSize = 256;
+
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+
+        private Duration heartbeat = Duration.ofSeconds(15);
+
+        /**
+         * @return the number of messages waiting to be sent to a client.
+         */
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        /**
+         * @return the interval of the comments sent to the clients, so that the idle connections are not closed.
+         */
+        public Duration getHeartbeat() {
+            return heartbeat;
+        }
+
+        public void setHeartbeat(Duration heartbeat) {
+            this.heartbeat = heartbeat;
+        }
+    }
+}
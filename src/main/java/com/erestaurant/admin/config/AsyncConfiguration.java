@@ -18,7 +18,7 @@ import tech.jhipster.async.ExceptionHandlingAsyncTaskExecutor;
 @Configuration
 @EnableAsync
 @EnableScheduling
-@EnableBinding({ KafkaSseConsumer.class, KafkaSseProducer.class })
+@EnableBinding({ KafkaSseConsumer.class, KafkaSseProducer.class, KafkaEntityChangeConsumer.class, KafkaEntityChangeProducer.class })
 public class AsyncConfiguration implements AsyncConfigurer {
 
     private final Logger log = LoggerFactory.getLogger(AsyncConfiguration.class);
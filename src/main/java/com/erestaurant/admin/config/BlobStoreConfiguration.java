@@ -0,0 +1,18 @@
+package com.erestaurant.admin.config;
+
+import com.erestaurant.admin.service.blob.BlobStore;
+import com.erestaurant.admin.service.blob.FileSystemBlobStore;
+import java.nio.file.Paths;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class BlobStoreConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(BlobStore.class)
+    public BlobStore blobStore(ApplicationProperties applicationProperties) {
+        return new FileSystemBlobStore(Paths.get(applicationProperties.getBlob().getDirectory()));
+    }
+}
@@ -0,0 +1,23 @@
+package com.erestaurant.admin.config;
+
+import com.erestaurant.admin.service.cache.CaffeineEntityCacheManager;
+import com.erestaurant.admin.service.cache.EntityCacheManager;
+import com.erestaurant.admin.service.cache.NoOpEntityCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(EntityCacheManager.class)
+    public EntityCacheManager entityCacheManager(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.Cache cache = applicationProperties.getCache();
+        if (!cache.isEnabled()) {
+            return new NoOpEntityCacheManager();
+        }
+        return new CaffeineEntityCacheManager(cache, meterRegistry);
+    }
+}
@@ -0,0 +1,11 @@
+package com.erestaurant.admin.config;
+
+import org.springframework.cloud.stream.annotation.Input;
+import org.springframework.messaging.MessageChannel;
+
+public interface KafkaEntityChangeConsumer {
+    String CHANNELNAME = "binding-in-entity-change";
+
+    @Input(CHANNELNAME)
+    MessageChannel input();
+}
@@ -0,0 +1,11 @@
+package com.erestaurant.admin.config;
+
+import org.springframework.cloud.stream.annotation.Output;
+import org.springframework.messaging.MessageChannel;
+
+public interface KafkaEntityChangeProducer {
+    String CHANNELNAME = "binding-out-entity-change";
+
+    @Output(CHANNELNAME)
+    MessageChannel output();
+}
@@ -4,6 +4,7 @@ import java.io.Serializable;
 import javax.validation.constraints.*;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.domain.Persistable;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
@@ -33,6 +34,10 @@ public class Ad implements Serializable, Persistable<String> {
     @Transient
     private boolean isPersisted;
 
+    @Version
+    @Column("version")
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public String getId() {
@@ -74,6 +79,19 @@ public class Ad implements Serializable, Persistable<String> {
         this.description = description;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Ad version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Transient
     @Override
     public boolean isNew() {
@@ -111,6 +129,7 @@ public class Ad implements Serializable, Persistable<String> {
             "id=" + getId() +
             ", url='" + getUrl() + "'" +
             ", description='" + getDescription() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
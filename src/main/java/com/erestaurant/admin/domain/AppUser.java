@@ -4,6 +4,7 @@ import java.io.Serializable;
 import javax.validation.constraints.*;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.domain.Persistable;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
@@ -30,12 +31,21 @@ public class AppUser implements Serializable, Persistable<String> {
     @Column("description")
     private String description;
 
-    @Column("image")
-    private byte[] image;
+    @Column("image_hash")
+    private String imageHash;
+
+    @Column("image_size")
+    private Long imageSize;
 
     @Column("image_content_type")
     private String imageContentType;
 
+    @Column("thumbnail_hash")
+    private String thumbnailHash;
+
+    @Column("thumbnail_content_type")
+    private String thumbnailContentType;
+
     @Column("email")
     private String email;
 
@@ -48,6 +58,10 @@ public class AppUser implements Serializable, Persistable<String> {
     @Column("internal_user_id")
     private String internalUserId;
 
+    @Version
+    @Column("version")
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public String getId() {
@@ -89,17 +103,30 @@ public class AppUser implements Serializable, Persistable<String> {
         this.description = description;
     }
 
-    public byte[] getImage() {
-        return this.image;
+    public String getImageHash() {
+        return this.imageHash;
+    }
+
+    public AppUser imageHash(String imageHash) {
+        this.setImageHash(imageHash);
+        return this;
+    }
+
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
+    }
+
+    public Long getImageSize() {
+        return this.imageSize;
     }
 
-    public AppUser image(byte[] image) {
-        this.setImage(image);
+    public AppUser imageSize(Long imageSize) {
+        this.setImageSize(imageSize);
         return this;
     }
 
-    public void setImage(byte[] image) {
-        this.image = image;
+    public void setImageSize(Long imageSize) {
+        this.imageSize = imageSize;
     }
 
     public String getImageContentType() {
@@ -115,6 +142,32 @@ public class AppUser implements Serializable, Persistable<String> {
         this.imageContentType = imageContentType;
     }
 
+    public String getThumbnailHash() {
+        return this.thumbnailHash;
+    }
+
+    public AppUser thumbnailHash(String thumbnailHash) {
+        this.setThumbnailHash(thumbnailHash);
+        return this;
+    }
+
+    public void setThumbnailHash(String thumbnailHash) {
+        this.thumbnailHash = thumbnailHash;
+    }
+
+    public String getThumbnailContentType() {
+        return this.thumbnailContentType;
+    }
+
+    public AppUser thumbnailContentType(String thumbnailContentType) {
+        this.setThumbnailContentType(thumbnailContentType);
+        return this;
+    }
+
+    public void setThumbnailContentType(String thumbnailContentType) {
+        this.thumbnailContentType = thumbnailContentType;
+    }
+
     public String getEmail() {
         return this.email;
     }
@@ -128,6 +181,19 @@ public class AppUser implements Serializable, Persistable<String> {
         this.email = email;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public AppUser version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Transient
     @Override
     public boolean isNew() {
@@ -187,9 +253,12 @@ public class AppUser implements Serializable, Persistable<String> {
             "id=" + getId() +
             ", name='" + getName() + "'" +
             ", description='" + getDescription() + "'" +
-            ", image='" + getImage() + "'" +
+            ", imageHash='" + getImageHash() + "'" +
+            ", imageSize=" + getImageSize() +
             ", imageContentType='" + getImageContentType() + "'" +
+            ", thumbnailHash='" + getThumbnailHash() + "'" +
             ", email='" + getEmail() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
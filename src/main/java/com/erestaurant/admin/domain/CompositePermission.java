@@ -4,6 +4,7 @@ import java.io.Serializable;
 import javax.validation.constraints.*;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.domain.Persistable;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
@@ -28,6 +29,10 @@ public class CompositePermission implements Serializable, Persistable<String> {
     @Transient
     private boolean isPersisted;
 
+    @Version
+    @Column("version")
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public String getId() {
@@ -56,6 +61,19 @@ public class CompositePermission implements Serializable, Persistable<String> {
         this.description = description;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public CompositePermission version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Transient
     @Override
     public boolean isNew() {
@@ -92,6 +110,7 @@ public class CompositePermission implements Serializable, Persistable<String> {
         return "CompositePermission{" +
             "id=" + getId() +
             ", description='" + getDescription() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -4,6 +4,7 @@ import java.io.Serializable;
 import javax.validation.constraints.*;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.domain.Persistable;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
@@ -37,6 +38,10 @@ public class Discount implements Serializable, Persistable<String> {
     @Transient
     private boolean isPersisted;
 
+    @Version
+    @Column("version")
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public String getId() {
@@ -91,6 +96,19 @@ public class Discount implements Serializable, Persistable<String> {
         this.percentage = percentage;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Discount version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Transient
     @Override
     public boolean isNew() {
@@ -129,6 +147,7 @@ public class Discount implements Serializable, Persistable<String> {
             ", code='" + getCode() + "'" +
             ", description='" + getDescription() + "'" +
             ", percentage=" + getPercentage() +
+            ", version=" + getVersion() +
             "}";
     }
 }
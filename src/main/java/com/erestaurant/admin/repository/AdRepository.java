@@ -28,11 +28,13 @@ public interface AdRepository extends ReactiveCrudRepository<Ad, String>, AdRepo
     Mono<Void> deleteById(String id);
 }
 
-interface AdRepositoryInternal {
+interface AdRepositoryInternal extends BulkRepository<Ad, String>, UpdateRepository<Ad, String> {
     <S extends Ad> Mono<S> save(S entity);
 
     Flux<Ad> findAllBy(Pageable pageable);
 
+    Flux<Ad> findAllBy(Keyset keyset);
+
     Flux<Ad> findAll();
 
     Mono<Ad> findById(String id);
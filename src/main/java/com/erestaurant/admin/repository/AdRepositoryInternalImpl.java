@@ -7,11 +7,13 @@ import com.erestaurant.admin.repository.rowmapper.AdRowMapper;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -23,6 +25,7 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.Table;
@@ -66,30 +69,47 @@ class AdRepositoryInternalImpl extends SimpleR2dbcRepository<Ad, String> impleme
 
     @Override
     public Flux<Ad> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery("all", pageable, null).map(this::process).all();
     }
 
-    RowsFetchSpec<Ad> createQuery(Pageable pageable, Condition whereClause) {
+    @Override
+    public Flux<Ad> findAllBy(Keyset keyset) {
+        // deferred, so an unsupported sort property is signalled as an error instead of being thrown
+        return Flux.defer(() -> createQuery(keyset, null).all());
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(String shape, Pageable pageable, Condition whereClause) {
+        // the select is only built and rendered once per shape, see EntityManager
+        Supplier<SelectFromAndJoin> selectFrom = () -> {
+            List<Expression> columns = AdSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+            return Select.builder().select(columns).from(entityTable);
+        };
+        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
+        String select = entityManager.createSelect(shape, selectFrom, Ad.class, pageable, whereClause);
+        return entityManager.bind(db.sql(select), pageable);
+    }
+
+    RowsFetchSpec<Ad> createQuery(Keyset keyset, Condition whereClause) {
         List<Expression> columns = AdSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
         // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Ad.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+        String select = entityManager.createSelect(selectFrom, Ad.class, keyset, whereClause);
+        return entityManager.bind(db.sql(select), Ad.class, keyset).map(this::process);
     }
 
     @Override
     public Flux<Ad> findAll() {
-        return findAllBy(null);
+        return findAllBy((Pageable) null);
     }
 
     @Override
     public Mono<Ad> findById(String id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id"));
+        return createQuery("id", null, whereClause).bind("id", id).map(this::process).one();
     }
 
     private Ad process(Row row, RowMetadata metadata) {
-        Ad entity = adMapper.apply(row, "e");
+        Ad entity = adMapper.apply(row, metadata, "e");
         return entity;
     }
 
@@ -97,4 +117,39 @@ class AdRepositoryInternalImpl extends SimpleR2dbcRepository<Ad, String> impleme
     public <S extends Ad> Mono<S> save(S entity) {
         return super.save(entity);
     }
+
+    @Override
+    public Mono<Integer> update(Ad entity) {
+        return entityManager.update(Ad.class, entity, true);
+    }
+
+    @Override
+    public Mono<Integer> updateNonNull(Ad entity) {
+        return entityManager.update(Ad.class, entity, false);
+    }
+
+    @Override
+    public Mono<Integer> deleteRowsById(String id) {
+        return entityManager.deleteById(Ad.class, id);
+    }
+
+    @Override
+    public Flux<String> findExistingIds(Collection<String> ids, int chunkSize) {
+        return entityManager.findExistingIds(Ad.class, ids, String.class, chunkSize);
+    }
+
+    @Override
+    public Flux<Integer> bulkInsert(List<Ad> entities, int chunkSize) {
+        return entityManager.insertAll(Ad.class, entities, chunkSize);
+    }
+
+    @Override
+    public Flux<Integer> bulkUpdate(List<Ad> entities, int chunkSize) {
+        return entityManager.updateAll(Ad.class, entities, chunkSize);
+    }
+
+    @Override
+    public Flux<Integer> bulkDelete(List<String> ids, int chunkSize) {
+        return entityManager.deleteAllById(Ad.class, ids, chunkSize);
+    }
 }
@@ -13,6 +13,7 @@ public class AdSqlHelper {
         columns.add(Column.aliased("id", table, columnPrefix + "_id"));
         columns.add(Column.aliased("url", table, columnPrefix + "_url"));
         columns.add(Column.aliased("description", table, columnPrefix + "_description"));
+        columns.add(Column.aliased("version", table, columnPrefix + "_version"));
 
         return columns;
     }
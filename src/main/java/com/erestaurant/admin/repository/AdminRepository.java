@@ -28,11 +28,15 @@ public interface AdminRepository extends ReactiveCrudRepository<Admin, String>,
     Mono<Void> deleteById(String id);
 }
 
-interface AdminRepositoryInternal {
+interface AdminRepositoryInternal extends UpdateRepository<Admin, String> {
     <S extends Admin> Mono<S> save(S entity);
 
     Flux<Admin> findAllBy(Pageable pageable);
 
+    Flux<Admin> findAllBy(Pageable pageable, Projection projection);
+
+    Flux<Admin> findAllBy(Keyset keyset);
+
     Flux<Admin> findAll();
 
     Mono<Admin> findById(String id);
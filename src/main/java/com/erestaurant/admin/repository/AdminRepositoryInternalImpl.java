@@ -12,6 +12,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -23,6 +24,7 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.Table;
@@ -66,30 +68,56 @@ class AdminRepositoryInternalImpl extends SimpleR2dbcRepository<Admin, String> i
 
     @Override
     public Flux<Admin> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return findAllBy(pageable, Projection.ALL);
     }
 
-    RowsFetchSpec<Admin> createQuery(Pageable pageable, Condition whereClause) {
+    @Override
+    public Flux<Admin> findAllBy(Pageable pageable, Projection projection) {
+        return createQuery("all", pageable, null, projection).map(this::process).all();
+    }
+
+    @Override
+    public Flux<Admin> findAllBy(Keyset keyset) {
+        // deferred, so an unsupported sort property is signalled as an error instead of being thrown
+        return Flux.defer(() -> createQuery(keyset, null).all());
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(String shape, Pageable pageable, Condition whereClause) {
+        return createQuery(shape, pageable, whereClause, Projection.ALL);
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(String shape, Pageable pageable, Condition whereClause, Projection projection) {
+        // the select is only built and rendered once per shape and projection, see EntityManager
+        Supplier<SelectFromAndJoin> selectFrom = () -> {
+            List<Expression> columns = AdminSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS, projection);
+            return Select.builder().select(columns).from(entityTable);
+        };
+        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
+        String select = entityManager.createSelect(shape + ":" + projection.getKey(), selectFrom, Admin.class, pageable, whereClause);
+        return entityManager.bind(db.sql(select), pageable);
+    }
+
+    RowsFetchSpec<Admin> createQuery(Keyset keyset, Condition whereClause) {
         List<Expression> columns = AdminSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
         // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Admin.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+        String select = entityManager.createSelect(selectFrom, Admin.class, keyset, whereClause);
+        return entityManager.bind(db.sql(select), Admin.class, keyset).map(this::process);
     }
 
     @Override
     public Flux<Admin> findAll() {
-        return findAllBy(null);
+        return findAllBy((Pageable) null);
     }
 
     @Override
     public Mono<Admin> findById(String id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id"));
+        return createQuery("id", null, whereClause).bind("id", id).map(this::process).one();
     }
 
     private Admin process(Row row, RowMetadata metadata) {
-        Admin entity = adminMapper.apply(row, "e");
+        Admin entity = adminMapper.apply(row, metadata, "e");
         return entity;
     }
 
@@ -97,4 +125,19 @@ class AdminRepositoryInternalImpl extends SimpleR2dbcRepository<Admin, String> i
     public <S extends Admin> Mono<S> save(S entity) {
         return super.save(entity);
     }
+
+    @Override
+    public Mono<Integer> update(Admin entity) {
+        return entityManager.update(Admin.class, entity, true);
+    }
+
+    @Override
+    public Mono<Integer> updateNonNull(Admin entity) {
+        return entityManager.update(Admin.class, entity, false);
+    }
+
+    @Override
+    public Mono<Integer> deleteRowsById(String id) {
+        return entityManager.deleteById(Admin.class, id);
+    }
 }
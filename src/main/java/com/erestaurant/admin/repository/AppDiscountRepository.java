@@ -28,11 +28,13 @@ public interface AppDiscountRepository extends ReactiveCrudRepository<AppDiscoun
     Mono<Void> deleteById(String id);
 }
 
-interface AppDiscountRepositoryInternal {
+interface AppDiscountRepositoryInternal extends BulkRepository<AppDiscount, String>, UpdateRepository<AppDiscount, String> {
     <S extends AppDiscount> Mono<S> save(S entity);
 
     Flux<AppDiscount> findAllBy(Pageable pageable);
 
+    Flux<AppDiscount> findAllBy(Keyset keyset);
+
     Flux<AppDiscount> findAll();
 
     Mono<AppDiscount> findById(String id);
@@ -7,11 +7,13 @@ import com.erestaurant.admin.repository.rowmapper.AppDiscountRowMapper;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -23,6 +25,7 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.Table;
@@ -66,30 +69,47 @@ class AppDiscountRepositoryInternalImpl extends SimpleR2dbcRepository<AppDiscoun
 
     @Override
     public Flux<AppDiscount> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery("all", pageable, null).map(this::process).all();
     }
 
-    RowsFetchSpec<AppDiscount> createQuery(Pageable pageable, Condition whereClause) {
+    @Override
+    public Flux<AppDiscount> findAllBy(Keyset keyset) {
+        // deferred, so an unsupported sort property is signalled as an error instead of being thrown
+        return Flux.defer(() -> createQuery(keyset, null).all());
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(String shape, Pageable pageable, Condition whereClause) {
+        // the select is only built and rendered once per shape, see EntityManager
+        Supplier<SelectFromAndJoin> selectFrom = () -> {
+            List<Expression> columns = AppDiscountSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+            return Select.builder().select(columns).from(entityTable);
+        };
+        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
+        String select = entityManager.createSelect(shape, selectFrom, AppDiscount.class, pageable, whereClause);
+        return entityManager.bind(db.sql(select), pageable);
+    }
+
+    RowsFetchSpec<AppDiscount> createQuery(Keyset keyset, Condition whereClause) {
         List<Expression> columns = AppDiscountSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
         // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, AppDiscount.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+        String select = entityManager.createSelect(selectFrom, AppDiscount.class, keyset, whereClause);
+        return entityManager.bind(db.sql(select), AppDiscount.class, keyset).map(this::process);
     }
 
     @Override
     public Flux<AppDiscount> findAll() {
-        return findAllBy(null);
+        return findAllBy((Pageable) null);
     }
 
     @Override
     public Mono<AppDiscount> findById(String id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id"));
+        return createQuery("id", null, whereClause).bind("id", id).map(this::process).one();
     }
 
     private AppDiscount process(Row row, RowMetadata metadata) {
-        AppDiscount entity = appdiscountMapper.apply(row, "e");
+        AppDiscount entity = appdiscountMapper.apply(row, metadata, "e");
         return entity;
     }
 
@@ -97,4 +117,39 @@ class AppDiscountRepositoryInternalImpl extends SimpleR2dbcRepository<AppDiscoun
     public <S extends AppDiscount> Mono<S> save(S entity) {
         return super.save(entity);
     }
+
+    @Override
+    public Mono<Integer> update(AppDiscount entity) {
+        return entityManager.update(AppDiscount.class, entity, true);
+    }
+
+    @Override
+    public Mono<Integer> updateNonNull(AppDiscount entity) {
+        return entityManager.update(AppDiscount.class, entity, false);
+    }
+
+    @Override
+    public Mono<Integer> deleteRowsById(String id) {
+        return entityManager.deleteById(AppDiscount.class, id);
+    }
+
+    @Override
+    public Flux<String> findExistingIds(Collection<String> ids, int chunkSize) {
+        return entityManager.findExistingIds(AppDiscount.class, ids, String.class, chunkSize);
+    }
+
+    @Override
+    public Flux<Integer> bulkInsert(List<AppDiscount> entities, int chunkSize) {
+        return entityManager.insertAll(AppDiscount.class, entities, chunkSize);
+    }
+
+    @Override
+    public Flux<Integer> bulkUpdate(List<AppDiscount> entities, int chunkSize) {
+        return entityManager.updateAll(AppDiscount.class, entities, chunkSize);
+    }
+
+    @Override
+    public Flux<Integer> bulkDelete(List<String> ids, int chunkSize) {
+        return entityManager.deleteAllById(AppDiscount.class, ids, chunkSize);
+    }
 }
@@ -14,6 +14,7 @@ public class AppDiscountSqlHelper {
         columns.add(Column.aliased("code", table, columnPrefix + "_code"));
         columns.add(Column.aliased("description", table, columnPrefix + "_description"));
         columns.add(Column.aliased("percentage", table, columnPrefix + "_percentage"));
+        columns.add(Column.aliased("version", table, columnPrefix + "_version"));
 
         return columns;
     }
@@ -24,6 +24,9 @@ public interface AppUserRepository extends ReactiveCrudRepository<AppUser, Strin
     @Override
     Flux<AppUser> findAllWithEagerRelationships(Pageable page);
 
+    @Override
+    Flux<AppUser> findAllWithEagerRelationships(Pageable page, Projection projection);
+
     @Query("SELECT * FROM app_user entity WHERE entity.internal_user_id = :id")
     Flux<AppUser> findByInternalUser(String id);
 
@@ -43,11 +46,15 @@ public interface AppUserRepository extends ReactiveCrudRepository<AppUser, Strin
     Mono<Void> deleteById(String id);
 }
 
-interface AppUserRepositoryInternal {
+interface AppUserRepositoryInternal extends UpdateRepository<AppUser, String> {
     <S extends AppUser> Mono<S> save(S entity);
 
     Flux<AppUser> findAllBy(Pageable pageable);
 
+    Flux<AppUser> findAllBy(Pageable pageable, Projection projection);
+
+    Flux<AppUser> findAllBy(Keyset keyset);
+
     Flux<AppUser> findAll();
 
     Mono<AppUser> findById(String id);
@@ -60,5 +67,7 @@ interface AppUserRepositoryInternal {
 
     Flux<AppUser> findAllWithEagerRelationships(Pageable page);
 
+    Flux<AppUser> findAllWithEagerRelationships(Pageable page, Projection projection);
+
     Mono<Void> deleteById(String id);
 }
@@ -13,6 +13,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -24,6 +25,7 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.Table;
@@ -71,10 +73,43 @@ class AppUserRepositoryInternalImpl extends SimpleR2dbcRepository<AppUser, Strin
 
     @Override
     public Flux<AppUser> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return findAllBy(pageable, Projection.ALL);
     }
 
-    RowsFetchSpec<AppUser> createQuery(Pageable pageable, Condition whereClause) {
+    @Override
+    public Flux<AppUser> findAllBy(Pageable pageable, Projection projection) {
+        return createQuery("all", pageable, null, projection).map(this::process).all();
+    }
+
+    @Override
+    public Flux<AppUser> findAllBy(Keyset keyset) {
+        // deferred, so an unsupported sort property is signalled as an error instead of being thrown
+        return Flux.defer(() -> createQuery(keyset, null).all());
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(String shape, Pageable pageable, Condition whereClause) {
+        return createQuery(shape, pageable, whereClause, Projection.ALL);
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(String shape, Pageable pageable, Condition whereClause, Projection projection) {
+        // the select is only built and rendered once per shape and projection, see EntityManager
+        Supplier<SelectFromAndJoinCondition> selectFrom = () -> {
+            List<Expression> columns = AppUserSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS, projection);
+            columns.addAll(UserSqlHelper.getColumns(internalUserTable, "internalUser"));
+            return Select
+                .builder()
+                .select(columns)
+                .from(entityTable)
+                .leftOuterJoin(internalUserTable)
+                .on(Column.create("internal_user_id", entityTable))
+                .equals(Column.create("id", internalUserTable));
+        };
+        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
+        String select = entityManager.createSelect(shape + ":" + projection.getKey(), selectFrom, AppUser.class, pageable, whereClause);
+        return entityManager.bind(db.sql(select), pageable);
+    }
+
+    RowsFetchSpec<AppUser> createQuery(Keyset keyset, Condition whereClause) {
         List<Expression> columns = AppUserSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         columns.addAll(UserSqlHelper.getColumns(internalUserTable, "internalUser"));
         SelectFromAndJoinCondition selectFrom = Select
@@ -85,19 +120,19 @@ class AppUserRepositoryInternalImpl extends SimpleR2dbcRepository<AppUser, Strin
             .on(Column.create("internal_user_id", entityTable))
             .equals(Column.create("id", internalUserTable));
         // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, AppUser.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+        String select = entityManager.createSelect(selectFrom, AppUser.class, keyset, whereClause);
+        return entityManager.bind(db.sql(select), AppUser.class, keyset).map(this::process);
     }
 
     @Override
     public Flux<AppUser> findAll() {
-        return findAllBy(null);
+        return findAllBy((Pageable) null);
     }
 
     @Override
     public Mono<AppUser> findById(String id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id"));
+        return createQuery("id", null, whereClause).bind("id", id).map(this::process).one();
     }
 
     @Override
@@ -115,9 +150,14 @@ class AppUserRepositoryInternalImpl extends SimpleR2dbcRepository<AppUser, Strin
         return findAllBy(page);
     }
 
+    @Override
+    public Flux<AppUser> findAllWithEagerRelationships(Pageable page, Projection projection) {
+        return findAllBy(page, projection);
+    }
+
     private AppUser process(Row row, RowMetadata metadata) {
-        AppUser entity = appuserMapper.apply(row, "e");
-        entity.setInternalUser(userMapper.apply(row, "internalUser"));
+        AppUser entity = appuserMapper.apply(row, metadata, "e");
+        entity.setInternalUser(userMapper.apply(row, metadata, "internalUser"));
         return entity;
     }
 
@@ -125,4 +165,19 @@ class AppUserRepositoryInternalImpl extends SimpleR2dbcRepository<AppUser, Strin
     public <S extends AppUser> Mono<S> save(S entity) {
         return super.save(entity);
     }
+
+    @Override
+    public Mono<Integer> update(AppUser entity) {
+        return entityManager.update(AppUser.class, entity, true);
+    }
+
+    @Override
+    public Mono<Integer> updateNonNull(AppUser entity) {
+        return entityManager.update(AppUser.class, entity, false);
+    }
+
+    @Override
+    public Mono<Integer> deleteRowsById(String id) {
+        return entityManager.deleteById(AppUser.class, id);
+    }
 }
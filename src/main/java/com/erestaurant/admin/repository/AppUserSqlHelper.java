@@ -2,22 +2,74 @@ package com.erestaurant.admin.repository;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import org.springframework.data.relational.core.sql.Column;
 import org.springframework.data.relational.core.sql.Expression;
 import org.springframework.data.relational.core.sql.Table;
 
 public class AppUserSqlHelper {
 
+    /**
+     * The fields which a {@link Projection} may read, besides the id and the version.
+     */
+    public static final Set<String> FIELDS = Set.of(
+        "name",
+        "description",
+        "imageContentType",
+        "imageHash",
+        "imageSize",
+        "thumbnailHash",
+        "thumbnailContentType",
+        "email"
+    );
+
+    /**
+     * The fields read by the list queries: all but the description, which may be large and is only read with the appUser.
+     */
+    public static final Projection SUMMARY = Projection.of(
+        "name",
+        "imageContentType",
+        "imageHash",
+        "imageSize",
+        "thumbnailHash",
+        "thumbnailContentType",
+        "email"
+    );
+
     public static List<Expression> getColumns(Table table, String columnPrefix) {
+        return getColumns(table, columnPrefix, Projection.ALL);
+    }
+
+    public static List<Expression> getColumns(Table table, String columnPrefix, Projection projection) {
         List<Expression> columns = new ArrayList<>();
         columns.add(Column.aliased("id", table, columnPrefix + "_id"));
-        columns.add(Column.aliased("name", table, columnPrefix + "_name"));
-        columns.add(Column.aliased("description", table, columnPrefix + "_description"));
-        columns.add(Column.aliased("image", table, columnPrefix + "_image"));
-        columns.add(Column.aliased("image_content_type", table, columnPrefix + "_image_content_type"));
-        columns.add(Column.aliased("email", table, columnPrefix + "_email"));
+        columns.add(Column.aliased("version", table, columnPrefix + "_version"));
+        addColumn(columns, projection, "name", Column.aliased("name", table, columnPrefix + "_name"));
+        addColumn(columns, projection, "description", Column.aliased("description", table, columnPrefix + "_description"));
+        addColumn(
+            columns,
+            projection,
+            "imageContentType",
+            Column.aliased("image_content_type", table, columnPrefix + "_image_content_type")
+        );
+        addColumn(columns, projection, "imageHash", Column.aliased("image_hash", table, columnPrefix + "_image_hash"));
+        addColumn(columns, projection, "imageSize", Column.aliased("image_size", table, columnPrefix + "_image_size"));
+        addColumn(columns, projection, "thumbnailHash", Column.aliased("thumbnail_hash", table, columnPrefix + "_thumbnail_hash"));
+        addColumn(
+            columns,
+            projection,
+            "thumbnailContentType",
+            Column.aliased("thumbnail_content_type", table, columnPrefix + "_thumbnail_content_type")
+        );
+        addColumn(columns, projection, "email", Column.aliased("email", table, columnPrefix + "_email"));
 
         columns.add(Column.aliased("internal_user_id", table, columnPrefix + "_internal_user_id"));
         return columns;
     }
+
+    private static void addColumn(List<Expression> columns, Projection projection, String field, Expression column) {
+        if (projection.includes(field)) {
+            columns.add(column);
+        }
+    }
 }
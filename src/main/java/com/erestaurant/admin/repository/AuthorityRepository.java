@@ -1,9 +1,62 @@
 package com.erestaurant.admin.repository;
 
 import com.erestaurant.admin.domain.Authority;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.dialect.R2dbcDialect;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
 
 /**
  * Spring Data R2DBC repository for the {@link Authority} entity.
  */
-public interface AuthorityRepository extends R2dbcRepository<Authority, String> {}
+public interface AuthorityRepository extends R2dbcRepository<Authority, String>, AuthorityRepositoryInternal {}
+
+interface AuthorityRepositoryInternal {
+    /**
+     * Inserts the authorities which do not exist yet, with a single statement.
+     * @param names the names of the authorities.
+     * @return the number of inserted authorities.
+     */
+    Mono<Integer> insertAllIfAbsent(Collection<String> names);
+}
+
+class AuthorityRepositoryInternalImpl implements AuthorityRepositoryInternal {
+
+    private final DatabaseClient db;
+    private final R2dbcDialect dialect;
+
+    public AuthorityRepositoryInternalImpl(DatabaseClient db, R2dbcDialect dialect) {
+        this.db = db;
+        this.dialect = dialect;
+    }
+
+    @Override
+    public Mono<Integer> insertAllIfAbsent(Collection<String> names) {
+        List<String> distinctNames = new ArrayList<>(new LinkedHashSet<>(names));
+        if (distinctNames.isEmpty()) {
+            return Mono.just(0);
+        }
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < distinctNames.size(); i++) {
+            values.add("SELECT CAST(:name" + i + " AS VARCHAR(50)) AS name");
+        }
+        String sql =
+            "INSERT INTO jhi_authority (name) SELECT v.name FROM (" +
+            String.join(" UNION ALL ", values) +
+            ") v WHERE NOT EXISTS (SELECT 1 FROM jhi_authority a WHERE a.name = v.name)";
+        if (dialect instanceof PostgresDialect) {
+            // a concurrent login may have inserted the same authority since the NOT EXISTS check
+            sql += " ON CONFLICT (name) DO NOTHING";
+        }
+        DatabaseClient.GenericExecuteSpec spec = db.sql(sql);
+        for (int i = 0; i < distinctNames.size(); i++) {
+            spec = spec.bind("name" + i, distinctNames.get(i));
+        }
+        return spec.fetch().rowsUpdated();
+    }
+}
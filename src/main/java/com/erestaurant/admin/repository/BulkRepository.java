@@ -0,0 +1,41 @@
+package com.erestaurant.admin.repository;
+
+import java.util.Collection;
+import java.util.List;
+import reactor.core.publisher.Flux;
+
+/**
+ * Batched writes for repositories of entities imported in bulk, see the batch methods of {@link EntityManager}.
+ *
+ * @param <T> the type of the entities.
+ * @param <ID> the type of the ids.
+ */
+public interface BulkRepository<T, ID> {
+    /**
+     * @param ids the ids to look up.
+     * @param chunkSize the maximum number of ids per query.
+     * @return the ids which exist.
+     */
+    Flux<ID> findExistingIds(Collection<ID> ids, int chunkSize);
+
+    /**
+     * @param entities the entities to insert.
+     * @param chunkSize the maximum number of rows per batch.
+     * @return the number of inserted rows for each entity, in order.
+     */
+    Flux<Integer> bulkInsert(List<T> entities, int chunkSize);
+
+    /**
+     * @param entities the entities to update by id.
+     * @param chunkSize the maximum number of rows per batch.
+     * @return the number of updated rows for each entity, in order.
+     */
+    Flux<Integer> bulkUpdate(List<T> entities, int chunkSize);
+
+    /**
+     * @param ids the ids of the entities to delete.
+     * @param chunkSize the maximum number of rows per batch.
+     * @return the number of deleted rows for each id, in order.
+     */
+    Flux<Integer> bulkDelete(List<ID> ids, int chunkSize);
+}
@@ -29,11 +29,13 @@ public interface CompositePermissionRepository
     Mono<Void> deleteById(String id);
 }
 
-interface CompositePermissionRepositoryInternal {
+interface CompositePermissionRepositoryInternal extends UpdateRepository<CompositePermission, String> {
     <S extends CompositePermission> Mono<S> save(S entity);
 
     Flux<CompositePermission> findAllBy(Pageable pageable);
 
+    Flux<CompositePermission> findAllBy(Keyset keyset);
+
     Flux<CompositePermission> findAll();
 
     Mono<CompositePermission> findById(String id);
@@ -12,6 +12,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -23,6 +24,7 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.Table;
@@ -68,30 +70,47 @@ class CompositePermissionRepositoryInternalImpl
 
     @Override
     public Flux<CompositePermission> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery("all", pageable, null).map(this::process).all();
     }
 
-    RowsFetchSpec<CompositePermission> createQuery(Pageable pageable, Condition whereClause) {
+    @Override
+    public Flux<CompositePermission> findAllBy(Keyset keyset) {
+        // deferred, so an unsupported sort property is signalled as an error instead of being thrown
+        return Flux.defer(() -> createQuery(keyset, null).all());
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(String shape, Pageable pageable, Condition whereClause) {
+        // the select is only built and rendered once per shape, see EntityManager
+        Supplier<SelectFromAndJoin> selectFrom = () -> {
+            List<Expression> columns = CompositePermissionSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+            return Select.builder().select(columns).from(entityTable);
+        };
+        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
+        String select = entityManager.createSelect(shape, selectFrom, CompositePermission.class, pageable, whereClause);
+        return entityManager.bind(db.sql(select), pageable);
+    }
+
+    RowsFetchSpec<CompositePermission> createQuery(Keyset keyset, Condition whereClause) {
         List<Expression> columns = CompositePermissionSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
         // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, CompositePermission.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+        String select = entityManager.createSelect(selectFrom, CompositePermission.class, keyset, whereClause);
+        return entityManager.bind(db.sql(select), CompositePermission.class, keyset).map(this::process);
     }
 
     @Override
     public Flux<CompositePermission> findAll() {
-        return findAllBy(null);
+        return findAllBy((Pageable) null);
     }
 
     @Override
     public Mono<CompositePermission> findById(String id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id"));
+        return createQuery("id", null, whereClause).bind("id", id).map(this::process).one();
     }
 
     private CompositePermission process(Row row, RowMetadata metadata) {
-        CompositePermission entity = compositepermissionMapper.apply(row, "e");
+        CompositePermission entity = compositepermissionMapper.apply(row, metadata, "e");
         return entity;
     }
 
@@ -99,4 +118,19 @@ class CompositePermissionRepositoryInternalImpl
     public <S extends CompositePermission> Mono<S> save(S entity) {
         return super.save(entity);
     }
+
+    @Override
+    public Mono<Integer> update(CompositePermission entity) {
+        return entityManager.update(CompositePermission.class, entity, true);
+    }
+
+    @Override
+    public Mono<Integer> updateNonNull(CompositePermission entity) {
+        return entityManager.update(CompositePermission.class, entity, false);
+    }
+
+    @Override
+    public Mono<Integer> deleteRowsById(String id) {
+        return entityManager.deleteById(CompositePermission.class, id);
+    }
 }
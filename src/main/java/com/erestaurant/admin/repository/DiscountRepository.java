@@ -28,11 +28,13 @@ public interface DiscountRepository extends ReactiveCrudRepository<Discount, Str
     Mono<Void> deleteById(String id);
 }
 
-interface DiscountRepositoryInternal {
+interface DiscountRepositoryInternal extends BulkRepository<Discount, String>, UpdateRepository<Discount, String> {
     <S extends Discount> Mono<S> save(S entity);
 
     Flux<Discount> findAllBy(Pageable pageable);
 
+    Flux<Discount> findAllBy(Keyset keyset);
+
     Flux<Discount> findAll();
 
     Mono<Discount> findById(String id);
@@ -1,31 +1,54 @@
 package com.erestaurant.admin.repository;
 
+import com.erestaurant.admin.config.ApplicationProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.validation.constraints.NotNull;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.core.StatementMapper;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.dialect.R2dbcDialect;
 import org.springframework.data.r2dbc.mapping.OutboundRow;
 import org.springframework.data.r2dbc.query.UpdateMapper;
 import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
 import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.data.relational.core.sql.Column;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.OrderByField;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectOrdered;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectWhere;
 import org.springframework.data.relational.core.sql.SqlIdentifier;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.core.sql.render.SqlRenderer;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.r2dbc.core.Parameter;
+import org.springframework.r2dbc.core.binding.BindMarker;
+import org.springframework.r2dbc.core.binding.BindMarkers;
+import org.springframework.r2dbc.core.binding.BindTarget;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 import reactor.core.publisher.Flux;
@@ -41,6 +64,16 @@ public class EntityManager {
     public static final String ENTITY_ALIAS = "e";
     public static final String ALIAS_PREFIX = "e_";
 
+    private static final String KEYSET_VALUE = "keyset_value";
+    private static final String KEYSET_ID = "keyset_id";
+
+    private static final int LINK_TABLE_CHUNK_SIZE = 500;
+
+    private static final String LIMIT = "page_limit";
+    private static final String OFFSET = "page_offset";
+
+    private static final long SELECT_TEMPLATE_CACHE_SIZE = 1000;
+
     public static class LinkTable {
 
         final String tableName;
@@ -61,11 +94,22 @@ public class EntityManager {
     private final UpdateMapper updateMapper;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final StatementMapper statementMapper;
+    private final R2dbcDialect dialect;
+    private final ApplicationProperties applicationProperties;
+    private final Cache<SelectTemplateKey, String> selectTemplates = Caffeine.newBuilder().maximumSize(SELECT_TEMPLATE_CACHE_SIZE).build();
 
-    public EntityManager(SqlRenderer sqlRenderer, UpdateMapper updateMapper, R2dbcEntityTemplate r2dbcEntityTemplate) {
+    public EntityManager(
+        SqlRenderer sqlRenderer,
+        UpdateMapper updateMapper,
+        R2dbcEntityTemplate r2dbcEntityTemplate,
+        R2dbcDialect dialect,
+        ApplicationProperties applicationProperties
+    ) {
         this.sqlRenderer = sqlRenderer;
         this.updateMapper = updateMapper;
         this.r2dbcEntityTemplate = r2dbcEntityTemplate;
+        this.dialect = dialect;
+        this.applicationProperties = applicationProperties;
         this.statementMapper = r2dbcEntityTemplate.getDataAccessStrategy().getStatementMapper();
     }
 
@@ -133,6 +177,108 @@ public class EntityManager {
         }
     }
 
+    /**
+     * Creates an SQL select statement from a template, which is built and rendered only once per shape, entity type,
+     * sort and paging presence. The limit and offset are bind markers, which must be bound with
+     * {@link #bind(DatabaseClient.GenericExecuteSpec, Pageable)}, so that all the pages share the same statement.
+     * @param shape identifies the select and the where clause built by the caller for the entity type, e.g. {@code all}.
+     * As the where clause is only rendered once per shape, it must only contain bind markers, never values. Pass null
+     * to render a where clause containing values on every call, without caching it.
+     * @param selectFrom supplies a representation of the select statement, only called if the template is not cached yet.
+     * @param entityType the entity type which holds the table name.
+     * @param pageable page parameter, or null, if everything needs to be returned.
+     * @param where condition or null. The condition to apply as where clause.
+     * @return sql select statement
+     */
+    public String createSelect(
+        String shape,
+        Supplier<? extends SelectWhere> selectFrom,
+        Class<?> entityType,
+        Pageable pageable,
+        Condition where
+    ) {
+        boolean paged = pageable != null && pageable.isPaged();
+        Sort sort = paged ? pageable.getSort() : Sort.unsorted();
+        if (shape == null) {
+            return createSelectTemplate(selectFrom.get(), entityType, sort, paged, where);
+        }
+        return selectTemplates.get(
+            new SelectTemplateKey(shape, entityType, sort, paged),
+            key -> createSelectTemplate(selectFrom.get(), entityType, sort, paged, where)
+        );
+    }
+
+    /**
+     * Binds the limit and offset of the page to a statement created by
+     * {@link #createSelect(String, Supplier, Class, Pageable, Condition)}.
+     * @param spec the statement to bind the values to.
+     * @param pageable page parameter, or null, if everything needs to be returned.
+     * @return the statement with the bound values.
+     */
+    public DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, Pageable pageable) {
+        if (pageable == null || pageable.isUnpaged()) {
+            return spec;
+        }
+        return spec.bind(LIMIT, pageable.getPageSize()).bind(OFFSET, pageable.getOffset());
+    }
+
+    /**
+     * Creates an SQL select statement for keyset pagination: the rows are ordered by the keyset's sort property and the id,
+     * and the page starts right after the position of the keyset, so no rows need to be skipped.
+     * The statement contains bind markers, which must be bound with {@link #bind(DatabaseClient.GenericExecuteSpec, Class, Keyset)}.
+     * @param selectFrom a representation of a select statement.
+     * @param entityType the entity type which holds the table name.
+     * @param keyset the page size, sort order and position to continue from.
+     * @param where condition or null. The condition to apply as where clause.
+     * @return sql select statement
+     */
+    public String createSelect(SelectFromAndJoin selectFrom, Class<?> entityType, Keyset keyset, Condition where) {
+        Condition condition = createKeysetCondition(entityType, keyset, where);
+        if (condition != null) {
+            return createKeysetSelectImpl(selectFrom.limit(keyset.getSize()).where(condition), entityType, keyset);
+        } else {
+            return createKeysetSelectImpl(selectFrom.limit(keyset.getSize()), entityType, keyset);
+        }
+    }
+
+    /**
+     * Creates an SQL select statement for keyset pagination: the rows are ordered by the keyset's sort property and the id,
+     * and the page starts right after the position of the keyset, so no rows need to be skipped.
+     * The statement contains bind markers, which must be bound with {@link #bind(DatabaseClient.GenericExecuteSpec, Class, Keyset)}.
+     * @param selectFrom a representation of a select statement.
+     * @param entityType the entity type which holds the table name.
+     * @param keyset the page size, sort order and position to continue from.
+     * @param where condition or null. The condition to apply as where clause.
+     * @return sql select statement
+     */
+    public String createSelect(SelectFromAndJoinCondition selectFrom, Class<?> entityType, Keyset keyset, Condition where) {
+        Condition condition = createKeysetCondition(entityType, keyset, where);
+        if (condition != null) {
+            return createKeysetSelectImpl(selectFrom.limit(keyset.getSize()).where(condition), entityType, keyset);
+        } else {
+            return createKeysetSelectImpl(selectFrom.limit(keyset.getSize()), entityType, keyset);
+        }
+    }
+
+    /**
+     * Binds the position of the keyset to a statement created by {@link #createSelect(SelectFromAndJoin, Class, Keyset, Condition)}.
+     * @param spec the statement to bind the values to.
+     * @param entityType the entity type which holds the type of the sort property.
+     * @param keyset the position to continue from.
+     * @return the statement with the bound values.
+     */
+    public DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, Class<?> entityType, Keyset keyset) {
+        if (keyset.isFirst()) {
+            return spec;
+        }
+        RelationalPersistentEntity<?> entity = getRequiredPersistentEntity(entityType);
+        spec = spec.bind(KEYSET_ID, convertKeysetValue(entity.getRequiredIdProperty(), keyset.getLastId()));
+        if (!keyset.isSortedById()) {
+            spec = spec.bind(KEYSET_VALUE, convertKeysetValue(getKeysetProperty(entity, keyset), keyset.getLastValue()));
+        }
+        return spec;
+    }
+
     /**
      * Generate an actual SQL from the given {@link Select}.
      * @param select a representation of a select statement.
@@ -161,6 +307,52 @@ public class EntityManager {
         return r2dbcEntityTemplate.getDatabaseClient().sql(statementMapper.getMappedObject(delete)).fetch().rowsUpdated();
     }
 
+    /**
+     * Counts the entities with the given type. The large tables are not scanned: if the database statistics estimate more
+     * rows than {@code application.pagination.approximate-count-threshold}, the estimate is returned instead. Only
+     * PostgreSQL estimates the row counts, see {@link #estimateCount(Class)}.
+     * @param entityType the entity type which holds the table name.
+     * @return the number of entities, approximate for the large tables.
+     */
+    public Mono<Long> count(Class<?> entityType) {
+        Mono<Long> exactCount = countExactly(entityType);
+        long threshold = applicationProperties.getPagination().getApproximateCountThreshold();
+        if (threshold <= 0) {
+            return exactCount;
+        }
+        return estimateCount(entityType).filter(estimate -> estimate > threshold).switchIfEmpty(exactCount);
+    }
+
+    /**
+     * Counts the entities with the given type with a {@code COUNT(*)}, whatever the size of the table.
+     * @param entityType the entity type which holds the table name.
+     * @return the number of entities.
+     */
+    public Mono<Long> countExactly(Class<?> entityType) {
+        return r2dbcEntityTemplate.count(Query.empty(), entityType);
+    }
+
+    /**
+     * Returns the number of rows of the table of the given entity type estimated by the statistics of the database,
+     * i.e. {@code pg_class.reltuples}, which is refreshed by {@code VACUUM} and {@code ANALYZE}.
+     * @param entityType the entity type which holds the table name.
+     * @return the estimated number of rows, or empty if the database has no estimate.
+     */
+    public Mono<Long> estimateCount(Class<?> entityType) {
+        if (!(dialect instanceof PostgresDialect)) {
+            return Mono.empty();
+        }
+        String tableName = getRequiredPersistentEntity(entityType).getTableName().getReference();
+        return r2dbcEntityTemplate
+            .getDatabaseClient()
+            .sql("SELECT CAST(reltuples AS BIGINT) AS estimate FROM pg_class WHERE oid = to_regclass(:table)")
+            .bind("table", tableName)
+            .map(row -> row.get("estimate", Long.class))
+            .one()
+            // a table which was never analyzed has no estimate, which is -1 since PostgreSQL 14 and 0 before
+            .filter(estimate -> estimate > 0);
+    }
+
     /**
      * Inserts the given entity into the database - and sets the id, if it's an autoincrement field.
      * @param <S> the type of the persisted entity.
@@ -172,30 +364,231 @@ public class EntityManager {
     }
 
     /**
-     * Updates the table, which links the entity with the referred entities.
+     * Inserts the given entities with batched statements, one batch per chunk. Unlike {@link #insert(Object)}, the entities
+     * are not read back and no entity callbacks are invoked.
+     * @param <S> the type of the persisted entities.
+     * @param entityType the entity type which holds the table name.
+     * @param entities the entities to be inserted into the database.
+     * @param chunkSize the maximum number of rows per batch.
+     * @return the number of inserted rows for each entity, in order.
+     */
+    public <S> Flux<Integer> insertAll(Class<S> entityType, List<S> entities, int chunkSize) {
+        RelationalPersistentEntity<?> entity = getRequiredPersistentEntity(entityType);
+        SqlIdentifier versionColumn = getVersionColumn(entity);
+        return Flux
+            .fromIterable(entities)
+            .buffer(chunkSize)
+            .concatMap(chunk -> {
+                List<OutboundRow> rows = toOutboundRows(chunk);
+                if (versionColumn != null) {
+                    // the first version, as set by the template on insert
+                    rows
+                        .stream()
+                        .filter(row -> !row.get(versionColumn).hasValue())
+                        .forEach(row -> row.put(versionColumn, Parameter.from(0L)));
+                }
+                List<SqlIdentifier> columns = new ArrayList<>(rows.get(0).keySet());
+                List<BindMarker> markers = createBindMarkers(columns);
+                String sql =
+                    "INSERT INTO " +
+                    toSql(entity.getTableName()) +
+                    " (" +
+                    columns.stream().map(this::toSql).collect(Collectors.joining(", ")) +
+                    ") VALUES (" +
+                    markers.stream().map(BindMarker::getPlaceholder).collect(Collectors.joining(", ")) +
+                    ")";
+                return executeBatch(sql, markers, getParameters(rows, columns));
+            });
+    }
+
+    /**
+     * Updates the given entities by id with batched statements, one batch per chunk. No entity callbacks are invoked. The
+     * version of versioned entities is incremented whatever its value, as for an import.
+     * @param <S> the type of the persisted entities.
+     * @param entityType the entity type which holds the table name.
+     * @param entities the entities to be updated in the database.
+     * @param chunkSize the maximum number of rows per batch.
+     * @return the number of updated rows for each entity, in order, 0 if the entity does not exist.
+     */
+    public <S> Flux<Integer> updateAll(Class<S> entityType, List<S> entities, int chunkSize) {
+        RelationalPersistentEntity<?> entity = getRequiredPersistentEntity(entityType);
+        SqlIdentifier idColumn = entity.getRequiredIdProperty().getColumnName();
+        SqlIdentifier versionColumn = getVersionColumn(entity);
+        return Flux
+            .fromIterable(entities)
+            .buffer(chunkSize)
+            .concatMap(chunk -> {
+                List<OutboundRow> rows = toOutboundRows(chunk);
+                List<SqlIdentifier> columns = new ArrayList<>(rows.get(0).keySet());
+                columns.remove(idColumn);
+                columns.remove(versionColumn);
+                List<SqlIdentifier> boundColumns = new ArrayList<>(columns);
+                // the id is bound last, as it is the last marker of the statement
+                boundColumns.add(idColumn);
+                List<BindMarker> markers = createBindMarkers(boundColumns);
+                return executeBatch(createUpdate(entity, columns, markers, false), markers, getParameters(rows, boundColumns));
+            });
+    }
+
+    /**
+     * Updates the given entity by id with a single statement, without reading it first. No entity callbacks are invoked.
+     * <p>
+     * The version of a versioned entity is incremented. If the entity has a version, the row is only updated if it still
+     * has this version, and the version of the entity is then incremented too; otherwise the row is updated whatever its
+     * version, which the entity does not know then.
+     * @param <S> the type of the persisted entity.
+     * @param entityType the entity type which holds the table name.
+     * @param entity the entity to be updated in the database.
+     * @param nullsWritten whether the null properties are written, otherwise only the columns of the non-null properties
+     * are updated, e.g. for a partial update.
+     * @return the number of updated rows, 0 if the entity does not exist, or an {@link OptimisticLockingFailureException}
+     * if it exists with another version.
+     */
+    public <S> Mono<Integer> update(Class<S> entityType, S entity, boolean nullsWritten) {
+        RelationalPersistentEntity<?> persistentEntity = getRequiredPersistentEntity(entityType);
+        RelationalPersistentProperty idProperty = persistentEntity.getRequiredIdProperty();
+        SqlIdentifier idColumn = idProperty.getColumnName();
+        SqlIdentifier versionColumn = getVersionColumn(persistentEntity);
+        OutboundRow row = r2dbcEntityTemplate.getDataAccessStrategy().getOutboundRow(entity);
+        List<SqlIdentifier> columns = row
+            .entrySet()
+            .stream()
+            .filter(column -> !column.getKey().equals(idColumn) && !column.getKey().equals(versionColumn))
+            .filter(column -> nullsWritten || column.getValue().hasValue())
+            .map(Entry::getKey)
+            .collect(Collectors.toCollection(ArrayList::new));
+        if (columns.isEmpty() && versionColumn == null) {
+            // nothing to write, the id is assigned to itself so that the statement still tells whether the entity exists
+            columns.add(idColumn);
+        }
+        boolean versionChecked = versionColumn != null && row.get(versionColumn).hasValue();
+        List<SqlIdentifier> boundColumns = new ArrayList<>(columns);
+        boundColumns.add(idColumn);
+        if (versionChecked) {
+            boundColumns.add(versionColumn);
+        }
+        List<BindMarker> markers = createBindMarkers(boundColumns);
+        Mono<Integer> updated = executeBatch(
+            createUpdate(persistentEntity, columns, markers, versionChecked),
+            markers,
+            getParameters(List.of(row), boundColumns)
+        )
+            .next();
+        if (!versionChecked) {
+            return updated;
+        }
+        Object id = row.get(idColumn).getValue();
+        return updated.flatMap(count -> {
+            if (count > 0) {
+                long version = ((Number) row.get(versionColumn).getValue()).longValue();
+                persistentEntity.getPropertyAccessor(entity).setProperty(persistentEntity.getRequiredVersionProperty(), version + 1);
+                return Mono.just(count);
+            }
+            // the statement does not tell whether the row is missing or has another version, which is rare enough to be queried
+            String message =
+                "Failed to update table [" + persistentEntity.getTableName() + "]; version does not match for row with id [" + id + "]";
+            return r2dbcEntityTemplate
+                .exists(Query.query(Criteria.where(idProperty.getName()).is(id)), entityType)
+                .flatMap(exists -> exists ? Mono.error(new OptimisticLockingFailureException(message)) : Mono.just(0));
+        });
+    }
+
+    /**
+     * Deletes the entity with the given id with a single statement, without reading it first. No entity callbacks are invoked.
+     * @param entityType the entity type which holds the table name.
+     * @param id the id of the entity to delete.
+     * @return the number of deleted rows, 0 if the entity does not exist.
+     */
+    public Mono<Integer> deleteById(Class<?> entityType, Object id) {
+        RelationalPersistentEntity<?> entity = getRequiredPersistentEntity(entityType);
+        return r2dbcEntityTemplate.delete(Query.query(Criteria.where(entity.getRequiredIdProperty().getName()).is(id)), entityType);
+    }
+
+    /**
+     * Deletes the entities with the given ids with batched statements, one batch per chunk.
+     * @param entityType the entity type which holds the table name.
+     * @param ids the ids of the entities to delete.
+     * @param chunkSize the maximum number of rows per batch.
+     * @return the number of deleted rows for each id, in order, 0 if the entity does not exist.
+     */
+    public Flux<Integer> deleteAllById(Class<?> entityType, List<?> ids, int chunkSize) {
+        RelationalPersistentEntity<?> entity = getRequiredPersistentEntity(entityType);
+        SqlIdentifier idColumn = entity.getRequiredIdProperty().getColumnName();
+        return Flux
+            .fromIterable(ids)
+            .buffer(chunkSize)
+            .concatMap(chunk -> {
+                List<BindMarker> markers = createBindMarkers(List.of(idColumn));
+                String sql =
+                    "DELETE FROM " + toSql(entity.getTableName()) + " WHERE " + toSql(idColumn) + " = " + markers.get(0).getPlaceholder();
+                List<List<Parameter>> parameters = chunk
+                    .stream()
+                    .map(id -> List.of(Parameter.from(id)))
+                    .collect(Collectors.toList());
+                return executeBatch(sql, markers, parameters);
+            });
+    }
+
+    /**
+     * Finds which of the given ids exist, with one query per chunk.
+     * @param <ID> the type of the ids.
+     * @param entityType the entity type which holds the table name.
+     * @param ids the ids to look up.
+     * @param idType the type of the ids.
+     * @param chunkSize the maximum number of ids per query.
+     * @return the ids which exist.
+     */
+    public <ID> Flux<ID> findExistingIds(Class<?> entityType, Collection<ID> ids, Class<ID> idType, int chunkSize) {
+        RelationalPersistentEntity<?> entity = getRequiredPersistentEntity(entityType);
+        String idColumn = toSql(entity.getRequiredIdProperty().getColumnName());
+        String sql = "SELECT " + idColumn + " FROM " + toSql(entity.getTableName()) + " WHERE " + idColumn + " IN (:ids)";
+        return Flux
+            .fromIterable(ids)
+            .buffer(chunkSize)
+            .concatMap(chunk -> r2dbcEntityTemplate.getDatabaseClient().sql(sql).bind("ids", chunk).map(row -> row.get(0, idType)).all());
+    }
+
+    /**
+     * Updates the table, which links the entity with the referred entities: all the links of the entity are deleted, then
+     * the links to the referred entities are inserted with one batched statement per chunk.
      * @param table describes the link table, it contains a table name, the column name for the id, and for the referred entity id.
      * @param entityId the id of the entity, for which the links are created.
      * @param referencedIds the id of the referred entities.
      * @return the number of inserted rows.
      */
     public Mono<Integer> updateLinkTable(LinkTable table, Object entityId, Stream<?> referencedIds) {
-        return deleteFromLinkTable(table, entityId)
-            .then(
-                Flux
-                    .fromStream(referencedIds)
-                    .flatMap((Object referenceId) -> {
-                        StatementMapper.InsertSpec insert = r2dbcEntityTemplate
-                            .getDataAccessStrategy()
-                            .getStatementMapper()
-                            .createInsert(table.tableName)
-                            .withColumn(table.idColumn, Parameter.from(entityId))
-                            .withColumn(table.referenceColumn, Parameter.from(referenceId));
-
-                        return r2dbcEntityTemplate.getDatabaseClient().sql(statementMapper.getMappedObject(insert)).fetch().rowsUpdated();
-                    })
-                    .collectList()
-                    .map((List<Integer> updates) -> updates.stream().reduce(Integer::sum).orElse(0))
-            );
+        List<?> ids = referencedIds.distinct().collect(Collectors.toList());
+        return deleteFromLinkTable(table, entityId).then(insertIntoLinkTable(table, entityId, ids));
+    }
+
+    /**
+     * Updates the table, which links the entity with the referred entities, by writing only the difference with the
+     * current links: the links to ids which are no longer referred are deleted with one statement, and the links to new
+     * ids are inserted with one batched statement per chunk. Nothing is written if the links did not change.
+     * @param table describes the link table, it contains a table name, the column name for the id, and for the referred entity id.
+     * @param entityId the id of the entity, for which the links are created.
+     * @param referencedIds the id of the referred entities.
+     * @return the number of inserted and deleted rows.
+     */
+    public Mono<Integer> mergeLinkTable(LinkTable table, Object entityId, Stream<?> referencedIds) {
+        Assert.notNull(entityId, "entityId is null");
+        Set<?> ids = referencedIds.collect(Collectors.toCollection(LinkedHashSet::new));
+        // read the current ids with the type of the given ones, so that both can be compared
+        Class<?> referenceType = ids.isEmpty() ? Object.class : ids.iterator().next().getClass();
+        String sql = "SELECT " + table.referenceColumn + " FROM " + table.tableName + " WHERE " + table.idColumn + " = :entityId";
+        return r2dbcEntityTemplate
+            .getDatabaseClient()
+            .sql(sql)
+            .bind("entityId", entityId)
+            .map(row -> (Object) row.get(0, referenceType))
+            .all()
+            .collect(Collectors.toSet())
+            .flatMap(currentIds -> {
+                List<?> removedIds = currentIds.stream().filter(id -> !ids.contains(id)).collect(Collectors.toList());
+                List<?> addedIds = ids.stream().filter(id -> !currentIds.contains(id)).collect(Collectors.toList());
+                return deleteFromLinkTable(table, entityId, removedIds)
+                    .flatMap(deleted -> insertIntoLinkTable(table, entityId, addedIds).map(inserted -> deleted + inserted));
+            });
     }
 
     public Mono<Void> deleteFromLinkTable(LinkTable table, Object entityId) {
@@ -208,6 +601,45 @@ public class EntityManager {
         return r2dbcEntityTemplate.getDatabaseClient().sql(statementMapper.getMappedObject(deleteSpec)).then();
     }
 
+    private Mono<Integer> deleteFromLinkTable(LinkTable table, Object entityId, Collection<?> referencedIds) {
+        if (referencedIds.isEmpty()) {
+            return Mono.just(0);
+        }
+        StatementMapper.DeleteSpec deleteSpec = statementMapper
+            .createDelete(table.tableName)
+            .withCriteria(Criteria.where(table.idColumn).is(entityId).and(table.referenceColumn).in(referencedIds));
+        return r2dbcEntityTemplate.getDatabaseClient().sql(statementMapper.getMappedObject(deleteSpec)).fetch().rowsUpdated();
+    }
+
+    private Mono<Integer> insertIntoLinkTable(LinkTable table, Object entityId, List<?> referencedIds) {
+        List<BindMarker> markers = createBindMarkers(
+            List.of(SqlIdentifier.unquoted(table.idColumn), SqlIdentifier.unquoted(table.referenceColumn))
+        );
+        String sql =
+            "INSERT INTO " +
+            table.tableName +
+            " (" +
+            table.idColumn +
+            ", " +
+            table.referenceColumn +
+            ") VALUES (" +
+            markers.get(0).getPlaceholder() +
+            ", " +
+            markers.get(1).getPlaceholder() +
+            ")";
+        return Flux
+            .fromIterable(referencedIds)
+            .buffer(LINK_TABLE_CHUNK_SIZE)
+            .concatMap(chunk -> {
+                List<List<Parameter>> parameters = chunk
+                    .stream()
+                    .map(referenceId -> List.of(Parameter.from(entityId), Parameter.from(referenceId)))
+                    .collect(Collectors.toList());
+                return executeBatch(sql, markers, parameters);
+            })
+            .reduce(0, Integer::sum);
+    }
+
     private String createSelectImpl(SelectOrdered selectFrom, Class<?> entityType, Sort sortParameter) {
         if (sortParameter != null && sortParameter.isSorted()) {
             RelationalPersistentEntity<?> entity = getPersistentEntity(entityType);
@@ -220,6 +652,148 @@ public class EntityManager {
         return createSelect(selectFrom.build());
     }
 
+    private String createSelectTemplate(SelectWhere selectFrom, Class<?> entityType, Sort sort, boolean paged, Condition where) {
+        String select = createSelectImpl(where != null ? selectFrom.where(where) : selectFrom, entityType, sort);
+        // the select builder only renders literal limits, both H2 and PostgreSQL accept this clause with bind markers
+        return paged ? select + " LIMIT :" + LIMIT + " OFFSET :" + OFFSET : select;
+    }
+
+    private String createKeysetSelectImpl(SelectOrdered selectFrom, Class<?> entityType, Keyset keyset) {
+        Sort sort = Sort.by(keyset.getOrder());
+        if (!keyset.isSortedById()) {
+            sort = sort.and(Sort.by(keyset.getOrder().getDirection(), Keyset.ID_PROPERTY));
+        }
+        return createSelectImpl(selectFrom, entityType, sort);
+    }
+
+    private Condition createKeysetCondition(Class<?> entityType, Keyset keyset, Condition where) {
+        RelationalPersistentEntity<?> entity = getRequiredPersistentEntity(entityType);
+        RelationalPersistentProperty property = getKeysetProperty(entity, keyset);
+        if (keyset.isFirst()) {
+            return where;
+        }
+        Table table = Table.create(entity.getTableName()).as(EntityManager.ENTITY_ALIAS);
+        Column idColumn = table.column(entity.getRequiredIdProperty().getColumnName());
+        boolean ascending = keyset.getOrder().isAscending();
+
+        Condition afterId = ascending
+            ? idColumn.isGreater(SQL.bindMarker(":" + KEYSET_ID))
+            : idColumn.isLess(SQL.bindMarker(":" + KEYSET_ID));
+        Condition condition = afterId;
+        if (!keyset.isSortedById()) {
+            Column sortColumn = table.column(property.getColumnName());
+            Condition afterValue = ascending
+                ? sortColumn.isGreater(SQL.bindMarker(":" + KEYSET_VALUE))
+                : sortColumn.isLess(SQL.bindMarker(":" + KEYSET_VALUE));
+            condition = afterValue.or(Conditions.nest(sortColumn.isEqualTo(SQL.bindMarker(":" + KEYSET_VALUE)).and(afterId)));
+        }
+        condition = Conditions.nest(condition);
+        return where != null ? where.and(condition) : condition;
+    }
+
+    private RelationalPersistentProperty getKeysetProperty(RelationalPersistentEntity<?> entity, Keyset keyset) {
+        String propertyName = keyset.getOrder().getProperty();
+        RelationalPersistentProperty property = entity.getPersistentProperty(propertyName);
+        if (property == null) {
+            throw new IllegalArgumentException("Unknown sort property '" + propertyName + "' for " + entity.getName());
+        }
+        // rows with a null sort value could not be positioned, so only mandatory properties can be used as key
+        if (!property.isIdProperty() && !property.isAnnotationPresent(NotNull.class)) {
+            throw new IllegalArgumentException("Sort property '" + propertyName + "' is nullable and can't be used for keyset pagination");
+        }
+        return property;
+    }
+
+    private Object convertKeysetValue(RelationalPersistentProperty property, String value) {
+        return r2dbcEntityTemplate.getConverter().getConversionService().convert(value, property.getType());
+    }
+
+    /**
+     * Creates an update by id of the given columns. The markers are those of the columns, then of the id and, if the
+     * version is checked, of the expected version. The version of a versioned entity is incremented by the statement.
+     */
+    private String createUpdate(
+        RelationalPersistentEntity<?> entity,
+        List<SqlIdentifier> columns,
+        List<BindMarker> markers,
+        boolean versionChecked
+    ) {
+        List<String> assignments = new ArrayList<>();
+        for (int i = 0; i < columns.size(); i++) {
+            assignments.add(toSql(columns.get(i)) + " = " + markers.get(i).getPlaceholder());
+        }
+        SqlIdentifier versionColumn = getVersionColumn(entity);
+        if (versionColumn != null) {
+            assignments.add(toSql(versionColumn) + " = " + toSql(versionColumn) + " + 1");
+        }
+        String sql =
+            "UPDATE " +
+            toSql(entity.getTableName()) +
+            " SET " +
+            String.join(", ", assignments) +
+            " WHERE " +
+            toSql(entity.getRequiredIdProperty().getColumnName()) +
+            " = " +
+            markers.get(columns.size()).getPlaceholder();
+        if (versionChecked) {
+            sql += " AND " + toSql(versionColumn) + " = " + markers.get(columns.size() + 1).getPlaceholder();
+        }
+        return sql;
+    }
+
+    private static SqlIdentifier getVersionColumn(RelationalPersistentEntity<?> entity) {
+        RelationalPersistentProperty versionProperty = entity.getVersionProperty();
+        return versionProperty != null ? versionProperty.getColumnName() : null;
+    }
+
+    private List<OutboundRow> toOutboundRows(List<?> entities) {
+        return entities.stream().map(r2dbcEntityTemplate.getDataAccessStrategy()::getOutboundRow).collect(Collectors.toList());
+    }
+
+    private static List<List<Parameter>> getParameters(List<OutboundRow> rows, List<SqlIdentifier> columns) {
+        return rows.stream().map(row -> columns.stream().map(row::get).collect(Collectors.toList())).collect(Collectors.toList());
+    }
+
+    private List<BindMarker> createBindMarkers(List<SqlIdentifier> columns) {
+        BindMarkers bindMarkers = dialect.getBindMarkersFactory().create();
+        return columns.stream().map(column -> bindMarkers.next(column.getReference())).collect(Collectors.toList());
+    }
+
+    private String toSql(SqlIdentifier identifier) {
+        return identifier.toSql(dialect.getIdentifierProcessing());
+    }
+
+    /**
+     * Executes the statement once for each list of parameters, as a single batch.
+     */
+    private Flux<Integer> executeBatch(String sql, List<BindMarker> markers, List<List<Parameter>> parameters) {
+        return r2dbcEntityTemplate
+            .getDatabaseClient()
+            .inConnectionMany(connection -> {
+                Statement statement = connection.createStatement(sql);
+                BindTarget bindTarget = new StatementBindTarget(statement);
+                for (int i = 0; i < parameters.size(); i++) {
+                    if (i > 0) {
+                        statement.add();
+                    }
+                    List<Parameter> values = parameters.get(i);
+                    for (int j = 0; j < markers.size(); j++) {
+                        Parameter value = values.get(j);
+                        if (value.hasValue()) {
+                            markers.get(j).bind(bindTarget, value.getValue());
+                        } else {
+                            markers.get(j).bindNull(bindTarget, value.getType());
+                        }
+                    }
+                }
+                return Flux.from(statement.execute()).concatMap(Result::getRowsUpdated);
+            });
+    }
+
+    private RelationalPersistentEntity<?> getRequiredPersistentEntity(Class<?> entityType) {
+        return r2dbcEntityTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(entityType);
+    }
+
     private RelationalPersistentEntity<?> getPersistentEntity(Class<?> entityType) {
         return r2dbcEntityTemplate.getConverter().getMappingContext().getPersistentEntity(entityType);
     }
@@ -236,4 +810,65 @@ public class EntityManager {
 
         return fields;
     }
+
+    private static final class SelectTemplateKey {
+
+        private final String shape;
+        private final Class<?> entityType;
+        private final Sort sort;
+        private final boolean paged;
+
+        SelectTemplateKey(String shape, Class<?> entityType, Sort sort, boolean paged) {
+            this.shape = shape;
+            this.entityType = entityType;
+            this.sort = sort;
+            this.paged = paged;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SelectTemplateKey)) {
+                return false;
+            }
+            SelectTemplateKey that = (SelectTemplateKey) o;
+            return paged == that.paged && shape.equals(that.shape) && entityType.equals(that.entityType) && sort.equals(that.sort);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(shape, entityType, sort, paged);
+        }
+    }
+
+    private static class StatementBindTarget implements BindTarget {
+
+        private final Statement statement;
+
+        StatementBindTarget(Statement statement) {
+            this.statement = statement;
+        }
+
+        @Override
+        public void bind(String identifier, Object value) {
+            statement.bind(identifier, value);
+        }
+
+        @Override
+        public void bind(int index, Object value) {
+            statement.bind(index, value);
+        }
+
+        @Override
+        public void bindNull(String identifier, Class<?> type) {
+            statement.bindNull(identifier, type);
+        }
+
+        @Override
+        public void bindNull(int index, Class<?> type) {
+            statement.bindNull(index, type);
+        }
+    }
 }
@@ -0,0 +1,108 @@
+package com.erestaurant.admin.repository;
+
+import com.erestaurant.admin.repository.rowmapper.ColumnConverter;
+import java.util.List;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Access to the images still stored in the {@code image} column of the entity tables, which are moved to the blob store
+ * and replaced by their hash and size, see the {@code updated_entity} changelogs of these tables.
+ */
+@Repository
+public class InlineImageRepository {
+
+    /**
+     * The tables with an {@code image} column.
+     */
+    public static final List<String> TABLES = List.of("admin", "app_user");
+
+    private final DatabaseClient db;
+
+    private final ColumnConverter converter;
+
+    public InlineImageRepository(DatabaseClient db, ColumnConverter converter) {
+        this.db = db;
+        this.converter = converter;
+    }
+
+    /**
+     * Find the rows with an inline image which is not replaced by a hash yet.
+     *
+     * @param table the table, one of {@link #TABLES}.
+     * @param limit the maximum number of rows.
+     * @return the ids and the images of the rows.
+     */
+    public Flux<InlineImage> findInlineImages(String table, int limit) {
+        Assert.isTrue(TABLES.contains(table), "not a table with an inline image: " + table);
+        return db
+            .sql("SELECT id, image FROM " + table + " WHERE image IS NOT NULL AND image_hash IS NULL LIMIT " + limit)
+            .map(row -> new InlineImage(converter.fromRow(row, "id", String.class), converter.fromRow(row, "image", byte[].class)))
+            .all();
+    }
+
+    /**
+     * Replace the inline image of a row by the reference to the stored image, unless the row got another image since.
+     *
+     * @param table the table, one of {@link #TABLES}.
+     * @param id the id of the row.
+     * @param hash the hash of the stored image.
+     * @param size the size of the stored image.
+     * @param thumbnailHash the hash of the stored thumbnail, or null if the image has no thumbnail.
+     * @param thumbnailContentType the content type of the thumbnail, or null if the image has no thumbnail.
+     * @return the number of updated rows.
+     */
+    public Mono<Integer> replaceInlineImage(
+        String table,
+        String id,
+        String hash,
+        long size,
+        String thumbnailHash,
+        String thumbnailContentType
+    ) {
+        Assert.isTrue(TABLES.contains(table), "not a table with an inline image: " + table);
+        DatabaseClient.GenericExecuteSpec spec = db
+            .sql(
+                "UPDATE " +
+                table +
+                " SET image = NULL, image_hash = :hash, image_size = :size," +
+                " thumbnail_hash = :thumbnailHash, thumbnail_content_type = :thumbnailContentType, version = version + 1" +
+                " WHERE id = :id AND image_hash IS NULL"
+            )
+            .bind("hash", hash)
+            .bind("size", size)
+            .bind("id", id);
+        spec = thumbnailHash != null ? spec.bind("thumbnailHash", thumbnailHash) : spec.bindNull("thumbnailHash", String.class);
+        spec =
+            thumbnailContentType != null
+                ? spec.bind("thumbnailContentType", thumbnailContentType)
+                : spec.bindNull("thumbnailContentType", String.class);
+        return spec.fetch().rowsUpdated();
+    }
+
+    /**
+     * The inline image of a row.
+     */
+    public static class InlineImage {
+
+        private final String id;
+
+        private final byte[] content;
+
+        InlineImage(String id, byte[] content) {
+            this.id = id;
+            this.content = content;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public byte[] getContent() {
+            return content;
+        }
+    }
+}
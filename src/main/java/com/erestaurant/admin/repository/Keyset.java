@@ -0,0 +1,185 @@
+package com.erestaurant.admin.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * A page request for keyset (a.k.a. seek) pagination.
+ * <p>
+ * Instead of skipping {@code offset} rows, the query continues strictly after the sort value and the id of the last
+ * element of the previous page, so fetching page N costs the same as fetching the first page. The position is handed
+ * to clients as an opaque continuation token, see {@link #getToken()}.
+ */
+public final class Keyset {
+
+    public static final String ID_PROPERTY = "id";
+
+    private static final String TOKEN_SEPARATOR = ".";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final int size;
+    private final Sort.Order order;
+    private final String lastValue;
+    private final String lastId;
+
+    private Keyset(int size, Sort.Order order, String lastValue, String lastId) {
+        Assert.isTrue(size > 0, "size must be greater than 0");
+        this.size = size;
+        this.order = order;
+        this.lastValue = lastValue;
+        this.lastId = lastId;
+    }
+
+    /**
+     * Creates a request for the first page.
+     * @param size the size of the page.
+     * @param sort the sort order, only the first order is used, the id is always added as tie-breaker. Sorts by id if unsorted.
+     * @return the keyset for the first page.
+     */
+    public static Keyset first(int size, Sort sort) {
+        Sort.Order order = sort == null ? null : sort.stream().findFirst().orElse(null);
+        return new Keyset(size, order != null ? order : Sort.Order.asc(ID_PROPERTY), null, null);
+    }
+
+    /**
+     * Creates a request from a continuation token, as returned by {@link #getToken()}.
+     * @param size the size of the page.
+     * @param sort the sort order, ignored if a token is present as the token carries the order it was created with.
+     * @param token the continuation token, or null or empty for the first page.
+     * @return the keyset for the page after the token.
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    public static Keyset of(int size, Sort sort, String token) {
+        if (!StringUtils.hasText(token)) {
+            return first(size, sort);
+        }
+        String[] parts = StringUtils.delimitedListToStringArray(token, TOKEN_SEPARATOR);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Malformed continuation token");
+        }
+        Sort.Direction direction = "d".equals(parts[1]) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return new Keyset(size, new Sort.Order(direction, decode(parts[0])), decode(parts[2]), decode(parts[3]));
+    }
+
+    /**
+     * Creates a request sorted by id, for the page after the given id.
+     * @param size the size of the page.
+     * @param lastId the id to continue after, or null or empty for the first page.
+     * @return the keyset for the page after the id.
+     */
+    public static Keyset after(int size, String lastId) {
+        if (!StringUtils.hasText(lastId)) {
+            return first(size, Sort.unsorted());
+        }
+        return new Keyset(size, Sort.Order.asc(ID_PROPERTY), lastId, lastId);
+    }
+
+    /**
+     * Creates the request for the page following the given element.
+     * @param lastElement the last element of the current page, either an entity or its DTO.
+     * @return the keyset for the next page.
+     */
+    public Keyset next(Object lastElement) {
+        Assert.notNull(lastElement, "lastElement is null");
+        Object value = PropertyAccessorFactory.forBeanPropertyAccess(lastElement).getPropertyValue(order.getProperty());
+        Object id = PropertyAccessorFactory.forBeanPropertyAccess(lastElement).getPropertyValue(ID_PROPERTY);
+        Assert.state(value != null && id != null, "keyset pagination requires a non-null sort value and id");
+        return new Keyset(size, order, value.toString(), id.toString());
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public Sort.Order getOrder() {
+        return order;
+    }
+
+    /**
+     * @return true if this is the first page, i.e. there is no position to continue from.
+     */
+    public boolean isFirst() {
+        return lastId == null;
+    }
+
+    /**
+     * @return true if the sort property is the id itself, so no tie-breaker is needed.
+     */
+    public boolean isSortedById() {
+        return ID_PROPERTY.equals(order.getProperty());
+    }
+
+    public String getLastValue() {
+        return lastValue;
+    }
+
+    public String getLastId() {
+        return lastId;
+    }
+
+    /**
+     * @return the opaque continuation token for this position, or null for the first page.
+     */
+    public String getToken() {
+        if (isFirst()) {
+            return null;
+        }
+        return String.join(
+            TOKEN_SEPARATOR,
+            encode(order.getProperty()),
+            order.isAscending() ? "a" : "d",
+            encode(lastValue),
+            encode(lastId)
+        );
+    }
+
+    private static String encode(String value) {
+        return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String value) {
+        // Base64.Decoder throws IllegalArgumentException on malformed input
+        return new String(DECODER.decode(value), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Keyset)) {
+            return false;
+        }
+        Keyset keyset = (Keyset) o;
+        return (
+            size == keyset.size &&
+            order.equals(keyset.order) &&
+            Objects.equals(lastValue, keyset.lastValue) &&
+            Objects.equals(lastId, keyset.lastId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(size, order, lastValue, lastId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "Keyset{" +
+            "size=" + size +
+            ", order=" + order +
+            ", lastValue='" + lastValue + "'" +
+            ", lastId='" + lastId + "'" +
+            "}";
+    }
+}
@@ -28,11 +28,13 @@ public interface PermissionRepository extends ReactiveCrudRepository<Permission,
     Mono<Void> deleteById(String id);
 }
 
-interface PermissionRepositoryInternal {
+interface PermissionRepositoryInternal extends UpdateRepository<Permission, String> {
     <S extends Permission> Mono<S> save(S entity);
 
     Flux<Permission> findAllBy(Pageable pageable);
 
+    Flux<Permission> findAllBy(Keyset keyset);
+
     Flux<Permission> findAll();
 
     Mono<Permission> findById(String id);
@@ -12,6 +12,7 @@ public class PermissionSqlHelper {
         List<Expression> columns = new ArrayList<>();
         columns.add(Column.aliased("id", table, columnPrefix + "_id"));
         columns.add(Column.aliased("description", table, columnPrefix + "_description"));
+        columns.add(Column.aliased("version", table, columnPrefix + "_version"));
 
         return columns;
     }
@@ -0,0 +1,114 @@
+package com.erestaurant.admin.repository;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * The fields of an entity read by a query, so that the list queries can leave out the large columns which only the
+ * detail queries read, see the {@code getColumns(Table, String, Projection)} methods of the SQL helpers.
+ * <p>
+ * The id and the version are always read, so that an entity read with a projection still has its optimistic lock. The
+ * fields left out are null in the entities read, which must therefore not be saved back.
+ */
+public final class Projection {
+
+    /**
+     * Reads all the fields.
+     */
+    public static final Projection ALL = new Projection(null);
+
+    /**
+     * The name of the version field, which is read by every projection.
+     */
+    public static final String VERSION_PROPERTY = "version";
+
+    private final SortedSet<String> fields;
+
+    private Projection(SortedSet<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Creates a projection.
+     * @param fields the names of the fields, as in the entity, the id and the version are implied.
+     * @return the projection.
+     */
+    public static Projection of(String... fields) {
+        return of(Arrays.asList(fields));
+    }
+
+    /**
+     * Creates a projection.
+     * @param fields the names of the fields, as in the entity, the id and the version are implied.
+     * @return the projection.
+     */
+    public static Projection of(Collection<String> fields) {
+        return new Projection(Collections.unmodifiableSortedSet(new TreeSet<>(fields)));
+    }
+
+    /**
+     * Creates the projection requested by a client.
+     * @param fields the requested fields, or null or empty for the default projection.
+     * @param supportedFields the fields which may be requested, besides the id and the version.
+     * @param defaultProjection the projection used if no field is requested.
+     * @return the projection.
+     * @throws IllegalArgumentException if a requested field is not supported.
+     */
+    public static Projection parse(Collection<String> fields, Set<String> supportedFields, Projection defaultProjection) {
+        if (fields == null || fields.isEmpty()) {
+            return defaultProjection;
+        }
+        SortedSet<String> projected = new TreeSet<>();
+        for (String field : fields) {
+            if (Keyset.ID_PROPERTY.equals(field) || VERSION_PROPERTY.equals(field)) {
+                continue;
+            }
+            if (!supportedFields.contains(field)) {
+                throw new IllegalArgumentException("Unsupported field: " + field);
+            }
+            projected.add(field);
+        }
+        return projected.containsAll(supportedFields) ? ALL : new Projection(Collections.unmodifiableSortedSet(projected));
+    }
+
+    /**
+     * @param field the name of a field, as in the entity.
+     * @return true if the field is read.
+     */
+    public boolean includes(String field) {
+        return fields == null || Keyset.ID_PROPERTY.equals(field) || VERSION_PROPERTY.equals(field) || fields.contains(field);
+    }
+
+    /**
+     * @return a key identifying the fields read, to cache the queries per projection.
+     */
+    public String getKey() {
+        return fields == null ? "*" : String.join(",", fields);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Projection)) {
+            return false;
+        }
+        return Objects.equals(fields, ((Projection) o).fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(fields);
+    }
+
+    @Override
+    public String toString() {
+        return "Projection{" + getKey() + "}";
+    }
+}
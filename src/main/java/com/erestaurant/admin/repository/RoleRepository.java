@@ -28,11 +28,13 @@ public interface RoleRepository extends ReactiveCrudRepository<Role, String>, Ro
     Mono<Void> deleteById(String id);
 }
 
-interface RoleRepositoryInternal {
+interface RoleRepositoryInternal extends UpdateRepository<Role, String> {
     <S extends Role> Mono<S> save(S entity);
 
     Flux<Role> findAllBy(Pageable pageable);
 
+    Flux<Role> findAllBy(Keyset keyset);
+
     Flux<Role> findAll();
 
     Mono<Role> findById(String id);
@@ -28,11 +28,13 @@ public interface SimplePermissionRepository extends ReactiveCrudRepository<Simpl
     Mono<Void> deleteById(String id);
 }
 
-interface SimplePermissionRepositoryInternal {
+interface SimplePermissionRepositoryInternal extends UpdateRepository<SimplePermission, String> {
     <S extends SimplePermission> Mono<S> save(S entity);
 
     Flux<SimplePermission> findAllBy(Pageable pageable);
 
+    Flux<SimplePermission> findAllBy(Keyset keyset);
+
     Flux<SimplePermission> findAll();
 
     Mono<SimplePermission> findById(String id);
@@ -0,0 +1,104 @@
+package com.erestaurant.admin.repository;
+
+import com.erestaurant.admin.repository.rowmapper.ColumnConverter;
+import java.util.List;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Access to the images of the entity tables which have no thumbnail yet, see the {@code updated_entity} changelogs of
+ * these tables.
+ */
+@Repository
+public class ThumbnailRepository {
+
+    /**
+     * The tables with an image and its thumbnail.
+     */
+    public static final List<String> TABLES = List.of("admin", "app_user");
+
+    private final DatabaseClient db;
+
+    private final ColumnConverter converter;
+
+    public ThumbnailRepository(DatabaseClient db, ColumnConverter converter) {
+        this.db = db;
+        this.converter = converter;
+    }
+
+    /**
+     * Find the rows with an image and without thumbnail, in id order.
+     *
+     * @param table the table, one of {@link #TABLES}.
+     * @param afterId the id to continue after, the empty string for the first rows.
+     * @param limit the maximum number of rows.
+     * @return the ids and the image hashes of the rows.
+     */
+    public Flux<ImageReference> findImagesWithoutThumbnail(String table, String afterId, int limit) {
+        Assert.isTrue(TABLES.contains(table), "not a table with a thumbnail: " + table);
+        return db
+            .sql(
+                "SELECT id, image_hash FROM " +
+                table +
+                " WHERE image_hash IS NOT NULL AND thumbnail_hash IS NULL AND id > :afterId ORDER BY id LIMIT " +
+                limit
+            )
+            .bind("afterId", afterId)
+            .map(row -> new ImageReference(converter.fromRow(row, "id", String.class), converter.fromRow(row, "image_hash", String.class)))
+            .all();
+    }
+
+    /**
+     * Reference the thumbnail of the image of a row, unless the row got another image or a thumbnail since. The version of
+     * the row is incremented, as for the other updates.
+     *
+     * @param table the table, one of {@link #TABLES}.
+     * @param id the id of the row.
+     * @param imageHash the hash of the image the thumbnail was computed from.
+     * @param thumbnailHash the hash of the stored thumbnail.
+     * @param thumbnailContentType the content type of the thumbnail.
+     * @return the number of updated rows.
+     */
+    public Mono<Integer> setThumbnail(String table, String id, String imageHash, String thumbnailHash, String thumbnailContentType) {
+        Assert.isTrue(TABLES.contains(table), "not a table with a thumbnail: " + table);
+        return db
+            .sql(
+                "UPDATE " +
+                table +
+                " SET thumbnail_hash = :thumbnailHash, thumbnail_content_type = :thumbnailContentType, version = version + 1" +
+                " WHERE id = :id AND image_hash = :imageHash AND thumbnail_hash IS NULL"
+            )
+            .bind("thumbnailHash", thumbnailHash)
+            .bind("thumbnailContentType", thumbnailContentType)
+            .bind("id", id)
+            .bind("imageHash", imageHash)
+            .fetch()
+            .rowsUpdated();
+    }
+
+    /**
+     * The image of a row.
+     */
+    public static class ImageReference {
+
+        private final String id;
+
+        private final String imageHash;
+
+        ImageReference(String id, String imageHash) {
+            this.id = id;
+            this.imageHash = imageHash;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getImageHash() {
+            return imageHash;
+        }
+    }
+}
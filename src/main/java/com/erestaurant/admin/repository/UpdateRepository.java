@@ -0,0 +1,31 @@
+package com.erestaurant.admin.repository;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Single statement updates and deletes by id, which neither read the entity first nor check that it exists, see
+ * {@link EntityManager#update(Class, Object, boolean)} and {@link EntityManager#deleteById(Class, Object)}.
+ *
+ * @param <T> the type of the entities.
+ * @param <ID> the type of the ids.
+ */
+public interface UpdateRepository<T, ID> {
+    /**
+     * @param entity the entity to update by id, all its columns are written.
+     * @return the number of updated rows, 0 if the entity does not exist.
+     */
+    Mono<Integer> update(T entity);
+
+    /**
+     * @param entity the entity to update by id, only the columns of its non-null properties are written.
+     * @return the number of updated rows, 0 if the entity does not exist.
+     */
+    Mono<Integer> updateNonNull(T entity);
+
+    /**
+     * Unlike {@code deleteById}, tells whether the entity existed, e.g. so that only actual deletions are published.
+     * @param id the id of the entity to delete.
+     * @return the number of deleted rows, 0 if the entity does not exist.
+     */
+    Mono<Integer> deleteRowsById(ID id);
+}
@@ -6,10 +6,12 @@ import static org.springframework.data.relational.core.query.Query.query;
 import com.erestaurant.admin.domain.Authority;
 import com.erestaurant.admin.domain.User;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import org.apache.commons.beanutils.BeanComparator;
 import org.springframework.data.domain.*;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
@@ -55,18 +57,53 @@ interface UserRepositoryInternal {
     Mono<User> create(User user);
 
     Flux<User> findAllWithAuthorities(Pageable pageable);
+
+    /**
+     * Links the user with exactly the given authorities, only the added and removed links are written.
+     * @param userId the id of the user.
+     * @param authorities the names of the authorities.
+     * @return the number of inserted and deleted links.
+     */
+    Mono<Integer> updateUserAuthorities(String userId, Collection<String> authorities);
 }
 
 class UserRepositoryInternalImpl implements UserRepositoryInternal {
 
+    private static final EntityManager.LinkTable USER_AUTHORITY = new EntityManager.LinkTable(
+        "jhi_user_authority",
+        "user_id",
+        "authority_name"
+    );
+
+    private static final Map<String, String> SORTABLE_COLUMNS = Map.ofEntries(
+        Map.entry("id", "id"),
+        Map.entry("login", "login"),
+        Map.entry("firstName", "first_name"),
+        Map.entry("lastName", "last_name"),
+        Map.entry("email", "email"),
+        Map.entry("activated", "activated"),
+        Map.entry("langKey", "lang_key"),
+        Map.entry("createdBy", "created_by"),
+        Map.entry("createdDate", "created_date"),
+        Map.entry("lastModifiedBy", "last_modified_by"),
+        Map.entry("lastModifiedDate", "last_modified_date")
+    );
+
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final R2dbcConverter r2dbcConverter;
-
-    public UserRepositoryInternalImpl(DatabaseClient db, R2dbcEntityTemplate r2dbcEntityTemplate, R2dbcConverter r2dbcConverter) {
+    private final EntityManager entityManager;
+
+    public UserRepositoryInternalImpl(
+        DatabaseClient db,
+        R2dbcEntityTemplate r2dbcEntityTemplate,
+        R2dbcConverter r2dbcConverter,
+        EntityManager entityManager
+    ) {
         this.db = db;
         this.r2dbcEntityTemplate = r2dbcEntityTemplate;
         this.r2dbcConverter = r2dbcConverter;
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -76,28 +113,16 @@ class UserRepositoryInternalImpl implements UserRepositoryInternal {
 
     @Override
     public Flux<User> findAllWithAuthorities(Pageable pageable) {
-        String property = pageable.getSort().stream().map(Sort.Order::getProperty).findFirst().orElse("id");
-        String direction = String.valueOf(
-            pageable.getSort().stream().map(Sort.Order::getDirection).findFirst().orElse(Sort.DEFAULT_DIRECTION)
-        );
-        long page = pageable.getPageNumber();
-        long size = pageable.getPageSize();
-
+        // page the users in SQL first, then only fetch the authorities of that page
+        String select = "SELECT * FROM jhi_user u ORDER BY " + createOrderBy(pageable.getSort()) + " LIMIT :size OFFSET :offset";
         return db
-            .sql("SELECT * FROM jhi_user u LEFT JOIN jhi_user_authority ua ON u.id=ua.user_id")
-            .map((row, metadata) ->
-                Tuples.of(r2dbcConverter.read(User.class, row, metadata), Optional.ofNullable(row.get("authority_name", String.class)))
-            )
+            .sql(select)
+            .bind("size", pageable.getPageSize())
+            .bind("offset", pageable.getOffset())
+            .map((row, metadata) -> r2dbcConverter.read(User.class, row, metadata))
             .all()
-            .groupBy(t -> t.getT1().getLogin())
-            .flatMap(l -> l.collectList().map(t -> updateUserWithAuthorities(t.get(0).getT1(), t)))
-            .sort(
-                Sort.Direction.fromString(direction) == Sort.DEFAULT_DIRECTION
-                    ? new BeanComparator<>(property)
-                    : new BeanComparator<>(property).reversed()
-            )
-            .skip(page * size)
-            .take(size);
+            .collectList()
+            .flatMapMany(this::fetchAuthorities);
     }
 
     @Override
@@ -105,6 +130,11 @@ class UserRepositoryInternalImpl implements UserRepositoryInternal {
         return r2dbcEntityTemplate.insert(User.class).using(user).defaultIfEmpty(user);
     }
 
+    @Override
+    public Mono<Integer> updateUserAuthorities(String userId, Collection<String> authorities) {
+        return entityManager.mergeLinkTable(USER_AUTHORITY, userId, authorities.stream());
+    }
+
     private Mono<User> findOneWithAuthoritiesBy(String fieldName, Object fieldValue) {
         return db
             .sql("SELECT * FROM jhi_user u LEFT JOIN jhi_user_authority ua ON u.id=ua.user_id WHERE u." + fieldName + " = :" + fieldName)
@@ -118,6 +148,51 @@ class UserRepositoryInternalImpl implements UserRepositoryInternal {
             .map(l -> updateUserWithAuthorities(l.get(0).getT1(), l));
     }
 
+    private Flux<User> fetchAuthorities(List<User> users) {
+        if (users.isEmpty()) {
+            return Flux.empty();
+        }
+        List<String> userIds = users.stream().map(User::getId).collect(Collectors.toList());
+        return db
+            .sql("SELECT user_id, authority_name FROM jhi_user_authority WHERE user_id IN (:userIds)")
+            .bind("userIds", userIds)
+            .map((row, metadata) -> Tuples.of(row.get("user_id", String.class), row.get("authority_name", String.class)))
+            .all()
+            .collect(
+                Collectors.groupingBy(
+                    Tuple2::getT1,
+                    Collectors.mapping(
+                        t -> {
+                            Authority authority = new Authority();
+                            authority.setName(t.getT2());
+                            return authority;
+                        },
+                        Collectors.toSet()
+                    )
+                )
+            )
+            .flatMapMany(authorities -> {
+                users.forEach(user -> user.setAuthorities(authorities.getOrDefault(user.getId(), new HashSet<>())));
+                return Flux.fromIterable(users);
+            });
+    }
+
+    /**
+     * Only whitelisted properties are rendered into the ORDER BY clause, the id is always added last to keep the paging stable.
+     */
+    private static String createOrderBy(Sort sort) {
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String column = SORTABLE_COLUMNS.get(order.getProperty());
+            if (column != null && !"id".equals(column)) {
+                orders.add("u." + column + (order.isAscending() ? " ASC" : " DESC"));
+            }
+        }
+        Sort.Order idOrder = sort.getOrderFor("id");
+        orders.add(idOrder != null && idOrder.isDescending() ? "u.id DESC" : "u.id ASC");
+        return String.join(", ", orders);
+    }
+
     private User updateUserWithAuthorities(User user, List<Tuple2<User, Optional<String>>> tuples) {
         user.setAuthorities(
             tuples
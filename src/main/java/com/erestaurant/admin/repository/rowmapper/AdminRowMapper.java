@@ -2,34 +2,60 @@ package com.erestaurant.admin.repository.rowmapper;
 
 import com.erestaurant.admin.domain.Admin;
 import io.r2dbc.spi.Row;
-import java.util.function.BiFunction;
+import io.r2dbc.spi.RowMetadata;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link Admin}, with proper type conversions.
  */
 @Service
-public class AdminRowMapper implements BiFunction<Row, String, Admin> {
+public class AdminRowMapper {
 
-    private final ColumnConverter converter;
+    private final RowReader reader;
+    private final RowReader.Column<String> id;
+    private final RowReader.Column<String> name;
+    private final RowReader.Column<String> description;
+    private final RowReader.Column<String> imageContentType;
+    private final RowReader.Column<String> imageHash;
+    private final RowReader.Column<Long> imageSize;
+    private final RowReader.Column<String> thumbnailHash;
+    private final RowReader.Column<String> thumbnailContentType;
+    private final RowReader.Column<String> email;
+    private final RowReader.Column<Long> version;
 
     public AdminRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        RowReader.Builder builder = RowReader.builder(converter);
+        this.id = builder.column("id", String.class);
+        this.name = builder.optionalColumn("name", String.class);
+        this.description = builder.optionalColumn("description", String.class);
+        this.imageContentType = builder.optionalColumn("image_content_type", String.class);
+        this.imageHash = builder.optionalColumn("image_hash", String.class);
+        this.imageSize = builder.optionalColumn("image_size", Long.class);
+        this.thumbnailHash = builder.optionalColumn("thumbnail_hash", String.class);
+        this.thumbnailContentType = builder.optionalColumn("thumbnail_content_type", String.class);
+        this.email = builder.optionalColumn("email", String.class);
+        this.version = builder.column("version", Long.class);
+        this.reader = builder.build();
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row}, its metadata and a column prefix, and extract all the fields. The fields left out by a
+     * {@link com.erestaurant.admin.repository.Projection} are null, the id and the version are always read.
      * @return the {@link Admin} stored in the database.
      */
-    @Override
-    public Admin apply(Row row, String prefix) {
+    public Admin apply(Row row, RowMetadata metadata, String prefix) {
+        RowReader.Columns columns = reader.columns(metadata, prefix);
         Admin entity = new Admin();
-        entity.setId(converter.fromRow(row, prefix + "_id", String.class));
-        entity.setName(converter.fromRow(row, prefix + "_name", String.class));
-        entity.setDescription(converter.fromRow(row, prefix + "_description", String.class));
-        entity.setImageContentType(converter.fromRow(row, prefix + "_image_content_type", String.class));
-        entity.setImage(converter.fromRow(row, prefix + "_image", byte[].class));
-        entity.setEmail(converter.fromRow(row, prefix + "_email", String.class));
+        entity.setId(columns.get(row, id));
+        entity.setName(columns.get(row, name));
+        entity.setDescription(columns.get(row, description));
+        entity.setImageContentType(columns.get(row, imageContentType));
+        entity.setImageHash(columns.get(row, imageHash));
+        entity.setImageSize(columns.get(row, imageSize));
+        entity.setThumbnailHash(columns.get(row, thumbnailHash));
+        entity.setThumbnailContentType(columns.get(row, thumbnailContentType));
+        entity.setEmail(columns.get(row, email));
+        entity.setVersion(columns.get(row, version));
         return entity;
     }
 }
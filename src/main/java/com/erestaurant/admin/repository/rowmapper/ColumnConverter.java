@@ -46,6 +46,20 @@ public class ColumnConverter {
         return conversionService.convert(value, target);
     }
 
+    /**
+     * Decides whether a column must be read untyped and converted with {@link #convert(Object, Class)}, instead of being
+     * read as the target type straight from the driver.
+     * @param columnType the Java type of the column reported by the driver, or null if unknown.
+     * @param target class.
+     * @return true if the value must be converted.
+     */
+    public boolean needsConversion(@Nullable Class<?> columnType, Class<?> target) {
+        if (Enum.class.isAssignableFrom(target)) {
+            return true;
+        }
+        return columnType != null && !ClassUtils.isAssignable(target, columnType) && conversions.hasCustomReadTarget(columnType, target);
+    }
+
     /**
      * Convert a value from the {@link Row} to a type - throws an exception, it it's impossible.
      * @param row which contains the column values.
@@ -2,30 +2,38 @@ package com.erestaurant.admin.repository.rowmapper;
 
 import com.erestaurant.admin.domain.CompositePermission;
 import io.r2dbc.spi.Row;
-import java.util.function.BiFunction;
+import io.r2dbc.spi.RowMetadata;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link CompositePermission}, with proper type conversions.
  */
 @Service
-public class CompositePermissionRowMapper implements BiFunction<Row, String, CompositePermission> {
+public class CompositePermissionRowMapper {
 
-    private final ColumnConverter converter;
+    private final RowReader reader;
+    private final RowReader.Column<String> id;
+    private final RowReader.Column<String> description;
+    private final RowReader.Column<Long> version;
 
     public CompositePermissionRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        RowReader.Builder builder = RowReader.builder(converter);
+        this.id = builder.column("id", String.class);
+        this.description = builder.column("description", String.class);
+        this.version = builder.column("version", Long.class);
+        this.reader = builder.build();
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row}, its metadata and a column prefix, and extract all the fields.
      * @return the {@link CompositePermission} stored in the database.
      */
-    @Override
-    public CompositePermission apply(Row row, String prefix) {
+    public CompositePermission apply(Row row, RowMetadata metadata, String prefix) {
+        RowReader.Columns columns = reader.columns(metadata, prefix);
         CompositePermission entity = new CompositePermission();
-        entity.setId(converter.fromRow(row, prefix + "_id", String.class));
-        entity.setDescription(converter.fromRow(row, prefix + "_description", String.class));
+        entity.setId(columns.get(row, id));
+        entity.setDescription(columns.get(row, description));
+        entity.setVersion(columns.get(row, version));
         return entity;
     }
 }
@@ -2,32 +2,44 @@ package com.erestaurant.admin.repository.rowmapper;
 
 import com.erestaurant.admin.domain.Discount;
 import io.r2dbc.spi.Row;
-import java.util.function.BiFunction;
+import io.r2dbc.spi.RowMetadata;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link Discount}, with proper type conversions.
  */
 @Service
-public class DiscountRowMapper implements BiFunction<Row, String, Discount> {
+public class DiscountRowMapper {
 
-    private final ColumnConverter converter;
+    private final RowReader reader;
+    private final RowReader.Column<String> id;
+    private final RowReader.Column<String> code;
+    private final RowReader.Column<String> description;
+    private final RowReader.Column<Float> percentage;
+    private final RowReader.Column<Long> version;
 
     public DiscountRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        RowReader.Builder builder = RowReader.builder(converter);
+        this.id = builder.column("id", String.class);
+        this.code = builder.column("code", String.class);
+        this.description = builder.column("description", String.class);
+        this.percentage = builder.column("percentage", Float.class);
+        this.version = builder.column("version", Long.class);
+        this.reader = builder.build();
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row}, its metadata and a column prefix, and extract all the fields.
      * @return the {@link Discount} stored in the database.
      */
-    @Override
-    public Discount apply(Row row, String prefix) {
+    public Discount apply(Row row, RowMetadata metadata, String prefix) {
+        RowReader.Columns columns = reader.columns(metadata, prefix);
         Discount entity = new Discount();
-        entity.setId(converter.fromRow(row, prefix + "_id", String.class));
-        entity.setCode(converter.fromRow(row, prefix + "_code", String.class));
-        entity.setDescription(converter.fromRow(row, prefix + "_description", String.class));
-        entity.setPercentage(converter.fromRow(row, prefix + "_percentage", Float.class));
+        entity.setId(columns.get(row, id));
+        entity.setCode(columns.get(row, code));
+        entity.setDescription(columns.get(row, description));
+        entity.setPercentage(columns.get(row, percentage));
+        entity.setVersion(columns.get(row, version));
         return entity;
     }
 }
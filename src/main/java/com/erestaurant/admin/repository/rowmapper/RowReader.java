@@ -0,0 +1,258 @@
+package com.erestaurant.admin.repository.rowmapper;
+
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads the columns of an entity from {@link Row}s by index.
+ * <p>
+ * The indexes of the columns are resolved once per column layout, i.e. the prefix and the names and types of the
+ * columns of the result, together with the decision how each column is read: straight from the driver, or through
+ * {@link ColumnConverter#convert(Object, Class)} for the types the driver cannot produce, e.g. enums. So the queries of
+ * the same shape share their resolution, whichever ran last, and reading a row neither builds column names nor looks
+ * them up.
+ * <p>
+ * The columns declared with {@link Builder#optionalColumn(String, Class)} may be left out of a query, e.g. by a
+ * projection, they are then read as null.
+ */
+public class RowReader {
+
+    private static final int MISSING = -1;
+
+    private final ColumnConverter converter;
+    private final List<Column<?>> columns;
+    private final Map<Layout, Columns> columnsByLayout = new ConcurrentHashMap<>();
+    private final Map<String, Resolution> lastByPrefix = new ConcurrentHashMap<>();
+
+    private RowReader(ColumnConverter converter, List<Column<?>> columns) {
+        this.converter = converter;
+        this.columns = columns;
+    }
+
+    /**
+     * Creates a builder, the columns are declared with {@link Builder#column(String, Class)}.
+     * @param converter the converter for the values the driver cannot produce.
+     * @return the builder.
+     */
+    public static Builder builder(ColumnConverter converter) {
+        return new Builder(converter);
+    }
+
+    /**
+     * Resolves the columns for the rows of a result. The resolution is cached per column layout.
+     * @param metadata the metadata of the rows.
+     * @param prefix the prefix of the column names, without the {@code _} separator.
+     * @return the resolved columns.
+     * @throws IllegalArgumentException if a column which is not optional is missing from the metadata.
+     */
+    public Columns columns(RowMetadata metadata, String prefix) {
+        // the rows of a result share their metadata, which skips building the layout for all of them but the first
+        Resolution last = lastByPrefix.get(prefix);
+        if (last != null && last.metadata == metadata) {
+            return last.columns;
+        }
+        List<? extends ColumnMetadata> columnMetadatas = List.copyOf(metadata.getColumnMetadatas());
+        Columns resolved = columnsByLayout.computeIfAbsent(
+            new Layout(prefix, columnMetadatas),
+            layout -> new Columns(columnMetadatas, prefix)
+        );
+        lastByPrefix.put(prefix, new Resolution(metadata, resolved));
+        return resolved;
+    }
+
+    /**
+     * The prefix and the names and types of the columns of a result, which the resolution of the columns depends on.
+     */
+    private static final class Layout {
+
+        private final String prefix;
+        private final List<String> names = new ArrayList<>();
+        private final List<Class<?>> types = new ArrayList<>();
+        private final int hash;
+
+        private Layout(String prefix, List<? extends ColumnMetadata> columnMetadatas) {
+            this.prefix = prefix;
+            for (ColumnMetadata columnMetadata : columnMetadatas) {
+                names.add(columnMetadata.getName());
+                types.add(columnMetadata.getJavaType());
+            }
+            this.hash = Objects.hash(prefix, names, types);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Layout)) {
+                return false;
+            }
+            Layout that = (Layout) o;
+            return hash == that.hash && prefix.equals(that.prefix) && names.equals(that.names) && types.equals(that.types);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * The columns resolved for the last metadata read with a prefix.
+     */
+    private static final class Resolution {
+
+        private final RowMetadata metadata;
+        private final Columns columns;
+
+        private Resolution(RowMetadata metadata, Columns columns) {
+            this.metadata = metadata;
+            this.columns = columns;
+        }
+    }
+
+    /**
+     * A column declared with {@link Builder#column(String, Class)}.
+     * @param <T> the type the column is read as.
+     */
+    public static final class Column<T> {
+
+        private final int position;
+        private final String name;
+        private final Class<T> target;
+        private final boolean optional;
+
+        private Column(int position, String name, Class<T> target, boolean optional) {
+            this.position = position;
+            this.name = name;
+            this.target = target;
+            this.optional = optional;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Class<T> getTarget() {
+            return target;
+        }
+    }
+
+    /**
+     * The columns of a {@link RowReader}, resolved for the rows of one column layout. An instance is shared by the
+     * queries of this layout, on any thread.
+     */
+    public final class Columns {
+
+        private final int[] indexes;
+
+        /**
+         * Whether each column is converted, replaced as a whole when the driver turns out unable to produce a type, so
+         * that the other threads see the update.
+         */
+        private volatile boolean[] converted;
+
+        private Columns(List<? extends ColumnMetadata> columnMetadatas, String prefix) {
+            this.indexes = new int[columns.size()];
+            boolean[] converted = new boolean[columns.size()];
+            Map<String, Integer> indexesByName = new HashMap<>();
+            for (int i = 0; i < columnMetadatas.size(); i++) {
+                // some databases, like H2, return the column labels in upper case
+                indexesByName.putIfAbsent(columnMetadatas.get(i).getName().toLowerCase(Locale.ROOT), i);
+            }
+            for (Column<?> column : columns) {
+                String name = (prefix + "_" + column.name).toLowerCase(Locale.ROOT);
+                Integer index = indexesByName.get(name);
+                if (index == null && column.optional) {
+                    indexes[column.position] = MISSING;
+                    continue;
+                }
+                if (index == null) {
+                    throw new IllegalArgumentException("Column '" + name + "' not found in " + indexesByName.keySet());
+                }
+                indexes[column.position] = index;
+                converted[column.position] = converter.needsConversion(columnMetadatas.get(index).getJavaType(), column.target);
+            }
+            this.converted = converted;
+        }
+
+        /**
+         * Reads the value of a column.
+         * @param row the row, which must have the metadata these columns were resolved for.
+         * @param column the column.
+         * @param <T> the type the column is read as.
+         * @return the value, null for SQL NULL or a missing optional column.
+         */
+        public <T> T get(Row row, Column<T> column) {
+            int position = column.position;
+            if (indexes[position] == MISSING) {
+                return null;
+            }
+            boolean[] current = converted;
+            if (!current[position]) {
+                try {
+                    return row.get(indexes[position], column.target);
+                } catch (RuntimeException e) {
+                    // the driver cannot produce the type after all, this column is converted from now on
+                    boolean[] updated = current.clone();
+                    updated[position] = true;
+                    converted = updated;
+                }
+            }
+            return converter.convert(row.get(indexes[position]), column.target);
+        }
+    }
+
+    /**
+     * Declares the columns of a {@link RowReader}.
+     */
+    public static final class Builder {
+
+        private final ColumnConverter converter;
+        private final List<Column<?>> columns = new ArrayList<>();
+
+        private Builder(ColumnConverter converter) {
+            this.converter = converter;
+        }
+
+        /**
+         * Declares a column.
+         * @param name the name of the column, without prefix.
+         * @param target the type the column is read as.
+         * @param <T> the type the column is read as.
+         * @return the column, to be passed to {@link Columns#get(Row, Column)}.
+         */
+        public <T> Column<T> column(String name, Class<T> target) {
+            return add(name, target, false);
+        }
+
+        /**
+         * Declares a column which may be missing from the rows, it is then read as null.
+         * @param name the name of the column, without prefix.
+         * @param target the type the column is read as.
+         * @param <T> the type the column is read as.
+         * @return the column, to be passed to {@link Columns#get(Row, Column)}.
+         */
+        public <T> Column<T> optionalColumn(String name, Class<T> target) {
+            return add(name, target, true);
+        }
+
+        private <T> Column<T> add(String name, Class<T> target, boolean optional) {
+            Column<T> column = new Column<>(columns.size(), name, target, optional);
+            columns.add(column);
+            return column;
+        }
+
+        public RowReader build() {
+            return new RowReader(converter, List.copyOf(columns));
+        }
+    }
+}
@@ -2,37 +2,53 @@ package com.erestaurant.admin.repository.rowmapper;
 
 import com.erestaurant.admin.domain.User;
 import io.r2dbc.spi.Row;
-import java.time.Instant;
-import java.util.function.BiFunction;
+import io.r2dbc.spi.RowMetadata;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link User}, with proper type conversions.
  */
 @Service
-public class UserRowMapper implements BiFunction<Row, String, User> {
+public class UserRowMapper {
 
-    private final ColumnConverter converter;
+    private final RowReader reader;
+    private final RowReader.Column<String> id;
+    private final RowReader.Column<String> login;
+    private final RowReader.Column<String> firstName;
+    private final RowReader.Column<String> lastName;
+    private final RowReader.Column<String> email;
+    private final RowReader.Column<Boolean> activated;
+    private final RowReader.Column<String> langKey;
+    private final RowReader.Column<String> imageUrl;
 
     public UserRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        RowReader.Builder builder = RowReader.builder(converter);
+        this.id = builder.column("id", String.class);
+        this.login = builder.column("login", String.class);
+        this.firstName = builder.column("first_name", String.class);
+        this.lastName = builder.column("last_name", String.class);
+        this.email = builder.column("email", String.class);
+        this.activated = builder.column("activated", Boolean.class);
+        this.langKey = builder.column("lang_key", String.class);
+        this.imageUrl = builder.column("image_url", String.class);
+        this.reader = builder.build();
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row}, its metadata and a column prefix, and extract all the fields.
      * @return the {@link User} stored in the database.
      */
-    @Override
-    public User apply(Row row, String prefix) {
+    public User apply(Row row, RowMetadata metadata, String prefix) {
+        RowReader.Columns columns = reader.columns(metadata, prefix);
         User entity = new User();
-        entity.setId(row.get(prefix + "_id", String.class));
-        entity.setLogin(converter.fromRow(row, prefix + "_login", String.class));
-        entity.setFirstName(converter.fromRow(row, prefix + "_first_name", String.class));
-        entity.setLastName(converter.fromRow(row, prefix + "_last_name", String.class));
-        entity.setEmail(converter.fromRow(row, prefix + "_email", String.class));
-        entity.setActivated(Boolean.TRUE.equals(converter.fromRow(row, prefix + "_activated", Boolean.class)));
-        entity.setLangKey(converter.fromRow(row, prefix + "_lang_key", String.class));
-        entity.setImageUrl(converter.fromRow(row, prefix + "_image_url", String.class));
+        entity.setId(columns.get(row, id));
+        entity.setLogin(columns.get(row, login));
+        entity.setFirstName(columns.get(row, firstName));
+        entity.setLastName(columns.get(row, lastName));
+        entity.setEmail(columns.get(row, email));
+        entity.setActivated(Boolean.TRUE.equals(columns.get(row, activated)));
+        entity.setLangKey(columns.get(row, langKey));
+        entity.setImageUrl(columns.get(row, imageUrl));
         return entity;
     }
 }
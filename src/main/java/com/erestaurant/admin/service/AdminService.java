@@ -1,7 +1,10 @@
 package com.erestaurant.admin.service;
 
+import com.erestaurant.admin.repository.Keyset;
+import com.erestaurant.admin.repository.Projection;
 import com.erestaurant.admin.service.dto.AdminDTO;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -21,7 +24,7 @@ public interface AdminService {
      * Updates a admin.
      *
      * @param adminDTO the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the entity does not exist.
      */
     Mono<AdminDTO> update(AdminDTO adminDTO);
 
@@ -29,7 +32,7 @@ public interface AdminService {
      * Partially updates a admin.
      *
      * @param adminDTO the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the entity does not exist.
      */
     Mono<AdminDTO> partialUpdate(AdminDTO adminDTO);
 
@@ -41,12 +44,43 @@ public interface AdminService {
     Flux<AdminDTO> findAll();
 
     /**
-     * Returns the number of admins available.
+     * Get a page of the admins.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Flux<AdminDTO> findAll(Pageable pageable);
+
+    /**
+     * Get a page of the admins, with only the fields of the projection.
+     *
+     * @param pageable the pagination information.
+     * @param projection the fields to read, the others are null.
+     * @return the list of entities.
+     */
+    Flux<AdminDTO> findAll(Pageable pageable, Projection projection);
+
+    /**
+     * Get a page of the admins, starting after the position of the keyset.
+     *
+     * @param keyset the page size, sort order and position to continue from.
+     * @return the list of entities.
+     */
+    Flux<AdminDTO> findAll(Keyset keyset);
+
+    /**
+     * Returns the number of admins available, estimated for the large tables.
      * @return the number of entities in the database.
      *
      */
     Mono<Long> countAll();
 
+    /**
+     * Get the tag of the current state of the admins, which changes with every change of a admin.
+     * @return the tag, see {@link com.erestaurant.admin.service.sequence.ChangeSequence#getTag()}.
+     */
+    String getChangeTag();
+
     /**
      * Get the "id" admin.
      *
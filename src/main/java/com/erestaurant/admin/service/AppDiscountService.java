@@ -1,7 +1,12 @@
 package com.erestaurant.admin.service;
 
+import com.erestaurant.admin.repository.Keyset;
 import com.erestaurant.admin.service.dto.AppDiscountDTO;
+import com.erestaurant.admin.service.dto.BulkItemResultDTO;
+import com.erestaurant.admin.service.dto.BulkOperationDTO;
+import com.erestaurant.admin.service.feed.ChangeFeedEvent;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -21,7 +26,7 @@ public interface AppDiscountService {
      * Updates a appDiscount.
      *
      * @param appDiscountDTO the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the entity does not exist.
      */
     Mono<AppDiscountDTO> update(AppDiscountDTO appDiscountDTO);
 
@@ -29,7 +34,7 @@ public interface AppDiscountService {
      * Partially updates a appDiscount.
      *
      * @param appDiscountDTO the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the entity does not exist.
      */
     Mono<AppDiscountDTO> partialUpdate(AppDiscountDTO appDiscountDTO);
 
@@ -41,12 +46,42 @@ public interface AppDiscountService {
     Flux<AppDiscountDTO> findAll();
 
     /**
-     * Returns the number of appDiscounts available.
+     * Get a page of the appDiscounts.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Flux<AppDiscountDTO> findAll(Pageable pageable);
+
+    /**
+     * Get a page of the appDiscounts, starting after the position of the keyset.
+     *
+     * @param keyset the page size, sort order and position to continue from.
+     * @return the list of entities.
+     */
+    Flux<AppDiscountDTO> findAll(Keyset keyset);
+
+    /**
+     * Returns the number of appDiscounts available, estimated for the large tables.
      * @return the number of entities in the database.
      *
      */
     Mono<Long> countAll();
 
+    /**
+     * Get the tag of the current state of the app discounts, which changes with every change of a app discount.
+     * @return the tag, see {@link com.erestaurant.admin.service.sequence.ChangeSequence#getTag()}.
+     */
+    String getChangeTag();
+
+    /**
+     * Get the changes of the app discounts, as they are committed.
+     *
+     * @param lastEventId the id of the last change the client got, to resume after it, or null.
+     * @return the changes, see {@link com.erestaurant.admin.service.feed.ChangeFeed#changes(String)}.
+     */
+    Flux<ChangeFeedEvent> getChanges(String lastEventId);
+
     /**
      * Get the "id" appDiscount.
      *
@@ -62,4 +97,12 @@ public interface AppDiscountService {
      * @return a Mono to signal the deletion
      */
     Mono<Void> delete(String id);
+
+    /**
+     * Create, update and delete app discounts in bulk, in one transaction.
+     *
+     * @param operations the operations to execute.
+     * @return the result of each operation, in the order of the operations.
+     */
+    Flux<BulkItemResultDTO> bulk(List<BulkOperationDTO<AppDiscountDTO>> operations);
 }
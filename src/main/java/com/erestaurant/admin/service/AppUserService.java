@@ -1,5 +1,7 @@
 package com.erestaurant.admin.service;
 
+import com.erestaurant.admin.repository.Keyset;
+import com.erestaurant.admin.repository.Projection;
 import com.erestaurant.admin.service.dto.AppUserDTO;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
@@ -22,7 +24,7 @@ public interface AppUserService {
      * Updates a appUser.
      *
      * @param appUserDTO the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the entity does not exist.
      */
     Mono<AppUserDTO> update(AppUserDTO appUserDTO);
 
@@ -30,7 +32,7 @@ public interface AppUserService {
      * Partially updates a appUser.
      *
      * @param appUserDTO the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the entity does not exist.
      */
     Mono<AppUserDTO> partialUpdate(AppUserDTO appUserDTO);
 
@@ -41,6 +43,31 @@ public interface AppUserService {
      */
     Flux<AppUserDTO> findAll();
 
+    /**
+     * Get a page of the appUsers.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Flux<AppUserDTO> findAll(Pageable pageable);
+
+    /**
+     * Get a page of the appUsers, with only the fields of the projection.
+     *
+     * @param pageable the pagination information.
+     * @param projection the fields to read, the others are null.
+     * @return the list of entities.
+     */
+    Flux<AppUserDTO> findAll(Pageable pageable, Projection projection);
+
+    /**
+     * Get a page of the appUsers, starting after the position of the keyset.
+     *
+     * @param keyset the page size, sort order and position to continue from.
+     * @return the list of entities.
+     */
+    Flux<AppUserDTO> findAll(Keyset keyset);
+
     /**
      * Get all the appUsers with eager load of many-to-many relationships.
      *
@@ -50,7 +77,16 @@ public interface AppUserService {
     Flux<AppUserDTO> findAllWithEagerRelationships(Pageable pageable);
 
     /**
-     * Returns the number of appUsers available.
+     * Get all the appUsers with eager load of many-to-many relationships, with only the fields of the projection.
+     *
+     * @param pageable the pagination information.
+     * @param projection the fields to read, the others are null.
+     * @return the list of entities.
+     */
+    Flux<AppUserDTO> findAllWithEagerRelationships(Pageable pageable, Projection projection);
+
+    /**
+     * Returns the number of appUsers available, estimated for the large tables.
      * @return the number of entities in the database.
      *
      */
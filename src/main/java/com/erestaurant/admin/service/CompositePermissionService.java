@@ -1,7 +1,9 @@
 package com.erestaurant.admin.service;
 
+import com.erestaurant.admin.repository.Keyset;
 import com.erestaurant.admin.service.dto.CompositePermissionDTO;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -21,7 +23,7 @@ public interface CompositePermissionService {
      * Updates a compositePermission.
      *
      * @param compositePermissionDTO the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the entity does not exist.
      */
     Mono<CompositePermissionDTO> update(CompositePermissionDTO compositePermissionDTO);
 
@@ -29,7 +31,7 @@ public interface CompositePermissionService {
      * Partially updates a compositePermission.
      *
      * @param compositePermissionDTO the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the entity does not exist.
      */
     Mono<CompositePermissionDTO> partialUpdate(CompositePermissionDTO compositePermissionDTO);
 
@@ -41,12 +43,34 @@ public interface CompositePermissionService {
     Flux<CompositePermissionDTO> findAll();
 
     /**
-     * Returns the number of compositePermissions available.
+     * Get a page of the compositePermissions.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Flux<CompositePermissionDTO> findAll(Pageable pageable);
+
+    /**
+     * Get a page of the compositePermissions, starting after the position of the keyset.
+     *
+     * @param keyset the page size, sort order and position to continue from.
+     * @return the list of entities.
+     */
+    Flux<CompositePermissionDTO> findAll(Keyset keyset);
+
+    /**
+     * Returns the number of compositePermissions available, estimated for the large tables.
      * @return the number of entities in the database.
      *
      */
     Mono<Long> countAll();
 
+    /**
+     * Get the tag of the current state of the composite permissions, which changes with every change of a composite permission.
+     * @return the tag, see {@link com.erestaurant.admin.service.sequence.ChangeSequence#getTag()}.
+     */
+    String getChangeTag();
+
     /**
      * Get the "id" compositePermission.
      *
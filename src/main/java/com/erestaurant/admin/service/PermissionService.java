@@ -1,7 +1,9 @@
 package com.erestaurant.admin.service;
 
+import com.erestaurant.admin.repository.Keyset;
 import com.erestaurant.admin.service.dto.PermissionDTO;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -21,7 +23,7 @@ public interface PermissionService {
      * Updates a permission.
      *
      * @param permissionDTO the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the entity does not exist.
      */
     Mono<PermissionDTO> update(PermissionDTO permissionDTO);
 
@@ -29,7 +31,7 @@ public interface PermissionService {
      * Partially updates a permission.
      *
      * @param permissionDTO the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the entity does not exist.
      */
     Mono<PermissionDTO> partialUpdate(PermissionDTO permissionDTO);
 
@@ -41,12 +43,34 @@ public interface PermissionService {
     Flux<PermissionDTO> findAll();
 
     /**
-     * Returns the number of permissions available.
+     * Get a page of the permissions.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Flux<PermissionDTO> findAll(Pageable pageable);
+
+    /**
+     * Get a page of the permissions, starting after the position of the keyset.
+     *
+     * @param keyset the page size, sort order and position to continue from.
+     * @return the list of entities.
+     */
+    Flux<PermissionDTO> findAll(Keyset keyset);
+
+    /**
+     * Returns the number of permissions available, estimated for the large tables.
      * @return the number of entities in the database.
      *
      */
     Mono<Long> countAll();
 
+    /**
+     * Get the tag of the current state of the permissions, which changes with every change of a permission.
+     * @return the tag, see {@link com.erestaurant.admin.service.sequence.ChangeSequence#getTag()}.
+     */
+    String getChangeTag();
+
     /**
      * Get the "id" permission.
      *
@@ -1,7 +1,9 @@
 package com.erestaurant.admin.service;
 
+import com.erestaurant.admin.repository.Keyset;
 import com.erestaurant.admin.service.dto.RoleDTO;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -21,7 +23,7 @@ public interface RoleService {
      * Updates a role.
      *
      * @param roleDTO the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the entity does not exist.
      */
     Mono<RoleDTO> update(RoleDTO roleDTO);
 
@@ -29,7 +31,7 @@ public interface RoleService {
      * Partially updates a role.
      *
      * @param roleDTO the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the entity does not exist.
      */
     Mono<RoleDTO> partialUpdate(RoleDTO roleDTO);
 
@@ -41,12 +43,34 @@ public interface RoleService {
     Flux<RoleDTO> findAll();
 
     /**
-     * Returns the number of roles available.
+     * Get a page of the roles.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Flux<RoleDTO> findAll(Pageable pageable);
+
+    /**
+     * Get a page of the roles, starting after the position of the keyset.
+     *
+     * @param keyset the page size, sort order and position to continue from.
+     * @return the list of entities.
+     */
+    Flux<RoleDTO> findAll(Keyset keyset);
+
+    /**
+     * Returns the number of roles available, estimated for the large tables.
      * @return the number of entities in the database.
      *
      */
     Mono<Long> countAll();
 
+    /**
+     * Get the tag of the current state of the roles, which changes with every change of a role.
+     * @return the tag, see {@link com.erestaurant.admin.service.sequence.ChangeSequence#getTag()}.
+     */
+    String getChangeTag();
+
     /**
      * Get the "id" role.
      *
@@ -1,7 +1,9 @@
 package com.erestaurant.admin.service;
 
+import com.erestaurant.admin.repository.Keyset;
 import com.erestaurant.admin.service.dto.SimplePermissionDTO;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -21,7 +23,7 @@ public interface SimplePermissionService {
      * Updates a simplePermission.
      *
      * @param simplePermissionDTO the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the entity does not exist.
      */
     Mono<SimplePermissionDTO> update(SimplePermissionDTO simplePermissionDTO);
 
@@ -29,7 +31,7 @@ public interface SimplePermissionService {
      * Partially updates a simplePermission.
      *
      * @param simplePermissionDTO the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the entity does not exist.
      */
     Mono<SimplePermissionDTO> partialUpdate(SimplePermissionDTO simplePermissionDTO);
 
@@ -41,12 +43,34 @@ public interface SimplePermissionService {
     Flux<SimplePermissionDTO> findAll();
 
     /**
-     * Returns the number of simplePermissions available.
+     * Get a page of the simplePermissions.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Flux<SimplePermissionDTO> findAll(Pageable pageable);
+
+    /**
+     * Get a page of the simplePermissions, starting after the position of the keyset.
+     *
+     * @param keyset the page size, sort order and position to continue from.
+     * @return the list of entities.
+     */
+    Flux<SimplePermissionDTO> findAll(Keyset keyset);
+
+    /**
+     * Returns the number of simplePermissions available, estimated for the large tables.
      * @return the number of entities in the database.
      *
      */
     Mono<Long> countAll();
 
+    /**
+     * Get the tag of the current state of the simple permissions, which changes with every change of a simple permission.
+     * @return the tag, see {@link com.erestaurant.admin.service.sequence.ChangeSequence#getTag()}.
+     */
+    String getChangeTag();
+
     /**
      * Get the "id" simplePermission.
      *
@@ -7,8 +7,12 @@ import com.erestaurant.admin.repository.AuthorityRepository;
 import com.erestaurant.admin.repository.UserRepository;
 import com.erestaurant.admin.repository.search.UserSearchRepository;
 import com.erestaurant.admin.security.SecurityUtils;
+import com.erestaurant.admin.service.count.EntityCount;
+import com.erestaurant.admin.service.count.EntityCountService;
 import com.erestaurant.admin.service.dto.AdminUserDTO;
 import com.erestaurant.admin.service.dto.UserDTO;
+import com.erestaurant.admin.service.event.EntityChangeEvent;
+import com.erestaurant.admin.service.event.EntityChangePublisher;
 import java.time.Instant;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -20,7 +24,9 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.ReactiveTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
@@ -31,6 +37,8 @@ import reactor.core.scheduler.Schedulers;
 @Service
 public class UserService {
 
+    private static final String ENTITY_TYPE = "user";
+
     private final Logger log = LoggerFactory.getLogger(UserService.class);
 
     private final UserRepository userRepository;
@@ -39,10 +47,30 @@ public class UserService {
 
     private final AuthorityRepository authorityRepository;
 
-    public UserService(UserRepository userRepository, UserSearchRepository userSearchRepository, AuthorityRepository authorityRepository) {
+    private final UserSyncCache userSyncCache;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final EntityCount userCount;
+
+    private final EntityChangePublisher entityChangePublisher;
+
+    public UserService(
+        UserRepository userRepository,
+        UserSearchRepository userSearchRepository,
+        AuthorityRepository authorityRepository,
+        UserSyncCache userSyncCache,
+        ReactiveTransactionManager transactionManager,
+        EntityCountService entityCountService,
+        EntityChangePublisher entityChangePublisher
+    ) {
         this.userRepository = userRepository;
         this.userSearchRepository = userSearchRepository;
         this.authorityRepository = authorityRepository;
+        this.userSyncCache = userSyncCache;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+        this.userCount = entityCountService.getCount(ENTITY_TYPE, User.class);
+        this.entityChangePublisher = entityChangePublisher;
     }
 
     /**
@@ -59,7 +87,7 @@ public class UserService {
     public Mono<Void> updateUser(String firstName, String lastName, String email, String langKey, String imageUrl) {
         return SecurityUtils
             .getCurrentUserLogin()
-            .flatMap(userRepository::findOneByLogin)
+            .flatMap(userRepository::findOneWithAuthoritiesByLogin)
             .flatMap(user -> {
                 user.setFirstName(firstName);
                 user.setLastName(lastName);
@@ -94,15 +122,19 @@ public class UserService {
                 // once https://github.com/spring-projects/spring-data-r2dbc/issues/215 is done
                 Mono<User> persistedUser;
                 if (forceCreate) {
-                    persistedUser = userRepository.create(user);
+                    persistedUser =
+                        userRepository
+                            .create(user)
+                            .flatMap(createdUser ->
+                                entityChangePublisher
+                                    .publishAfterCommit(ENTITY_TYPE, createdUser.getId(), null, EntityChangeEvent.Operation.CREATED)
+                                    .thenReturn(createdUser)
+                            );
                 } else {
                     persistedUser = userRepository.save(user);
                 }
                 return persistedUser.flatMap(savedUser ->
-                    Flux
-                        .fromIterable(user.getAuthorities())
-                        .flatMap(authority -> userRepository.saveUserAuthority(savedUser.getId(), authority.getName()))
-                        .then(Mono.just(savedUser))
+                    userRepository.updateUserAuthorities(savedUser.getId(), getAuthorityNames(user)).thenReturn(savedUser)
                 );
             });
     }
@@ -119,7 +151,7 @@ public class UserService {
 
     @Transactional(readOnly = true)
     public Mono<Long> countManagedUsers() {
-        return userRepository.count();
+        return userCount.get();
     }
 
     @Transactional(readOnly = true)
@@ -138,53 +170,68 @@ public class UserService {
 
     private Mono<User> syncUserWithIdP(Map<String, Object> details, User user) {
         // save authorities in to sync user roles/groups between IdP and JHipster's local database
-        Collection<String> userAuthorities = user.getAuthorities().stream().map(Authority::getName).collect(Collectors.toList());
+        Set<String> userAuthorities = getAuthorityNames(user);
 
-        return getAuthorities()
-            .collectList()
-            .flatMapMany(dbAuthorities -> {
-                List<Authority> authoritiesToSave = userAuthorities
-                    .stream()
-                    .filter(authority -> !dbAuthorities.contains(authority))
-                    .map(authority -> {
-                        Authority authorityToSave = new Authority();
-                        authorityToSave.setName(authority);
-                        return authorityToSave;
-                    })
-                    .collect(Collectors.toList());
-                return Flux.fromIterable(authoritiesToSave);
-            })
-            .doOnNext(authority -> log.debug("Saving authority '{}' in local database", authority))
-            .flatMap(authorityRepository::save)
-            .then(userRepository.findOneByLogin(user.getLogin()))
-            .switchIfEmpty(saveUser(user, true))
+        return userRepository
+            .findOneWithAuthoritiesByLogin(user.getLogin())
             .flatMap(existingUser -> {
-                // if IdP sends last updated information, use it to determine if an update should happen
-                if (details.get("updated_at") != null) {
-                    Instant dbModifiedDate = existingUser.getLastModifiedDate();
-                    Instant idpModifiedDate = (Instant) details.get("updated_at");
-                    if (idpModifiedDate.isAfter(dbModifiedDate)) {
-                        log.debug("Updating user '{}' in local database", user.getLogin());
-                        return updateUser(user.getFirstName(), user.getLastName(), user.getEmail(), user.getLangKey(), user.getImageUrl());
-                    }
-                    // no last updated info, blindly update
-                } else {
-                    log.debug("Updating user '{}' in local database", user.getLogin());
-                    return updateUser(user.getFirstName(), user.getLastName(), user.getEmail(), user.getLangKey(), user.getImageUrl());
+                Set<String> existingAuthorities = getAuthorityNames(existingUser);
+                Mono<Integer> authoritiesUpdate = Mono.empty();
+                if (!userAuthorities.equals(existingAuthorities)) {
+                    log.debug("Updating authorities of user '{}' in local database", user.getLogin());
+                    Set<String> addedAuthorities = new HashSet<>(userAuthorities);
+                    addedAuthorities.removeAll(existingAuthorities);
+                    authoritiesUpdate =
+                        authorityRepository
+                            .insertAllIfAbsent(addedAuthorities)
+                            .then(userRepository.updateUserAuthorities(existingUser.getId(), userAuthorities));
                 }
-                return Mono.empty();
+                return authoritiesUpdate.then(updateUserIfChanged(details, existingUser, user)).thenReturn(user);
             })
+            .switchIfEmpty(
+                Mono.defer(() -> {
+                    log.debug("Saving user '{}' in local database", user.getLogin());
+                    return authorityRepository.insertAllIfAbsent(userAuthorities).then(saveUser(user, true));
+                })
+            )
             .thenReturn(user);
     }
 
+    private Mono<Void> updateUserIfChanged(Map<String, Object> details, User existingUser, User user) {
+        // if IdP sends last updated information, use it to determine if an update should happen
+        if (details.get("updated_at") != null) {
+            Instant dbModifiedDate = existingUser.getLastModifiedDate();
+            Instant idpModifiedDate = (Instant) details.get("updated_at");
+            if (!idpModifiedDate.isAfter(dbModifiedDate)) {
+                return Mono.empty();
+            }
+        }
+        // repeated logins with the same IdP data should not write anything
+        if (
+            Objects.equals(existingUser.getFirstName(), user.getFirstName()) &&
+            Objects.equals(existingUser.getLastName(), user.getLastName()) &&
+            Objects.equals(existingUser.getEmail(), user.getEmail()) &&
+            Objects.equals(existingUser.getLangKey(), user.getLangKey()) &&
+            Objects.equals(existingUser.getImageUrl(), user.getImageUrl())
+        ) {
+            return Mono.empty();
+        }
+        log.debug("Updating user '{}' in local database", user.getLogin());
+        return updateUser(user.getFirstName(), user.getLastName(), user.getEmail(), user.getLangKey(), user.getImageUrl());
+    }
+
+    private static Set<String> getAuthorityNames(User user) {
+        return user.getAuthorities().stream().map(Authority::getName).collect(Collectors.toSet());
+    }
+
     /**
      * Returns the user from an OAuth 2.0 login or resource server with JWT.
-     * Synchronizes the user in the local repository.
+     * Synchronizes the user in the local repository, unless the same user data was synchronized recently, see
+     * {@link UserSyncCache}. The synchronization runs in its own transaction, so a skipped one does not use a connection.
      *
      * @param authToken the authentication token.
      * @return the user from the authentication.
      */
-    @Transactional
     public Mono<AdminUserDTO> getUserFromAuthentication(AbstractAuthenticationToken authToken) {
         Map<String, Object> attributes;
         if (authToken instanceof OAuth2AuthenticationToken) {
@@ -208,7 +255,15 @@ public class UserService {
                 .collect(Collectors.toSet())
         );
 
-        return syncUserWithIdP(attributes, user).flatMap(u -> Mono.just(new AdminUserDTO(u)));
+        String subject = String.valueOf(attributes.get("sub"));
+        if (userSyncCache.isSynced(subject, user)) {
+            log.debug("User '{}' is already synchronized with the IdP", user.getLogin());
+            return Mono.just(new AdminUserDTO(user));
+        }
+        return syncUserWithIdP(attributes, user)
+            .flatMap(u -> userSyncCache.putAfterCommit(subject, u).thenReturn(u))
+            .as(transactionalOperator::transactional)
+            .flatMap(u -> Mono.just(new AdminUserDTO(u)));
     }
 
     private static User getUser(Map<String, Object> details) {
@@ -0,0 +1,141 @@
+package com.erestaurant.admin.service;
+
+import com.erestaurant.admin.config.ApplicationProperties;
+import com.erestaurant.admin.domain.Authority;
+import com.erestaurant.admin.domain.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * Remembers, per subject, a hash of the user data last synchronized from the IdP, so that logins with unchanged data
+ * skip the synchronization with the database.
+ * <p>
+ * The hash is computed from the user data derived from the claims rather than from the raw claims, as those also
+ * contain values which change with every token, e.g. {@code iat} or {@code exp}. The entries are only kept for the
+ * configured time to live, so a user changed in the database is synchronized again after a while.
+ */
+@Component
+public class UserSyncCache {
+
+    private final boolean enabled;
+
+    private final Cache<String, String> syncedHashes;
+
+    private final Counter avoided;
+
+    private final Counter performed;
+
+    public UserSyncCache(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.UserSync properties = applicationProperties.getUserSync();
+        this.enabled = properties.isEnabled();
+        this.syncedHashes = Caffeine.newBuilder().maximumSize(properties.getMaxSize()).expireAfterWrite(properties.getTimeToLive()).build();
+        this.avoided = counter("avoided", meterRegistry);
+        this.performed = counter("performed", meterRegistry);
+        Gauge
+            .builder("user.sync.cache.size", syncedHashes, Cache::estimatedSize)
+            .description("The number of users whose last synchronized IdP data is remembered")
+            .register(meterRegistry);
+    }
+
+    private static Counter counter(String result, MeterRegistry meterRegistry) {
+        return Counter
+            .builder("user.sync")
+            .tag("result", result)
+            .description("The number of user synchronizations at login, performed or avoided")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Checks whether the user data was already synchronized, and counts the synchronization as avoided or performed.
+     *
+     * @param subject the subject of the token.
+     * @param user the user data derived from the claims, including the authorities.
+     * @return true if the same user data was synchronized for the subject.
+     */
+    public boolean isSynced(String subject, User user) {
+        if (!enabled) {
+            return false;
+        }
+        boolean synced = hash(user).equals(syncedHashes.getIfPresent(subject));
+        (synced ? avoided : performed).increment();
+        return synced;
+    }
+
+    /**
+     * Remembers the user data as synchronized once the current transaction is committed, or right away if there is no
+     * transaction.
+     *
+     * @param subject the subject of the token.
+     * @param user the synchronized user data.
+     * @return a {@link Mono} completing once the user data is remembered or registered to be.
+     */
+    public Mono<Void> putAfterCommit(String subject, User user) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        String hash = hash(user);
+        return TransactionSynchronizationManager
+            .forCurrentTransaction()
+            .map(synchronizationManager -> {
+                if (!synchronizationManager.isSynchronizationActive()) {
+                    return false;
+                }
+                synchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCommit() {
+                            return Mono.fromRunnable(() -> syncedHashes.put(subject, hash));
+                        }
+                    }
+                );
+                return true;
+            })
+            .onErrorReturn(NoTransactionException.class, false)
+            .doOnNext(registered -> {
+                if (!registered) {
+                    syncedHashes.put(subject, hash);
+                }
+            })
+            .then();
+    }
+
+    private static String hash(User user) {
+        String authorities = user.getAuthorities().stream().map(Authority::getName).sorted().collect(Collectors.joining(","));
+        String data = Stream
+            .of(
+                user.getId(),
+                user.getLogin(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getEmail(),
+                user.getLangKey(),
+                user.getImageUrl(),
+                user.isActivated(),
+                authorities
+            )
+            .map(Objects::toString)
+            .collect(Collectors.joining("\u0000"));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.erestaurant.admin.service.blob;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * The reference to a binary content stored in a {@link BlobStore}: the hex encoded SHA-256 hash of the content, which
+ * identifies it, and its size.
+ */
+public final class Blob {
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final String hash;
+
+    private final long size;
+
+    public Blob(String hash, long size) {
+        this.hash = hash;
+        this.size = size;
+    }
+
+    /**
+     * Create the reference to a content.
+     *
+     * @param content the content.
+     * @return the reference, with the hash and the size of the content.
+     */
+    public static Blob of(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            char[] hex = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                hex[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0xf];
+                hex[i * 2 + 1] = HEX_DIGITS[digest[i] & 0xf];
+            }
+            return new Blob(new String(hex), content.length);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param hash a hash, e.g. from a request.
+     * @return true if the hash is a hex encoded SHA-256 hash, so it is safe to use in a path.
+     */
+    public static boolean isValidHash(String hash) {
+        return hash != null && HASH_PATTERN.matcher(hash).matches();
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Blob)) {
+            return false;
+        }
+        Blob blob = (Blob) o;
+        return size == blob.size && hash.equals(blob.hash);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(hash, size);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "Blob{" +
+            "hash='" + hash + "'" +
+            ", size=" + size +
+            "}";
+    }
+}
@@ -0,0 +1,28 @@
+package com.erestaurant.admin.service.blob;
+
+import org.springframework.core.io.Resource;
+import reactor.core.publisher.Mono;
+
+/**
+ * A content-addressed store of binary contents: a content is identified by its hash, so storing the same content twice
+ * stores it once, and a stored content never changes.
+ * <p>
+ * The default implementation is {@link FileSystemBlobStore}, declare another bean of this type to replace it.
+ */
+public interface BlobStore {
+    /**
+     * Store a content, unless it is already stored.
+     *
+     * @param content the content.
+     * @return the reference to the stored content.
+     */
+    Mono<Blob> put(byte[] content);
+
+    /**
+     * Get a stored content. The content is not read, so it can be streamed, or a range of it.
+     *
+     * @param hash the hash of the content.
+     * @return the content, or empty if there is no content with this hash.
+     */
+    Mono<Resource> get(String hash);
+}
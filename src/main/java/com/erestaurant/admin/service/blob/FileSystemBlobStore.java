@@ -0,0 +1,73 @@
+package com.erestaurant.admin.service.blob;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@link BlobStore} keeping each content in a file named after its hash, under two levels of directories named after
+ * the first characters of the hash, e.g. {@code 3f/a2/3fa2...}, so that no directory grows too large.
+ * <p>
+ * A content is written to a temporary file which is then renamed, so a content is either complete or absent, also for
+ * the other instances sharing the directory. The file operations block, they run on the bounded elastic scheduler.
+ */
+public class FileSystemBlobStore implements BlobStore {
+
+    private final Path directory;
+
+    public FileSystemBlobStore(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public Mono<Blob> put(byte[] content) {
+        return Mono
+            .fromCallable(() -> {
+                Blob blob = Blob.of(content);
+                Path file = resolve(blob.getHash());
+                if (!Files.exists(file)) {
+                    write(file, content);
+                }
+                return blob;
+            })
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Resource> get(String hash) {
+        if (!Blob.isValidHash(hash)) {
+            return Mono.empty();
+        }
+        return Mono
+            .fromCallable(() -> resolve(hash))
+            .filter(Files::isRegularFile)
+            .<Resource>map(FileSystemResource::new)
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Path resolve(String hash) {
+        return directory.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static void write(Path file, byte[] content) {
+        try {
+            Files.createDirectories(file.getParent());
+            Path temporaryFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temporaryFile, content);
+                // the same content may be written concurrently, replacing it is harmless
+                Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store the blob " + file.getFileName(), e);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Storage of the binary contents, e.g. the images, outside of the entity tables.
+ */
+package com.erestaurant.admin.service.blob;
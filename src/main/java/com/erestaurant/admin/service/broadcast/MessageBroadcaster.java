@@ -0,0 +1,113 @@
+package com.erestaurant.admin.service.broadcast;
+
+import com.erestaurant.admin.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Broadcasts the messages of the Kafka SSE topic to any number of subscribers.
+ * <p>
+ * A subscriber gets the messages broadcast while it is subscribed, the messages broadcast without subscriber are
+ * dropped. Every subscriber reads at its own pace from a buffer of {@code application.kafka-sse.buffer-size} messages.
+ * When the buffer is full, the oldest message is dropped or the subscriber is disconnected, depending on
+ * {@code application.kafka-sse.overflow-policy}. So a slow subscriber never delays the others, and the memory it holds
+ * is bounded.
+ */
+@Service
+public class MessageBroadcaster {
+
+    private final Logger log = LoggerFactory.getLogger(MessageBroadcaster.class);
+
+    private final ApplicationProperties.KafkaSse properties;
+
+    private final Sinks.Many<String> sink = Sinks.many().multicast().directBestEffort();
+
+    private final AtomicLong buffered = new AtomicLong();
+
+    private final Counter dropped;
+
+    private final Counter disconnected;
+
+    public MessageBroadcaster(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.properties = applicationProperties.getKafkaSse();
+        this.dropped = Counter
+            .builder("kafka.sse.dropped")
+            .description("The number of messages dropped from the buffer of a slow subscriber")
+            .register(meterRegistry);
+        this.disconnected = Counter
+            .builder("kafka.sse.disconnected")
+            .description("The number of slow subscribers disconnected")
+            .register(meterRegistry);
+        Gauge
+            .builder("kafka.sse.subscribers", sink, Sinks.Many::currentSubscriberCount)
+            .description("The number of subscribers")
+            .register(meterRegistry);
+        Gauge
+            .builder("kafka.sse.buffered", buffered, AtomicLong::get)
+            .description("The number of messages waiting in the buffers of the subscribers")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Broadcast a message to the current subscribers.
+     *
+     * @param message the message.
+     */
+    public synchronized void broadcast(String message) {
+        // the emissions are serialized by the lock, and every subscriber requests all the messages into its buffer, so the
+        // only failure is having no subscriber, which drops the message
+        sink.tryEmitNext(message);
+    }
+
+    /**
+     * Subscribe to the messages.
+     *
+     * @return the messages broadcast from now on, completing if the subscriber is disconnected.
+     */
+    public Flux<String> subscribe() {
+        return Flux.defer(() -> {
+            AtomicLong pending = new AtomicLong();
+            Flux<String> messages = sink.asFlux().doOnNext(message -> buffer(pending, 1));
+            Flux<String> bounded;
+            if (properties.getOverflowPolicy() == ApplicationProperties.KafkaSse.OverflowPolicy.DISCONNECT) {
+                bounded =
+                    messages
+                        .onBackpressureBuffer(
+                            properties.getBufferSize(),
+                            message -> {
+                                // the overflowing message is not delivered, but it is not a dropped message either
+                                buffer(pending, -1);
+                                disconnected.increment();
+                                log.debug("Disconnecting a slow subscriber of the Kafka messages");
+                            },
+                            BufferOverflowStrategy.ERROR
+                        )
+                        .onErrorResume(Exceptions::isOverflow, e -> Flux.empty());
+            } else {
+                bounded =
+                    messages.onBackpressureBuffer(properties.getBufferSize(), message -> drop(pending), BufferOverflowStrategy.DROP_OLDEST);
+            }
+            // the messages left in the buffer of a cancelled or disconnected subscriber are not waiting anymore
+            return bounded.doOnNext(message -> buffer(pending, -1)).doFinally(signal -> buffered.addAndGet(-pending.getAndSet(0)));
+        });
+    }
+
+    private void drop(AtomicLong pending) {
+        buffer(pending, -1);
+        dropped.increment();
+    }
+
+    private void buffer(AtomicLong pending, long count) {
+        pending.addAndGet(count);
+        buffered.addAndGet(count);
+    }
+}
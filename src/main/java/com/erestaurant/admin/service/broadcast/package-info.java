@@ -0,0 +1,4 @@
+/**
+ * Broadcast of the messages of the Kafka SSE topic to the clients of the consume endpoint.
+ */
+package com.erestaurant.admin.service.broadcast;
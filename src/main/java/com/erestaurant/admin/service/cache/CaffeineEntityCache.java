@@ -0,0 +1,98 @@
+package com.erestaurant.admin.service.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link EntityCache} backed by Caffeine {@link AsyncCache}s, so that a miss never blocks the calling thread.
+ */
+class CaffeineEntityCache<V> implements EntityCache<V> {
+
+    private static final String ALL = "*";
+
+    private final AsyncCache<String, V> byId;
+
+    private final AsyncCache<String, List<V>> all;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    CaffeineEntityCache(String entityType, long maxSize, Duration timeToLive, MeterRegistry meterRegistry) {
+        this.hits = counter("cache.gets", entityType, meterRegistry, "result", "hit");
+        this.misses = counter("cache.gets", entityType, meterRegistry, "result", "miss");
+        Counter evictions = counter("cache.evictions", entityType, meterRegistry);
+        // explicit invalidations are not evictions, only size and expiry are counted
+        RemovalListener<Object, Object> removalListener = (key, value, cause) -> {
+            if (cause.wasEvicted()) {
+                evictions.increment();
+            }
+        };
+        this.byId = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(timeToLive).removalListener(removalListener).buildAsync();
+        this.all = Caffeine.newBuilder().maximumSize(1).expireAfterWrite(timeToLive).removalListener(removalListener).buildAsync();
+        Gauge
+            .builder("cache.size", byId.synchronous(), Cache::estimatedSize)
+            .tag("cache", entityType)
+            .description("The number of entries in this cache")
+            .register(meterRegistry);
+    }
+
+    private static Counter counter(String name, String entityType, MeterRegistry meterRegistry, String... tags) {
+        return Counter.builder(name).tag("cache", entityType).tags(tags).register(meterRegistry);
+    }
+
+    @Override
+    public Mono<V> get(String id, Function<String, Mono<V>> loader) {
+        return Mono.defer(() -> {
+            CompletableFuture<V> future = byId.getIfPresent(id);
+            if (future != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+                future = byId.get(id, (key, executor) -> loader.apply(key).toFuture());
+            }
+            // subscribe to a copy, a cancelled subscriber must not cancel a load shared with other subscribers
+            return Mono.fromFuture(future.copy());
+        });
+    }
+
+    @Override
+    public Flux<V> getAll(Supplier<Flux<V>> loader) {
+        return Mono
+            .defer(() -> {
+                CompletableFuture<List<V>> future = all.getIfPresent(ALL);
+                if (future != null) {
+                    hits.increment();
+                } else {
+                    misses.increment();
+                    future = all.get(ALL, (key, executor) -> loader.get().collectList().toFuture());
+                }
+                return Mono.fromFuture(future.copy());
+            })
+            .flatMapIterable(Function.identity());
+    }
+
+    @Override
+    public void evict(String id) {
+        byId.synchronous().invalidate(id);
+        all.synchronous().invalidateAll();
+    }
+
+    @Override
+    public void clear() {
+        byId.synchronous().invalidateAll();
+        all.synchronous().invalidateAll();
+    }
+}
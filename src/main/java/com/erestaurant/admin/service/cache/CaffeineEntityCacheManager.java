@@ -0,0 +1,35 @@
+package com.erestaurant.admin.service.cache;
+
+import com.erestaurant.admin.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link EntityCacheManager} creating Caffeine caches sized and expired as configured in {@code application.cache}.
+ * <p>
+ * Each cache publishes the {@code cache.gets} (tagged hit or miss), {@code cache.evictions} and {@code cache.size}
+ * meters, tagged with the entity type.
+ */
+public class CaffeineEntityCacheManager implements EntityCacheManager {
+
+    private final ApplicationProperties.Cache properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, EntityCache<?>> caches = new ConcurrentHashMap<>();
+
+    public CaffeineEntityCacheManager(ApplicationProperties.Cache properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> EntityCache<V> getCache(String entityType) {
+        return (EntityCache<V>) caches.computeIfAbsent(
+            entityType,
+            key -> new CaffeineEntityCache<>(key, properties.getMaxSize(key), properties.getTimeToLive(key), meterRegistry)
+        );
+    }
+}
@@ -0,0 +1,48 @@
+package com.erestaurant.admin.service.cache;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A non-blocking read-through cache of the DTOs of one entity type.
+ * <p>
+ * Concurrent lookups of the same key share a single load. Empty results are not cached.
+ *
+ * @param <V> the type of the cached values.
+ */
+public interface EntityCache<V> {
+    /**
+     * Get the value for an id, loading it on a miss.
+     *
+     * @param id the id of the entity.
+     * @param loader the loader used on a miss.
+     * @return the cached or loaded value.
+     */
+    Mono<V> get(String id, Function<String, Mono<V>> loader);
+
+    /**
+     * Get all the values, loading them on a miss.
+     * <p>
+     * The whole list is held in memory, outside of the maximum size of the cache, and is only returned once it is fully
+     * loaded: only use it for the small reference tables, e.g. the roles and permissions, the other lists are streamed
+     * from the repository.
+     *
+     * @param loader the loader used on a miss.
+     * @return the cached or loaded values.
+     */
+    Flux<V> getAll(Supplier<Flux<V>> loader);
+
+    /**
+     * Evict the value for an id, and the list of all values which may contain it.
+     *
+     * @param id the id of the entity.
+     */
+    void evict(String id);
+
+    /**
+     * Evict all the values.
+     */
+    void clear();
+}
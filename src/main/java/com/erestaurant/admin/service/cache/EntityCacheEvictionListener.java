@@ -0,0 +1,23 @@
+package com.erestaurant.admin.service.cache;
+
+import com.erestaurant.admin.service.event.EntityChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts the changed entities from the {@link EntityCache}s, for the writes of this instance and of the other ones.
+ */
+@Component
+public class EntityCacheEvictionListener {
+
+    private final EntityCacheManager entityCacheManager;
+
+    public EntityCacheEvictionListener(EntityCacheManager entityCacheManager) {
+        this.entityCacheManager = entityCacheManager;
+    }
+
+    @EventListener
+    public void onEntityChange(EntityChangeEvent event) {
+        entityCacheManager.getCache(event.getEntityType()).evict(event.getId());
+    }
+}
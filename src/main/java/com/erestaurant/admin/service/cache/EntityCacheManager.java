@@ -0,0 +1,17 @@
+package com.erestaurant.admin.service.cache;
+
+/**
+ * Provides the {@link EntityCache} of each entity type.
+ * <p>
+ * The default implementation is {@link CaffeineEntityCacheManager}, declare another bean of this type to replace it.
+ */
+public interface EntityCacheManager {
+    /**
+     * Get the cache of an entity type, creating it on first use.
+     *
+     * @param entityType the entity type, e.g. {@code app-discount}.
+     * @param <V> the type of the cached values.
+     * @return the cache.
+     */
+    <V> EntityCache<V> getCache(String entityType);
+}
@@ -0,0 +1,36 @@
+package com.erestaurant.admin.service.cache;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link EntityCacheManager} whose caches always call the loader, used when {@code application.cache.enabled} is false.
+ */
+public class NoOpEntityCacheManager implements EntityCacheManager {
+
+    private static final EntityCache<Object> NO_OP_CACHE = new EntityCache<>() {
+        @Override
+        public Mono<Object> get(String id, Function<String, Mono<Object>> loader) {
+            return loader.apply(id);
+        }
+
+        @Override
+        public Flux<Object> getAll(Supplier<Flux<Object>> loader) {
+            return loader.get();
+        }
+
+        @Override
+        public void evict(String id) {}
+
+        @Override
+        public void clear() {}
+    };
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> EntityCache<V> getCache(String entityType) {
+        return (EntityCache<V>) NO_OP_CACHE;
+    }
+}
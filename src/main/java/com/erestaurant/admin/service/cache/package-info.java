@@ -0,0 +1,4 @@
+/**
+ * Read-through caches of the entity services.
+ */
+package com.erestaurant.admin.service.cache;
@@ -0,0 +1,73 @@
+package com.erestaurant.admin.service.count;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+
+/**
+ * The row count of the table of an entity type, see {@link EntityCountService}.
+ */
+public class EntityCount {
+
+    private static final long UNKNOWN = -1;
+
+    private final String entityType;
+
+    private final Supplier<Mono<Long>> query;
+
+    private final boolean tracked;
+
+    private final AtomicLong value = new AtomicLong(UNKNOWN);
+
+    EntityCount(String entityType, Supplier<Mono<Long>> query, boolean tracked) {
+        this.entityType = entityType;
+        this.query = query;
+        this.tracked = tracked;
+    }
+
+    /**
+     * @return the entity type, e.g. {@code app-discount}.
+     */
+    public String getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * Get the row count, which is queried on first use and then kept up to date in memory, or queried on every call if
+     * the counts are not kept in memory.
+     *
+     * @return the row count.
+     */
+    public Mono<Long> get() {
+        if (!tracked) {
+            return query.get();
+        }
+        return Mono.defer(() -> {
+            long current = value.get();
+            if (current != UNKNOWN) {
+                return Mono.just(current);
+            }
+            // the concurrent first calls all query the count, the first one to complete sets it
+            return query.get().doOnNext(count -> value.compareAndSet(UNKNOWN, count));
+        });
+    }
+
+    /**
+     * Adds the rows created or deleted by a committed write, unless the count was not queried yet.
+     */
+    void add(long delta) {
+        value.updateAndGet(current -> current == UNKNOWN ? UNKNOWN : Math.max(current + delta, 0));
+    }
+
+    /**
+     * Queries the count again, unless it was not queried yet.
+     *
+     * @return the difference between the count in the database and the one in memory, or empty if not queried.
+     */
+    Mono<Long> reconcile() {
+        if (value.get() == UNKNOWN) {
+            return Mono.empty();
+        }
+        return query.get().map(count -> count - value.getAndSet(count));
+    }
+}
@@ -0,0 +1,113 @@
+package com.erestaurant.admin.service.count;
+
+import com.erestaurant.admin.config.ApplicationProperties;
+import com.erestaurant.admin.repository.EntityManager;
+import com.erestaurant.admin.service.event.EntityChangeEvent;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Keeps the row counts of the entity tables in memory, so that the {@code X-Total-Count} header of the list endpoints
+ * does not cost a {@code COUNT(*)} per request.
+ * <p>
+ * A count is queried on first use, then kept up to date with the {@link EntityChangeEvent}s of the writes of the
+ * services, on this instance and on the other ones. The counts are queried again every
+ * {@code application.count.reconcile-interval}, which corrects the writes without event, e.g. a write made outside of
+ * the services. With {@code application.count.mode} {@code exact} the counts are queried with a {@code COUNT(*)}, with
+ * {@code estimated} the large tables are counted from the database statistics instead, see
+ * {@link EntityManager#count(Class)}.
+ */
+@Service
+public class EntityCountService {
+
+    private final Logger log = LoggerFactory.getLogger(EntityCountService.class);
+
+    private final EntityManager entityManager;
+
+    private final ApplicationProperties.Count properties;
+
+    private final ConcurrentMap<String, EntityCount> counts = new ConcurrentHashMap<>();
+
+    private final Disposable reconciliation;
+
+    public EntityCountService(EntityManager entityManager, ApplicationProperties applicationProperties) {
+        this.entityManager = entityManager;
+        this.properties = applicationProperties.getCount();
+        if (properties.isEnabled()) {
+            Duration interval = properties.getReconcileInterval();
+            this.reconciliation = Flux.interval(interval, interval).onBackpressureDrop().concatMap(tick -> reconcile()).subscribe();
+        } else {
+            this.reconciliation = Disposables.disposed();
+        }
+    }
+
+    /**
+     * Get the count of an entity type, creating it on first use.
+     *
+     * @param entityType the entity type, as in the published {@link EntityChangeEvent}s.
+     * @param entityClass the entity class, which holds the table name.
+     * @return the count.
+     */
+    public EntityCount getCount(String entityType, Class<?> entityClass) {
+        return counts.computeIfAbsent(entityType, key -> new EntityCount(key, () -> query(entityClass), properties.isEnabled()));
+    }
+
+    @EventListener
+    public void onEntityChange(EntityChangeEvent event) {
+        EntityCount count = counts.get(event.getEntityType());
+        if (count == null) {
+            return;
+        }
+        if (event.getOperation() == EntityChangeEvent.Operation.CREATED) {
+            count.add(1);
+        } else if (event.getOperation() == EntityChangeEvent.Operation.DELETED) {
+            count.add(-1);
+        }
+    }
+
+    /**
+     * Query again the counts which were already queried.
+     *
+     * @return a {@link Mono} completing once the counts are queried.
+     */
+    public Mono<Void> reconcile() {
+        return Flux
+            .fromIterable(counts.values())
+            .concatMap(count ->
+                count
+                    .reconcile()
+                    .doOnNext(drift -> {
+                        if (drift != 0) {
+                            log.debug("Reconciled the count of {} with a drift of {}", count.getEntityType(), drift);
+                        }
+                    })
+                    .onErrorResume(e -> {
+                        log.warn("Could not reconcile the count of {}: {}", count.getEntityType(), e.getMessage());
+                        return Mono.empty();
+                    })
+            )
+            .then();
+    }
+
+    private Mono<Long> query(Class<?> entityClass) {
+        if (properties.getMode() == ApplicationProperties.Count.Mode.EXACT) {
+            return entityManager.countExactly(entityClass);
+        }
+        return entityManager.count(entityClass);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        reconciliation.dispose();
+    }
+}
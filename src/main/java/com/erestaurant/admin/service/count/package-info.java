@@ -0,0 +1,4 @@
+/**
+ * Row counts of the entity tables, kept in memory for the pagination headers.
+ */
+package com.erestaurant.admin.service.count;
@@ -21,6 +21,8 @@ public class AdDTO implements Serializable {
     @Lob
     private String description;
 
+    private Long version;
+
     public String getId() {
         return id;
     }
@@ -45,6 +47,14 @@ public class AdDTO implements Serializable {
         this.description = description;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -73,6 +83,7 @@ public class AdDTO implements Serializable {
             "id='" + getId() + "'" +
             ", url='" + getUrl() + "'" +
             ", description='" + getDescription() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
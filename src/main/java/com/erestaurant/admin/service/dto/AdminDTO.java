@@ -1,5 +1,6 @@
 package com.erestaurant.admin.service.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.io.Serializable;
 import java.util.Objects;
 import javax.persistence.Lob;
@@ -21,12 +22,40 @@ public class AdminDTO implements Serializable {
     @Lob
     private String description;
 
+    /**
+     * The uploaded image, which is moved to the blob store and never returned, see {@link #getImageHash()}.
+     */
     @Lob
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private byte[] image;
 
+    /**
+     * The content type of the uploaded image, it is ignored by an update without image.
+     */
     private String imageContentType;
+
+    /**
+     * Whether an update removes the image, unless it uploads another one.
+     */
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private boolean removeImage;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String imageHash;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long imageSize;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String thumbnailHash;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String thumbnailContentType;
+
     private String email;
 
+    private Long version;
+
     public String getId() {
         return id;
     }
@@ -67,6 +96,55 @@ public class AdminDTO implements Serializable {
         this.imageContentType = imageContentType;
     }
 
+    public boolean isRemoveImage() {
+        return removeImage;
+    }
+
+    public void setRemoveImage(boolean removeImage) {
+        this.removeImage = removeImage;
+    }
+
+    /**
+     * @return the hash of the image in the blob store, which is also the ETag of the image endpoint, or null if there
+     * is no image. It is set from the uploaded image only, and kept by an update without image unless
+     * {@link #isRemoveImage()}.
+     */
+    public String getImageHash() {
+        return imageHash;
+    }
+
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
+    }
+
+    public Long getImageSize() {
+        return imageSize;
+    }
+
+    public void setImageSize(Long imageSize) {
+        this.imageSize = imageSize;
+    }
+
+    /**
+     * @return the hash of the thumbnail of the image in the blob store, or null if there is no image or no thumbnail
+     * yet. The thumbnail is computed when an image is uploaded, the lists should show it instead of the image.
+     */
+    public String getThumbnailHash() {
+        return thumbnailHash;
+    }
+
+    public void setThumbnailHash(String thumbnailHash) {
+        this.thumbnailHash = thumbnailHash;
+    }
+
+    public String getThumbnailContentType() {
+        return thumbnailContentType;
+    }
+
+    public void setThumbnailContentType(String thumbnailContentType) {
+        this.thumbnailContentType = thumbnailContentType;
+    }
+
     public String getEmail() {
         return email;
     }
@@ -75,6 +153,14 @@ public class AdminDTO implements Serializable {
         this.email = email;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -103,8 +189,11 @@ public class AdminDTO implements Serializable {
             "id='" + getId() + "'" +
             ", name='" + getName() + "'" +
             ", description='" + getDescription() + "'" +
-            ", image='" + getImage() + "'" +
+            ", imageHash='" + getImageHash() + "'" +
+            ", imageSize=" + getImageSize() +
+            ", thumbnailHash='" + getThumbnailHash() + "'" +
             ", email='" + getEmail() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
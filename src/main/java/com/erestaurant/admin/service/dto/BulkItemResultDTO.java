@@ -0,0 +1,92 @@
+package com.erestaurant.admin.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serializable;
+
+/**
+ * The result of one operation of a bulk request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int index;
+
+    private BulkOperationDTO.Operation operation;
+
+    private String id;
+
+    private int status;
+
+    private String message;
+
+    public BulkItemResultDTO() {}
+
+    public BulkItemResultDTO(int index, BulkOperationDTO.Operation operation, String id) {
+        this.index = index;
+        this.operation = operation;
+        this.id = id;
+    }
+
+    /**
+     * @return the position of the operation in the request.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public BulkOperationDTO.Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(BulkOperationDTO.Operation operation) {
+        this.operation = operation;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /**
+     * @return the HTTP status the operation would have had as a single request, e.g. 201 or 404.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    /**
+     * @return why the operation failed, or null if it succeeded.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkItemResultDTO{" +
+            "index=" + getIndex() +
+            ", operation=" + getOperation() +
+            ", id='" + getId() + "'" +
+            ", status=" + getStatus() +
+            ", message='" + getMessage() + "'" +
+            "}";
+    }
+}
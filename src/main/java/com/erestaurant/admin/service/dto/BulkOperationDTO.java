@@ -0,0 +1,65 @@
+package com.erestaurant.admin.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * One operation of a bulk request: the entity to create or update, or the id of the entity to delete.
+ *
+ * @param <D> the type of the entity DTO.
+ */
+public class BulkOperationDTO<D> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Operation {
+        CREATE,
+        UPDATE,
+        DELETE,
+    }
+
+    private Operation operation;
+
+    private String id;
+
+    private D data;
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(Operation operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * @return the id of the entity to delete, the other operations take it from the data.
+     */
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /**
+     * @return the entity to create or update.
+     */
+    public D getData() {
+        return data;
+    }
+
+    public void setData(D data) {
+        this.data = data;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkOperationDTO{" +
+            "operation=" + getOperation() +
+            ", id='" + getId() + "'" +
+            ", data=" + getData() +
+            "}";
+    }
+}
@@ -24,6 +24,8 @@ public class DiscountDTO implements Serializable {
     @NotNull(message = "must not be null")
     private Float percentage;
 
+    private Long version;
+
     public String getId() {
         return id;
     }
@@ -56,6 +58,14 @@ public class DiscountDTO implements Serializable {
         this.percentage = percentage;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -85,6 +95,7 @@ public class DiscountDTO implements Serializable {
             ", code='" + getCode() + "'" +
             ", description='" + getDescription() + "'" +
             ", percentage=" + getPercentage() +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -17,6 +17,8 @@ public class RoleDTO implements Serializable {
     @Lob
     private String description;
 
+    private Long version;
+
     public String getId() {
         return id;
     }
@@ -33,6 +35,14 @@ public class RoleDTO implements Serializable {
         this.description = description;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -60,6 +70,7 @@ public class RoleDTO implements Serializable {
         return "RoleDTO{" +
             "id='" + getId() + "'" +
             ", description='" + getDescription() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -0,0 +1,123 @@
+package com.erestaurant.admin.service.event;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A committed write to an entity, published as an application event on the instance which made the write and on every
+ * other instance, see {@link EntityChangePublisher}.
+ */
+public class EntityChangeEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Operation {
+        CREATED,
+        UPDATED,
+        DELETED,
+    }
+
+    private String entityType;
+
+    private String id;
+
+    private Long version;
+
+    private Operation operation;
+
+    private String origin;
+
+    public EntityChangeEvent() {}
+
+    public EntityChangeEvent(String entityType, String id, Long version, Operation operation, String origin) {
+        this.entityType = entityType;
+        this.id = id;
+        this.version = version;
+        this.operation = operation;
+        this.origin = origin;
+    }
+
+    /**
+     * @return the entity type, e.g. {@code app-discount}.
+     */
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /**
+     * @return the version of the entity after the change, or null if the entity is not versioned.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(Operation operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * @return the id of the instance which made the change.
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EntityChangeEvent)) {
+            return false;
+        }
+        EntityChangeEvent that = (EntityChangeEvent) o;
+        return (
+            Objects.equals(entityType, that.entityType) &&
+            Objects.equals(id, that.id) &&
+            Objects.equals(version, that.version) &&
+            operation == that.operation &&
+            Objects.equals(origin, that.origin)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(entityType, id, version, operation, origin);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EntityChangeEvent{" +
+            "entityType='" + entityType + "'" +
+            ", id='" + id + "'" +
+            ", version=" + version +
+            ", operation=" + operation +
+            ", origin='" + origin + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,86 @@
+package com.erestaurant.admin.service.event;
+
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * Publishes {@link EntityChangeEvent}s as application events.
+ * <p>
+ * Events of local writes are published once the transaction is committed, so listeners never see a change which is
+ * rolled back, and a cache evicted by a listener cannot be filled again with the old row. They are then forwarded to
+ * the other instances by {@link KafkaEntityChangeBridge}, which publishes the events it receives in turn.
+ */
+@Service
+public class EntityChangePublisher {
+
+    private final Logger log = LoggerFactory.getLogger(EntityChangePublisher.class);
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public EntityChangePublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    /**
+     * @return the id of this instance, used as origin of the events of local writes.
+     */
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    /**
+     * Publish the change of an entity once the current transaction is committed, or right away if there is no
+     * transaction.
+     *
+     * @param entityType the entity type.
+     * @param id the id of the entity.
+     * @param version the version of the entity after the change, or null if the entity is not versioned.
+     * @param operation the operation.
+     * @return a {@link Mono} completing once the event is published or registered for publication.
+     */
+    public Mono<Void> publishAfterCommit(String entityType, String id, Long version, EntityChangeEvent.Operation operation) {
+        EntityChangeEvent event = new EntityChangeEvent(entityType, id, version, operation, instanceId);
+        return TransactionSynchronizationManager
+            .forCurrentTransaction()
+            .map(synchronizationManager -> {
+                if (!synchronizationManager.isSynchronizationActive()) {
+                    return false;
+                }
+                synchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCommit() {
+                            return Mono.fromRunnable(() -> publish(event));
+                        }
+                    }
+                );
+                return true;
+            })
+            .onErrorReturn(NoTransactionException.class, false)
+            .doOnNext(registered -> {
+                if (!registered) {
+                    publish(event);
+                }
+            })
+            .then();
+    }
+
+    /**
+     * Publish an entity change right away.
+     *
+     * @param event the event.
+     */
+    public void publish(EntityChangeEvent event) {
+        log.debug("Publishing entity change : {}", event);
+        applicationEventPublisher.publishEvent(event);
+    }
+}
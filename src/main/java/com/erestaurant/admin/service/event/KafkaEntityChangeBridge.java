@@ -0,0 +1,100 @@
+package com.erestaurant.admin.service.event;
+
+import com.erestaurant.admin.config.ApplicationProperties;
+import com.erestaurant.admin.config.KafkaEntityChangeConsumer;
+import com.erestaurant.admin.config.KafkaEntityChangeProducer;
+import java.util.List;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cloud.stream.annotation.StreamListener;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+/**
+ * Forwards the {@link EntityChangeEvent}s of local writes to the other instances, and publishes theirs locally.
+ * <p>
+ * Outgoing events are sent in batches of up to {@code application.entity-change.batch-size} events, waiting at most
+ * {@code application.entity-change.batch-delay} for a batch to fill up. The input binding has no consumer group, so
+ * every instance receives every batch, including its own which it ignores. A batch which cannot be sent is logged and
+ * dropped, and the batching is resubscribed after an error, so that one failure does not stop the forwarding.
+ */
+@Service
+public class KafkaEntityChangeBridge {
+
+    private final Logger log = LoggerFactory.getLogger(KafkaEntityChangeBridge.class);
+
+    private final MessageChannel output;
+
+    private final EntityChangePublisher entityChangePublisher;
+
+    // not cancelled with its subscriber, so that the batching can be resubscribed after an error
+    private final Sinks.Many<EntityChangeEvent> sink = Sinks.many().multicast().onBackpressureBuffer(Queues.SMALL_BUFFER_SIZE, false);
+
+    public KafkaEntityChangeBridge(
+        @Qualifier(KafkaEntityChangeProducer.CHANNELNAME) MessageChannel output,
+        EntityChangePublisher entityChangePublisher,
+        ApplicationProperties applicationProperties
+    ) {
+        this.output = output;
+        this.entityChangePublisher = entityChangePublisher;
+        ApplicationProperties.EntityChange properties = applicationProperties.getEntityChange();
+        sink
+            .asFlux()
+            .bufferTimeout(properties.getBatchSize(), properties.getBatchDelay())
+            // the batches keep coming while a slow send blocks the worker, bufferTimeout fails when they are not requested
+            .onBackpressureBuffer()
+            // sending may block while the producer fetches the topic metadata
+            .publishOn(Schedulers.boundedElastic())
+            .doOnNext(this::send)
+            .doOnError(e -> log.error("Entity change batching failed, resubscribing", e))
+            .retry()
+            .subscribe();
+    }
+
+    @EventListener
+    public void onEntityChange(EntityChangeEvent event) {
+        if (entityChangePublisher.getInstanceId().equals(event.getOrigin())) {
+            // the events are published from concurrent transactions, retry instead of failing on concurrent emissions
+            sink.emitNext(event, (signalType, emitResult) -> emitResult == Sinks.EmitResult.FAIL_NON_SERIALIZED);
+        }
+    }
+
+    @StreamListener(value = KafkaEntityChangeConsumer.CHANNELNAME, copyHeaders = "false")
+    public void receive(EntityChangeEvent[] events) {
+        for (EntityChangeEvent event : events) {
+            if (!entityChangePublisher.getInstanceId().equals(event.getOrigin())) {
+                entityChangePublisher.publish(event);
+            }
+        }
+    }
+
+    private void send(List<EntityChangeEvent> events) {
+        log.debug("Sending {} entity changes to Kafka", events.size());
+        try {
+            output.send(
+                MessageBuilder
+                    .withPayload(events.toArray(new EntityChangeEvent[0]))
+                    .setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON_VALUE)
+                    .build()
+            );
+        } catch (Exception e) {
+            // the other instances expire their entries after the time to live
+            log.warn("Could not send {} entity changes to Kafka: {}", events.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        // flush the pending batch
+        sink.tryEmitComplete();
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Entity change events, published locally and to the other instances.
+ */
+package com.erestaurant.admin.service.event;
@@ -0,0 +1,123 @@
+package com.erestaurant.admin.service.feed;
+
+import com.erestaurant.admin.service.event.EntityChangeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * The feed of the changes of an entity type, see {@link ChangeFeedService}.
+ * <p>
+ * The changes are numbered in the order they are published, and the last {@code application.change-feed.history-size}
+ * ones are kept for the subscribers resuming after an event id. Every subscriber reads from the shared buffer at its own
+ * pace, up to {@code application.change-feed.max-pending} changes behind, beyond which it is terminated with an
+ * overflow error, so a slow subscriber never delays the others nor the writes.
+ */
+public class ChangeFeed {
+
+    private final Logger log = LoggerFactory.getLogger(ChangeFeed.class);
+
+    private final String entityType;
+
+    private final String epoch;
+
+    private final int maxPending;
+
+    private final Sinks.Many<ChangeFeedEvent> sink;
+
+    private long sequence;
+
+    ChangeFeed(String entityType, String epoch, int historySize, int maxPending) {
+        this.entityType = entityType;
+        this.epoch = epoch;
+        this.maxPending = maxPending;
+        this.sink = Sinks.many().replay().limit(historySize);
+    }
+
+    /**
+     * @return the entity type, e.g. {@code app-discount}.
+     */
+    public String getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * Subscribe to the changes.
+     *
+     * @param lastEventId the id of the last event the subscriber got, or null to get the changes from now on.
+     * @return the changes after the event, starting with a reset if some of them are not kept anymore, or if the event is
+     * from another instance or from before a restart.
+     */
+    public Flux<ChangeFeedEvent> changes(String lastEventId) {
+        return Flux
+            .defer(() -> {
+                long current;
+                synchronized (this) {
+                    current = sequence;
+                }
+                if (lastEventId == null) {
+                    return sink.asFlux().filter(event -> event.getSequence() > current);
+                }
+                Long last = parseSequence(lastEventId);
+                if (last == null || last > current) {
+                    return sink.asFlux().filter(event -> event.getSequence() > current).startWith(reset(current));
+                }
+                // the first event replayed is the oldest kept, which tells whether some changes after the last one are missing
+                return sink
+                    .asFlux()
+                    .filter(event -> event.getSequence() > last)
+                    .switchOnFirst((first, changes) ->
+                        first.hasValue() && first.get().getSequence() > last + 1
+                            ? changes.startWith(reset(first.get().getSequence() - 1))
+                            : changes
+                    );
+            })
+            .onBackpressureBuffer(
+                maxPending,
+                event -> log.debug("Disconnecting a slow subscriber of the {} changes at : {}", entityType, event),
+                BufferOverflowStrategy.ERROR
+            );
+    }
+
+    /**
+     * Publish a committed change to the subscribers.
+     *
+     * @param change the change.
+     */
+    synchronized void publish(EntityChangeEvent change) {
+        sequence++;
+        // the emissions are serialized by the lock, and a replay sink does not wait for its subscribers
+        sink.tryEmitNext(
+            new ChangeFeedEvent(toEventId(sequence), sequence, entityType, change.getId(), change.getVersion(), change.getOperation())
+        );
+    }
+
+    /**
+     * Complete the subscriptions, e.g. on shutdown.
+     */
+    synchronized void complete() {
+        sink.tryEmitComplete();
+    }
+
+    private ChangeFeedEvent reset(long sequence) {
+        return new ChangeFeedEvent(toEventId(sequence), sequence, entityType, null, null, null);
+    }
+
+    private String toEventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    private Long parseSequence(String eventId) {
+        String prefix = epoch + "-";
+        if (!eventId.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(eventId.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
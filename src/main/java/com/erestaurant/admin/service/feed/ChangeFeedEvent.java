@@ -0,0 +1,92 @@
+package com.erestaurant.admin.service.feed;
+
+import com.erestaurant.admin.service.event.EntityChangeEvent;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * A change of an entity as sent to the clients of a {@link ChangeFeed}, or a reset telling a client which resumed too
+ * late that it missed changes.
+ */
+public class ChangeFeedEvent {
+
+    private final String eventId;
+
+    private final long sequence;
+
+    private final String entityType;
+
+    private final String id;
+
+    private final Long version;
+
+    private final EntityChangeEvent.Operation operation;
+
+    ChangeFeedEvent(String eventId, long sequence, String entityType, String id, Long version, EntityChangeEvent.Operation operation) {
+        this.eventId = eventId;
+        this.sequence = sequence;
+        this.entityType = entityType;
+        this.id = id;
+        this.version = version;
+        this.operation = operation;
+    }
+
+    /**
+     * @return the id of the event, which the client sends back as {@code Last-Event-ID} to resume after it.
+     */
+    @JsonIgnore
+    public String getEventId() {
+        return eventId;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return the entity type, e.g. {@code app-discount}.
+     */
+    public String getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * @return the id of the entity, or null for a reset.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return the version of the entity after the change, or null for a deletion or a reset.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the operation, or null for a reset.
+     */
+    public EntityChangeEvent.Operation getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return true if the client missed changes, and has to read the entities again.
+     */
+    @JsonIgnore
+    public boolean isReset() {
+        return operation == null;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ChangeFeedEvent{" +
+            "eventId='" + eventId + "'" +
+            ", entityType='" + entityType + "'" +
+            ", id='" + id + "'" +
+            ", version=" + version +
+            ", operation=" + operation +
+            "}";
+    }
+}
@@ -0,0 +1,58 @@
+package com.erestaurant.admin.service.feed;
+
+import com.erestaurant.admin.config.ApplicationProperties;
+import com.erestaurant.admin.service.event.EntityChangeEvent;
+import java.security.SecureRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.PreDestroy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps a feed of the changes of each entity type which has subscribers, so that the clients get the changes pushed
+ * instead of polling the list endpoints.
+ * <p>
+ * A feed gets the {@link EntityChangeEvent}s of the writes of the services, on this instance and on the other ones, once
+ * the writes are committed. The event ids are only known to the instance which sent them: a client resuming on another
+ * instance, or after a restart, gets a reset, as does a client which missed more changes than the feed keeps.
+ */
+@Service
+public class ChangeFeedService {
+
+    private final String epoch = Long.toUnsignedString(new SecureRandom().nextLong(), 36);
+
+    private final ApplicationProperties.ChangeFeed properties;
+
+    private final ConcurrentMap<String, ChangeFeed> feeds = new ConcurrentHashMap<>();
+
+    public ChangeFeedService(ApplicationProperties applicationProperties) {
+        this.properties = applicationProperties.getChangeFeed();
+    }
+
+    /**
+     * Get the change feed of an entity type, creating it on first use.
+     *
+     * @param entityType the entity type, as in the published {@link EntityChangeEvent}s.
+     * @return the change feed.
+     */
+    public ChangeFeed getFeed(String entityType) {
+        return feeds.computeIfAbsent(
+            entityType,
+            key -> new ChangeFeed(key, epoch, properties.getHistorySize(), properties.getMaxPending())
+        );
+    }
+
+    @EventListener
+    public void onEntityChange(EntityChangeEvent event) {
+        ChangeFeed feed = feeds.get(event.getEntityType());
+        if (feed != null) {
+            feed.publish(event);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        feeds.values().forEach(ChangeFeed::complete);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Change feeds of the entity types, kept in memory for the server-sent events of the {@code /_changes} endpoints.
+ */
+package com.erestaurant.admin.service.feed;
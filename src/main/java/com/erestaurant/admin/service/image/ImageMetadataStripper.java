@@ -0,0 +1,160 @@
+package com.erestaurant.admin.service.image;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Removes the metadata of the JPEG and PNG images without decoding them, so that the pixels are kept byte for byte.
+ * <p>
+ * For a JPEG, the comments and the APP segments are removed, except the JFIF header, the ICC profile and the Adobe
+ * color transform which the decoders need to render the colors. So the EXIF, with the location of a photo, the XMP and
+ * the IPTC are left out, as are the images which follow the end of the main image, e.g. the previews of the multi picture
+ * format. For a PNG, the text, time and EXIF chunks are removed, as is anything after the end chunk. The other formats
+ * are returned as they are.
+ */
+final class ImageMetadataStripper {
+
+    private static final byte[] PNG_SIGNATURE = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n' };
+
+    private static final Set<String> PNG_METADATA_CHUNKS = Set.of("eXIf", "tEXt", "zTXt", "iTXt", "tIME");
+
+    private static final byte[] ICC_PROFILE = "ICC_PROFILE\0".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int SOI = 0xd8;
+
+    private static final int EOI = 0xd9;
+
+    private static final int SOS = 0xda;
+
+    private static final int APP0 = 0xe0;
+
+    private static final int APP2 = 0xe2;
+
+    private static final int APP14 = 0xee;
+
+    private static final int APP15 = 0xef;
+
+    private static final int COM = 0xfe;
+
+    private ImageMetadataStripper() {}
+
+    /**
+     * Remove the metadata of an image.
+     *
+     * @param image the content of the image.
+     * @return the content without metadata, or the image itself if it is neither a JPEG nor a PNG.
+     */
+    static byte[] strip(byte[] image) {
+        if (image.length > 2 && (image[0] & 0xff) == 0xff && (image[1] & 0xff) == SOI) {
+            return stripJpeg(image);
+        }
+        if (image.length > PNG_SIGNATURE.length && Arrays.equals(image, 0, PNG_SIGNATURE.length, PNG_SIGNATURE, 0, PNG_SIGNATURE.length)) {
+            return stripPng(image);
+        }
+        return image;
+    }
+
+    /**
+     * Copy the segments which are kept, then the entropy coded data of the scans as it is. A truncated image is copied up
+     * to the truncated segment, the decoders render the part of the image they can.
+     */
+    private static byte[] stripJpeg(byte[] image) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(image.length);
+        output.write(image, 0, 2);
+        int position = 2;
+        while (position + 1 < image.length) {
+            if ((image[position] & 0xff) != 0xff) {
+                // not a marker, the structure is broken
+                break;
+            }
+            int marker = image[position + 1] & 0xff;
+            if (marker == 0xff) {
+                // fill byte before a marker
+                position++;
+                continue;
+            }
+            if (marker == EOI) {
+                output.write(image, position, 2);
+                break;
+            }
+            if (position + 3 >= image.length) {
+                break;
+            }
+            int end = position + 2 + (((image[position + 2] & 0xff) << 8) | (image[position + 3] & 0xff));
+            if (end > image.length) {
+                break;
+            }
+            if (marker == SOS) {
+                end = skipEntropyCodedData(image, end);
+                output.write(image, position, end - position);
+            } else if (!isMetadata(image, position, end, marker)) {
+                output.write(image, position, end - position);
+            }
+            position = end;
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * @return the position of the marker which follows the entropy coded data of a scan, or the end of the image.
+     */
+    private static int skipEntropyCodedData(byte[] image, int position) {
+        while (position + 1 < image.length) {
+            if ((image[position] & 0xff) == 0xff) {
+                int next = image[position + 1] & 0xff;
+                // a stuffed zero or a restart marker is part of the data
+                if (next != 0 && (next < 0xd0 || next > 0xd7)) {
+                    return position;
+                }
+                position += 2;
+            } else {
+                position++;
+            }
+        }
+        return image.length;
+    }
+
+    private static boolean isMetadata(byte[] image, int position, int end, int marker) {
+        if (marker == COM) {
+            return true;
+        }
+        if (marker < APP0 || marker > APP15 || marker == APP0 || marker == APP14) {
+            return false;
+        }
+        int data = position + 4;
+        boolean iccProfile =
+            marker == APP2 &&
+            end - data >= ICC_PROFILE.length &&
+            Arrays.equals(image, data, data + ICC_PROFILE.length, ICC_PROFILE, 0, ICC_PROFILE.length);
+        return !iccProfile;
+    }
+
+    private static byte[] stripPng(byte[] image) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(image.length);
+        output.write(image, 0, PNG_SIGNATURE.length);
+        int position = PNG_SIGNATURE.length;
+        while (position + 8 <= image.length) {
+            long length =
+                ((long) (image[position] & 0xff) << 24) |
+                ((image[position + 1] & 0xff) << 16) |
+                ((image[position + 2] & 0xff) << 8) |
+                (image[position + 3] & 0xff);
+            // the length, the type, the data and the CRC
+            long end = position + 12 + length;
+            if (end > image.length) {
+                break;
+            }
+            String type = new String(image, position + 4, 4, StandardCharsets.US_ASCII);
+            if (!PNG_METADATA_CHUNKS.contains(type)) {
+                output.write(image, position, (int) (end - position));
+            }
+            if ("IEND".equals(type)) {
+                break;
+            }
+            position = (int) end;
+        }
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,72 @@
+package com.erestaurant.admin.service.image;
+
+import com.erestaurant.admin.service.blob.Blob;
+import com.erestaurant.admin.service.blob.BlobStore;
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Stores the images of the entities and their thumbnails in the {@link BlobStore}.
+ * <p>
+ * The image is stored without its metadata, see {@link ImageMetadataStripper}, it is what the image endpoints return. The
+ * thumbnail is computed by the {@link ThumbnailGenerator}, an image without thumbnail is still stored.
+ */
+@Service
+public class ImageService {
+
+    private final BlobStore blobStore;
+
+    private final ThumbnailGenerator thumbnailGenerator;
+
+    public ImageService(BlobStore blobStore, ThumbnailGenerator thumbnailGenerator) {
+        this.blobStore = blobStore;
+        this.thumbnailGenerator = thumbnailGenerator;
+    }
+
+    /**
+     * Store an uploaded image without its metadata, and its thumbnail.
+     *
+     * @param image the content of the image, as uploaded.
+     * @return the stored image.
+     */
+    public Mono<StoredImage> store(byte[] image) {
+        // stripped before hashing, so that the same photo with other metadata is stored once, off the event loop as it copies
+        // the whole image, and not on the thumbnail workers which may reject it when they are busy
+        return Mono
+            .fromCallable(() -> ImageMetadataStripper.strip(image))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(stripped -> blobStore.put(stripped).flatMap(blob -> storeThumbnail(blob, stripped)));
+    }
+
+    /**
+     * Store the thumbnail of an image of the blob store, e.g. of an image stored before the thumbnails.
+     *
+     * @param imageHash the hash of the image.
+     * @return the stored image, or empty if the image is not in the blob store.
+     */
+    public Mono<StoredImage> storeThumbnail(String imageHash) {
+        return blobStore
+            .get(imageHash)
+            .flatMap(resource -> Mono.fromCallable(() -> read(resource)).subscribeOn(Schedulers.boundedElastic()))
+            .flatMap(image -> storeThumbnail(new Blob(imageHash, image.length), image));
+    }
+
+    private Mono<StoredImage> storeThumbnail(Blob blob, byte[] image) {
+        return thumbnailGenerator
+            .generate(image)
+            .flatMap(thumbnail ->
+                blobStore.put(thumbnail.getContent()).map(stored -> new StoredImage(blob, stored.getHash(), thumbnail.getContentType()))
+            )
+            .defaultIfEmpty(new StoredImage(blob, null, null));
+    }
+
+    private static byte[] read(Resource resource) throws IOException {
+        try (InputStream input = resource.getInputStream()) {
+            return input.readAllBytes();
+        }
+    }
+}
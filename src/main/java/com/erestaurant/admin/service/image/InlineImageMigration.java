@@ -0,0 +1,101 @@
+package com.erestaurant.admin.service.image;
+
+import com.erestaurant.admin.repository.InlineImageRepository;
+import com.erestaurant.admin.service.blob.BlobStore;
+import com.erestaurant.admin.service.event.EntityChangeEvent;
+import com.erestaurant.admin.service.event.EntityChangePublisher;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Moves the images stored inline in the entity tables to the {@link BlobStore} once the application is started, in
+ * batches, so that the rows written before the blob store only reference their image and its thumbnail as well.
+ * <p>
+ * The instances may migrate the same rows concurrently: the same content is stored once, and a row is only updated if
+ * it does not reference an image yet.
+ */
+@Component
+public class InlineImageMigration {
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final Map<String, String> ENTITY_TYPES = Map.of("admin", "admin", "app_user", "app-user");
+
+    private final Logger log = LoggerFactory.getLogger(InlineImageMigration.class);
+
+    private final InlineImageRepository inlineImageRepository;
+
+    private final ImageService imageService;
+
+    private final EntityChangePublisher entityChangePublisher;
+
+    public InlineImageMigration(
+        InlineImageRepository inlineImageRepository,
+        ImageService imageService,
+        EntityChangePublisher entityChangePublisher
+    ) {
+        this.inlineImageRepository = inlineImageRepository;
+        this.imageService = imageService;
+        this.entityChangePublisher = entityChangePublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        migrate()
+            .subscribe(
+                count -> {
+                    if (count > 0) {
+                        log.info("Moved {} inline images to the blob store", count);
+                    }
+                },
+                e -> log.warn("Could not move the inline images to the blob store: {}", e.getMessage())
+            );
+    }
+
+    /**
+     * Move all the inline images to the blob store.
+     *
+     * @return the number of inline images found, which are moved unless their row got another image meanwhile.
+     */
+    public Mono<Long> migrate() {
+        return Flux.fromIterable(InlineImageRepository.TABLES).concatMap(this::migrate).reduce(0L, Long::sum);
+    }
+
+    private Flux<Long> migrate(String table) {
+        // a row which is not updated got another image meanwhile, and is not found again
+        return migrateBatch(table).expand(count -> count < BATCH_SIZE ? Mono.empty() : migrateBatch(table));
+    }
+
+    private Mono<Long> migrateBatch(String table) {
+        return inlineImageRepository
+            .findInlineImages(table, BATCH_SIZE)
+            .concatMap(image ->
+                imageService
+                    .store(image.getContent())
+                    .flatMap(stored ->
+                        inlineImageRepository.replaceInlineImage(
+                            table,
+                            image.getId(),
+                            stored.getImage().getHash(),
+                            stored.getImage().getSize(),
+                            stored.getThumbnailHash(),
+                            stored.getThumbnailContentType()
+                        )
+                    )
+                    .filter(updated -> updated > 0)
+                    .flatMap(updated ->
+                        entityChangePublisher
+                            .publishAfterCommit(ENTITY_TYPES.get(table), image.getId(), null, EntityChangeEvent.Operation.UPDATED)
+                            .thenReturn(updated)
+                    )
+                    .thenReturn(image)
+            )
+            .count();
+    }
+}
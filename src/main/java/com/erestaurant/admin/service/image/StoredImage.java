@@ -0,0 +1,41 @@
+package com.erestaurant.admin.service.image;
+
+import com.erestaurant.admin.service.blob.Blob;
+
+/**
+ * An image stored by the {@link ImageService}, with its thumbnail if one could be computed.
+ */
+public final class StoredImage {
+
+    private final Blob image;
+
+    private final String thumbnailHash;
+
+    private final String thumbnailContentType;
+
+    public StoredImage(Blob image, String thumbnailHash, String thumbnailContentType) {
+        this.image = image;
+        this.thumbnailHash = thumbnailHash;
+        this.thumbnailContentType = thumbnailContentType;
+    }
+
+    public Blob getImage() {
+        return image;
+    }
+
+    /**
+     * @return the hash of the thumbnail in the blob store, or null if the image has no thumbnail.
+     */
+    public String getThumbnailHash() {
+        return thumbnailHash;
+    }
+
+    public String getThumbnailContentType() {
+        return thumbnailContentType;
+    }
+
+    @Override
+    public String toString() {
+        return "StoredImage{image=" + image + ", thumbnailHash='" + thumbnailHash + "'}";
+    }
+}
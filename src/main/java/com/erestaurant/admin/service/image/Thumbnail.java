@@ -0,0 +1,32 @@
+package com.erestaurant.admin.service.image;
+
+/**
+ * A thumbnail computed by the {@link ThumbnailGenerator}.
+ */
+public final class Thumbnail {
+
+    private final byte[] content;
+
+    private final String contentType;
+
+    public Thumbnail(byte[] content, String contentType) {
+        this.content = content;
+        this.contentType = contentType;
+    }
+
+    public byte[] getContent() {
+        return content;
+    }
+
+    /**
+     * @return the content type, {@code image/jpeg} or {@code image/png} for the images with transparency.
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public String toString() {
+        return "Thumbnail{contentType='" + contentType + "', size=" + content.length + "}";
+    }
+}
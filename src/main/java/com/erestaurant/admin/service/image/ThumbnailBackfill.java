@@ -0,0 +1,101 @@
+package com.erestaurant.admin.service.image;
+
+import com.erestaurant.admin.repository.ThumbnailRepository;
+import com.erestaurant.admin.service.event.EntityChangeEvent;
+import com.erestaurant.admin.service.event.EntityChangePublisher;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Computes the thumbnails of the images which have none once the application is started, i.e. of the images stored
+ * before the thumbnails and of the images uploaded while all the workers of the {@link ThumbnailGenerator} were busy.
+ * <p>
+ * The rows are visited once per start, in id order, so an image which gets no thumbnail, e.g. in an unsupported format,
+ * is not retried in a loop. The images are processed one at a time, leaving the other workers to the uploads.
+ */
+@Component
+public class ThumbnailBackfill {
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final Map<String, String> ENTITY_TYPES = Map.of("admin", "admin", "app_user", "app-user");
+
+    private final Logger log = LoggerFactory.getLogger(ThumbnailBackfill.class);
+
+    private final ThumbnailRepository thumbnailRepository;
+
+    private final ImageService imageService;
+
+    private final EntityChangePublisher entityChangePublisher;
+
+    public ThumbnailBackfill(
+        ThumbnailRepository thumbnailRepository,
+        ImageService imageService,
+        EntityChangePublisher entityChangePublisher
+    ) {
+        this.thumbnailRepository = thumbnailRepository;
+        this.imageService = imageService;
+        this.entityChangePublisher = entityChangePublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        backfill()
+            .subscribe(
+                count -> {
+                    if (count > 0) {
+                        log.info("Computed {} missing thumbnails", count);
+                    }
+                },
+                e -> log.warn("Could not compute the missing thumbnails: {}", e.getMessage())
+            );
+    }
+
+    /**
+     * Compute the missing thumbnails.
+     *
+     * @return the number of thumbnails computed and referenced by their row.
+     */
+    public Mono<Long> backfill() {
+        return Flux.fromIterable(ThumbnailRepository.TABLES).concatMap(this::backfill).count();
+    }
+
+    private Flux<String> backfill(String table) {
+        return findBatch(table, "")
+            .expand(batch -> batch.size() < BATCH_SIZE ? Mono.empty() : findBatch(table, batch.get(batch.size() - 1).getId()))
+            .concatMap(Flux::fromIterable)
+            .concatMap(image -> backfill(table, image));
+    }
+
+    private Mono<List<ThumbnailRepository.ImageReference>> findBatch(String table, String afterId) {
+        return thumbnailRepository.findImagesWithoutThumbnail(table, afterId, BATCH_SIZE).collectList();
+    }
+
+    private Mono<String> backfill(String table, ThumbnailRepository.ImageReference image) {
+        return imageService
+            .storeThumbnail(image.getImageHash())
+            .filter(stored -> stored.getThumbnailHash() != null)
+            .flatMap(stored ->
+                thumbnailRepository.setThumbnail(
+                    table,
+                    image.getId(),
+                    image.getImageHash(),
+                    stored.getThumbnailHash(),
+                    stored.getThumbnailContentType()
+                )
+            )
+            .filter(updated -> updated > 0)
+            .flatMap(updated ->
+                entityChangePublisher
+                    .publishAfterCommit(ENTITY_TYPES.get(table), image.getId(), null, EntityChangeEvent.Operation.UPDATED)
+                    .thenReturn(image.getId())
+            );
+    }
+}
@@ -0,0 +1,169 @@
+package com.erestaurant.admin.service.image;
+
+import com.erestaurant.admin.config.ApplicationProperties;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import javax.annotation.PreDestroy;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Computes the thumbnails of the uploaded images with the image codecs of the JDK, i.e. for the JPEG, PNG, GIF and BMP
+ * images.
+ * <p>
+ * A thumbnail fits in {@code application.thumbnail.size} pixels, keeping the aspect ratio of the image, and is encoded
+ * again from the pixels only, so the metadata of the image, e.g. the location of a photo, is left out. The decoding
+ * and the encoding are CPU bound, they run on {@code application.thumbnail.workers} threads, off the event loop. Once
+ * {@code application.thumbnail.queue-size} images wait for a worker, the images get no thumbnail instead of making the
+ * uploads wait, the thumbnails missing are computed by the {@link ThumbnailBackfill} on the next start.
+ */
+@Service
+public class ThumbnailGenerator {
+
+    static final String JPEG = "image/jpeg";
+
+    static final String PNG = "image/png";
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final Logger log = LoggerFactory.getLogger(ThumbnailGenerator.class);
+
+    private final ApplicationProperties.Thumbnail properties;
+
+    private final Scheduler workers;
+
+    public ThumbnailGenerator(ApplicationProperties applicationProperties) {
+        this.properties = applicationProperties.getThumbnail();
+        this.workers = Schedulers.newBoundedElastic(properties.getWorkers(), properties.getQueueSize(), "thumbnail", 60, true);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        workers.dispose();
+    }
+
+    /**
+     * Compute the thumbnail of an image.
+     *
+     * @param image the content of the image.
+     * @return the thumbnail, or empty if the image is not decoded, i.e. its format is not supported, it is larger than
+     * {@code application.thumbnail.max-pixels}, or all the workers are busy.
+     */
+    public Mono<Thumbnail> generate(byte[] image) {
+        return Mono
+            .fromCallable(() -> generateBlocking(image))
+            .subscribeOn(workers)
+            .onErrorResume(e -> {
+                log.warn("Could not compute the thumbnail of an image: {}", e.toString());
+                return Mono.empty();
+            });
+    }
+
+    private Thumbnail generateBlocking(byte[] image) throws IOException {
+        BufferedImage source = decode(image);
+        if (source == null) {
+            return null;
+        }
+        boolean alpha = source.getColorModel().hasAlpha();
+        double scale = Math.min(1.0, (double) properties.getSize() / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+        BufferedImage thumbnail = scale(source, width, height, alpha);
+        return alpha ? new Thumbnail(encodePng(thumbnail), PNG) : new Thumbnail(encodeJpeg(thumbnail), JPEG);
+    }
+
+    private BufferedImage decode(byte[] image) throws IOException {
+        // in memory, the default stream of ImageIO may cache the content in a temporary file
+        try (ImageInputStream input = new MemoryCacheImageInputStream(new ByteArrayInputStream(image))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                // the size is read from the header, so a small file declaring a huge image is not decoded
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > properties.getMaxPixels()) {
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scale an image down by halves then to the size, which is smoother than a single bilinear step for large images.
+     */
+    private static BufferedImage scale(BufferedImage source, int width, int height, boolean alpha) {
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            current = draw(current, currentWidth, currentHeight, alpha);
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height, boolean alpha) {
+        BufferedImage target = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            if (!alpha) {
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+            }
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = new MemoryCacheImageOutputStream(output)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    private static byte[] encodePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = new MemoryCacheImageOutputStream(output)) {
+            ImageIO.write(image, "png", stream);
+        }
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Processing of the uploaded images, e.g. their thumbnails, which are stored in the blob store.
+ */
+package com.erestaurant.admin.service.image;
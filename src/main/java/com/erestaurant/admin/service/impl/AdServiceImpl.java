@@ -2,15 +2,31 @@ package com.erestaurant.admin.service.impl;
 
 import com.erestaurant.admin.domain.Ad;
 import com.erestaurant.admin.repository.AdRepository;
+import com.erestaurant.admin.repository.Keyset;
 import com.erestaurant.admin.service.AdService;
+import com.erestaurant.admin.service.cache.EntityCache;
+import com.erestaurant.admin.service.cache.EntityCacheManager;
+import com.erestaurant.admin.service.count.EntityCount;
+import com.erestaurant.admin.service.count.EntityCountService;
 import com.erestaurant.admin.service.dto.AdDTO;
+import com.erestaurant.admin.service.dto.BulkItemResultDTO;
+import com.erestaurant.admin.service.dto.BulkOperationDTO;
+import com.erestaurant.admin.service.event.EntityChangeEvent;
+import com.erestaurant.admin.service.event.EntityChangePublisher;
+import com.erestaurant.admin.service.feed.ChangeFeed;
+import com.erestaurant.admin.service.feed.ChangeFeedEvent;
+import com.erestaurant.admin.service.feed.ChangeFeedService;
 import com.erestaurant.admin.service.mapper.AdMapper;
+import com.erestaurant.admin.service.sequence.ChangeSequence;
+import com.erestaurant.admin.service.sequence.ChangeSequenceService;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -22,27 +38,65 @@ import reactor.core.publisher.Mono;
 @Transactional
 public class AdServiceImpl implements AdService {
 
+    private static final String ENTITY_TYPE = "ad";
+
     private final Logger log = LoggerFactory.getLogger(AdServiceImpl.class);
 
     private final AdRepository adRepository;
 
     private final AdMapper adMapper;
 
-    public AdServiceImpl(AdRepository adRepository, AdMapper adMapper) {
+    private final EntityCache<AdDTO> adCache;
+
+    private final EntityCount adCount;
+
+    private final ChangeSequence adChanges;
+
+    private final ChangeFeed adFeed;
+
+    private final EntityChangePublisher entityChangePublisher;
+
+    private final BulkOperationExecutor bulkOperationExecutor;
+
+    public AdServiceImpl(
+        AdRepository adRepository,
+        AdMapper adMapper,
+        EntityCacheManager entityCacheManager,
+        EntityCountService entityCountService,
+        ChangeSequenceService changeSequenceService,
+        ChangeFeedService changeFeedService,
+        EntityChangePublisher entityChangePublisher,
+        BulkOperationExecutor bulkOperationExecutor
+    ) {
         this.adRepository = adRepository;
         this.adMapper = adMapper;
+        this.adCache = entityCacheManager.getCache(ENTITY_TYPE);
+        this.adCount = entityCountService.getCount(ENTITY_TYPE, Ad.class);
+        this.adChanges = changeSequenceService.getSequence(ENTITY_TYPE);
+        this.adFeed = changeFeedService.getFeed(ENTITY_TYPE);
+        this.entityChangePublisher = entityChangePublisher;
+        this.bulkOperationExecutor = bulkOperationExecutor;
     }
 
     @Override
     public Mono<AdDTO> save(AdDTO adDTO) {
         log.debug("Request to save Ad : {}", adDTO);
-        return adRepository.save(adMapper.toEntity(adDTO)).map(adMapper::toDto);
+        return adRepository
+            .save(adMapper.toEntity(adDTO))
+            .map(adMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.CREATED));
     }
 
     @Override
     public Mono<AdDTO> update(AdDTO adDTO) {
         log.debug("Request to save Ad : {}", adDTO);
-        return adRepository.save(adMapper.toEntity(adDTO).setIsPersisted()).map(adMapper::toDto);
+        Ad ad = adMapper.toEntity(adDTO);
+        return adRepository
+            .update(ad)
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> ad.getVersion() != null ? Mono.just(ad) : adRepository.findById(ad.getId()))
+            .map(adMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.UPDATED));
     }
 
     @Override
@@ -50,14 +104,11 @@ public class AdServiceImpl implements AdService {
         log.debug("Request to partially update Ad : {}", adDTO);
 
         return adRepository
-            .findById(adDTO.getId())
-            .map(existingAd -> {
-                adMapper.partialUpdate(existingAd, adDTO);
-
-                return existingAd;
-            })
-            .flatMap(adRepository::save)
-            .map(adMapper::toDto);
+            .updateNonNull(adMapper.toEntity(adDTO))
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> adRepository.findById(adDTO.getId()))
+            .map(adMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.UPDATED));
     }
 
     @Override
@@ -67,20 +118,57 @@ public class AdServiceImpl implements AdService {
         return adRepository.findAll().map(adMapper::toDto);
     }
 
-    public Mono<Long> countAll() {
-        return adRepository.count();
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<AdDTO> findAll(Keyset keyset) {
+        log.debug("Request to get a page of Ads : {}", keyset);
+        return adRepository.findAllBy(keyset).map(adMapper::toDto);
     }
 
     @Override
     @Transactional(readOnly = true)
+    public Flux<AdDTO> findAll(Pageable pageable) {
+        log.debug("Request to get a page of Ads : {}", pageable);
+        return adRepository.findAllBy(pageable).map(adMapper::toDto);
+    }
+
+    public Mono<Long> countAll() {
+        return adCount.get();
+    }
+
+    @Override
+    public String getChangeTag() {
+        return adChanges.getTag();
+    }
+
+    @Override
+    public Flux<ChangeFeedEvent> getChanges(String lastEventId) {
+        return adFeed.changes(lastEventId);
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Mono<AdDTO> findOne(String id) {
         log.debug("Request to get Ad : {}", id);
-        return adRepository.findById(id).map(adMapper::toDto);
+        return adCache.get(id, key -> adRepository.findById(key).map(adMapper::toDto));
     }
 
     @Override
     public Mono<Void> delete(String id) {
         log.debug("Request to delete Ad : {}", id);
-        return adRepository.deleteById(id);
+        return adRepository
+            .deleteRowsById(id)
+            .filter(deleted -> deleted > 0)
+            .flatMap(deleted -> entityChangePublisher.publishAfterCommit(ENTITY_TYPE, id, null, EntityChangeEvent.Operation.DELETED));
+    }
+
+    @Override
+    public Flux<BulkItemResultDTO> bulk(List<BulkOperationDTO<AdDTO>> operations) {
+        log.debug("Request to execute {} bulk operations on Ads", operations.size());
+        return bulkOperationExecutor.execute(ENTITY_TYPE, operations, adRepository, AdDTO::getId, adMapper::toEntity);
+    }
+
+    private Mono<AdDTO> publishChange(AdDTO adDTO, EntityChangeEvent.Operation operation) {
+        return entityChangePublisher.publishAfterCommit(ENTITY_TYPE, adDTO.getId(), adDTO.getVersion(), operation).thenReturn(adDTO);
     }
 }
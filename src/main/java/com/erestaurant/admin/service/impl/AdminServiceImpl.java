@@ -2,15 +2,28 @@ package com.erestaurant.admin.service.impl;
 
 import com.erestaurant.admin.domain.Admin;
 import com.erestaurant.admin.repository.AdminRepository;
+import com.erestaurant.admin.repository.Keyset;
+import com.erestaurant.admin.repository.Projection;
 import com.erestaurant.admin.service.AdminService;
+import com.erestaurant.admin.service.cache.EntityCache;
+import com.erestaurant.admin.service.cache.EntityCacheManager;
+import com.erestaurant.admin.service.count.EntityCount;
+import com.erestaurant.admin.service.count.EntityCountService;
 import com.erestaurant.admin.service.dto.AdminDTO;
+import com.erestaurant.admin.service.event.EntityChangeEvent;
+import com.erestaurant.admin.service.event.EntityChangePublisher;
+import com.erestaurant.admin.service.image.ImageService;
 import com.erestaurant.admin.service.mapper.AdminMapper;
+import com.erestaurant.admin.service.sequence.ChangeSequence;
+import com.erestaurant.admin.service.sequence.ChangeSequenceService;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -22,42 +35,85 @@ import reactor.core.publisher.Mono;
 @Transactional
 public class AdminServiceImpl implements AdminService {
 
+    private static final String ENTITY_TYPE = "admin";
+
     private final Logger log = LoggerFactory.getLogger(AdminServiceImpl.class);
 
     private final AdminRepository adminRepository;
 
     private final AdminMapper adminMapper;
 
-    public AdminServiceImpl(AdminRepository adminRepository, AdminMapper adminMapper) {
+    private final EntityCache<AdminDTO> adminCache;
+
+    private final EntityCount adminCount;
+
+    private final ChangeSequence adminChanges;
+
+    private final EntityChangePublisher entityChangePublisher;
+
+    private final ImageService imageService;
+
+    public AdminServiceImpl(
+        AdminRepository adminRepository,
+        AdminMapper adminMapper,
+        EntityCacheManager entityCacheManager,
+        EntityCountService entityCountService,
+        ChangeSequenceService changeSequenceService,
+        EntityChangePublisher entityChangePublisher,
+        ImageService imageService
+    ) {
         this.adminRepository = adminRepository;
         this.adminMapper = adminMapper;
+        this.adminCache = entityCacheManager.getCache(ENTITY_TYPE);
+        this.adminCount = entityCountService.getCount(ENTITY_TYPE, Admin.class);
+        this.adminChanges = changeSequenceService.getSequence(ENTITY_TYPE);
+        this.entityChangePublisher = entityChangePublisher;
+        this.imageService = imageService;
     }
 
     @Override
     public Mono<AdminDTO> save(AdminDTO adminDTO) {
         log.debug("Request to save Admin : {}", adminDTO);
-        return adminRepository.save(adminMapper.toEntity(adminDTO)).map(adminMapper::toDto);
+        return storeImage(adminMapper.toEntity(adminDTO), adminDTO)
+            .flatMap(adminRepository::save)
+            .map(adminMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.CREATED));
     }
 
     @Override
     public Mono<AdminDTO> update(AdminDTO adminDTO) {
         log.debug("Request to save Admin : {}", adminDTO);
-        return adminRepository.save(adminMapper.toEntity(adminDTO).setIsPersisted()).map(adminMapper::toDto);
+        return resolveImage(adminMapper.toEntity(adminDTO), adminDTO)
+            .flatMap(admin ->
+                adminRepository
+                    .update(admin)
+                    .filter(updated -> updated > 0)
+                    .flatMap(updated -> admin.getVersion() != null ? Mono.just(admin) : adminRepository.findById(admin.getId()))
+            )
+            .map(adminMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.UPDATED));
     }
 
     @Override
     public Mono<AdminDTO> partialUpdate(AdminDTO adminDTO) {
         log.debug("Request to partially update Admin : {}", adminDTO);
 
-        return adminRepository
-            .findById(adminDTO.getId())
-            .map(existingAdmin -> {
-                adminMapper.partialUpdate(existingAdmin, adminDTO);
-
-                return existingAdmin;
-            })
-            .flatMap(adminRepository::save)
-            .map(adminMapper::toDto);
+        Mono<Integer> update;
+        if (adminDTO.getImage() == null && adminDTO.isRemoveImage()) {
+            // the null columns are only written by a full update, of the stored entity merged with the given fields
+            update =
+                adminRepository
+                    .findById(adminDTO.getId())
+                    .doOnNext(admin -> adminMapper.partialUpdate(admin, adminDTO))
+                    .flatMap(admin -> adminRepository.update(clearImage(admin)));
+        } else {
+            update = storeImage(adminMapper.toEntity(adminDTO), adminDTO).flatMap(adminRepository::updateNonNull);
+        }
+        return update
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> adminRepository.findById(adminDTO.getId()))
+            .map(adminMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.UPDATED));
     }
 
     @Override
@@ -67,20 +123,102 @@ public class AdminServiceImpl implements AdminService {
         return adminRepository.findAll().map(adminMapper::toDto);
     }
 
-    public Mono<Long> countAll() {
-        return adminRepository.count();
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<AdminDTO> findAll(Keyset keyset) {
+        log.debug("Request to get a page of Admins : {}", keyset);
+        return adminRepository.findAllBy(keyset).map(adminMapper::toDto);
     }
 
     @Override
     @Transactional(readOnly = true)
+    public Flux<AdminDTO> findAll(Pageable pageable) {
+        log.debug("Request to get a page of Admins : {}", pageable);
+        return adminRepository.findAllBy(pageable).map(adminMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<AdminDTO> findAll(Pageable pageable, Projection projection) {
+        log.debug("Request to get a page of Admins : {}, {}", pageable, projection);
+        return adminRepository.findAllBy(pageable, projection).map(adminMapper::toDto);
+    }
+
+    public Mono<Long> countAll() {
+        return adminCount.get();
+    }
+
+    @Override
+    public String getChangeTag() {
+        return adminChanges.getTag();
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Mono<AdminDTO> findOne(String id) {
         log.debug("Request to get Admin : {}", id);
-        return adminRepository.findById(id).map(adminMapper::toDto);
+        return adminCache.get(id, key -> adminRepository.findById(key).map(adminMapper::toDto));
     }
 
     @Override
     public Mono<Void> delete(String id) {
         log.debug("Request to delete Admin : {}", id);
-        return adminRepository.deleteById(id);
+        return adminRepository
+            .deleteRowsById(id)
+            .filter(deleted -> deleted > 0)
+            .flatMap(deleted -> entityChangePublisher.publishAfterCommit(ENTITY_TYPE, id, null, EntityChangeEvent.Operation.DELETED));
+    }
+
+    /**
+     * Reference the image of the entity for a full update, which writes all the image columns: the uploaded image if any,
+     * no image if the DTO removes it, otherwise the stored image.
+     */
+    private Mono<Admin> resolveImage(Admin admin, AdminDTO adminDTO) {
+        if (adminDTO.getImage() != null) {
+            return storeImage(admin, adminDTO);
+        }
+        if (adminDTO.isRemoveImage()) {
+            return Mono.just(clearImage(admin));
+        }
+        return adminRepository
+            .findById(admin.getId())
+            .map(stored ->
+                admin
+                    .imageHash(stored.getImageHash())
+                    .imageSize(stored.getImageSize())
+                    .imageContentType(stored.getImageContentType())
+                    .thumbnailHash(stored.getThumbnailHash())
+                    .thumbnailContentType(stored.getThumbnailContentType())
+            )
+            .defaultIfEmpty(admin);
+    }
+
+    private static Admin clearImage(Admin admin) {
+        return admin.imageHash(null).imageSize(null).imageContentType(null).thumbnailHash(null).thumbnailContentType(null);
+    }
+
+    /**
+     * Store the uploaded image of the DTO, if any, with its thumbnail, and reference them from the entity.
+     */
+    private Mono<Admin> storeImage(Admin admin, AdminDTO adminDTO) {
+        if (adminDTO.getImage() == null) {
+            // the content type describes the uploaded image only
+            return Mono.just(admin.imageContentType(null));
+        }
+        return imageService
+            .store(adminDTO.getImage())
+            .map(stored ->
+                admin
+                    .imageHash(stored.getImage().getHash())
+                    .imageSize(stored.getImage().getSize())
+                    .thumbnailHash(stored.getThumbnailHash())
+                    .thumbnailContentType(stored.getThumbnailContentType())
+            );
+    }
+
+    private Mono<AdminDTO> publishChange(AdminDTO adminDTO, EntityChangeEvent.Operation operation) {
+        return entityChangePublisher
+            .publishAfterCommit(ENTITY_TYPE, adminDTO.getId(), adminDTO.getVersion(), operation)
+            .thenReturn(adminDTO);
     }
 }
@@ -2,15 +2,31 @@ package com.erestaurant.admin.service.impl;
 
 import com.erestaurant.admin.domain.AppDiscount;
 import com.erestaurant.admin.repository.AppDiscountRepository;
+import com.erestaurant.admin.repository.Keyset;
 import com.erestaurant.admin.service.AppDiscountService;
+import com.erestaurant.admin.service.cache.EntityCache;
+import com.erestaurant.admin.service.cache.EntityCacheManager;
+import com.erestaurant.admin.service.count.EntityCount;
+import com.erestaurant.admin.service.count.EntityCountService;
 import com.erestaurant.admin.service.dto.AppDiscountDTO;
+import com.erestaurant.admin.service.dto.BulkItemResultDTO;
+import com.erestaurant.admin.service.dto.BulkOperationDTO;
+import com.erestaurant.admin.service.event.EntityChangeEvent;
+import com.erestaurant.admin.service.event.EntityChangePublisher;
+import com.erestaurant.admin.service.feed.ChangeFeed;
+import com.erestaurant.admin.service.feed.ChangeFeedEvent;
+import com.erestaurant.admin.service.feed.ChangeFeedService;
 import com.erestaurant.admin.service.mapper.AppDiscountMapper;
+import com.erestaurant.admin.service.sequence.ChangeSequence;
+import com.erestaurant.admin.service.sequence.ChangeSequenceService;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -22,27 +38,69 @@ import reactor.core.publisher.Mono;
 @Transactional
 public class AppDiscountServiceImpl implements AppDiscountService {
 
+    private static final String ENTITY_TYPE = "app-discount";
+
     private final Logger log = LoggerFactory.getLogger(AppDiscountServiceImpl.class);
 
     private final AppDiscountRepository appDiscountRepository;
 
     private final AppDiscountMapper appDiscountMapper;
 
-    public AppDiscountServiceImpl(AppDiscountRepository appDiscountRepository, AppDiscountMapper appDiscountMapper) {
+    private final EntityCache<AppDiscountDTO> appDiscountCache;
+
+    private final EntityCount appDiscountCount;
+
+    private final ChangeSequence appDiscountChanges;
+
+    private final ChangeFeed appDiscountFeed;
+
+    private final EntityChangePublisher entityChangePublisher;
+
+    private final BulkOperationExecutor bulkOperationExecutor;
+
+    public AppDiscountServiceImpl(
+        AppDiscountRepository appDiscountRepository,
+        AppDiscountMapper appDiscountMapper,
+        EntityCacheManager entityCacheManager,
+        EntityCountService entityCountService,
+        ChangeSequenceService changeSequenceService,
+        ChangeFeedService changeFeedService,
+        EntityChangePublisher entityChangePublisher,
+        BulkOperationExecutor bulkOperationExecutor
+    ) {
         this.appDiscountRepository = appDiscountRepository;
         this.appDiscountMapper = appDiscountMapper;
+        this.appDiscountCache = entityCacheManager.getCache(ENTITY_TYPE);
+        this.appDiscountCount = entityCountService.getCount(ENTITY_TYPE, AppDiscount.class);
+        this.appDiscountChanges = changeSequenceService.getSequence(ENTITY_TYPE);
+        this.appDiscountFeed = changeFeedService.getFeed(ENTITY_TYPE);
+        this.entityChangePublisher = entityChangePublisher;
+        this.bulkOperationExecutor = bulkOperationExecutor;
     }
 
     @Override
     public Mono<AppDiscountDTO> save(AppDiscountDTO appDiscountDTO) {
         log.debug("Request to save AppDiscount : {}", appDiscountDTO);
-        return appDiscountRepository.save(appDiscountMapper.toEntity(appDiscountDTO)).map(appDiscountMapper::toDto);
+        return appDiscountRepository
+            .save(appDiscountMapper.toEntity(appDiscountDTO))
+            .map(appDiscountMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.CREATED));
     }
 
     @Override
     public Mono<AppDiscountDTO> update(AppDiscountDTO appDiscountDTO) {
         log.debug("Request to save AppDiscount : {}", appDiscountDTO);
-        return appDiscountRepository.save(appDiscountMapper.toEntity(appDiscountDTO).setIsPersisted()).map(appDiscountMapper::toDto);
+        AppDiscount appDiscount = appDiscountMapper.toEntity(appDiscountDTO);
+        return appDiscountRepository
+            .update(appDiscount)
+            .filter(updated -> updated > 0)
+            .flatMap(updated ->
+                appDiscount.getVersion() != null
+                    ? Mono.just(appDiscount)
+                    : appDiscountRepository.findById(appDiscount.getId())
+            )
+            .map(appDiscountMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.UPDATED));
     }
 
     @Override
@@ -50,14 +108,11 @@ public class AppDiscountServiceImpl implements AppDiscountService {
         log.debug("Request to partially update AppDiscount : {}", appDiscountDTO);
 
         return appDiscountRepository
-            .findById(appDiscountDTO.getId())
-            .map(existingAppDiscount -> {
-                appDiscountMapper.partialUpdate(existingAppDiscount, appDiscountDTO);
-
-                return existingAppDiscount;
-            })
-            .flatMap(appDiscountRepository::save)
-            .map(appDiscountMapper::toDto);
+            .updateNonNull(appDiscountMapper.toEntity(appDiscountDTO))
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> appDiscountRepository.findById(appDiscountDTO.getId()))
+            .map(appDiscountMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.UPDATED));
     }
 
     @Override
@@ -67,20 +122,65 @@ public class AppDiscountServiceImpl implements AppDiscountService {
         return appDiscountRepository.findAll().map(appDiscountMapper::toDto);
     }
 
-    public Mono<Long> countAll() {
-        return appDiscountRepository.count();
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<AppDiscountDTO> findAll(Keyset keyset) {
+        log.debug("Request to get a page of AppDiscounts : {}", keyset);
+        return appDiscountRepository.findAllBy(keyset).map(appDiscountMapper::toDto);
     }
 
     @Override
     @Transactional(readOnly = true)
+    public Flux<AppDiscountDTO> findAll(Pageable pageable) {
+        log.debug("Request to get a page of AppDiscounts : {}", pageable);
+        return appDiscountRepository.findAllBy(pageable).map(appDiscountMapper::toDto);
+    }
+
+    public Mono<Long> countAll() {
+        return appDiscountCount.get();
+    }
+
+    @Override
+    public String getChangeTag() {
+        return appDiscountChanges.getTag();
+    }
+
+    @Override
+    public Flux<ChangeFeedEvent> getChanges(String lastEventId) {
+        return appDiscountFeed.changes(lastEventId);
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Mono<AppDiscountDTO> findOne(String id) {
         log.debug("Request to get AppDiscount : {}", id);
-        return appDiscountRepository.findById(id).map(appDiscountMapper::toDto);
+        return appDiscountCache.get(id, key -> appDiscountRepository.findById(key).map(appDiscountMapper::toDto));
     }
 
     @Override
     public Mono<Void> delete(String id) {
         log.debug("Request to delete AppDiscount : {}", id);
-        return appDiscountRepository.deleteById(id);
+        return appDiscountRepository
+            .deleteRowsById(id)
+            .filter(deleted -> deleted > 0)
+            .flatMap(deleted -> entityChangePublisher.publishAfterCommit(ENTITY_TYPE, id, null, EntityChangeEvent.Operation.DELETED));
+    }
+
+    @Override
+    public Flux<BulkItemResultDTO> bulk(List<BulkOperationDTO<AppDiscountDTO>> operations) {
+        log.debug("Request to execute {} bulk operations on AppDiscounts", operations.size());
+        return bulkOperationExecutor.execute(
+            ENTITY_TYPE,
+            operations,
+            appDiscountRepository,
+            AppDiscountDTO::getId,
+            appDiscountMapper::toEntity
+        );
+    }
+
+    private Mono<AppDiscountDTO> publishChange(AppDiscountDTO appDiscountDTO, EntityChangeEvent.Operation operation) {
+        return entityChangePublisher
+            .publishAfterCommit(ENTITY_TYPE, appDiscountDTO.getId(), appDiscountDTO.getVersion(), operation)
+            .thenReturn(appDiscountDTO);
     }
 }
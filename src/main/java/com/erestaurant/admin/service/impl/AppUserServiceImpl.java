@@ -2,8 +2,17 @@ package com.erestaurant.admin.service.impl;
 
 import com.erestaurant.admin.domain.AppUser;
 import com.erestaurant.admin.repository.AppUserRepository;
+import com.erestaurant.admin.repository.Keyset;
+import com.erestaurant.admin.repository.Projection;
 import com.erestaurant.admin.service.AppUserService;
+import com.erestaurant.admin.service.cache.EntityCache;
+import com.erestaurant.admin.service.cache.EntityCacheManager;
+import com.erestaurant.admin.service.count.EntityCount;
+import com.erestaurant.admin.service.count.EntityCountService;
 import com.erestaurant.admin.service.dto.AppUserDTO;
+import com.erestaurant.admin.service.event.EntityChangeEvent;
+import com.erestaurant.admin.service.event.EntityChangePublisher;
+import com.erestaurant.admin.service.image.ImageService;
 import com.erestaurant.admin.service.mapper.AppUserMapper;
 import java.util.LinkedList;
 import java.util.List;
@@ -12,6 +21,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -23,42 +33,85 @@ import reactor.core.publisher.Mono;
 @Transactional
 public class AppUserServiceImpl implements AppUserService {
 
+    private static final String ENTITY_TYPE = "app-user";
+
     private final Logger log = LoggerFactory.getLogger(AppUserServiceImpl.class);
 
     private final AppUserRepository appUserRepository;
 
     private final AppUserMapper appUserMapper;
 
-    public AppUserServiceImpl(AppUserRepository appUserRepository, AppUserMapper appUserMapper) {
+    private final EntityCache<AppUserDTO> appUserCache;
+
+    private final EntityCount appUserCount;
+
+    private final EntityChangePublisher entityChangePublisher;
+
+    private final ImageService imageService;
+
+    public AppUserServiceImpl(
+        AppUserRepository appUserRepository,
+        AppUserMapper appUserMapper,
+        EntityCacheManager entityCacheManager,
+        EntityCountService entityCountService,
+        EntityChangePublisher entityChangePublisher,
+        ImageService imageService
+    ) {
         this.appUserRepository = appUserRepository;
         this.appUserMapper = appUserMapper;
+        this.appUserCache = entityCacheManager.getCache(ENTITY_TYPE);
+        this.appUserCount = entityCountService.getCount(ENTITY_TYPE, AppUser.class);
+        this.entityChangePublisher = entityChangePublisher;
+        this.imageService = imageService;
     }
 
     @Override
     public Mono<AppUserDTO> save(AppUserDTO appUserDTO) {
         log.debug("Request to save AppUser : {}", appUserDTO);
-        return appUserRepository.save(appUserMapper.toEntity(appUserDTO)).map(appUserMapper::toDto);
+        return storeImage(appUserMapper.toEntity(appUserDTO), appUserDTO)
+            .flatMap(appUserRepository::save)
+            .map(appUserMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.CREATED));
     }
 
     @Override
     public Mono<AppUserDTO> update(AppUserDTO appUserDTO) {
         log.debug("Request to save AppUser : {}", appUserDTO);
-        return appUserRepository.save(appUserMapper.toEntity(appUserDTO).setIsPersisted()).map(appUserMapper::toDto);
+        return resolveImage(appUserMapper.toEntity(appUserDTO), appUserDTO)
+            .flatMap(appUser ->
+                appUserRepository
+                    .update(appUser)
+                    .filter(updated -> updated > 0)
+                    .flatMap(updated ->
+                        appUser.getVersion() != null
+                            ? Mono.just(appUser)
+                            : appUserRepository.findOneWithEagerRelationships(appUser.getId())
+                    )
+            )
+            .map(appUserMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.UPDATED));
     }
 
     @Override
     public Mono<AppUserDTO> partialUpdate(AppUserDTO appUserDTO) {
         log.debug("Request to partially update AppUser : {}", appUserDTO);
 
-        return appUserRepository
-            .findById(appUserDTO.getId())
-            .map(existingAppUser -> {
-                appUserMapper.partialUpdate(existingAppUser, appUserDTO);
-
-                return existingAppUser;
-            })
-            .flatMap(appUserRepository::save)
-            .map(appUserMapper::toDto);
+        Mono<Integer> update;
+        if (appUserDTO.getImage() == null && appUserDTO.isRemoveImage()) {
+            // the null columns are only written by a full update, of the stored entity merged with the given fields
+            update =
+                appUserRepository
+                    .findById(appUserDTO.getId())
+                    .doOnNext(appUser -> appUserMapper.partialUpdate(appUser, appUserDTO))
+                    .flatMap(appUser -> appUserRepository.update(clearImage(appUser)));
+        } else {
+            update = storeImage(appUserMapper.toEntity(appUserDTO), appUserDTO).flatMap(appUserRepository::updateNonNull);
+        }
+        return update
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> appUserRepository.findOneWithEagerRelationships(appUserDTO.getId()))
+            .map(appUserMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.UPDATED));
     }
 
     @Override
@@ -68,24 +121,105 @@ public class AppUserServiceImpl implements AppUserService {
         return appUserRepository.findAllWithEagerRelationships().map(appUserMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<AppUserDTO> findAll(Keyset keyset) {
+        log.debug("Request to get a page of AppUsers : {}", keyset);
+        return appUserRepository.findAllBy(keyset).map(appUserMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<AppUserDTO> findAll(Pageable pageable) {
+        log.debug("Request to get a page of AppUsers : {}", pageable);
+        return appUserRepository.findAllBy(pageable).map(appUserMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<AppUserDTO> findAll(Pageable pageable, Projection projection) {
+        log.debug("Request to get a page of AppUsers : {}, {}", pageable, projection);
+        return appUserRepository.findAllBy(pageable, projection).map(appUserMapper::toDto);
+    }
+
     public Flux<AppUserDTO> findAllWithEagerRelationships(Pageable pageable) {
         return appUserRepository.findAllWithEagerRelationships(pageable).map(appUserMapper::toDto);
     }
 
+    public Flux<AppUserDTO> findAllWithEagerRelationships(Pageable pageable, Projection projection) {
+        return appUserRepository.findAllWithEagerRelationships(pageable, projection).map(appUserMapper::toDto);
+    }
+
     public Mono<Long> countAll() {
-        return appUserRepository.count();
+        return appUserCount.get();
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Mono<AppUserDTO> findOne(String id) {
         log.debug("Request to get AppUser : {}", id);
-        return appUserRepository.findOneWithEagerRelationships(id).map(appUserMapper::toDto);
+        return appUserCache.get(id, key -> appUserRepository.findOneWithEagerRelationships(key).map(appUserMapper::toDto));
     }
 
     @Override
     public Mono<Void> delete(String id) {
         log.debug("Request to delete AppUser : {}", id);
-        return appUserRepository.deleteById(id);
+        return appUserRepository
+            .deleteRowsById(id)
+            .filter(deleted -> deleted > 0)
+            .flatMap(deleted -> entityChangePublisher.publishAfterCommit(ENTITY_TYPE, id, null, EntityChangeEvent.Operation.DELETED));
+    }
+
+    /**
+     * Reference the image of the entity for a full update, which writes all the image columns: the uploaded image if any,
+     * no image if the DTO removes it, otherwise the stored image.
+     */
+    private Mono<AppUser> resolveImage(AppUser appUser, AppUserDTO appUserDTO) {
+        if (appUserDTO.getImage() != null) {
+            return storeImage(appUser, appUserDTO);
+        }
+        if (appUserDTO.isRemoveImage()) {
+            return Mono.just(clearImage(appUser));
+        }
+        return appUserRepository
+            .findById(appUser.getId())
+            .map(stored ->
+                appUser
+                    .imageHash(stored.getImageHash())
+                    .imageSize(stored.getImageSize())
+                    .imageContentType(stored.getImageContentType())
+                    .thumbnailHash(stored.getThumbnailHash())
+                    .thumbnailContentType(stored.getThumbnailContentType())
+            )
+            .defaultIfEmpty(appUser);
+    }
+
+    private static AppUser clearImage(AppUser appUser) {
+        return appUser.imageHash(null).imageSize(null).imageContentType(null).thumbnailHash(null).thumbnailContentType(null);
+    }
+
+    /**
+     * Store the uploaded image of the DTO, if any, with its thumbnail, and reference them from the entity.
+     */
+    private Mono<AppUser> storeImage(AppUser appUser, AppUserDTO appUserDTO) {
+        if (appUserDTO.getImage() == null) {
+            // the content type describes the uploaded image only
+            return Mono.just(appUser.imageContentType(null));
+        }
+        return imageService
+            .store(appUserDTO.getImage())
+            .map(stored ->
+                appUser
+                    .imageHash(stored.getImage().getHash())
+                    .imageSize(stored.getImage().getSize())
+                    .thumbnailHash(stored.getThumbnailHash())
+                    .thumbnailContentType(stored.getThumbnailContentType())
+            );
+    }
+
+    private Mono<AppUserDTO> publishChange(AppUserDTO appUserDTO, EntityChangeEvent.Operation operation) {
+        return entityChangePublisher
+            .publishAfterCommit(ENTITY_TYPE, appUserDTO.getId(), appUserDTO.getVersion(), operation)
+            .thenReturn(appUserDTO);
     }
 }
@@ -0,0 +1,177 @@
+package com.erestaurant.admin.service.impl;
+
+import com.erestaurant.admin.config.ApplicationProperties;
+import com.erestaurant.admin.repository.BulkRepository;
+import com.erestaurant.admin.service.dto.BulkItemResultDTO;
+import com.erestaurant.admin.service.dto.BulkOperationDTO;
+import com.erestaurant.admin.service.event.EntityChangeEvent;
+import com.erestaurant.admin.service.event.EntityChangePublisher;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Executes the operations of a bulk request with batched statements, for the services of the entities imported in bulk.
+ * <p>
+ * Every operation gets a result. Invalid operations and ids used by more than one operation are rejected up front,
+ * creates of existing ids after a lookup, and the remaining operations are written with one batch per chunk and per
+ * operation type, in the transaction of the calling service.
+ */
+@Component
+class BulkOperationExecutor {
+
+    private final Validator validator;
+
+    private final EntityChangePublisher entityChangePublisher;
+
+    private final ApplicationProperties applicationProperties;
+
+    BulkOperationExecutor(Validator validator, EntityChangePublisher entityChangePublisher, ApplicationProperties applicationProperties) {
+        this.validator = validator;
+        this.entityChangePublisher = entityChangePublisher;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * @param entityType the entity type, used for the published entity changes.
+     * @param operations the operations to execute.
+     * @param repository the repository of the entity.
+     * @param idOf returns the id of a DTO.
+     * @param toEntity maps a DTO to its entity.
+     * @param <D> the type of the DTOs.
+     * @param <E> the type of the entities.
+     * @return the result of each operation, in the order of the operations.
+     */
+    <D, E> Flux<BulkItemResultDTO> execute(
+        String entityType,
+        List<BulkOperationDTO<D>> operations,
+        BulkRepository<E, String> repository,
+        Function<D, String> idOf,
+        Function<D, E> toEntity
+    ) {
+        return Flux.defer(() -> {
+            int chunkSize = applicationProperties.getBulk().getChunkSize();
+            List<BulkItemResultDTO> results = new ArrayList<>(operations.size());
+            Map<BulkOperationDTO.Operation, List<Integer>> accepted = new EnumMap<>(BulkOperationDTO.Operation.class);
+            Set<String> ids = new HashSet<>();
+            for (int i = 0; i < operations.size(); i++) {
+                BulkOperationDTO<D> operation = operations.get(i);
+                String id = operation.getData() != null ? idOf.apply(operation.getData()) : operation.getId();
+                BulkItemResultDTO result = new BulkItemResultDTO(i, operation.getOperation(), id);
+                results.add(result);
+                String error = validate(operation, id);
+                if (error != null) {
+                    reject(result, HttpStatus.BAD_REQUEST, error);
+                } else if (!ids.add(id)) {
+                    // the outcome would depend on the order of the batches
+                    reject(result, HttpStatus.CONFLICT, "id is used by another operation of the request");
+                } else {
+                    accepted.computeIfAbsent(operation.getOperation(), key -> new ArrayList<>()).add(i);
+                }
+            }
+            List<Integer> creates = accepted.getOrDefault(BulkOperationDTO.Operation.CREATE, List.of());
+            List<Integer> updates = accepted.getOrDefault(BulkOperationDTO.Operation.UPDATE, List.of());
+            List<Integer> deletes = accepted.getOrDefault(BulkOperationDTO.Operation.DELETE, List.of());
+
+            return repository
+                .findExistingIds(getIds(creates, results), chunkSize)
+                .collect(Collectors.toSet())
+                .flatMapMany(existingIds -> {
+                    List<Integer> inserts = new ArrayList<>();
+                    for (Integer index : creates) {
+                        if (existingIds.contains(results.get(index).getId())) {
+                            reject(results.get(index), HttpStatus.CONFLICT, "entity already exists");
+                        } else {
+                            inserts.add(index);
+                        }
+                    }
+                    Flux<Integer> inserted = repository.bulkInsert(getEntities(inserts, operations, toEntity), chunkSize);
+                    Flux<Integer> updated = repository.bulkUpdate(getEntities(updates, operations, toEntity), chunkSize);
+                    Flux<Integer> deleted = repository.bulkDelete(getIds(deletes, results), chunkSize);
+                    return Flux.concat(
+                        write(inserts, results, inserted, HttpStatus.CREATED),
+                        write(updates, results, updated, HttpStatus.OK),
+                        write(deletes, results, deleted, HttpStatus.NO_CONTENT)
+                    );
+                })
+                .thenMany(Flux.fromIterable(results))
+                .concatMap(result -> publishChange(entityType, result).thenReturn(result));
+        });
+    }
+
+    private <D> String validate(BulkOperationDTO<D> operation, String id) {
+        if (operation.getOperation() == null) {
+            return "operation is required";
+        }
+        if (operation.getOperation() != BulkOperationDTO.Operation.DELETE) {
+            if (operation.getData() == null) {
+                return "data is required";
+            }
+            Set<ConstraintViolation<D>> violations = validator.validate(operation.getData());
+            if (!violations.isEmpty()) {
+                return violations
+                    .stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            }
+        }
+        return id == null ? "id is required" : null;
+    }
+
+    private static Mono<Void> write(List<Integer> indexes, List<BulkItemResultDTO> results, Flux<Integer> rowsUpdated, HttpStatus status) {
+        return rowsUpdated
+            .index()
+            .doOnNext(rows -> {
+                BulkItemResultDTO result = results.get(indexes.get(rows.getT1().intValue()));
+                if (rows.getT2() > 0) {
+                    result.setStatus(status.value());
+                } else {
+                    reject(result, HttpStatus.NOT_FOUND, "entity not found");
+                }
+            })
+            .then();
+    }
+
+    private Mono<Void> publishChange(String entityType, BulkItemResultDTO result) {
+        if (result.getMessage() != null) {
+            return Mono.empty();
+        }
+        EntityChangeEvent.Operation operation;
+        switch (result.getOperation()) {
+            case CREATE:
+                operation = EntityChangeEvent.Operation.CREATED;
+                break;
+            case UPDATE:
+                operation = EntityChangeEvent.Operation.UPDATED;
+                break;
+            default:
+                operation = EntityChangeEvent.Operation.DELETED;
+        }
+        return entityChangePublisher.publishAfterCommit(entityType, result.getId(), null, operation);
+    }
+
+    private static void reject(BulkItemResultDTO result, HttpStatus status, String message) {
+        result.setStatus(status.value());
+        result.setMessage(message);
+    }
+
+    private static List<String> getIds(List<Integer> indexes, List<BulkItemResultDTO> results) {
+        return indexes.stream().map(index -> results.get(index).getId()).collect(Collectors.toList());
+    }
+
+    private static <D, E> List<E> getEntities(List<Integer> indexes, List<BulkOperationDTO<D>> operations, Function<D, E> toEntity) {
+        return indexes.stream().map(index -> toEntity.apply(operations.get(index).getData())).collect(Collectors.toList());
+    }
+}
@@ -2,15 +2,26 @@ package com.erestaurant.admin.service.impl;
 
 import com.erestaurant.admin.domain.CompositePermission;
 import com.erestaurant.admin.repository.CompositePermissionRepository;
+import com.erestaurant.admin.repository.Keyset;
 import com.erestaurant.admin.service.CompositePermissionService;
+import com.erestaurant.admin.service.cache.EntityCache;
+import com.erestaurant.admin.service.cache.EntityCacheManager;
+import com.erestaurant.admin.service.count.EntityCount;
+import com.erestaurant.admin.service.count.EntityCountService;
 import com.erestaurant.admin.service.dto.CompositePermissionDTO;
+import com.erestaurant.admin.service.event.EntityChangeEvent;
+import com.erestaurant.admin.service.event.EntityChangePublisher;
 import com.erestaurant.admin.service.mapper.CompositePermissionMapper;
+import com.erestaurant.admin.service.sequence.ChangeSequence;
+import com.erestaurant.admin.service.sequence.ChangeSequenceService;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -22,18 +33,36 @@ import reactor.core.publisher.Mono;
 @Transactional
 public class CompositePermissionServiceImpl implements CompositePermissionService {
 
+    private static final String ENTITY_TYPE = "composite-permission";
+
     private final Logger log = LoggerFactory.getLogger(CompositePermissionServiceImpl.class);
 
     private final CompositePermissionRepository compositePermissionRepository;
 
     private final CompositePermissionMapper compositePermissionMapper;
 
+    private final EntityCache<CompositePermissionDTO> compositePermissionCache;
+
+    private final EntityCount compositePermissionCount;
+
+    private final ChangeSequence compositePermissionChanges;
+
+    private final EntityChangePublisher entityChangePublisher;
+
     public CompositePermissionServiceImpl(
         CompositePermissionRepository compositePermissionRepository,
-        CompositePermissionMapper compositePermissionMapper
+        CompositePermissionMapper compositePermissionMapper,
+        EntityCacheManager entityCacheManager,
+        EntityCountService entityCountService,
+        ChangeSequenceService changeSequenceService,
+        EntityChangePublisher entityChangePublisher
     ) {
         this.compositePermissionRepository = compositePermissionRepository;
         this.compositePermissionMapper = compositePermissionMapper;
+        this.compositePermissionCache = entityCacheManager.getCache(ENTITY_TYPE);
+        this.compositePermissionCount = entityCountService.getCount(ENTITY_TYPE, CompositePermission.class);
+        this.compositePermissionChanges = changeSequenceService.getSequence(ENTITY_TYPE);
+        this.entityChangePublisher = entityChangePublisher;
     }
 
     @Override
@@ -41,15 +70,24 @@ public class CompositePermissionServiceImpl implements CompositePermissionServic
         log.debug("Request to save CompositePermission : {}", compositePermissionDTO);
         return compositePermissionRepository
             .save(compositePermissionMapper.toEntity(compositePermissionDTO))
-            .map(compositePermissionMapper::toDto);
+            .map(compositePermissionMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.CREATED));
     }
 
     @Override
     public Mono<CompositePermissionDTO> update(CompositePermissionDTO compositePermissionDTO) {
         log.debug("Request to save CompositePermission : {}", compositePermissionDTO);
+        CompositePermission compositePermission = compositePermissionMapper.toEntity(compositePermissionDTO);
         return compositePermissionRepository
-            .save(compositePermissionMapper.toEntity(compositePermissionDTO).setIsPersisted())
-            .map(compositePermissionMapper::toDto);
+            .update(compositePermission)
+            .filter(updated -> updated > 0)
+            .flatMap(updated ->
+                compositePermission.getVersion() != null
+                    ? Mono.just(compositePermission)
+                    : compositePermissionRepository.findById(compositePermission.getId())
+            )
+            .map(compositePermissionMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.UPDATED));
     }
 
     @Override
@@ -57,37 +95,65 @@ public class CompositePermissionServiceImpl implements CompositePermissionServic
         log.debug("Request to partially update CompositePermission : {}", compositePermissionDTO);
 
         return compositePermissionRepository
-            .findById(compositePermissionDTO.getId())
-            .map(existingCompositePermission -> {
-                compositePermissionMapper.partialUpdate(existingCompositePermission, compositePermissionDTO);
-
-                return existingCompositePermission;
-            })
-            .flatMap(compositePermissionRepository::save)
-            .map(compositePermissionMapper::toDto);
+            .updateNonNull(compositePermissionMapper.toEntity(compositePermissionDTO))
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> compositePermissionRepository.findById(compositePermissionDTO.getId()))
+            .map(compositePermissionMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.UPDATED));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Flux<CompositePermissionDTO> findAll() {
         log.debug("Request to get all CompositePermissions");
-        return compositePermissionRepository.findAll().map(compositePermissionMapper::toDto);
+        return compositePermissionCache.getAll(() -> compositePermissionRepository.findAll().map(compositePermissionMapper::toDto));
     }
 
-    public Mono<Long> countAll() {
-        return compositePermissionRepository.count();
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<CompositePermissionDTO> findAll(Keyset keyset) {
+        log.debug("Request to get a page of CompositePermissions : {}", keyset);
+        return compositePermissionRepository.findAllBy(keyset).map(compositePermissionMapper::toDto);
     }
 
     @Override
     @Transactional(readOnly = true)
+    public Flux<CompositePermissionDTO> findAll(Pageable pageable) {
+        log.debug("Request to get a page of CompositePermissions : {}", pageable);
+        return compositePermissionRepository.findAllBy(pageable).map(compositePermissionMapper::toDto);
+    }
+
+    public Mono<Long> countAll() {
+        return compositePermissionCount.get();
+    }
+
+    @Override
+    public String getChangeTag() {
+        return compositePermissionChanges.getTag();
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Mono<CompositePermissionDTO> findOne(String id) {
         log.debug("Request to get CompositePermission : {}", id);
-        return compositePermissionRepository.findById(id).map(compositePermissionMapper::toDto);
+        return compositePermissionCache.get(id, key -> compositePermissionRepository.findById(key).map(compositePermissionMapper::toDto));
     }
 
     @Override
     public Mono<Void> delete(String id) {
         log.debug("Request to delete CompositePermission : {}", id);
-        return compositePermissionRepository.deleteById(id);
+        return compositePermissionRepository
+            .deleteRowsById(id)
+            .filter(deleted -> deleted > 0)
+            .flatMap(deleted -> entityChangePublisher.publishAfterCommit(ENTITY_TYPE, id, null, EntityChangeEvent.Operation.DELETED));
+    }
+
+    private Mono<CompositePermissionDTO> publishChange(
+        CompositePermissionDTO compositePermissionDTO,
+        EntityChangeEvent.Operation operation
+    ) {
+        return entityChangePublisher
+            .publishAfterCommit(ENTITY_TYPE, compositePermissionDTO.getId(), compositePermissionDTO.getVersion(), operation)
+            .thenReturn(compositePermissionDTO);
     }
 }
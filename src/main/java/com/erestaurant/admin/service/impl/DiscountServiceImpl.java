@@ -2,15 +2,31 @@ package com.erestaurant.admin.service.impl;
 
 import com.erestaurant.admin.domain.Discount;
 import com.erestaurant.admin.repository.DiscountRepository;
+import com.erestaurant.admin.repository.Keyset;
 import com.erestaurant.admin.service.DiscountService;
+import com.erestaurant.admin.service.cache.EntityCache;
+import com.erestaurant.admin.service.cache.EntityCacheManager;
+import com.erestaurant.admin.service.count.EntityCount;
+import com.erestaurant.admin.service.count.EntityCountService;
+import com.erestaurant.admin.service.dto.BulkItemResultDTO;
+import com.erestaurant.admin.service.dto.BulkOperationDTO;
 import com.erestaurant.admin.service.dto.DiscountDTO;
+import com.erestaurant.admin.service.event.EntityChangeEvent;
+import com.erestaurant.admin.service.event.EntityChangePublisher;
+import com.erestaurant.admin.service.feed.ChangeFeed;
+import com.erestaurant.admin.service.feed.ChangeFeedEvent;
+import com.erestaurant.admin.service.feed.ChangeFeedService;
 import com.erestaurant.admin.service.mapper.DiscountMapper;
+import com.erestaurant.admin.service.sequence.ChangeSequence;
+import com.erestaurant.admin.service.sequence.ChangeSequenceService;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -22,27 +38,65 @@ import reactor.core.publisher.Mono;
 @Transactional
 public class DiscountServiceImpl implements DiscountService {
 
+    private static final String ENTITY_TYPE = "discount";
+
     private final Logger log = LoggerFactory.getLogger(DiscountServiceImpl.class);
 
     private final DiscountRepository discountRepository;
 
     private final DiscountMapper discountMapper;
 
-    public DiscountServiceImpl(DiscountRepository discountRepository, DiscountMapper discountMapper) {
+    private final EntityCache<DiscountDTO> discountCache;
+
+    private final EntityCount discountCount;
+
+    private final ChangeSequence discountChanges;
+
+    private final ChangeFeed discountFeed;
+
+    private final EntityChangePublisher entityChangePublisher;
+
+    private final BulkOperationExecutor bulkOperationExecutor;
+
+    public DiscountServiceImpl(
+        DiscountRepository discountRepository,
+        DiscountMapper discountMapper,
+        EntityCacheManager entityCacheManager,
+        EntityCountService entityCountService,
+        ChangeSequenceService changeSequenceService,
+        ChangeFeedService changeFeedService,
+        EntityChangePublisher entityChangePublisher,
+        BulkOperationExecutor bulkOperationExecutor
+    ) {
         this.discountRepository = discountRepository;
         this.discountMapper = discountMapper;
+        this.discountCache = entityCacheManager.getCache(ENTITY_TYPE);
+        this.discountCount = entityCountService.getCount(ENTITY_TYPE, Discount.class);
+        this.discountChanges = changeSequenceService.getSequence(ENTITY_TYPE);
+        this.discountFeed = changeFeedService.getFeed(ENTITY_TYPE);
+        this.entityChangePublisher = entityChangePublisher;
+        this.bulkOperationExecutor = bulkOperationExecutor;
     }
 
     @Override
     public Mono<DiscountDTO> save(DiscountDTO discountDTO) {
         log.debug("Request to save Discount : {}", discountDTO);
-        return discountRepository.save(discountMapper.toEntity(discountDTO)).map(discountMapper::toDto);
+        return discountRepository
+            .save(discountMapper.toEntity(discountDTO))
+            .map(discountMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.CREATED));
     }
 
     @Override
     public Mono<DiscountDTO> update(DiscountDTO discountDTO) {
         log.debug("Request to save Discount : {}", discountDTO);
-        return discountRepository.save(discountMapper.toEntity(discountDTO).setIsPersisted()).map(discountMapper::toDto);
+        Discount discount = discountMapper.toEntity(discountDTO);
+        return discountRepository
+            .update(discount)
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> discount.getVersion() != null ? Mono.just(discount) : discountRepository.findById(discount.getId()))
+            .map(discountMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.UPDATED));
     }
 
     @Override
@@ -50,14 +104,11 @@ public class DiscountServiceImpl implements DiscountService {
         log.debug("Request to partially update Discount : {}", discountDTO);
 
         return discountRepository
-            .findById(discountDTO.getId())
-            .map(existingDiscount -> {
-                discountMapper.partialUpdate(existingDiscount, discountDTO);
-
-                return existingDiscount;
-            })
-            .flatMap(discountRepository::save)
-            .map(discountMapper::toDto);
+            .updateNonNull(discountMapper.toEntity(discountDTO))
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> discountRepository.findById(discountDTO.getId()))
+            .map(discountMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.UPDATED));
     }
 
     @Override
@@ -67,20 +118,59 @@ public class DiscountServiceImpl implements DiscountService {
         return discountRepository.findAll().map(discountMapper::toDto);
     }
 
-    public Mono<Long> countAll() {
-        return discountRepository.count();
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<DiscountDTO> findAll(Keyset keyset) {
+        log.debug("Request to get a page of Discounts : {}", keyset);
+        return discountRepository.findAllBy(keyset).map(discountMapper::toDto);
     }
 
     @Override
     @Transactional(readOnly = true)
+    public Flux<DiscountDTO> findAll(Pageable pageable) {
+        log.debug("Request to get a page of Discounts : {}", pageable);
+        return discountRepository.findAllBy(pageable).map(discountMapper::toDto);
+    }
+
+    public Mono<Long> countAll() {
+        return discountCount.get();
+    }
+
+    @Override
+    public String getChangeTag() {
+        return discountChanges.getTag();
+    }
+
+    @Override
+    public Flux<ChangeFeedEvent> getChanges(String lastEventId) {
+        return discountFeed.changes(lastEventId);
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Mono<DiscountDTO> findOne(String id) {
         log.debug("Request to get Discount : {}", id);
-        return discountRepository.findById(id).map(discountMapper::toDto);
+        return discountCache.get(id, key -> discountRepository.findById(key).map(discountMapper::toDto));
     }
 
     @Override
     public Mono<Void> delete(String id) {
         log.debug("Request to delete Discount : {}", id);
-        return discountRepository.deleteById(id);
+        return discountRepository
+            .deleteRowsById(id)
+            .filter(deleted -> deleted > 0)
+            .flatMap(deleted -> entityChangePublisher.publishAfterCommit(ENTITY_TYPE, id, null, EntityChangeEvent.Operation.DELETED));
+    }
+
+    @Override
+    public Flux<BulkItemResultDTO> bulk(List<BulkOperationDTO<DiscountDTO>> operations) {
+        log.debug("Request to execute {} bulk operations on Discounts", operations.size());
+        return bulkOperationExecutor.execute(ENTITY_TYPE, operations, discountRepository, DiscountDTO::getId, discountMapper::toEntity);
+    }
+
+    private Mono<DiscountDTO> publishChange(DiscountDTO discountDTO, EntityChangeEvent.Operation operation) {
+        return entityChangePublisher
+            .publishAfterCommit(ENTITY_TYPE, discountDTO.getId(), discountDTO.getVersion(), operation)
+            .thenReturn(discountDTO);
     }
 }
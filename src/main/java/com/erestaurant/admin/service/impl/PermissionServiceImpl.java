@@ -1,16 +1,27 @@
 package com.erestaurant.admin.service.impl;
 
 import com.erestaurant.admin.domain.Permission;
+import com.erestaurant.admin.repository.Keyset;
 import com.erestaurant.admin.repository.PermissionRepository;
 import com.erestaurant.admin.service.PermissionService;
+import com.erestaurant.admin.service.cache.EntityCache;
+import com.erestaurant.admin.service.cache.EntityCacheManager;
+import com.erestaurant.admin.service.count.EntityCount;
+import com.erestaurant.admin.service.count.EntityCountService;
 import com.erestaurant.admin.service.dto.PermissionDTO;
+import com.erestaurant.admin.service.event.EntityChangeEvent;
+import com.erestaurant.admin.service.event.EntityChangePublisher;
 import com.erestaurant.admin.service.mapper.PermissionMapper;
+import com.erestaurant.admin.service.sequence.ChangeSequence;
+import com.erestaurant.admin.service.sequence.ChangeSequenceService;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -22,27 +33,57 @@ import reactor.core.publisher.Mono;
 @Transactional
 public class PermissionServiceImpl implements PermissionService {
 
+    private static final String ENTITY_TYPE = "permission";
+
     private final Logger log = LoggerFactory.getLogger(PermissionServiceImpl.class);
 
     private final PermissionRepository permissionRepository;
 
     private final PermissionMapper permissionMapper;
 
-    public PermissionServiceImpl(PermissionRepository permissionRepository, PermissionMapper permissionMapper) {
+    private final EntityCache<PermissionDTO> permissionCache;
+
+    private final EntityCount permissionCount;
+
+    private final ChangeSequence permissionChanges;
+
+    private final EntityChangePublisher entityChangePublisher;
+
+    public PermissionServiceImpl(
+        PermissionRepository permissionRepository,
+        PermissionMapper permissionMapper,
+        EntityCacheManager entityCacheManager,
+        EntityCountService entityCountService,
+        ChangeSequenceService changeSequenceService,
+        EntityChangePublisher entityChangePublisher
+    ) {
         this.permissionRepository = permissionRepository;
         this.permissionMapper = permissionMapper;
+        this.permissionCache = entityCacheManager.getCache(ENTITY_TYPE);
+        this.permissionCount = entityCountService.getCount(ENTITY_TYPE, Permission.class);
+        this.permissionChanges = changeSequenceService.getSequence(ENTITY_TYPE);
+        this.entityChangePublisher = entityChangePublisher;
     }
 
     @Override
     public Mono<PermissionDTO> save(PermissionDTO permissionDTO) {
         log.debug("Request to save Permission : {}", permissionDTO);
-        return permissionRepository.save(permissionMapper.toEntity(permissionDTO)).map(permissionMapper::toDto);
+        return permissionRepository
+            .save(permissionMapper.toEntity(permissionDTO))
+            .map(permissionMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.CREATED));
     }
 
     @Override
     public Mono<PermissionDTO> update(PermissionDTO permissionDTO) {
         log.debug("Request to save Permission : {}", permissionDTO);
-        return permissionRepository.save(permissionMapper.toEntity(permissionDTO).setIsPersisted()).map(permissionMapper::toDto);
+        Permission permission = permissionMapper.toEntity(permissionDTO);
+        return permissionRepository
+            .update(permission)
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> permission.getVersion() != null ? Mono.just(permission) : permissionRepository.findById(permission.getId()))
+            .map(permissionMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.UPDATED));
     }
 
     @Override
@@ -50,37 +91,62 @@ public class PermissionServiceImpl implements PermissionService {
         log.debug("Request to partially update Permission : {}", permissionDTO);
 
         return permissionRepository
-            .findById(permissionDTO.getId())
-            .map(existingPermission -> {
-                permissionMapper.partialUpdate(existingPermission, permissionDTO);
-
-                return existingPermission;
-            })
-            .flatMap(permissionRepository::save)
-            .map(permissionMapper::toDto);
+            .updateNonNull(permissionMapper.toEntity(permissionDTO))
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> permissionRepository.findById(permissionDTO.getId()))
+            .map(permissionMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.UPDATED));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Flux<PermissionDTO> findAll() {
         log.debug("Request to get all Permissions");
-        return permissionRepository.findAll().map(permissionMapper::toDto);
+        return permissionCache.getAll(() -> permissionRepository.findAll().map(permissionMapper::toDto));
     }
 
-    public Mono<Long> countAll() {
-        return permissionRepository.count();
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<PermissionDTO> findAll(Keyset keyset) {
+        log.debug("Request to get a page of Permissions : {}", keyset);
+        return permissionRepository.findAllBy(keyset).map(permissionMapper::toDto);
     }
 
     @Override
     @Transactional(readOnly = true)
+    public Flux<PermissionDTO> findAll(Pageable pageable) {
+        log.debug("Request to get a page of Permissions : {}", pageable);
+        return permissionRepository.findAllBy(pageable).map(permissionMapper::toDto);
+    }
+
+    public Mono<Long> countAll() {
+        return permissionCount.get();
+    }
+
+    @Override
+    public String getChangeTag() {
+        return permissionChanges.getTag();
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Mono<PermissionDTO> findOne(String id) {
         log.debug("Request to get Permission : {}", id);
-        return permissionRepository.findById(id).map(permissionMapper::toDto);
+        return permissionCache.get(id, key -> permissionRepository.findById(key).map(permissionMapper::toDto));
     }
 
     @Override
     public Mono<Void> delete(String id) {
         log.debug("Request to delete Permission : {}", id);
-        return permissionRepository.deleteById(id);
+        return permissionRepository
+            .deleteRowsById(id)
+            .filter(deleted -> deleted > 0)
+            .flatMap(deleted -> entityChangePublisher.publishAfterCommit(ENTITY_TYPE, id, null, EntityChangeEvent.Operation.DELETED));
+    }
+
+    private Mono<PermissionDTO> publishChange(PermissionDTO permissionDTO, EntityChangeEvent.Operation operation) {
+        return entityChangePublisher
+            .publishAfterCommit(ENTITY_TYPE, permissionDTO.getId(), permissionDTO.getVersion(), operation)
+            .thenReturn(permissionDTO);
     }
 }
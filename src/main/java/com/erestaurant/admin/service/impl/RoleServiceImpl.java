@@ -1,16 +1,27 @@
 package com.erestaurant.admin.service.impl;
 
 import com.erestaurant.admin.domain.Role;
+import com.erestaurant.admin.repository.Keyset;
 import com.erestaurant.admin.repository.RoleRepository;
 import com.erestaurant.admin.service.RoleService;
+import com.erestaurant.admin.service.cache.EntityCache;
+import com.erestaurant.admin.service.cache.EntityCacheManager;
+import com.erestaurant.admin.service.count.EntityCount;
+import com.erestaurant.admin.service.count.EntityCountService;
 import com.erestaurant.admin.service.dto.RoleDTO;
+import com.erestaurant.admin.service.event.EntityChangeEvent;
+import com.erestaurant.admin.service.event.EntityChangePublisher;
 import com.erestaurant.admin.service.mapper.RoleMapper;
+import com.erestaurant.admin.service.sequence.ChangeSequence;
+import com.erestaurant.admin.service.sequence.ChangeSequenceService;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -22,27 +33,57 @@ import reactor.core.publisher.Mono;
 @Transactional
 public class RoleServiceImpl implements RoleService {
 
+    private static final String ENTITY_TYPE = "role";
+
     private final Logger log = LoggerFactory.getLogger(RoleServiceImpl.class);
 
     private final RoleRepository roleRepository;
 
     private final RoleMapper roleMapper;
 
-    public RoleServiceImpl(RoleRepository roleRepository, RoleMapper roleMapper) {
+    private final EntityCache<RoleDTO> roleCache;
+
+    private final EntityCount roleCount;
+
+    private final ChangeSequence roleChanges;
+
+    private final EntityChangePublisher entityChangePublisher;
+
+    public RoleServiceImpl(
+        RoleRepository roleRepository,
+        RoleMapper roleMapper,
+        EntityCacheManager entityCacheManager,
+        EntityCountService entityCountService,
+        ChangeSequenceService changeSequenceService,
+        EntityChangePublisher entityChangePublisher
+    ) {
         this.roleRepository = roleRepository;
         this.roleMapper = roleMapper;
+        this.roleCache = entityCacheManager.getCache(ENTITY_TYPE);
+        this.roleCount = entityCountService.getCount(ENTITY_TYPE, Role.class);
+        this.roleChanges = changeSequenceService.getSequence(ENTITY_TYPE);
+        this.entityChangePublisher = entityChangePublisher;
     }
 
     @Override
     public Mono<RoleDTO> save(RoleDTO roleDTO) {
         log.debug("Request to save Role : {}", roleDTO);
-        return roleRepository.save(roleMapper.toEntity(roleDTO)).map(roleMapper::toDto);
+        return roleRepository
+            .save(roleMapper.toEntity(roleDTO))
+            .map(roleMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.CREATED));
     }
 
     @Override
     public Mono<RoleDTO> update(RoleDTO roleDTO) {
         log.debug("Request to save Role : {}", roleDTO);
-        return roleRepository.save(roleMapper.toEntity(roleDTO).setIsPersisted()).map(roleMapper::toDto);
+        Role role = roleMapper.toEntity(roleDTO);
+        return roleRepository
+            .update(role)
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> role.getVersion() != null ? Mono.just(role) : roleRepository.findById(role.getId()))
+            .map(roleMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.UPDATED));
     }
 
     @Override
@@ -50,37 +91,60 @@ public class RoleServiceImpl implements RoleService {
         log.debug("Request to partially update Role : {}", roleDTO);
 
         return roleRepository
-            .findById(roleDTO.getId())
-            .map(existingRole -> {
-                roleMapper.partialUpdate(existingRole, roleDTO);
-
-                return existingRole;
-            })
-            .flatMap(roleRepository::save)
-            .map(roleMapper::toDto);
+            .updateNonNull(roleMapper.toEntity(roleDTO))
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> roleRepository.findById(roleDTO.getId()))
+            .map(roleMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.UPDATED));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Flux<RoleDTO> findAll() {
         log.debug("Request to get all Roles");
-        return roleRepository.findAll().map(roleMapper::toDto);
+        return roleCache.getAll(() -> roleRepository.findAll().map(roleMapper::toDto));
     }
 
-    public Mono<Long> countAll() {
-        return roleRepository.count();
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<RoleDTO> findAll(Keyset keyset) {
+        log.debug("Request to get a page of Roles : {}", keyset);
+        return roleRepository.findAllBy(keyset).map(roleMapper::toDto);
     }
 
     @Override
     @Transactional(readOnly = true)
+    public Flux<RoleDTO> findAll(Pageable pageable) {
+        log.debug("Request to get a page of Roles : {}", pageable);
+        return roleRepository.findAllBy(pageable).map(roleMapper::toDto);
+    }
+
+    public Mono<Long> countAll() {
+        return roleCount.get();
+    }
+
+    @Override
+    public String getChangeTag() {
+        return roleChanges.getTag();
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Mono<RoleDTO> findOne(String id) {
         log.debug("Request to get Role : {}", id);
-        return roleRepository.findById(id).map(roleMapper::toDto);
+        return roleCache.get(id, key -> roleRepository.findById(key).map(roleMapper::toDto));
     }
 
     @Override
     public Mono<Void> delete(String id) {
         log.debug("Request to delete Role : {}", id);
-        return roleRepository.deleteById(id);
+        return roleRepository
+            .deleteRowsById(id)
+            .filter(deleted -> deleted > 0)
+            .flatMap(deleted -> entityChangePublisher.publishAfterCommit(ENTITY_TYPE, id, null, EntityChangeEvent.Operation.DELETED));
+    }
+
+    private Mono<RoleDTO> publishChange(RoleDTO roleDTO, EntityChangeEvent.Operation operation) {
+        return entityChangePublisher.publishAfterCommit(ENTITY_TYPE, roleDTO.getId(), roleDTO.getVersion(), operation).thenReturn(roleDTO);
     }
 }
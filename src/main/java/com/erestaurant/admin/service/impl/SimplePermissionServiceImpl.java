@@ -1,16 +1,27 @@
 package com.erestaurant.admin.service.impl;
 
 import com.erestaurant.admin.domain.SimplePermission;
+import com.erestaurant.admin.repository.Keyset;
 import com.erestaurant.admin.repository.SimplePermissionRepository;
 import com.erestaurant.admin.service.SimplePermissionService;
+import com.erestaurant.admin.service.cache.EntityCache;
+import com.erestaurant.admin.service.cache.EntityCacheManager;
+import com.erestaurant.admin.service.count.EntityCount;
+import com.erestaurant.admin.service.count.EntityCountService;
 import com.erestaurant.admin.service.dto.SimplePermissionDTO;
+import com.erestaurant.admin.service.event.EntityChangeEvent;
+import com.erestaurant.admin.service.event.EntityChangePublisher;
 import com.erestaurant.admin.service.mapper.SimplePermissionMapper;
+import com.erestaurant.admin.service.sequence.ChangeSequence;
+import com.erestaurant.admin.service.sequence.ChangeSequenceService;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -22,32 +33,61 @@ import reactor.core.publisher.Mono;
 @Transactional
 public class SimplePermissionServiceImpl implements SimplePermissionService {
 
+    private static final String ENTITY_TYPE = "simple-permission";
+
     private final Logger log = LoggerFactory.getLogger(SimplePermissionServiceImpl.class);
 
     private final SimplePermissionRepository simplePermissionRepository;
 
     private final SimplePermissionMapper simplePermissionMapper;
 
+    private final EntityCache<SimplePermissionDTO> simplePermissionCache;
+
+    private final EntityCount simplePermissionCount;
+
+    private final ChangeSequence simplePermissionChanges;
+
+    private final EntityChangePublisher entityChangePublisher;
+
     public SimplePermissionServiceImpl(
         SimplePermissionRepository simplePermissionRepository,
-        SimplePermissionMapper simplePermissionMapper
+        SimplePermissionMapper simplePermissionMapper,
+        EntityCacheManager entityCacheManager,
+        EntityCountService entityCountService,
+        ChangeSequenceService changeSequenceService,
+        EntityChangePublisher entityChangePublisher
     ) {
         this.simplePermissionRepository = simplePermissionRepository;
         this.simplePermissionMapper = simplePermissionMapper;
+        this.simplePermissionCache = entityCacheManager.getCache(ENTITY_TYPE);
+        this.simplePermissionCount = entityCountService.getCount(ENTITY_TYPE, SimplePermission.class);
+        this.simplePermissionChanges = changeSequenceService.getSequence(ENTITY_TYPE);
+        this.entityChangePublisher = entityChangePublisher;
     }
 
     @Override
     public Mono<SimplePermissionDTO> save(SimplePermissionDTO simplePermissionDTO) {
         log.debug("Request to save SimplePermission : {}", simplePermissionDTO);
-        return simplePermissionRepository.save(simplePermissionMapper.toEntity(simplePermissionDTO)).map(simplePermissionMapper::toDto);
+        return simplePermissionRepository
+            .save(simplePermissionMapper.toEntity(simplePermissionDTO))
+            .map(simplePermissionMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.CREATED));
     }
 
     @Override
     public Mono<SimplePermissionDTO> update(SimplePermissionDTO simplePermissionDTO) {
         log.debug("Request to save SimplePermission : {}", simplePermissionDTO);
+        SimplePermission simplePermission = simplePermissionMapper.toEntity(simplePermissionDTO);
         return simplePermissionRepository
-            .save(simplePermissionMapper.toEntity(simplePermissionDTO).setIsPersisted())
-            .map(simplePermissionMapper::toDto);
+            .update(simplePermission)
+            .filter(updated -> updated > 0)
+            .flatMap(updated ->
+                simplePermission.getVersion() != null
+                    ? Mono.just(simplePermission)
+                    : simplePermissionRepository.findById(simplePermission.getId())
+            )
+            .map(simplePermissionMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.UPDATED));
     }
 
     @Override
@@ -55,37 +95,65 @@ public class SimplePermissionServiceImpl implements SimplePermissionService {
         log.debug("Request to partially update SimplePermission : {}", simplePermissionDTO);
 
         return simplePermissionRepository
-            .findById(simplePermissionDTO.getId())
-            .map(existingSimplePermission -> {
-                simplePermissionMapper.partialUpdate(existingSimplePermission, simplePermissionDTO);
-
-                return existingSimplePermission;
-            })
-            .flatMap(simplePermissionRepository::save)
-            .map(simplePermissionMapper::toDto);
+            .updateNonNull(simplePermissionMapper.toEntity(simplePermissionDTO))
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> simplePermissionRepository.findById(simplePermissionDTO.getId()))
+            .map(simplePermissionMapper::toDto)
+            .flatMap(result -> publishChange(result, EntityChangeEvent.Operation.UPDATED));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Flux<SimplePermissionDTO> findAll() {
         log.debug("Request to get all SimplePermissions");
-        return simplePermissionRepository.findAll().map(simplePermissionMapper::toDto);
+        return simplePermissionCache.getAll(() -> simplePermissionRepository.findAll().map(simplePermissionMapper::toDto));
     }
 
-    public Mono<Long> countAll() {
-        return simplePermissionRepository.count();
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<SimplePermissionDTO> findAll(Keyset keyset) {
+        log.debug("Request to get a page of SimplePermissions : {}", keyset);
+        return simplePermissionRepository.findAllBy(keyset).map(simplePermissionMapper::toDto);
     }
 
     @Override
     @Transactional(readOnly = true)
+    public Flux<SimplePermissionDTO> findAll(Pageable pageable) {
+        log.debug("Request to get a page of SimplePermissions : {}", pageable);
+        return simplePermissionRepository.findAllBy(pageable).map(simplePermissionMapper::toDto);
+    }
+
+    public Mono<Long> countAll() {
+        return simplePermissionCount.get();
+    }
+
+    @Override
+    public String getChangeTag() {
+        return simplePermissionChanges.getTag();
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Mono<SimplePermissionDTO> findOne(String id) {
         log.debug("Request to get SimplePermission : {}", id);
-        return simplePermissionRepository.findById(id).map(simplePermissionMapper::toDto);
+        return simplePermissionCache.get(id, key -> simplePermissionRepository.findById(key).map(simplePermissionMapper::toDto));
     }
 
     @Override
     public Mono<Void> delete(String id) {
         log.debug("Request to delete SimplePermission : {}", id);
-        return simplePermissionRepository.deleteById(id);
+        return simplePermissionRepository
+            .deleteRowsById(id)
+            .filter(deleted -> deleted > 0)
+            .flatMap(deleted -> entityChangePublisher.publishAfterCommit(ENTITY_TYPE, id, null, EntityChangeEvent.Operation.DELETED));
+    }
+
+    private Mono<SimplePermissionDTO> publishChange(
+        SimplePermissionDTO simplePermissionDTO,
+        EntityChangeEvent.Operation operation
+    ) {
+        return entityChangePublisher
+            .publishAfterCommit(ENTITY_TYPE, simplePermissionDTO.getId(), simplePermissionDTO.getVersion(), operation)
+            .thenReturn(simplePermissionDTO);
     }
 }
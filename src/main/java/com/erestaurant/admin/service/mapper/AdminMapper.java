@@ -8,4 +8,14 @@ import org.mapstruct.*;
  * Mapper for the entity {@link Admin} and its DTO {@link AdminDTO}.
  */
 @Mapper(componentModel = "spring")
-public interface AdminMapper extends EntityMapper<AdminDTO, Admin> {}
+public interface AdminMapper extends EntityMapper<AdminDTO, Admin> {
+    @Mapping(target = "image", ignore = true)
+    AdminDTO toDto(Admin s);
+
+    // the image is only referenced from the uploaded one, see AdminServiceImpl
+    @Mapping(target = "imageHash", ignore = true)
+    @Mapping(target = "imageSize", ignore = true)
+    @Mapping(target = "thumbnailHash", ignore = true)
+    @Mapping(target = "thumbnailContentType", ignore = true)
+    Admin toEntity(AdminDTO dto);
+}
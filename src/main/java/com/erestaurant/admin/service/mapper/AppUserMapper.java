@@ -12,8 +12,16 @@ import org.mapstruct.*;
 @Mapper(componentModel = "spring")
 public interface AppUserMapper extends EntityMapper<AppUserDTO, AppUser> {
     @Mapping(target = "internalUser", source = "internalUser", qualifiedByName = "userLogin")
+    @Mapping(target = "image", ignore = true)
     AppUserDTO toDto(AppUser s);
 
+    // the image is only referenced from the uploaded one, see AppUserServiceImpl
+    @Mapping(target = "imageHash", ignore = true)
+    @Mapping(target = "imageSize", ignore = true)
+    @Mapping(target = "thumbnailHash", ignore = true)
+    @Mapping(target = "thumbnailContentType", ignore = true)
+    AppUser toEntity(AppUserDTO dto);
+
     @Named("userLogin")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
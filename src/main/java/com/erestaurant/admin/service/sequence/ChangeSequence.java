@@ -0,0 +1,44 @@
+package com.erestaurant.admin.service.sequence;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The sequence of the changes of an entity type, see {@link ChangeSequenceService}.
+ */
+public class ChangeSequence {
+
+    private final String entityType;
+
+    private final String epoch;
+
+    private final AtomicLong value = new AtomicLong();
+
+    ChangeSequence(String entityType, String epoch) {
+        this.entityType = entityType;
+        this.epoch = epoch;
+    }
+
+    /**
+     * @return the entity type, e.g. {@code app-discount}.
+     */
+    public String getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * Get the tag of the current state of the entity table. It changes with every change of an entity, and it is never
+     * the same on another instance or after a restart, as the sequence starts again there.
+     *
+     * @return the tag.
+     */
+    public String getTag() {
+        return epoch + "-" + value.get();
+    }
+
+    /**
+     * Counts a committed change.
+     */
+    void increment() {
+        value.incrementAndGet();
+    }
+}
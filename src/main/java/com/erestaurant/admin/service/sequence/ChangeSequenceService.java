@@ -0,0 +1,44 @@
+package com.erestaurant.admin.service.sequence;
+
+import com.erestaurant.admin.service.event.EntityChangeEvent;
+import java.security.SecureRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps a sequence of the changes of each entity type in memory, so that a list endpoint can tell whether its entities
+ * changed without reading them.
+ * <p>
+ * A sequence is incremented by the {@link EntityChangeEvent}s of the writes of the services, on this instance and on
+ * the other ones, which are published once the writes are committed. So a tag read before the entities are read never
+ * claims a change which the entities miss: at worst a change committed meanwhile is in the entities but not in the tag,
+ * and the next request gets the entities again. The changes of the other instances are seen with the delay of their
+ * events, and a write made outside of the services is not seen until the next write with an event.
+ */
+@Service
+public class ChangeSequenceService {
+
+    private final String epoch = Long.toUnsignedString(new SecureRandom().nextLong(), 36);
+
+    private final ConcurrentMap<String, ChangeSequence> sequences = new ConcurrentHashMap<>();
+
+    /**
+     * Get the change sequence of an entity type, creating it on first use.
+     *
+     * @param entityType the entity type, as in the published {@link EntityChangeEvent}s.
+     * @return the change sequence.
+     */
+    public ChangeSequence getSequence(String entityType) {
+        return sequences.computeIfAbsent(entityType, key -> new ChangeSequence(key, epoch));
+    }
+
+    @EventListener
+    public void onEntityChange(EntityChangeEvent event) {
+        ChangeSequence sequence = sequences.get(event.getEntityType());
+        if (sequence != null) {
+            sequence.increment();
+        }
+    }
+}
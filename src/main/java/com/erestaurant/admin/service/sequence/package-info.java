@@ -0,0 +1,4 @@
+/**
+ * Change sequences of the entity types, kept in memory for the {@code ETag} of the list endpoints.
+ */
+package com.erestaurant.admin.service.sequence;
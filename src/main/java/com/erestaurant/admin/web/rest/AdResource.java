@@ -1,9 +1,17 @@
 package com.erestaurant.admin.web.rest;
 
-import com.erestaurant.admin.repository.AdRepository;
+import com.erestaurant.admin.config.ApplicationProperties;
+import com.erestaurant.admin.repository.Keyset;
 import com.erestaurant.admin.service.AdService;
 import com.erestaurant.admin.service.dto.AdDTO;
+import com.erestaurant.admin.service.dto.BulkItemResultDTO;
+import com.erestaurant.admin.service.dto.BulkOperationDTO;
+import com.erestaurant.admin.service.feed.ChangeFeedEvent;
 import com.erestaurant.admin.web.rest.errors.BadRequestAlertException;
+import com.erestaurant.admin.web.rest.util.EntityExporter;
+import com.erestaurant.admin.web.rest.util.EntityTagUtil;
+import com.erestaurant.admin.web.rest.util.KeysetPaginationUtil;
+import com.erestaurant.admin.web.rest.util.ServerSentEventUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -14,15 +22,25 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.reactive.ResponseUtil;
+import tech.jhipster.web.util.PaginationUtil;
 
 /**
  * REST controller for managing {@link com.erestaurant.admin.domain.Ad}.
@@ -40,11 +58,14 @@ public class AdResource {
 
     private final AdService adService;
 
-    private final AdRepository adRepository;
+    private final ApplicationProperties applicationProperties;
 
-    public AdResource(AdService adService, AdRepository adRepository) {
+    private final EntityExporter entityExporter;
+
+    public AdResource(AdService adService, ApplicationProperties applicationProperties, EntityExporter entityExporter) {
         this.adService = adService;
-        this.adRepository = adRepository;
+        this.applicationProperties = applicationProperties;
+        this.entityExporter = entityExporter;
     }
 
     /**
@@ -78,15 +99,20 @@ public class AdResource {
      * {@code PUT  /ads/:id} : Updates an existing ad.
      *
      * @param id the id of the adDTO to save.
+     * @param ifMatch the {@code ETag} of the version to update, required unless the body has the version.
      * @param adDTO the adDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated adDTO,
      * or with status {@code 400 (Bad Request)} if the adDTO is not valid,
+     * or with status {@code 404 (Not Found)} if the adDTO is not found,
+     * or with status {@code 412 (Precondition Failed)} if the adDTO has another version than {@code If-Match},
+     * or with status {@code 428 (Precondition Required)} if neither the adDTO nor {@code If-Match} has a version,
      * or with status {@code 500 (Internal Server Error)} if the adDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/ads/{id}")
     public Mono<ResponseEntity<AdDTO>> updateAd(
         @PathVariable(value = "id", required = false) final String id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody AdDTO adDTO
     ) throws URISyntaxException {
         log.debug("REST request to update Ad : {}, {}", id, adDTO);
@@ -96,40 +122,38 @@ public class AdResource {
         if (!Objects.equals(id, adDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        adDTO.setVersion(EntityTagUtil.requireVersion(ifMatch, adDTO.getVersion()));
 
-        return adRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return adService
-                    .update(adDTO)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
-                            .body(result)
-                    );
-            });
+        return adService
+            .update(adDTO)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .eTag(EntityTagUtil.toETag(result.getVersion()))
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
      * {@code PATCH  /ads/:id} : Partial updates given fields of an existing ad, field will ignore if it is null
      *
      * @param id the id of the adDTO to save.
+     * @param ifMatch the {@code ETag} of the version to update, required unless the body has the version.
      * @param adDTO the adDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated adDTO,
      * or with status {@code 400 (Bad Request)} if the adDTO is not valid,
      * or with status {@code 404 (Not Found)} if the adDTO is not found,
+     * or with status {@code 412 (Precondition Failed)} if the adDTO has another version than {@code If-Match},
+     * or with status {@code 428 (Precondition Required)} if neither the adDTO nor {@code If-Match} has a version,
      * or with status {@code 500 (Internal Server Error)} if the adDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/ads/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public Mono<ResponseEntity<AdDTO>> partialUpdateAd(
         @PathVariable(value = "id", required = false) final String id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody AdDTO adDTO
     ) throws URISyntaxException {
         log.debug("REST request to partial update Ad partially : {}, {}", id, adDTO);
@@ -139,36 +163,91 @@ public class AdResource {
         if (!Objects.equals(id, adDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        adDTO.setVersion(EntityTagUtil.requireVersion(ifMatch, adDTO.getVersion()));
 
-        return adRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<AdDTO> result = adService.partialUpdate(adDTO);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
-                            .body(res)
-                    );
-            });
+        return adService
+            .partialUpdate(adDTO)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .eTag(EntityTagUtil.toETag(result.getVersion()))
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
-     * {@code GET  /ads} : get all the ads.
+     * {@code GET  /ads} : get a page of the ads.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of ads in body.
+     * @param pageable the pagination information, the size of the page is limited by {@code application.pagination.max-page-size}.
+     * @param request a {@link ServerHttpRequest} request.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of ads in body, or with status {@code 304 (Not Modified)} if the ads did not change.
      */
     @GetMapping("/ads")
-    public Mono<List<AdDTO>> getAllAds() {
-        log.debug("REST request to get all Ads");
-        return adService.findAll().collectList();
+    public Mono<ResponseEntity<List<AdDTO>>> getAllAds(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request,
+        ServerWebExchange exchange
+    ) {
+        log.debug("REST request to get a page of Ads");
+        String eTag = EntityTagUtil.toListETag(adService.getChangeTag());
+        if (exchange.checkNotModified(eTag)) {
+            return EntityTagUtil.notModified(eTag);
+        }
+        return adService
+            .countAll()
+            .zipWith(adService.findAll(pageable).collectList())
+            .map(countWithEntities ->
+                ResponseEntity
+                    .ok()
+                    .eTag(eTag)
+                    .headers(
+                        PaginationUtil.generatePaginationHttpHeaders(
+                            UriComponentsBuilder.fromHttpRequest(request),
+                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                        )
+                    )
+                    .body(countWithEntities.getT2())
+            );
+    }
+
+    /**
+     * {@code GET  /ads?cursor=} : get a page of the ads using keyset pagination.
+     *
+     * @param cursor the continuation token of the previous page, or empty for the first page.
+     * @param size the size of the page.
+     * @param sort the sort order of the first page, the following pages keep the order of the cursor.
+     * @param request a {@link ServerHttpRequest} request.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of ads in body, or with status {@code 400 (Bad Request)} if the cursor is invalid, or with status {@code 304 (Not Modified)} if the ads did not change.
+     */
+    @GetMapping(value = "/ads", params = "cursor")
+    public Mono<ResponseEntity<List<AdDTO>>> getAllAdsByCursor(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false, defaultValue = "20") int size,
+        Sort sort,
+        ServerHttpRequest request,
+        ServerWebExchange exchange
+    ) {
+        log.debug("REST request to get a page of Ads after cursor : {}", cursor);
+        Keyset keyset = KeysetPaginationUtil.parseKeyset(cursor, size, sort, ENTITY_NAME);
+        String eTag = EntityTagUtil.toListETag(adService.getChangeTag());
+        if (exchange.checkNotModified(eTag)) {
+            return EntityTagUtil.notModified(eTag);
+        }
+        return adService
+            .findAll(keyset)
+            .collectList()
+            .onErrorMap(IllegalArgumentException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "sortinvalid"))
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .eTag(eTag)
+                    .headers(KeysetPaginationUtil.generateKeysetHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), keyset, page))
+                    .body(page)
+            );
     }
 
     /**
@@ -181,17 +260,54 @@ public class AdResource {
         return adService.findAll();
     }
 
+    /**
+     * {@code GET  /ads/_export} : export all the ads, in id order.
+     *
+     * @param format the format of the export, {@code ndjson} or {@code csv}.
+     * @param after the id to resume the export after, or empty to export all the ads.
+     * @param response the response the export is written to.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the ads in body, or with status {@code 400 (Bad Request)} if the format is not supported.
+     */
+    @GetMapping("/ads/_export")
+    public ResponseEntity<Flux<DataBuffer>> exportAds(
+        @RequestParam(required = false, defaultValue = "ndjson") String format,
+        @RequestParam(required = false) String after,
+        ServerHttpResponse response
+    ) {
+        log.debug("REST request to export Ads as {} after : {}", format, after);
+        EntityExporter.Format exportFormat = EntityExporter.Format.parse(format, ENTITY_NAME);
+        return entityExporter.export("ads", AdDTO.class, exportFormat, after, adService::findAll, response.bufferFactory());
+    }
+
+    /**
+     * {@code GET  /ads/_changes} : stream the changes of the ads as server-sent events.
+     *
+     * @param lastEventId the id of the last event the client got, to resume after it.
+     * @return the changes of the ads, see {@link ServerSentEventUtil}.
+     */
+    @GetMapping(value = "/ads/_changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ChangeFeedEvent>> getAdChanges(
+        @RequestHeader(value = ServerSentEventUtil.LAST_EVENT_ID, required = false) String lastEventId
+    ) {
+        log.debug("REST request to stream the changes of Ads after : {}", lastEventId);
+        return ServerSentEventUtil.toServerSentEvents(
+            adService.getChanges(lastEventId),
+            applicationProperties.getChangeFeed().getHeartbeat()
+        );
+    }
+
     /**
      * {@code GET  /ads/:id} : get the "id" ad.
      *
      * @param id the id of the adDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the adDTO, or with status {@code 404 (Not Found)}.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the adDTO, or with status {@code 304 (Not Modified)} if the client has its version, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/ads/{id}")
-    public Mono<ResponseEntity<AdDTO>> getAd(@PathVariable String id) {
+    public Mono<ResponseEntity<AdDTO>> getAd(@PathVariable String id, ServerWebExchange exchange) {
         log.debug("REST request to get Ad : {}", id);
         Mono<AdDTO> adDTO = adService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(adDTO);
+        return EntityTagUtil.wrapOrNotFound(adDTO, AdDTO::getVersion, exchange);
     }
 
     /**
@@ -210,4 +326,28 @@ public class AdResource {
                 ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id)).build()
             );
     }
+
+    /**
+     * {@code POST  /ads/_bulk} : Create, update and delete ads in bulk, in one transaction.
+     *
+     * @param operations the operations, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each operation,
+     * or with status {@code 400 (Bad Request)} if there are too many operations.
+     */
+    @PostMapping(value = "/ads/_bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Mono<ResponseEntity<List<BulkItemResultDTO>>> bulkAds(@RequestBody Flux<BulkOperationDTO<AdDTO>> operations) {
+        log.debug("REST request to execute bulk operations on Ads");
+        int maxOperations = applicationProperties.getBulk().getMaxOperations();
+        return operations
+            .take(maxOperations + 1L)
+            .collectList()
+            .flatMap(list -> {
+                if (list.size() > maxOperations) {
+                    String message = "A bulk request can have at most " + maxOperations + " operations";
+                    return Mono.error(new BadRequestAlertException(message, ENTITY_NAME, "bulktoolarge"));
+                }
+                return adService.bulk(list).collectList();
+            })
+            .map(results -> ResponseEntity.ok().body(results));
+    }
 }
@@ -1,9 +1,17 @@
 package com.erestaurant.admin.web.rest;
 
-import com.erestaurant.admin.repository.AdminRepository;
+import com.erestaurant.admin.repository.AdminSqlHelper;
+import com.erestaurant.admin.repository.Keyset;
+import com.erestaurant.admin.repository.Projection;
 import com.erestaurant.admin.service.AdminService;
+import com.erestaurant.admin.service.blob.BlobStore;
 import com.erestaurant.admin.service.dto.AdminDTO;
 import com.erestaurant.admin.web.rest.errors.BadRequestAlertException;
+import com.erestaurant.admin.web.rest.util.BlobResponseUtil;
+import com.erestaurant.admin.web.rest.util.EntityExporter;
+import com.erestaurant.admin.web.rest.util.EntityTagUtil;
+import com.erestaurant.admin.web.rest.util.KeysetPaginationUtil;
+import com.erestaurant.admin.web.rest.util.ProjectionUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -14,15 +22,25 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.reactive.ResponseUtil;
+import tech.jhipster.web.util.PaginationUtil;
 
 /**
  * REST controller for managing {@link com.erestaurant.admin.domain.Admin}.
@@ -40,11 +58,14 @@ public class AdminResource {
 
     private final AdminService adminService;
 
-    private final AdminRepository adminRepository;
+    private final EntityExporter entityExporter;
 
-    public AdminResource(AdminService adminService, AdminRepository adminRepository) {
+    private final BlobStore blobStore;
+
+    public AdminResource(AdminService adminService, EntityExporter entityExporter, BlobStore blobStore) {
         this.adminService = adminService;
-        this.adminRepository = adminRepository;
+        this.entityExporter = entityExporter;
+        this.blobStore = blobStore;
     }
 
     /**
@@ -78,15 +99,20 @@ public class AdminResource {
      * {@code PUT  /admins/:id} : Updates an existing admin.
      *
      * @param id the id of the adminDTO to save.
+     * @param ifMatch the {@code ETag} of the version to update, required unless the body has the version.
      * @param adminDTO the adminDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated adminDTO,
      * or with status {@code 400 (Bad Request)} if the adminDTO is not valid,
+     * or with status {@code 404 (Not Found)} if the adminDTO is not found,
+     * or with status {@code 412 (Precondition Failed)} if the adminDTO has another version than {@code If-Match},
+     * or with status {@code 428 (Precondition Required)} if neither the adminDTO nor {@code If-Match} has a version,
      * or with status {@code 500 (Internal Server Error)} if the adminDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/admins/{id}")
     public Mono<ResponseEntity<AdminDTO>> updateAdmin(
         @PathVariable(value = "id", required = false) final String id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody AdminDTO adminDTO
     ) throws URISyntaxException {
         log.debug("REST request to update Admin : {}, {}", id, adminDTO);
@@ -96,40 +122,38 @@ public class AdminResource {
         if (!Objects.equals(id, adminDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        adminDTO.setVersion(EntityTagUtil.requireVersion(ifMatch, adminDTO.getVersion()));
 
-        return adminRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return adminService
-                    .update(adminDTO)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
-                            .body(result)
-                    );
-            });
+        return adminService
+            .update(adminDTO)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .eTag(EntityTagUtil.toETag(result.getVersion()))
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
      * {@code PATCH  /admins/:id} : Partial updates given fields of an existing admin, field will ignore if it is null
      *
      * @param id the id of the adminDTO to save.
+     * @param ifMatch the {@code ETag} of the version to update, required unless the body has the version.
      * @param adminDTO the adminDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated adminDTO,
      * or with status {@code 400 (Bad Request)} if the adminDTO is not valid,
      * or with status {@code 404 (Not Found)} if the adminDTO is not found,
+     * or with status {@code 412 (Precondition Failed)} if the adminDTO has another version than {@code If-Match},
+     * or with status {@code 428 (Precondition Required)} if neither the adminDTO nor {@code If-Match} has a version,
      * or with status {@code 500 (Internal Server Error)} if the adminDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/admins/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public Mono<ResponseEntity<AdminDTO>> partialUpdateAdmin(
         @PathVariable(value = "id", required = false) final String id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody AdminDTO adminDTO
     ) throws URISyntaxException {
         log.debug("REST request to partial update Admin partially : {}, {}", id, adminDTO);
@@ -139,36 +163,94 @@ public class AdminResource {
         if (!Objects.equals(id, adminDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        adminDTO.setVersion(EntityTagUtil.requireVersion(ifMatch, adminDTO.getVersion()));
 
-        return adminRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<AdminDTO> result = adminService.partialUpdate(adminDTO);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
-                            .body(res)
-                    );
-            });
+        return adminService
+            .partialUpdate(adminDTO)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .eTag(EntityTagUtil.toETag(result.getVersion()))
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
-     * {@code GET  /admins} : get all the admins.
+     * {@code GET  /admins} : get a page of the admins.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of admins in body.
+     * @param pageable the pagination information, the size of the page is limited by {@code application.pagination.max-page-size}.
+     * @param fields the fields to return besides the id and the version, by default all but the description, which is only returned by {@code GET  /admins/:id}.
+     * @param request a {@link ServerHttpRequest} request.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of admins in body, or with status {@code 400 (Bad Request)} if a field is not supported, or with status {@code 304 (Not Modified)} if the admins did not change.
      */
     @GetMapping("/admins")
-    public Mono<List<AdminDTO>> getAllAdmins() {
-        log.debug("REST request to get all Admins");
-        return adminService.findAll().collectList();
+    public Mono<ResponseEntity<List<AdminDTO>>> getAllAdmins(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(required = false) List<String> fields,
+        ServerHttpRequest request,
+        ServerWebExchange exchange
+    ) {
+        log.debug("REST request to get a page of Admins");
+        Projection projection = ProjectionUtil.parseProjection(fields, AdminSqlHelper.FIELDS, AdminSqlHelper.SUMMARY, ENTITY_NAME);
+        String eTag = EntityTagUtil.toListETag(adminService.getChangeTag());
+        if (exchange.checkNotModified(eTag)) {
+            return EntityTagUtil.notModified(eTag);
+        }
+        return adminService
+            .countAll()
+            .zipWith(adminService.findAll(pageable, projection).collectList())
+            .map(countWithEntities ->
+                ResponseEntity
+                    .ok()
+                    .eTag(eTag)
+                    .headers(
+                        PaginationUtil.generatePaginationHttpHeaders(
+                            UriComponentsBuilder.fromHttpRequest(request),
+                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                        )
+                    )
+                    .body(countWithEntities.getT2())
+            );
+    }
+
+    /**
+     * {@code GET  /admins?cursor=} : get a page of the admins using keyset pagination.
+     *
+     * @param cursor the continuation token of the previous page, or empty for the first page.
+     * @param size the size of the page.
+     * @param sort the sort order of the first page, the following pages keep the order of the cursor.
+     * @param request a {@link ServerHttpRequest} request.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of admins in body, or with status {@code 400 (Bad Request)} if the cursor is invalid, or with status {@code 304 (Not Modified)} if the admins did not change.
+     */
+    @GetMapping(value = "/admins", params = "cursor")
+    public Mono<ResponseEntity<List<AdminDTO>>> getAllAdminsByCursor(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false, defaultValue = "20") int size,
+        Sort sort,
+        ServerHttpRequest request,
+        ServerWebExchange exchange
+    ) {
+        log.debug("REST request to get a page of Admins after cursor : {}", cursor);
+        Keyset keyset = KeysetPaginationUtil.parseKeyset(cursor, size, sort, ENTITY_NAME);
+        String eTag = EntityTagUtil.toListETag(adminService.getChangeTag());
+        if (exchange.checkNotModified(eTag)) {
+            return EntityTagUtil.notModified(eTag);
+        }
+        return adminService
+            .findAll(keyset)
+            .collectList()
+            .onErrorMap(IllegalArgumentException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "sortinvalid"))
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .eTag(eTag)
+                    .headers(KeysetPaginationUtil.generateKeysetHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), keyset, page))
+                    .body(page)
+            );
     }
 
     /**
@@ -181,17 +263,74 @@ public class AdminResource {
         return adminService.findAll();
     }
 
+    /**
+     * {@code GET  /admins/_export} : export all the admins, in id order.
+     *
+     * @param format the format of the export, {@code ndjson} or {@code csv}.
+     * @param after the id to resume the export after, or empty to export all the admins.
+     * @param response the response the export is written to.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the admins in body, or with status {@code 400 (Bad Request)} if the format is not supported.
+     */
+    @GetMapping("/admins/_export")
+    public ResponseEntity<Flux<DataBuffer>> exportAdmins(
+        @RequestParam(required = false, defaultValue = "ndjson") String format,
+        @RequestParam(required = false) String after,
+        ServerHttpResponse response
+    ) {
+        log.debug("REST request to export Admins as {} after : {}", format, after);
+        EntityExporter.Format exportFormat = EntityExporter.Format.parse(format, ENTITY_NAME);
+        return entityExporter.export("admins", AdminDTO.class, exportFormat, after, adminService::findAll, response.bufferFactory());
+    }
+
     /**
      * {@code GET  /admins/:id} : get the "id" admin.
      *
      * @param id the id of the adminDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the adminDTO, or with status {@code 404 (Not Found)}.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the adminDTO, or with status {@code 304 (Not Modified)} if the client has its version, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/admins/{id}")
-    public Mono<ResponseEntity<AdminDTO>> getAdmin(@PathVariable String id) {
+    public Mono<ResponseEntity<AdminDTO>> getAdmin(@PathVariable String id, ServerWebExchange exchange) {
         log.debug("REST request to get Admin : {}", id);
         Mono<AdminDTO> adminDTO = adminService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(adminDTO);
+        return EntityTagUtil.wrapOrNotFound(adminDTO, AdminDTO::getVersion, exchange);
+    }
+
+    /**
+     * {@code GET  /admins/:id/image} : get the image of the "id" admin, which is streamed from the blob store.
+     *
+     * @param id the id of the adminDTO whose image to retrieve.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} or {@code 206 (Partial Content)} for a range request, and with body the image, or with status {@code 304 (Not Modified)} if the image did not change, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/admins/{id}/image")
+    public Mono<ResponseEntity<Resource>> getAdminImage(@PathVariable String id, ServerWebExchange exchange) {
+        log.debug("REST request to get the image of Admin : {}", id);
+        return adminService
+            .findOne(id)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .flatMap(admin -> BlobResponseUtil.wrapOrNotFound(blobStore, admin.getImageHash(), admin.getImageContentType(), exchange));
+    }
+
+    /**
+     * {@code GET  /admins/:id/thumbnail} : get the thumbnail of the image of the "id" admin, to show in the lists.
+     * The image itself is returned while its thumbnail is not computed.
+     *
+     * @param id the id of the adminDTO whose thumbnail to retrieve.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the thumbnail, or with status {@code 304 (Not Modified)} if the thumbnail did not change, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/admins/{id}/thumbnail")
+    public Mono<ResponseEntity<Resource>> getAdminThumbnail(@PathVariable String id, ServerWebExchange exchange) {
+        log.debug("REST request to get the thumbnail of Admin : {}", id);
+        return adminService
+            .findOne(id)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .flatMap(admin ->
+                admin.getThumbnailHash() != null
+                    ? BlobResponseUtil.wrapOrNotFound(blobStore, admin.getThumbnailHash(), admin.getThumbnailContentType(), exchange)
+                    : BlobResponseUtil.wrapOrNotFound(blobStore, admin.getImageHash(), admin.getImageContentType(), exchange)
+            );
     }
 
     /**
@@ -1,9 +1,17 @@
 package com.erestaurant.admin.web.rest;
 
-import com.erestaurant.admin.repository.AppDiscountRepository;
+import com.erestaurant.admin.config.ApplicationProperties;
+import com.erestaurant.admin.repository.Keyset;
 import com.erestaurant.admin.service.AppDiscountService;
 import com.erestaurant.admin.service.dto.AppDiscountDTO;
+import com.erestaurant.admin.service.dto.BulkItemResultDTO;
+import com.erestaurant.admin.service.dto.BulkOperationDTO;
+import com.erestaurant.admin.service.feed.ChangeFeedEvent;
 import com.erestaurant.admin.web.rest.errors.BadRequestAlertException;
+import com.erestaurant.admin.web.rest.util.EntityExporter;
+import com.erestaurant.admin.web.rest.util.EntityTagUtil;
+import com.erestaurant.admin.web.rest.util.KeysetPaginationUtil;
+import com.erestaurant.admin.web.rest.util.ServerSentEventUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -14,15 +22,25 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.reactive.ResponseUtil;
+import tech.jhipster.web.util.PaginationUtil;
 
 /**
  * REST controller for managing {@link com.erestaurant.admin.domain.AppDiscount}.
@@ -40,11 +58,18 @@ public class AppDiscountResource {
 
     private final AppDiscountService appDiscountService;
 
-    private final AppDiscountRepository appDiscountRepository;
+    private final ApplicationProperties applicationProperties;
 
-    public AppDiscountResource(AppDiscountService appDiscountService, AppDiscountRepository appDiscountRepository) {
+    private final EntityExporter entityExporter;
+
+    public AppDiscountResource(
+        AppDiscountService appDiscountService,
+        ApplicationProperties applicationProperties,
+        EntityExporter entityExporter
+    ) {
         this.appDiscountService = appDiscountService;
-        this.appDiscountRepository = appDiscountRepository;
+        this.applicationProperties = applicationProperties;
+        this.entityExporter = entityExporter;
     }
 
     /**
@@ -79,15 +104,20 @@ public class AppDiscountResource {
      * {@code PUT  /app-discounts/:id} : Updates an existing appDiscount.
      *
      * @param id the id of the appDiscountDTO to save.
+     * @param ifMatch the {@code ETag} of the version to update, required unless the body has the version.
      * @param appDiscountDTO the appDiscountDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated appDiscountDTO,
      * or with status {@code 400 (Bad Request)} if the appDiscountDTO is not valid,
+     * or with status {@code 404 (Not Found)} if the appDiscountDTO is not found,
+     * or with status {@code 412 (Precondition Failed)} if the appDiscountDTO has another version than {@code If-Match},
+     * or with status {@code 428 (Precondition Required)} if neither the appDiscountDTO nor {@code If-Match} has a version,
      * or with status {@code 500 (Internal Server Error)} if the appDiscountDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/app-discounts/{id}")
     public Mono<ResponseEntity<AppDiscountDTO>> updateAppDiscount(
         @PathVariable(value = "id", required = false) final String id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody AppDiscountDTO appDiscountDTO
     ) throws URISyntaxException {
         log.debug("REST request to update AppDiscount : {}, {}", id, appDiscountDTO);
@@ -97,40 +127,38 @@ public class AppDiscountResource {
         if (!Objects.equals(id, appDiscountDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        appDiscountDTO.setVersion(EntityTagUtil.requireVersion(ifMatch, appDiscountDTO.getVersion()));
 
-        return appDiscountRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return appDiscountService
-                    .update(appDiscountDTO)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
-                            .body(result)
-                    );
-            });
+        return appDiscountService
+            .update(appDiscountDTO)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .eTag(EntityTagUtil.toETag(result.getVersion()))
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
      * {@code PATCH  /app-discounts/:id} : Partial updates given fields of an existing appDiscount, field will ignore if it is null
      *
      * @param id the id of the appDiscountDTO to save.
+     * @param ifMatch the {@code ETag} of the version to update, required unless the body has the version.
      * @param appDiscountDTO the appDiscountDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated appDiscountDTO,
      * or with status {@code 400 (Bad Request)} if the appDiscountDTO is not valid,
      * or with status {@code 404 (Not Found)} if the appDiscountDTO is not found,
+     * or with status {@code 412 (Precondition Failed)} if the appDiscountDTO has another version than {@code If-Match},
+     * or with status {@code 428 (Precondition Required)} if neither the appDiscountDTO nor {@code If-Match} has a version,
      * or with status {@code 500 (Internal Server Error)} if the appDiscountDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/app-discounts/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public Mono<ResponseEntity<AppDiscountDTO>> partialUpdateAppDiscount(
         @PathVariable(value = "id", required = false) final String id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody AppDiscountDTO appDiscountDTO
     ) throws URISyntaxException {
         log.debug("REST request to partial update AppDiscount partially : {}, {}", id, appDiscountDTO);
@@ -140,36 +168,91 @@ public class AppDiscountResource {
         if (!Objects.equals(id, appDiscountDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        appDiscountDTO.setVersion(EntityTagUtil.requireVersion(ifMatch, appDiscountDTO.getVersion()));
 
-        return appDiscountRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<AppDiscountDTO> result = appDiscountService.partialUpdate(appDiscountDTO);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
-                            .body(res)
-                    );
-            });
+        return appDiscountService
+            .partialUpdate(appDiscountDTO)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .eTag(EntityTagUtil.toETag(result.getVersion()))
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
-     * {@code GET  /app-discounts} : get all the appDiscounts.
+     * {@code GET  /app-discounts} : get a page of the appDiscounts.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of appDiscounts in body.
+     * @param pageable the pagination information, the size of the page is limited by {@code application.pagination.max-page-size}.
+     * @param request a {@link ServerHttpRequest} request.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of appDiscounts in body, or with status {@code 304 (Not Modified)} if the app discounts did not change.
      */
     @GetMapping("/app-discounts")
-    public Mono<List<AppDiscountDTO>> getAllAppDiscounts() {
-        log.debug("REST request to get all AppDiscounts");
-        return appDiscountService.findAll().collectList();
+    public Mono<ResponseEntity<List<AppDiscountDTO>>> getAllAppDiscounts(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request,
+        ServerWebExchange exchange
+    ) {
+        log.debug("REST request to get a page of AppDiscounts");
+        String eTag = EntityTagUtil.toListETag(appDiscountService.getChangeTag());
+        if (exchange.checkNotModified(eTag)) {
+            return EntityTagUtil.notModified(eTag);
+        }
+        return appDiscountService
+            .countAll()
+            .zipWith(appDiscountService.findAll(pageable).collectList())
+            .map(countWithEntities ->
+                ResponseEntity
+                    .ok()
+                    .eTag(eTag)
+                    .headers(
+                        PaginationUtil.generatePaginationHttpHeaders(
+                            UriComponentsBuilder.fromHttpRequest(request),
+                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                        )
+                    )
+                    .body(countWithEntities.getT2())
+            );
+    }
+
+    /**
+     * {@code GET  /app-discounts?cursor=} : get a page of the appDiscounts using keyset pagination.
+     *
+     * @param cursor the continuation token of the previous page, or empty for the first page.
+     * @param size the size of the page.
+     * @param sort the sort order of the first page, the following pages keep the order of the cursor.
+     * @param request a {@link ServerHttpRequest} request.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of appDiscounts in body, or with status {@code 400 (Bad Request)} if the cursor is invalid, or with status {@code 304 (Not Modified)} if the app discounts did not change.
+     */
+    @GetMapping(value = "/app-discounts", params = "cursor")
+    public Mono<ResponseEntity<List<AppDiscountDTO>>> getAllAppDiscountsByCursor(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false, defaultValue = "20") int size,
+        Sort sort,
+        ServerHttpRequest request,
+        ServerWebExchange exchange
+    ) {
+        log.debug("REST request to get a page of AppDiscounts after cursor : {}", cursor);
+        Keyset keyset = KeysetPaginationUtil.parseKeyset(cursor, size, sort, ENTITY_NAME);
+        String eTag = EntityTagUtil.toListETag(appDiscountService.getChangeTag());
+        if (exchange.checkNotModified(eTag)) {
+            return EntityTagUtil.notModified(eTag);
+        }
+        return appDiscountService
+            .findAll(keyset)
+            .collectList()
+            .onErrorMap(IllegalArgumentException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "sortinvalid"))
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .eTag(eTag)
+                    .headers(KeysetPaginationUtil.generateKeysetHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), keyset, page))
+                    .body(page)
+            );
     }
 
     /**
@@ -182,17 +265,61 @@ public class AppDiscountResource {
         return appDiscountService.findAll();
     }
 
+    /**
+     * {@code GET  /app-discounts/_export} : export all the app discounts, in id order.
+     *
+     * @param format the format of the export, {@code ndjson} or {@code csv}.
+     * @param after the id to resume the export after, or empty to export all the app discounts.
+     * @param response the response the export is written to.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the app discounts in body, or with status {@code 400 (Bad Request)} if the format is not supported.
+     */
+    @GetMapping("/app-discounts/_export")
+    public ResponseEntity<Flux<DataBuffer>> exportAppDiscounts(
+        @RequestParam(required = false, defaultValue = "ndjson") String format,
+        @RequestParam(required = false) String after,
+        ServerHttpResponse response
+    ) {
+        log.debug("REST request to export AppDiscounts as {} after : {}", format, after);
+        EntityExporter.Format exportFormat = EntityExporter.Format.parse(format, ENTITY_NAME);
+        return entityExporter.export(
+            "app-discounts",
+            AppDiscountDTO.class,
+            exportFormat,
+            after,
+            appDiscountService::findAll,
+            response.bufferFactory()
+        );
+    }
+
+    /**
+     * {@code GET  /app-discounts/_changes} : stream the changes of the appDiscounts as server-sent events.
+     *
+     * @param lastEventId the id of the last event the client got, to resume after it.
+     * @return the changes of the appDiscounts, see {@link ServerSentEventUtil}.
+     */
+    @GetMapping(value = "/app-discounts/_changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ChangeFeedEvent>> getAppDiscountChanges(
+        @RequestHeader(value = ServerSentEventUtil.LAST_EVENT_ID, required = false) String lastEventId
+    ) {
+        log.debug("REST request to stream the changes of AppDiscounts after : {}", lastEventId);
+        return ServerSentEventUtil.toServerSentEvents(
+            appDiscountService.getChanges(lastEventId),
+            applicationProperties.getChangeFeed().getHeartbeat()
+        );
+    }
+
     /**
      * {@code GET  /app-discounts/:id} : get the "id" appDiscount.
      *
      * @param id the id of the appDiscountDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the appDiscountDTO, or with status {@code 404 (Not Found)}.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the appDiscountDTO, or with status {@code 304 (Not Modified)} if the client has its version, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/app-discounts/{id}")
-    public Mono<ResponseEntity<AppDiscountDTO>> getAppDiscount(@PathVariable String id) {
+    public Mono<ResponseEntity<AppDiscountDTO>> getAppDiscount(@PathVariable String id, ServerWebExchange exchange) {
         log.debug("REST request to get AppDiscount : {}", id);
         Mono<AppDiscountDTO> appDiscountDTO = appDiscountService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(appDiscountDTO);
+        return EntityTagUtil.wrapOrNotFound(appDiscountDTO, AppDiscountDTO::getVersion, exchange);
     }
 
     /**
@@ -211,4 +338,28 @@ public class AppDiscountResource {
                 ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id)).build()
             );
     }
+
+    /**
+     * {@code POST  /app-discounts/_bulk} : Create, update and delete app discounts in bulk, in one transaction.
+     *
+     * @param operations the operations, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each operation,
+     * or with status {@code 400 (Bad Request)} if there are too many operations.
+     */
+    @PostMapping(value = "/app-discounts/_bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Mono<ResponseEntity<List<BulkItemResultDTO>>> bulkAppDiscounts(@RequestBody Flux<BulkOperationDTO<AppDiscountDTO>> operations) {
+        log.debug("REST request to execute bulk operations on AppDiscounts");
+        int maxOperations = applicationProperties.getBulk().getMaxOperations();
+        return operations
+            .take(maxOperations + 1L)
+            .collectList()
+            .flatMap(list -> {
+                if (list.size() > maxOperations) {
+                    String message = "A bulk request can have at most " + maxOperations + " operations";
+                    return Mono.error(new BadRequestAlertException(message, ENTITY_NAME, "bulktoolarge"));
+                }
+                return appDiscountService.bulk(list).collectList();
+            })
+            .map(results -> ResponseEntity.ok().body(results));
+    }
 }
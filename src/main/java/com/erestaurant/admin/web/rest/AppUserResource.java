@@ -1,9 +1,17 @@
 package com.erestaurant.admin.web.rest;
 
-import com.erestaurant.admin.repository.AppUserRepository;
+import com.erestaurant.admin.repository.AppUserSqlHelper;
+import com.erestaurant.admin.repository.Keyset;
+import com.erestaurant.admin.repository.Projection;
 import com.erestaurant.admin.service.AppUserService;
+import com.erestaurant.admin.service.blob.BlobStore;
 import com.erestaurant.admin.service.dto.AppUserDTO;
 import com.erestaurant.admin.web.rest.errors.BadRequestAlertException;
+import com.erestaurant.admin.web.rest.util.BlobResponseUtil;
+import com.erestaurant.admin.web.rest.util.EntityExporter;
+import com.erestaurant.admin.web.rest.util.EntityTagUtil;
+import com.erestaurant.admin.web.rest.util.KeysetPaginationUtil;
+import com.erestaurant.admin.web.rest.util.ProjectionUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -14,15 +22,25 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.reactive.ResponseUtil;
+import tech.jhipster.web.util.PaginationUtil;
 
 /**
  * REST controller for managing {@link com.erestaurant.admin.domain.AppUser}.
@@ -40,11 +58,14 @@ public class AppUserResource {
 
     private final AppUserService appUserService;
 
-    private final AppUserRepository appUserRepository;
+    private final EntityExporter entityExporter;
 
-    public AppUserResource(AppUserService appUserService, AppUserRepository appUserRepository) {
+    private final BlobStore blobStore;
+
+    public AppUserResource(AppUserService appUserService, EntityExporter entityExporter, BlobStore blobStore) {
         this.appUserService = appUserService;
-        this.appUserRepository = appUserRepository;
+        this.entityExporter = entityExporter;
+        this.blobStore = blobStore;
     }
 
     /**
@@ -78,15 +99,20 @@ public class AppUserResource {
      * {@code PUT  /app-users/:id} : Updates an existing appUser.
      *
      * @param id the id of the appUserDTO to save.
+     * @param ifMatch the {@code ETag} of the version to update, required unless the body has the version.
      * @param appUserDTO the appUserDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated appUserDTO,
      * or with status {@code 400 (Bad Request)} if the appUserDTO is not valid,
+     * or with status {@code 404 (Not Found)} if the appUserDTO is not found,
+     * or with status {@code 412 (Precondition Failed)} if the appUserDTO has another version than {@code If-Match},
+     * or with status {@code 428 (Precondition Required)} if neither the appUserDTO nor {@code If-Match} has a version,
      * or with status {@code 500 (Internal Server Error)} if the appUserDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/app-users/{id}")
     public Mono<ResponseEntity<AppUserDTO>> updateAppUser(
         @PathVariable(value = "id", required = false) final String id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody AppUserDTO appUserDTO
     ) throws URISyntaxException {
         log.debug("REST request to update AppUser : {}, {}", id, appUserDTO);
@@ -96,40 +122,38 @@ public class AppUserResource {
         if (!Objects.equals(id, appUserDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        appUserDTO.setVersion(EntityTagUtil.requireVersion(ifMatch, appUserDTO.getVersion()));
 
-        return appUserRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return appUserService
-                    .update(appUserDTO)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
-                            .body(result)
-                    );
-            });
+        return appUserService
+            .update(appUserDTO)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .eTag(EntityTagUtil.toETag(result.getVersion()))
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
      * {@code PATCH  /app-users/:id} : Partial updates given fields of an existing appUser, field will ignore if it is null
      *
      * @param id the id of the appUserDTO to save.
+     * @param ifMatch the {@code ETag} of the version to update, required unless the body has the version.
      * @param appUserDTO the appUserDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated appUserDTO,
      * or with status {@code 400 (Bad Request)} if the appUserDTO is not valid,
      * or with status {@code 404 (Not Found)} if the appUserDTO is not found,
+     * or with status {@code 412 (Precondition Failed)} if the appUserDTO has another version than {@code If-Match},
+     * or with status {@code 428 (Precondition Required)} if neither the appUserDTO nor {@code If-Match} has a version,
      * or with status {@code 500 (Internal Server Error)} if the appUserDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/app-users/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public Mono<ResponseEntity<AppUserDTO>> partialUpdateAppUser(
         @PathVariable(value = "id", required = false) final String id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody AppUserDTO appUserDTO
     ) throws URISyntaxException {
         log.debug("REST request to partial update AppUser partially : {}, {}", id, appUserDTO);
@@ -139,37 +163,85 @@ public class AppUserResource {
         if (!Objects.equals(id, appUserDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        appUserDTO.setVersion(EntityTagUtil.requireVersion(ifMatch, appUserDTO.getVersion()));
 
-        return appUserRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<AppUserDTO> result = appUserService.partialUpdate(appUserDTO);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
-                            .body(res)
-                    );
-            });
+        return appUserService
+            .partialUpdate(appUserDTO)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .eTag(EntityTagUtil.toETag(result.getVersion()))
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
-     * {@code GET  /app-users} : get all the appUsers.
+     * {@code GET  /app-users} : get a page of the appUsers.
      *
+     * @param pageable the pagination information, the size of the page is limited by {@code application.pagination.max-page-size}.
+     * @param fields the fields to return besides the id and the version, by default all but the description, which is only returned by {@code GET  /app-users/:id}.
+     * @param request a {@link ServerHttpRequest} request.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of appUsers in body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of appUsers in body, or with status {@code 400 (Bad Request)} if a field is not supported.
      */
     @GetMapping("/app-users")
-    public Mono<List<AppUserDTO>> getAllAppUsers(@RequestParam(required = false, defaultValue = "false") boolean eagerload) {
-        log.debug("REST request to get all AppUsers");
-        return appUserService.findAll().collectList();
+    public Mono<ResponseEntity<List<AppUserDTO>>> getAllAppUsers(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(required = false) List<String> fields,
+        ServerHttpRequest request,
+        @RequestParam(required = false, defaultValue = "false") boolean eagerload
+    ) {
+        log.debug("REST request to get a page of AppUsers");
+        Projection projection = ProjectionUtil.parseProjection(fields, AppUserSqlHelper.FIELDS, AppUserSqlHelper.SUMMARY, ENTITY_NAME);
+        Flux<AppUserDTO> appUsers = eagerload
+            ? appUserService.findAllWithEagerRelationships(pageable, projection)
+            : appUserService.findAll(pageable, projection);
+        return appUserService
+            .countAll()
+            .zipWith(appUsers.collectList())
+            .map(countWithEntities ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        PaginationUtil.generatePaginationHttpHeaders(
+                            UriComponentsBuilder.fromHttpRequest(request),
+                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                        )
+                    )
+                    .body(countWithEntities.getT2())
+            );
+    }
+
+    /**
+     * {@code GET  /app-users?cursor=} : get a page of the appUsers using keyset pagination.
+     *
+     * @param cursor the continuation token of the previous page, or empty for the first page.
+     * @param size the size of the page.
+     * @param sort the sort order of the first page, the following pages keep the order of the cursor.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of appUsers in body, or with status {@code 400 (Bad Request)} if the cursor is invalid.
+     */
+    @GetMapping(value = "/app-users", params = "cursor")
+    public Mono<ResponseEntity<List<AppUserDTO>>> getAllAppUsersByCursor(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false, defaultValue = "20") int size,
+        Sort sort,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to get a page of AppUsers after cursor : {}", cursor);
+        Keyset keyset = KeysetPaginationUtil.parseKeyset(cursor, size, sort, ENTITY_NAME);
+        return appUserService
+            .findAll(keyset)
+            .collectList()
+            .onErrorMap(IllegalArgumentException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "sortinvalid"))
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .headers(KeysetPaginationUtil.generateKeysetHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), keyset, page))
+                    .body(page)
+            );
     }
 
     /**
@@ -182,17 +254,76 @@ public class AppUserResource {
         return appUserService.findAll();
     }
 
+    /**
+     * {@code GET  /app-users/_export} : export all the app users, in id order.
+     *
+     * @param format the format of the export, {@code ndjson} or {@code csv}.
+     * @param after the id to resume the export after, or empty to export all the app users.
+     * @param response the response the export is written to.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the app users in body, or with status {@code 400 (Bad Request)} if the format is not supported.
+     */
+    @GetMapping("/app-users/_export")
+    public ResponseEntity<Flux<DataBuffer>> exportAppUsers(
+        @RequestParam(required = false, defaultValue = "ndjson") String format,
+        @RequestParam(required = false) String after,
+        ServerHttpResponse response
+    ) {
+        log.debug("REST request to export AppUsers as {} after : {}", format, after);
+        EntityExporter.Format exportFormat = EntityExporter.Format.parse(format, ENTITY_NAME);
+        return entityExporter.export("app-users", AppUserDTO.class, exportFormat, after, appUserService::findAll, response.bufferFactory());
+    }
+
     /**
      * {@code GET  /app-users/:id} : get the "id" appUser.
      *
      * @param id the id of the appUserDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the appUserDTO, or with status {@code 404 (Not Found)}.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the appUserDTO, or with status {@code 304 (Not Modified)} if the client has its version, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/app-users/{id}")
-    public Mono<ResponseEntity<AppUserDTO>> getAppUser(@PathVariable String id) {
+    public Mono<ResponseEntity<AppUserDTO>> getAppUser(@PathVariable String id, ServerWebExchange exchange) {
         log.debug("REST request to get AppUser : {}", id);
         Mono<AppUserDTO> appUserDTO = appUserService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(appUserDTO);
+        return EntityTagUtil.wrapOrNotFound(appUserDTO, AppUserDTO::getVersion, exchange);
+    }
+
+    /**
+     * {@code GET  /app-users/:id/image} : get the image of the "id" appUser, which is streamed from the blob store.
+     *
+     * @param id the id of the appUserDTO whose image to retrieve.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} or {@code 206 (Partial Content)} for a range request, and with body the image, or with status {@code 304 (Not Modified)} if the image did not change, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/app-users/{id}/image")
+    public Mono<ResponseEntity<Resource>> getAppUserImage(@PathVariable String id, ServerWebExchange exchange) {
+        log.debug("REST request to get the image of AppUser : {}", id);
+        return appUserService
+            .findOne(id)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .flatMap(appUser ->
+                BlobResponseUtil.wrapOrNotFound(blobStore, appUser.getImageHash(), appUser.getImageContentType(), exchange)
+            );
+    }
+
+    /**
+     * {@code GET  /app-users/:id/thumbnail} : get the thumbnail of the image of the "id" appUser, to show in the lists.
+     * The image itself is returned while its thumbnail is not computed.
+     *
+     * @param id the id of the appUserDTO whose thumbnail to retrieve.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the thumbnail, or with status {@code 304 (Not Modified)} if the thumbnail did not change, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/app-users/{id}/thumbnail")
+    public Mono<ResponseEntity<Resource>> getAppUserThumbnail(@PathVariable String id, ServerWebExchange exchange) {
+        log.debug("REST request to get the thumbnail of AppUser : {}", id);
+        return appUserService
+            .findOne(id)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .flatMap(appUser ->
+                appUser.getThumbnailHash() != null
+                    ? BlobResponseUtil.wrapOrNotFound(blobStore, appUser.getThumbnailHash(), appUser.getThumbnailContentType(), exchange)
+                    : BlobResponseUtil.wrapOrNotFound(blobStore, appUser.getImageHash(), appUser.getImageContentType(), exchange)
+            );
     }
 
     /**
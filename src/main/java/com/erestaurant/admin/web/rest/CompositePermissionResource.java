@@ -1,9 +1,12 @@
 package com.erestaurant.admin.web.rest;
 
-import com.erestaurant.admin.repository.CompositePermissionRepository;
+import com.erestaurant.admin.repository.Keyset;
 import com.erestaurant.admin.service.CompositePermissionService;
 import com.erestaurant.admin.service.dto.CompositePermissionDTO;
 import com.erestaurant.admin.web.rest.errors.BadRequestAlertException;
+import com.erestaurant.admin.web.rest.util.EntityExporter;
+import com.erestaurant.admin.web.rest.util.EntityTagUtil;
+import com.erestaurant.admin.web.rest.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -14,15 +17,24 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.reactive.ResponseUtil;
+import tech.jhipster.web.util.PaginationUtil;
 
 /**
  * REST controller for managing {@link com.erestaurant.admin.domain.CompositePermission}.
@@ -40,14 +52,11 @@ public class CompositePermissionResource {
 
     private final CompositePermissionService compositePermissionService;
 
-    private final CompositePermissionRepository compositePermissionRepository;
+    private final EntityExporter entityExporter;
 
-    public CompositePermissionResource(
-        CompositePermissionService compositePermissionService,
-        CompositePermissionRepository compositePermissionRepository
-    ) {
+    public CompositePermissionResource(CompositePermissionService compositePermissionService, EntityExporter entityExporter) {
         this.compositePermissionService = compositePermissionService;
-        this.compositePermissionRepository = compositePermissionRepository;
+        this.entityExporter = entityExporter;
     }
 
     /**
@@ -83,15 +92,20 @@ public class CompositePermissionResource {
      * {@code PUT  /composite-permissions/:id} : Updates an existing compositePermission.
      *
      * @param id the id of the compositePermissionDTO to save.
+     * @param ifMatch the {@code ETag} of the version to update, required unless the body has the version.
      * @param compositePermissionDTO the compositePermissionDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated compositePermissionDTO,
      * or with status {@code 400 (Bad Request)} if the compositePermissionDTO is not valid,
+     * or with status {@code 404 (Not Found)} if the compositePermissionDTO is not found,
+     * or with status {@code 412 (Precondition Failed)} if the compositePermissionDTO has another version than {@code If-Match},
+     * or with status {@code 428 (Precondition Required)} if neither the compositePermissionDTO nor {@code If-Match} has a version,
      * or with status {@code 500 (Internal Server Error)} if the compositePermissionDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/composite-permissions/{id}")
     public Mono<ResponseEntity<CompositePermissionDTO>> updateCompositePermission(
         @PathVariable(value = "id", required = false) final String id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody CompositePermissionDTO compositePermissionDTO
     ) throws URISyntaxException {
         log.debug("REST request to update CompositePermission : {}, {}", id, compositePermissionDTO);
@@ -101,40 +115,38 @@ public class CompositePermissionResource {
         if (!Objects.equals(id, compositePermissionDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        compositePermissionDTO.setVersion(EntityTagUtil.requireVersion(ifMatch, compositePermissionDTO.getVersion()));
 
-        return compositePermissionRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return compositePermissionService
-                    .update(compositePermissionDTO)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
-                            .body(result)
-                    );
-            });
+        return compositePermissionService
+            .update(compositePermissionDTO)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .eTag(EntityTagUtil.toETag(result.getVersion()))
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
      * {@code PATCH  /composite-permissions/:id} : Partial updates given fields of an existing compositePermission, field will ignore if it is null
      *
      * @param id the id of the compositePermissionDTO to save.
+     * @param ifMatch the {@code ETag} of the version to update, required unless the body has the version.
      * @param compositePermissionDTO the compositePermissionDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated compositePermissionDTO,
      * or with status {@code 400 (Bad Request)} if the compositePermissionDTO is not valid,
      * or with status {@code 404 (Not Found)} if the compositePermissionDTO is not found,
+     * or with status {@code 412 (Precondition Failed)} if the compositePermissionDTO has another version than {@code If-Match},
+     * or with status {@code 428 (Precondition Required)} if neither the compositePermissionDTO nor {@code If-Match} has a version,
      * or with status {@code 500 (Internal Server Error)} if the compositePermissionDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/composite-permissions/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public Mono<ResponseEntity<CompositePermissionDTO>> partialUpdateCompositePermission(
         @PathVariable(value = "id", required = false) final String id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody CompositePermissionDTO compositePermissionDTO
     ) throws URISyntaxException {
         log.debug("REST request to partial update CompositePermission partially : {}, {}", id, compositePermissionDTO);
@@ -144,36 +156,91 @@ public class CompositePermissionResource {
         if (!Objects.equals(id, compositePermissionDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        compositePermissionDTO.setVersion(EntityTagUtil.requireVersion(ifMatch, compositePermissionDTO.getVersion()));
 
-        return compositePermissionRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<CompositePermissionDTO> result = compositePermissionService.partialUpdate(compositePermissionDTO);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
-                            .body(res)
-                    );
-            });
+        return compositePermissionService
+            .partialUpdate(compositePermissionDTO)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .eTag(EntityTagUtil.toETag(result.getVersion()))
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
-     * {@code GET  /composite-permissions} : get all the compositePermissions.
+     * {@code GET  /composite-permissions} : get a page of the compositePermissions.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of compositePermissions in body.
+     * @param pageable the pagination information, the size of the page is limited by {@code application.pagination.max-page-size}.
+     * @param request a {@link ServerHttpRequest} request.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of compositePermissions in body, or with status {@code 304 (Not Modified)} if the composite permissions did not change.
      */
     @GetMapping("/composite-permissions")
-    public Mono<List<CompositePermissionDTO>> getAllCompositePermissions() {
-        log.debug("REST request to get all CompositePermissions");
-        return compositePermissionService.findAll().collectList();
+    public Mono<ResponseEntity<List<CompositePermissionDTO>>> getAllCompositePermissions(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request,
+        ServerWebExchange exchange
+    ) {
+        log.debug("REST request to get a page of CompositePermissions");
+        String eTag = EntityTagUtil.toListETag(compositePermissionService.getChangeTag());
+        if (exchange.checkNotModified(eTag)) {
+            return EntityTagUtil.notModified(eTag);
+        }
+        return compositePermissionService
+            .countAll()
+            .zipWith(compositePermissionService.findAll(pageable).collectList())
+            .map(countWithEntities ->
+                ResponseEntity
+                    .ok()
+                    .eTag(eTag)
+                    .headers(
+                        PaginationUtil.generatePaginationHttpHeaders(
+                            UriComponentsBuilder.fromHttpRequest(request),
+                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                        )
+                    )
+                    .body(countWithEntities.getT2())
+            );
+    }
+
+    /**
+     * {@code GET  /composite-permissions?cursor=} : get a page of the compositePermissions using keyset pagination.
+     *
+     * @param cursor the continuation token of the previous page, or empty for the first page.
+     * @param size the size of the page.
+     * @param sort the sort order of the first page, the following pages keep the order of the cursor.
+     * @param request a {@link ServerHttpRequest} request.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of compositePermissions in body, or with status {@code 400 (Bad Request)} if the cursor is invalid, or with status {@code 304 (Not Modified)} if the composite permissions did not change.
+     */
+    @GetMapping(value = "/composite-permissions", params = "cursor")
+    public Mono<ResponseEntity<List<CompositePermissionDTO>>> getAllCompositePermissionsByCursor(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false, defaultValue = "20") int size,
+        Sort sort,
+        ServerHttpRequest request,
+        ServerWebExchange exchange
+    ) {
+        log.debug("REST request to get a page of CompositePermissions after cursor : {}", cursor);
+        Keyset keyset = KeysetPaginationUtil.parseKeyset(cursor, size, sort, ENTITY_NAME);
+        String eTag = EntityTagUtil.toListETag(compositePermissionService.getChangeTag());
+        if (exchange.checkNotModified(eTag)) {
+            return EntityTagUtil.notModified(eTag);
+        }
+        return compositePermissionService
+            .findAll(keyset)
+            .collectList()
+            .onErrorMap(IllegalArgumentException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "sortinvalid"))
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .eTag(eTag)
+                    .headers(KeysetPaginationUtil.generateKeysetHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), keyset, page))
+                    .body(page)
+            );
     }
 
     /**
@@ -186,17 +253,44 @@ public class CompositePermissionResource {
         return compositePermissionService.findAll();
     }
 
+    /**
+     * {@code GET  /composite-permissions/_export} : export all the composite permissions, in id order.
+     *
+     * @param format the format of the export, {@code ndjson} or {@code csv}.
+     * @param after the id to resume the export after, or empty to export all the composite permissions.
+     * @param response the response the export is written to.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the composite permissions in body, or with status {@code 400 (Bad Request)} if the format is not supported.
+     */
+    @GetMapping("/composite-permissions/_export")
+    public ResponseEntity<Flux<DataBuffer>> exportCompositePermissions(
+        @RequestParam(required = false, defaultValue = "ndjson") String format,
+        @RequestParam(required = false) String after,
+        ServerHttpResponse response
+    ) {
+        log.debug("REST request to export CompositePermissions as {} after : {}", format, after);
+        EntityExporter.Format exportFormat = EntityExporter.Format.parse(format, ENTITY_NAME);
+        return entityExporter.export(
+            "composite-permissions",
+            CompositePermissionDTO.class,
+            exportFormat,
+            after,
+            compositePermissionService::findAll,
+            response.bufferFactory()
+        );
+    }
+
     /**
      * {@code GET  /composite-permissions/:id} : get the "id" compositePermission.
      *
      * @param id the id of the compositePermissionDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the compositePermissionDTO, or with status {@code 404 (Not Found)}.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the compositePermissionDTO, or with status {@code 304 (Not Modified)} if the client has its version, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/composite-permissions/{id}")
-    public Mono<ResponseEntity<CompositePermissionDTO>> getCompositePermission(@PathVariable String id) {
+    public Mono<ResponseEntity<CompositePermissionDTO>> getCompositePermission(@PathVariable String id, ServerWebExchange exchange) {
         log.debug("REST request to get CompositePermission : {}", id);
         Mono<CompositePermissionDTO> compositePermissionDTO = compositePermissionService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(compositePermissionDTO);
+        return EntityTagUtil.wrapOrNotFound(compositePermissionDTO, CompositePermissionDTO::getVersion, exchange);
     }
 
     /**
@@ -1,9 +1,17 @@
 package com.erestaurant.admin.web.rest;
 
-import com.erestaurant.admin.repository.DiscountRepository;
+import com.erestaurant.admin.config.ApplicationProperties;
+import com.erestaurant.admin.repository.Keyset;
 import com.erestaurant.admin.service.DiscountService;
+import com.erestaurant.admin.service.dto.BulkItemResultDTO;
+import com.erestaurant.admin.service.dto.BulkOperationDTO;
 import com.erestaurant.admin.service.dto.DiscountDTO;
+import com.erestaurant.admin.service.feed.ChangeFeedEvent;
 import com.erestaurant.admin.web.rest.errors.BadRequestAlertException;
+import com.erestaurant.admin.web.rest.util.EntityExporter;
+import com.erestaurant.admin.web.rest.util.EntityTagUtil;
+import com.erestaurant.admin.web.rest.util.KeysetPaginationUtil;
+import com.erestaurant.admin.web.rest.util.ServerSentEventUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -14,15 +22,25 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.reactive.ResponseUtil;
+import tech.jhipster.web.util.PaginationUtil;
 
 /**
  * REST controller for managing {@link com.erestaurant.admin.domain.Discount}.
@@ -40,11 +58,14 @@ public class DiscountResource {
 
     private final DiscountService discountService;
 
-    private final DiscountRepository discountRepository;
+    private final ApplicationProperties applicationProperties;
 
-    public DiscountResource(DiscountService discountService, DiscountRepository discountRepository) {
+    private final EntityExporter entityExporter;
+
+    public DiscountResource(DiscountService discountService, ApplicationProperties applicationProperties, EntityExporter entityExporter) {
         this.discountService = discountService;
-        this.discountRepository = discountRepository;
+        this.applicationProperties = applicationProperties;
+        this.entityExporter = entityExporter;
     }
 
     /**
@@ -78,15 +99,20 @@ public class DiscountResource {
      * {@code PUT  /discounts/:id} : Updates an existing discount.
      *
      * @param id the id of the discountDTO to save.
+     * @param ifMatch the {@code ETag} of the version to update, required unless the body has the version.
      * @param discountDTO the discountDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated discountDTO,
      * or with status {@code 400 (Bad Request)} if the discountDTO is not valid,
+     * or with status {@code 404 (Not Found)} if the discountDTO is not found,
+     * or with status {@code 412 (Precondition Failed)} if the discountDTO has another version than {@code If-Match},
+     * or with status {@code 428 (Precondition Required)} if neither the discountDTO nor {@code If-Match} has a version,
      * or with status {@code 500 (Internal Server Error)} if the discountDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/discounts/{id}")
     public Mono<ResponseEntity<DiscountDTO>> updateDiscount(
         @PathVariable(value = "id", required = false) final String id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody DiscountDTO discountDTO
     ) throws URISyntaxException {
         log.debug("REST request to update Discount : {}, {}", id, discountDTO);
@@ -96,40 +122,38 @@ public class DiscountResource {
         if (!Objects.equals(id, discountDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        discountDTO.setVersion(EntityTagUtil.requireVersion(ifMatch, discountDTO.getVersion()));
 
-        return discountRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return discountService
-                    .update(discountDTO)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
-                            .body(result)
-                    );
-            });
+        return discountService
+            .update(discountDTO)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .eTag(EntityTagUtil.toETag(result.getVersion()))
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
      * {@code PATCH  /discounts/:id} : Partial updates given fields of an existing discount, field will ignore if it is null
      *
      * @param id the id of the discountDTO to save.
+     * @param ifMatch the {@code ETag} of the version to update, required unless the body has the version.
      * @param discountDTO the discountDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated discountDTO,
      * or with status {@code 400 (Bad Request)} if the discountDTO is not valid,
      * or with status {@code 404 (Not Found)} if the discountDTO is not found,
+     * or with status {@code 412 (Precondition Failed)} if the discountDTO has another version than {@code If-Match},
+     * or with status {@code 428 (Precondition Required)} if neither the discountDTO nor {@code If-Match} has a version,
      * or with status {@code 500 (Internal Server Error)} if the discountDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/discounts/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public Mono<ResponseEntity<DiscountDTO>> partialUpdateDiscount(
         @PathVariable(value = "id", required = false) final String id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody DiscountDTO discountDTO
     ) throws URISyntaxException {
         log.debug("REST request to partial update Discount partially : {}, {}", id, discountDTO);
@@ -139,36 +163,91 @@ public class DiscountResource {
         if (!Objects.equals(id, discountDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        discountDTO.setVersion(EntityTagUtil.requireVersion(ifMatch, discountDTO.getVersion()));
 
-        return discountRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<DiscountDTO> result = discountService.partialUpdate(discountDTO);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
-                            .body(res)
-                    );
-            });
+        return discountService
+            .partialUpdate(discountDTO)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .eTag(EntityTagUtil.toETag(result.getVersion()))
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
-     * {@code GET  /discounts} : get all the discounts.
+     * {@code GET  /discounts} : get a page of the discounts.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of discounts in body.
+     * @param pageable the pagination information, the size of the page is limited by {@code application.pagination.max-page-size}.
+     * @param request a {@link ServerHttpRequest} request.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of discounts in body, or with status {@code 304 (Not Modified)} if the discounts did not change.
      */
     @GetMapping("/discounts")
-    public Mono<List<DiscountDTO>> getAllDiscounts() {
-        log.debug("REST request to get all Discounts");
-        return discountService.findAll().collectList();
+    public Mono<ResponseEntity<List<DiscountDTO>>> getAllDiscounts(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request,
+        ServerWebExchange exchange
+    ) {
+        log.debug("REST request to get a page of Discounts");
+        String eTag = EntityTagUtil.toListETag(discountService.getChangeTag());
+        if (exchange.checkNotModified(eTag)) {
+            return EntityTagUtil.notModified(eTag);
+        }
+        return discountService
+            .countAll()
+            .zipWith(discountService.findAll(pageable).collectList())
+            .map(countWithEntities ->
+                ResponseEntity
+                    .ok()
+                    .eTag(eTag)
+                    .headers(
+                        PaginationUtil.generatePaginationHttpHeaders(
+                            UriComponentsBuilder.fromHttpRequest(request),
+                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                        )
+                    )
+                    .body(countWithEntities.getT2())
+            );
+    }
+
+    /**
+     * {@code GET  /discounts?cursor=} : get a page of the discounts using keyset pagination.
+     *
+     * @param cursor the continuation token of the previous page, or empty for the first page.
+     * @param size the size of the page.
+     * @param sort the sort order of the first page, the following pages keep the order of the cursor.
+     * @param request a {@link ServerHttpRequest} request.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of discounts in body, or with status {@code 400 (Bad Request)} if the cursor is invalid, or with status {@code 304 (Not Modified)} if the discounts did not change.
+     */
+    @GetMapping(value = "/discounts", params = "cursor")
+    public Mono<ResponseEntity<List<DiscountDTO>>> getAllDiscountsByCursor(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false, defaultValue = "20") int size,
+        Sort sort,
+        ServerHttpRequest request,
+        ServerWebExchange exchange
+    ) {
+        log.debug("REST request to get a page of Discounts after cursor : {}", cursor);
+        Keyset keyset = KeysetPaginationUtil.parseKeyset(cursor, size, sort, ENTITY_NAME);
+        String eTag = EntityTagUtil.toListETag(discountService.getChangeTag());
+        if (exchange.checkNotModified(eTag)) {
+            return EntityTagUtil.notModified(eTag);
+        }
+        return discountService
+            .findAll(keyset)
+            .collectList()
+            .onErrorMap(IllegalArgumentException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "sortinvalid"))
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .eTag(eTag)
+                    .headers(KeysetPaginationUtil.generateKeysetHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), keyset, page))
+                    .body(page)
+            );
     }
 
     /**
@@ -181,17 +260,61 @@ public class DiscountResource {
         return discountService.findAll();
     }
 
+    /**
+     * {@code GET  /discounts/_export} : export all the discounts, in id order.
+     *
+     * @param format the format of the export, {@code ndjson} or {@code csv}.
+     * @param after the id to resume the export after, or empty to export all the discounts.
+     * @param response the response the export is written to.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the discounts in body, or with status {@code 400 (Bad Request)} if the format is not supported.
+     */
+    @GetMapping("/discounts/_export")
+    public ResponseEntity<Flux<DataBuffer>> exportDiscounts(
+        @RequestParam(required = false, defaultValue = "ndjson") String format,
+        @RequestParam(required = false) String after,
+        ServerHttpResponse response
+    ) {
+        log.debug("REST request to export Discounts as {} after : {}", format, after);
+        EntityExporter.Format exportFormat = EntityExporter.Format.parse(format, ENTITY_NAME);
+        return entityExporter.export(
+            "discounts",
+            DiscountDTO.class,
+            exportFormat,
+            after,
+            discountService::findAll,
+            response.bufferFactory()
+        );
+    }
+
+    /**
+     * {@code GET  /discounts/_changes} : stream the changes of the discounts as server-sent events.
+     *
+     * @param lastEventId the id of the last event the client got, to resume after it.
+     * @return the changes of the discounts, see {@link ServerSentEventUtil}.
+     */
+    @GetMapping(value = "/discounts/_changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ChangeFeedEvent>> getDiscountChanges(
+        @RequestHeader(value = ServerSentEventUtil.LAST_EVENT_ID, required = false) String lastEventId
+    ) {
+        log.debug("REST request to stream the changes of Discounts after : {}", lastEventId);
+        return ServerSentEventUtil.toServerSentEvents(
+            discountService.getChanges(lastEventId),
+            applicationProperties.getChangeFeed().getHeartbeat()
+        );
+    }
+
     /**
      * {@code GET  /discounts/:id} : get the "id" discount.
      *
      * @param id the id of the discountDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the discountDTO, or with status {@code 404 (Not Found)}.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the discountDTO, or with status {@code 304 (Not Modified)} if the client has its version, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/discounts/{id}")
-    public Mono<ResponseEntity<DiscountDTO>> getDiscount(@PathVariable String id) {
+    public Mono<ResponseEntity<DiscountDTO>> getDiscount(@PathVariable String id, ServerWebExchange exchange) {
         log.debug("REST request to get Discount : {}", id);
         Mono<DiscountDTO> discountDTO = discountService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(discountDTO);
+        return EntityTagUtil.wrapOrNotFound(discountDTO, DiscountDTO::getVersion, exchange);
     }
 
     /**
@@ -210,4 +333,28 @@ public class DiscountResource {
                 ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id)).build()
             );
     }
+
+    /**
+     * {@code POST  /discounts/_bulk} : Create, update and delete discounts in bulk, in one transaction.
+     *
+     * @param operations the operations, as a JSON array or as newline delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each operation,
+     * or with status {@code 400 (Bad Request)} if there are too many operations.
+     */
+    @PostMapping(value = "/discounts/_bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Mono<ResponseEntity<List<BulkItemResultDTO>>> bulkDiscounts(@RequestBody Flux<BulkOperationDTO<DiscountDTO>> operations) {
+        log.debug("REST request to execute bulk operations on Discounts");
+        int maxOperations = applicationProperties.getBulk().getMaxOperations();
+        return operations
+            .take(maxOperations + 1L)
+            .collectList()
+            .flatMap(list -> {
+                if (list.size() > maxOperations) {
+                    String message = "A bulk request can have at most " + maxOperations + " operations";
+                    return Mono.error(new BadRequestAlertException(message, ENTITY_NAME, "bulktoolarge"));
+                }
+                return discountService.bulk(list).collectList();
+            })
+            .map(results -> ResponseEntity.ok().body(results));
+    }
 }
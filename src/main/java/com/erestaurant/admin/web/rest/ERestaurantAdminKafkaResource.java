@@ -1,14 +1,19 @@
 package com.erestaurant.admin.web.rest;
 
+import com.erestaurant.admin.config.ApplicationProperties;
 import com.erestaurant.admin.config.KafkaSseConsumer;
 import com.erestaurant.admin.config.KafkaSseProducer;
+import com.erestaurant.admin.service.broadcast.MessageBroadcaster;
+import com.erestaurant.admin.web.rest.util.ServerSentEventUtil;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cloud.stream.annotation.StreamListener;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.MessageHeaders;
@@ -17,7 +22,6 @@ import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.Sinks;
 
 @RestController
 @RequestMapping("/api/e-restaurant-admin-kafka")
@@ -26,10 +30,19 @@ public class ERestaurantAdminKafkaResource {
     private final Logger log = LoggerFactory.getLogger(ERestaurantAdminKafkaResource.class);
 
     private final MessageChannel output;
-    private Sinks.Many<Message<String>> sink = Sinks.many().unicast().onBackpressureBuffer();
 
-    public ERestaurantAdminKafkaResource(@Qualifier(KafkaSseProducer.CHANNELNAME) MessageChannel output) {
+    private final MessageBroadcaster messageBroadcaster;
+
+    private final ApplicationProperties applicationProperties;
+
+    public ERestaurantAdminKafkaResource(
+        @Qualifier(KafkaSseProducer.CHANNELNAME) MessageChannel output,
+        MessageBroadcaster messageBroadcaster,
+        ApplicationProperties applicationProperties
+    ) {
         this.output = output;
+        this.messageBroadcaster = messageBroadcaster;
+        this.applicationProperties = applicationProperties;
     }
 
     @PostMapping("/publish")
@@ -42,15 +55,18 @@ public class ERestaurantAdminKafkaResource {
         return Mono.just(ResponseEntity.noContent().build());
     }
 
-    @GetMapping("/consume")
-    public Flux<String> consume() {
+    @GetMapping(value = "/consume", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> consume() {
         log.debug("REST request to consume records from Kafka topics");
-        return sink.asFlux().map(m -> m.getPayload());
+        return ServerSentEventUtil.withHeartbeat(
+            messageBroadcaster.subscribe().map(message -> ServerSentEvent.builder(message).build()),
+            applicationProperties.getKafkaSse().getHeartbeat()
+        );
     }
 
     @StreamListener(value = KafkaSseConsumer.CHANNELNAME, copyHeaders = "false")
     public void consume(Message<String> message) {
         log.debug("Got message from kafka stream: {}", message.getPayload());
-        sink.emitNext(message, Sinks.EmitFailureHandler.FAIL_FAST);
+        messageBroadcaster.broadcast(message.getPayload());
     }
 }
@@ -1,9 +1,12 @@
 package com.erestaurant.admin.web.rest;
 
-import com.erestaurant.admin.repository.PermissionRepository;
+import com.erestaurant.admin.repository.Keyset;
 import com.erestaurant.admin.service.PermissionService;
 import com.erestaurant.admin.service.dto.PermissionDTO;
 import com.erestaurant.admin.web.rest.errors.BadRequestAlertException;
+import com.erestaurant.admin.web.rest.util.EntityExporter;
+import com.erestaurant.admin.web.rest.util.EntityTagUtil;
+import com.erestaurant.admin.web.rest.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -14,15 +17,24 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.reactive.ResponseUtil;
+import tech.jhipster.web.util.PaginationUtil;
 
 /**
  * REST controller for managing {@link com.erestaurant.admin.domain.Permission}.
@@ -40,11 +52,11 @@ public class PermissionResource {
 
     private final PermissionService permissionService;
 
-    private final PermissionRepository permissionRepository;
+    private final EntityExporter entityExporter;
 
-    public PermissionResource(PermissionService permissionService, PermissionRepository permissionRepository) {
+    public PermissionResource(PermissionService permissionService, EntityExporter entityExporter) {
         this.permissionService = permissionService;
-        this.permissionRepository = permissionRepository;
+        this.entityExporter = entityExporter;
     }
 
     /**
@@ -78,15 +90,20 @@ public class PermissionResource {
      * {@code PUT  /permissions/:id} : Updates an existing permission.
      *
      * @param id the id of the permissionDTO to save.
+     * @param ifMatch the {@code ETag} of the version to update, required unless the body has the version.
      * @param permissionDTO the permissionDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated permissionDTO,
      * or with status {@code 400 (Bad Request)} if the permissionDTO is not valid,
+     * or with status {@code 404 (Not Found)} if the permissionDTO is not found,
+     * or with status {@code 412 (Precondition Failed)} if the permissionDTO has another version than {@code If-Match},
+     * or with status {@code 428 (Precondition Required)} if neither the permissionDTO nor {@code If-Match} has a version,
      * or with status {@code 500 (Internal Server Error)} if the permissionDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/permissions/{id}")
     public Mono<ResponseEntity<PermissionDTO>> updatePermission(
         @PathVariable(value = "id", required = false) final String id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody PermissionDTO permissionDTO
     ) throws URISyntaxException {
         log.debug("REST request to update Permission : {}, {}", id, permissionDTO);
@@ -96,40 +113,38 @@ public class PermissionResource {
         if (!Objects.equals(id, permissionDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        permissionDTO.setVersion(EntityTagUtil.requireVersion(ifMatch, permissionDTO.getVersion()));
 
-        return permissionRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return permissionService
-                    .update(permissionDTO)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
-                            .body(result)
-                    );
-            });
+        return permissionService
+            .update(permissionDTO)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .eTag(EntityTagUtil.toETag(result.getVersion()))
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
      * {@code PATCH  /permissions/:id} : Partial updates given fields of an existing permission, field will ignore if it is null
      *
      * @param id the id of the permissionDTO to save.
+     * @param ifMatch the {@code ETag} of the version to update, required unless the body has the version.
      * @param permissionDTO the permissionDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated permissionDTO,
      * or with status {@code 400 (Bad Request)} if the permissionDTO is not valid,
      * or with status {@code 404 (Not Found)} if the permissionDTO is not found,
+     * or with status {@code 412 (Precondition Failed)} if the permissionDTO has another version than {@code If-Match},
+     * or with status {@code 428 (Precondition Required)} if neither the permissionDTO nor {@code If-Match} has a version,
      * or with status {@code 500 (Internal Server Error)} if the permissionDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/permissions/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public Mono<ResponseEntity<PermissionDTO>> partialUpdatePermission(
         @PathVariable(value = "id", required = false) final String id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody PermissionDTO permissionDTO
     ) throws URISyntaxException {
         log.debug("REST request to partial update Permission partially : {}, {}", id, permissionDTO);
@@ -139,36 +154,91 @@ public class PermissionResource {
         if (!Objects.equals(id, permissionDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        permissionDTO.setVersion(EntityTagUtil.requireVersion(ifMatch, permissionDTO.getVersion()));
 
-        return permissionRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<PermissionDTO> result = permissionService.partialUpdate(permissionDTO);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
-                            .body(res)
-                    );
-            });
+        return permissionService
+            .partialUpdate(permissionDTO)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .eTag(EntityTagUtil.toETag(result.getVersion()))
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
-     * {@code GET  /permissions} : get all the permissions.
+     * {@code GET  /permissions} : get a page of the permissions.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of permissions in body.
+     * @param pageable the pagination information, the size of the page is limited by {@code application.pagination.max-page-size}.
+     * @param request a {@link ServerHttpRequest} request.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of permissions in body, or with status {@code 304 (Not Modified)} if the permissions did not change.
      */
     @GetMapping("/permissions")
-    public Mono<List<PermissionDTO>> getAllPermissions() {
-        log.debug("REST request to get all Permissions");
-        return permissionService.findAll().collectList();
+    public Mono<ResponseEntity<List<PermissionDTO>>> getAllPermissions(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request,
+        ServerWebExchange exchange
+    ) {
+        log.debug("REST request to get a page of Permissions");
+        String eTag = EntityTagUtil.toListETag(permissionService.getChangeTag());
+        if (exchange.checkNotModified(eTag)) {
+            return EntityTagUtil.notModified(eTag);
+        }
+        return permissionService
+            .countAll()
+            .zipWith(permissionService.findAll(pageable).collectList())
+            .map(countWithEntities ->
+                ResponseEntity
+                    .ok()
+                    .eTag(eTag)
+                    .headers(
+                        PaginationUtil.generatePaginationHttpHeaders(
+                            UriComponentsBuilder.fromHttpRequest(request),
+                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                        )
+                    )
+                    .body(countWithEntities.getT2())
+            );
+    }
+
+    /**
+     * {@code GET  /permissions?cursor=} : get a page of the permissions using keyset pagination.
+     *
+     * @param cursor the continuation token of the previous page, or empty for the first page.
+     * @param size the size of the page.
+     * @param sort the sort order of the first page, the following pages keep the order of the cursor.
+     * @param request a {@link ServerHttpRequest} request.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of permissions in body, or with status {@code 400 (Bad Request)} if the cursor is invalid, or with status {@code 304 (Not Modified)} if the permissions did not change.
+     */
+    @GetMapping(value = "/permissions", params = "cursor")
+    public Mono<ResponseEntity<List<PermissionDTO>>> getAllPermissionsByCursor(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false, defaultValue = "20") int size,
+        Sort sort,
+        ServerHttpRequest request,
+        ServerWebExchange exchange
+    ) {
+        log.debug("REST request to get a page of Permissions after cursor : {}", cursor);
+        Keyset keyset = KeysetPaginationUtil.parseKeyset(cursor, size, sort, ENTITY_NAME);
+        String eTag = EntityTagUtil.toListETag(permissionService.getChangeTag());
+        if (exchange.checkNotModified(eTag)) {
+            return EntityTagUtil.notModified(eTag);
+        }
+        return permissionService
+            .findAll(keyset)
+            .collectList()
+            .onErrorMap(IllegalArgumentException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "sortinvalid"))
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .eTag(eTag)
+                    .headers(KeysetPaginationUtil.generateKeysetHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), keyset, page))
+                    .body(page)
+            );
     }
 
     /**
@@ -181,17 +251,44 @@ public class PermissionResource {
         return permissionService.findAll();
     }
 
+    /**
+     * {@code GET  /permissions/_export} : export all the permissions, in id order.
+     *
+     * @param format the format of the export, {@code ndjson} or {@code csv}.
+     * @param after the id to resume the export after, or empty to export all the permissions.
+     * @param response the response the export is written to.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the permissions in body, or with status {@code 400 (Bad Request)} if the format is not supported.
+     */
+    @GetMapping("/permissions/_export")
+    public ResponseEntity<Flux<DataBuffer>> exportPermissions(
+        @RequestParam(required = false, defaultValue = "ndjson") String format,
+        @RequestParam(required = false) String after,
+        ServerHttpResponse response
+    ) {
+        log.debug("REST request to export Permissions as {} after : {}", format, after);
+        EntityExporter.Format exportFormat = EntityExporter.Format.parse(format, ENTITY_NAME);
+        return entityExporter.export(
+            "permissions",
+            PermissionDTO.class,
+            exportFormat,
+            after,
+            permissionService::findAll,
+            response.bufferFactory()
+        );
+    }
+
     /**
      * {@code GET  /permissions/:id} : get the "id" permission.
      *
      * @param id the id of the permissionDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the permissionDTO, or with status {@code 404 (Not Found)}.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the permissionDTO, or with status {@code 304 (Not Modified)} if the client has its version, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/permissions/{id}")
-    public Mono<ResponseEntity<PermissionDTO>> getPermission(@PathVariable String id) {
+    public Mono<ResponseEntity<PermissionDTO>> getPermission(@PathVariable String id, ServerWebExchange exchange) {
         log.debug("REST request to get Permission : {}", id);
         Mono<PermissionDTO> permissionDTO = permissionService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(permissionDTO);
+        return EntityTagUtil.wrapOrNotFound(permissionDTO, PermissionDTO::getVersion, exchange);
     }
 
     /**
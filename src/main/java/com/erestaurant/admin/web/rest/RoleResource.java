@@ -1,9 +1,12 @@
 package com.erestaurant.admin.web.rest;
 
-import com.erestaurant.admin.repository.RoleRepository;
+import com.erestaurant.admin.repository.Keyset;
 import com.erestaurant.admin.service.RoleService;
 import com.erestaurant.admin.service.dto.RoleDTO;
 import com.erestaurant.admin.web.rest.errors.BadRequestAlertException;
+import com.erestaurant.admin.web.rest.util.EntityExporter;
+import com.erestaurant.admin.web.rest.util.EntityTagUtil;
+import com.erestaurant.admin.web.rest.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -14,15 +17,24 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.reactive.ResponseUtil;
+import tech.jhipster.web.util.PaginationUtil;
 
 /**
  * REST controller for managing {@link com.erestaurant.admin.domain.Role}.
@@ -40,11 +52,11 @@ public class RoleResource {
 
     private final RoleService roleService;
 
-    private final RoleRepository roleRepository;
+    private final EntityExporter entityExporter;
 
-    public RoleResource(RoleService roleService, RoleRepository roleRepository) {
+    public RoleResource(RoleService roleService, EntityExporter entityExporter) {
         this.roleService = roleService;
-        this.roleRepository = roleRepository;
+        this.entityExporter = entityExporter;
     }
 
     /**
@@ -78,15 +90,20 @@ public class RoleResource {
      * {@code PUT  /roles/:id} : Updates an existing role.
      *
      * @param id the id of the roleDTO to save.
+     * @param ifMatch the {@code ETag} of the version to update, required unless the body has the version.
      * @param roleDTO the roleDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated roleDTO,
      * or with status {@code 400 (Bad Request)} if the roleDTO is not valid,
+     * or with status {@code 404 (Not Found)} if the roleDTO is not found,
+     * or with status {@code 412 (Precondition Failed)} if the roleDTO has another version than {@code If-Match},
+     * or with status {@code 428 (Precondition Required)} if neither the roleDTO nor {@code If-Match} has a version,
      * or with status {@code 500 (Internal Server Error)} if the roleDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/roles/{id}")
     public Mono<ResponseEntity<RoleDTO>> updateRole(
         @PathVariable(value = "id", required = false) final String id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody RoleDTO roleDTO
     ) throws URISyntaxException {
         log.debug("REST request to update Role : {}, {}", id, roleDTO);
@@ -96,40 +113,38 @@ public class RoleResource {
         if (!Objects.equals(id, roleDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        roleDTO.setVersion(EntityTagUtil.requireVersion(ifMatch, roleDTO.getVersion()));
 
-        return roleRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return roleService
-                    .update(roleDTO)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
-                            .body(result)
-                    );
-            });
+        return roleService
+            .update(roleDTO)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .eTag(EntityTagUtil.toETag(result.getVersion()))
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
      * {@code PATCH  /roles/:id} : Partial updates given fields of an existing role, field will ignore if it is null
      *
      * @param id the id of the roleDTO to save.
+     * @param ifMatch the {@code ETag} of the version to update, required unless the body has the version.
      * @param roleDTO the roleDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated roleDTO,
      * or with status {@code 400 (Bad Request)} if the roleDTO is not valid,
      * or with status {@code 404 (Not Found)} if the roleDTO is not found,
+     * or with status {@code 412 (Precondition Failed)} if the roleDTO has another version than {@code If-Match},
+     * or with status {@code 428 (Precondition Required)} if neither the roleDTO nor {@code If-Match} has a version,
      * or with status {@code 500 (Internal Server Error)} if the roleDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/roles/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public Mono<ResponseEntity<RoleDTO>> partialUpdateRole(
         @PathVariable(value = "id", required = false) final String id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody RoleDTO roleDTO
     ) throws URISyntaxException {
         log.debug("REST request to partial update Role partially : {}, {}", id, roleDTO);
@@ -139,36 +154,91 @@ public class RoleResource {
         if (!Objects.equals(id, roleDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        roleDTO.setVersion(EntityTagUtil.requireVersion(ifMatch, roleDTO.getVersion()));
 
-        return roleRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<RoleDTO> result = roleService.partialUpdate(roleDTO);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
-                            .body(res)
-                    );
-            });
+        return roleService
+            .partialUpdate(roleDTO)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .eTag(EntityTagUtil.toETag(result.getVersion()))
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
-     * {@code GET  /roles} : get all the roles.
+     * {@code GET  /roles} : get a page of the roles.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of roles in body.
+     * @param pageable the pagination information, the size of the page is limited by {@code application.pagination.max-page-size}.
+     * @param request a {@link ServerHttpRequest} request.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of roles in body, or with status {@code 304 (Not Modified)} if the roles did not change.
      */
     @GetMapping("/roles")
-    public Mono<List<RoleDTO>> getAllRoles() {
-        log.debug("REST request to get all Roles");
-        return roleService.findAll().collectList();
+    public Mono<ResponseEntity<List<RoleDTO>>> getAllRoles(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request,
+        ServerWebExchange exchange
+    ) {
+        log.debug("REST request to get a page of Roles");
+        String eTag = EntityTagUtil.toListETag(roleService.getChangeTag());
+        if (exchange.checkNotModified(eTag)) {
+            return EntityTagUtil.notModified(eTag);
+        }
+        return roleService
+            .countAll()
+            .zipWith(roleService.findAll(pageable).collectList())
+            .map(countWithEntities ->
+                ResponseEntity
+                    .ok()
+                    .eTag(eTag)
+                    .headers(
+                        PaginationUtil.generatePaginationHttpHeaders(
+                            UriComponentsBuilder.fromHttpRequest(request),
+                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                        )
+                    )
+                    .body(countWithEntities.getT2())
+            );
+    }
+
+    /**
+     * {@code GET  /roles?cursor=} : get a page of the roles using keyset pagination.
+     *
+     * @param cursor the continuation token of the previous page, or empty for the first page.
+     * @param size the size of the page.
+     * @param sort the sort order of the first page, the following pages keep the order of the cursor.
+     * @param request a {@link ServerHttpRequest} request.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of roles in body, or with status {@code 400 (Bad Request)} if the cursor is invalid, or with status {@code 304 (Not Modified)} if the roles did not change.
+     */
+    @GetMapping(value = "/roles", params = "cursor")
+    public Mono<ResponseEntity<List<RoleDTO>>> getAllRolesByCursor(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false, defaultValue = "20") int size,
+        Sort sort,
+        ServerHttpRequest request,
+        ServerWebExchange exchange
+    ) {
+        log.debug("REST request to get a page of Roles after cursor : {}", cursor);
+        Keyset keyset = KeysetPaginationUtil.parseKeyset(cursor, size, sort, ENTITY_NAME);
+        String eTag = EntityTagUtil.toListETag(roleService.getChangeTag());
+        if (exchange.checkNotModified(eTag)) {
+            return EntityTagUtil.notModified(eTag);
+        }
+        return roleService
+            .findAll(keyset)
+            .collectList()
+            .onErrorMap(IllegalArgumentException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "sortinvalid"))
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .eTag(eTag)
+                    .headers(KeysetPaginationUtil.generateKeysetHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), keyset, page))
+                    .body(page)
+            );
     }
 
     /**
@@ -181,17 +251,37 @@ public class RoleResource {
         return roleService.findAll();
     }
 
+    /**
+     * {@code GET  /roles/_export} : export all the roles, in id order.
+     *
+     * @param format the format of the export, {@code ndjson} or {@code csv}.
+     * @param after the id to resume the export after, or empty to export all the roles.
+     * @param response the response the export is written to.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the roles in body, or with status {@code 400 (Bad Request)} if the format is not supported.
+     */
+    @GetMapping("/roles/_export")
+    public ResponseEntity<Flux<DataBuffer>> exportRoles(
+        @RequestParam(required = false, defaultValue = "ndjson") String format,
+        @RequestParam(required = false) String after,
+        ServerHttpResponse response
+    ) {
+        log.debug("REST request to export Roles as {} after : {}", format, after);
+        EntityExporter.Format exportFormat = EntityExporter.Format.parse(format, ENTITY_NAME);
+        return entityExporter.export("roles", RoleDTO.class, exportFormat, after, roleService::findAll, response.bufferFactory());
+    }
+
     /**
      * {@code GET  /roles/:id} : get the "id" role.
      *
      * @param id the id of the roleDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the roleDTO, or with status {@code 404 (Not Found)}.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the roleDTO, or with status {@code 304 (Not Modified)} if the client has its version, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/roles/{id}")
-    public Mono<ResponseEntity<RoleDTO>> getRole(@PathVariable String id) {
+    public Mono<ResponseEntity<RoleDTO>> getRole(@PathVariable String id, ServerWebExchange exchange) {
         log.debug("REST request to get Role : {}", id);
         Mono<RoleDTO> roleDTO = roleService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(roleDTO);
+        return EntityTagUtil.wrapOrNotFound(roleDTO, RoleDTO::getVersion, exchange);
     }
 
     /**
@@ -1,9 +1,12 @@
 package com.erestaurant.admin.web.rest;
 
-import com.erestaurant.admin.repository.SimplePermissionRepository;
+import com.erestaurant.admin.repository.Keyset;
 import com.erestaurant.admin.service.SimplePermissionService;
 import com.erestaurant.admin.service.dto.SimplePermissionDTO;
 import com.erestaurant.admin.web.rest.errors.BadRequestAlertException;
+import com.erestaurant.admin.web.rest.util.EntityExporter;
+import com.erestaurant.admin.web.rest.util.EntityTagUtil;
+import com.erestaurant.admin.web.rest.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -14,15 +17,24 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.reactive.ResponseUtil;
+import tech.jhipster.web.util.PaginationUtil;
 
 /**
  * REST controller for managing {@link com.erestaurant.admin.domain.SimplePermission}.
@@ -40,14 +52,11 @@ public class SimplePermissionResource {
 
     private final SimplePermissionService simplePermissionService;
 
-    private final SimplePermissionRepository simplePermissionRepository;
+    private final EntityExporter entityExporter;
 
-    public SimplePermissionResource(
-        SimplePermissionService simplePermissionService,
-        SimplePermissionRepository simplePermissionRepository
-    ) {
+    public SimplePermissionResource(SimplePermissionService simplePermissionService, EntityExporter entityExporter) {
         this.simplePermissionService = simplePermissionService;
-        this.simplePermissionRepository = simplePermissionRepository;
+        this.entityExporter = entityExporter;
     }
 
     /**
@@ -82,15 +91,20 @@ public class SimplePermissionResource {
      * {@code PUT  /simple-permissions/:id} : Updates an existing simplePermission.
      *
      * @param id the id of the simplePermissionDTO to save.
+     * @param ifMatch the {@code ETag} of the version to update, required unless the body has the version.
      * @param simplePermissionDTO the simplePermissionDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated simplePermissionDTO,
      * or with status {@code 400 (Bad Request)} if the simplePermissionDTO is not valid,
+     * or with status {@code 404 (Not Found)} if the simplePermissionDTO is not found,
+     * or with status {@code 412 (Precondition Failed)} if the simplePermissionDTO has another version than {@code If-Match},
+     * or with status {@code 428 (Precondition Required)} if neither the simplePermissionDTO nor {@code If-Match} has a version,
      * or with status {@code 500 (Internal Server Error)} if the simplePermissionDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/simple-permissions/{id}")
     public Mono<ResponseEntity<SimplePermissionDTO>> updateSimplePermission(
         @PathVariable(value = "id", required = false) final String id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody SimplePermissionDTO simplePermissionDTO
     ) throws URISyntaxException {
         log.debug("REST request to update SimplePermission : {}, {}", id, simplePermissionDTO);
@@ -100,40 +114,38 @@ public class SimplePermissionResource {
         if (!Objects.equals(id, simplePermissionDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        simplePermissionDTO.setVersion(EntityTagUtil.requireVersion(ifMatch, simplePermissionDTO.getVersion()));
 
-        return simplePermissionRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return simplePermissionService
-                    .update(simplePermissionDTO)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
-                            .body(result)
-                    );
-            });
+        return simplePermissionService
+            .update(simplePermissionDTO)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .eTag(EntityTagUtil.toETag(result.getVersion()))
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
      * {@code PATCH  /simple-permissions/:id} : Partial updates given fields of an existing simplePermission, field will ignore if it is null
      *
      * @param id the id of the simplePermissionDTO to save.
+     * @param ifMatch the {@code ETag} of the version to update, required unless the body has the version.
      * @param simplePermissionDTO the simplePermissionDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated simplePermissionDTO,
      * or with status {@code 400 (Bad Request)} if the simplePermissionDTO is not valid,
      * or with status {@code 404 (Not Found)} if the simplePermissionDTO is not found,
+     * or with status {@code 412 (Precondition Failed)} if the simplePermissionDTO has another version than {@code If-Match},
+     * or with status {@code 428 (Precondition Required)} if neither the simplePermissionDTO nor {@code If-Match} has a version,
      * or with status {@code 500 (Internal Server Error)} if the simplePermissionDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/simple-permissions/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public Mono<ResponseEntity<SimplePermissionDTO>> partialUpdateSimplePermission(
         @PathVariable(value = "id", required = false) final String id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody SimplePermissionDTO simplePermissionDTO
     ) throws URISyntaxException {
         log.debug("REST request to partial update SimplePermission partially : {}, {}", id, simplePermissionDTO);
@@ -143,36 +155,91 @@ public class SimplePermissionResource {
         if (!Objects.equals(id, simplePermissionDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        simplePermissionDTO.setVersion(EntityTagUtil.requireVersion(ifMatch, simplePermissionDTO.getVersion()));
 
-        return simplePermissionRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<SimplePermissionDTO> result = simplePermissionService.partialUpdate(simplePermissionDTO);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
-                            .body(res)
-                    );
-            });
+        return simplePermissionService
+            .partialUpdate(simplePermissionDTO)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .eTag(EntityTagUtil.toETag(result.getVersion()))
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
-     * {@code GET  /simple-permissions} : get all the simplePermissions.
+     * {@code GET  /simple-permissions} : get a page of the simplePermissions.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of simplePermissions in body.
+     * @param pageable the pagination information, the size of the page is limited by {@code application.pagination.max-page-size}.
+     * @param request a {@link ServerHttpRequest} request.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of simplePermissions in body, or with status {@code 304 (Not Modified)} if the simple permissions did not change.
      */
     @GetMapping("/simple-permissions")
-    public Mono<List<SimplePermissionDTO>> getAllSimplePermissions() {
-        log.debug("REST request to get all SimplePermissions");
-        return simplePermissionService.findAll().collectList();
+    public Mono<ResponseEntity<List<SimplePermissionDTO>>> getAllSimplePermissions(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request,
+        ServerWebExchange exchange
+    ) {
+        log.debug("REST request to get a page of SimplePermissions");
+        String eTag = EntityTagUtil.toListETag(simplePermissionService.getChangeTag());
+        if (exchange.checkNotModified(eTag)) {
+            return EntityTagUtil.notModified(eTag);
+        }
+        return simplePermissionService
+            .countAll()
+            .zipWith(simplePermissionService.findAll(pageable).collectList())
+            .map(countWithEntities ->
+                ResponseEntity
+                    .ok()
+                    .eTag(eTag)
+                    .headers(
+                        PaginationUtil.generatePaginationHttpHeaders(
+                            UriComponentsBuilder.fromHttpRequest(request),
+                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                        )
+                    )
+                    .body(countWithEntities.getT2())
+            );
+    }
+
+    /**
+     * {@code GET  /simple-permissions?cursor=} : get a page of the simplePermissions using keyset pagination.
+     *
+     * @param cursor the continuation token of the previous page, or empty for the first page.
+     * @param size the size of the page.
+     * @param sort the sort order of the first page, the following pages keep the order of the cursor.
+     * @param request a {@link ServerHttpRequest} request.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of simplePermissions in body, or with status {@code 400 (Bad Request)} if the cursor is invalid, or with status {@code 304 (Not Modified)} if the simple permissions did not change.
+     */
+    @GetMapping(value = "/simple-permissions", params = "cursor")
+    public Mono<ResponseEntity<List<SimplePermissionDTO>>> getAllSimplePermissionsByCursor(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false, defaultValue = "20") int size,
+        Sort sort,
+        ServerHttpRequest request,
+        ServerWebExchange exchange
+    ) {
+        log.debug("REST request to get a page of SimplePermissions after cursor : {}", cursor);
+        Keyset keyset = KeysetPaginationUtil.parseKeyset(cursor, size, sort, ENTITY_NAME);
+        String eTag = EntityTagUtil.toListETag(simplePermissionService.getChangeTag());
+        if (exchange.checkNotModified(eTag)) {
+            return EntityTagUtil.notModified(eTag);
+        }
+        return simplePermissionService
+            .findAll(keyset)
+            .collectList()
+            .onErrorMap(IllegalArgumentException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "sortinvalid"))
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .eTag(eTag)
+                    .headers(KeysetPaginationUtil.generateKeysetHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), keyset, page))
+                    .body(page)
+            );
     }
 
     /**
@@ -185,17 +252,44 @@ public class SimplePermissionResource {
         return simplePermissionService.findAll();
     }
 
+    /**
+     * {@code GET  /simple-permissions/_export} : export all the simple permissions, in id order.
+     *
+     * @param format the format of the export, {@code ndjson} or {@code csv}.
+     * @param after the id to resume the export after, or empty to export all the simple permissions.
+     * @param response the response the export is written to.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the simple permissions in body, or with status {@code 400 (Bad Request)} if the format is not supported.
+     */
+    @GetMapping("/simple-permissions/_export")
+    public ResponseEntity<Flux<DataBuffer>> exportSimplePermissions(
+        @RequestParam(required = false, defaultValue = "ndjson") String format,
+        @RequestParam(required = false) String after,
+        ServerHttpResponse response
+    ) {
+        log.debug("REST request to export SimplePermissions as {} after : {}", format, after);
+        EntityExporter.Format exportFormat = EntityExporter.Format.parse(format, ENTITY_NAME);
+        return entityExporter.export(
+            "simple-permissions",
+            SimplePermissionDTO.class,
+            exportFormat,
+            after,
+            simplePermissionService::findAll,
+            response.bufferFactory()
+        );
+    }
+
     /**
      * {@code GET  /simple-permissions/:id} : get the "id" simplePermission.
      *
      * @param id the id of the simplePermissionDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the simplePermissionDTO, or with status {@code 404 (Not Found)}.
+     * @param exchange the current exchange, for the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the simplePermissionDTO, or with status {@code 304 (Not Modified)} if the client has its version, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/simple-permissions/{id}")
-    public Mono<ResponseEntity<SimplePermissionDTO>> getSimplePermission(@PathVariable String id) {
+    public Mono<ResponseEntity<SimplePermissionDTO>> getSimplePermission(@PathVariable String id, ServerWebExchange exchange) {
         log.debug("REST request to get SimplePermission : {}", id);
         Mono<SimplePermissionDTO> simplePermissionDTO = simplePermissionService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(simplePermissionDTO);
+        return EntityTagUtil.wrapOrNotFound(simplePermissionDTO, SimplePermissionDTO::getVersion, exchange);
     }
 
     /**
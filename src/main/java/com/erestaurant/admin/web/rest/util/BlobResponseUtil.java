@@ -0,0 +1,59 @@
+package com.erestaurant.admin.web.rest.util;
+
+import com.erestaurant.admin.service.blob.BlobStore;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Utility class for the endpoints serving a content of the {@link BlobStore}.
+ * <p>
+ * The content is returned as a {@link Resource}, which is streamed from the store rather than read into memory: a file
+ * is sent by the server without copying it through the heap. The {@code Range} requests are answered with
+ * {@code 206 (Partial Content)} and the requested ranges.
+ * <p>
+ * The hash of the content is its {@code ETag}, as a content never changes. The content served at a URL may change
+ * though, so the clients revalidate their copy on every use, and a matching {@code If-None-Match} is answered with
+ * {@code 304 (Not Modified)} without reading the store.
+ */
+public final class BlobResponseUtil {
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private BlobResponseUtil() {}
+
+    /**
+     * Wrap a content of the blob store into a {@link ResponseEntity}, or signal {@code 404 (Not Found)}.
+     *
+     * @param blobStore the blob store.
+     * @param hash the hash of the content, or null if there is no content.
+     * @param contentType the content type, or null if unknown.
+     * @param exchange the current exchange, for the conditional request headers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the content in body, or with status
+     * {@code 304 (Not Modified)} if the client has the content, or a {@link ResponseStatusException} with status
+     * {@code 404 (Not Found)}.
+     */
+    public static Mono<ResponseEntity<Resource>> wrapOrNotFound(
+        BlobStore blobStore,
+        String hash,
+        String contentType,
+        ServerWebExchange exchange
+    ) {
+        if (hash == null) {
+            return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND));
+        }
+        if (exchange.checkNotModified(hash)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(hash).cacheControl(CACHE_CONTROL).build());
+        }
+        MediaType mediaType = contentType != null ? MediaType.parseMediaType(contentType) : MediaType.APPLICATION_OCTET_STREAM;
+        return blobStore
+            .get(hash)
+            .map(resource -> ResponseEntity.ok().eTag(hash).cacheControl(CACHE_CONTROL).contentType(mediaType).body(resource))
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)));
+    }
+}
@@ -0,0 +1,272 @@
+package com.erestaurant.admin.web.rest.util;
+
+import com.erestaurant.admin.config.ApplicationProperties;
+import com.erestaurant.admin.repository.Keyset;
+import com.erestaurant.admin.web.rest.errors.BadRequestAlertException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.PooledDataBuffer;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Streams all the entities of a table as newline delimited JSON or CSV, for the {@code /_export} endpoints.
+ * <p>
+ * The table is read in id order, one keyset page of {@code application.export.chunk-size} rows at a time, and the next
+ * page is only queried once the previous one was consumed by the response, so the memory used by an export does not
+ * depend on the size of the table. Each element is written to its own {@link DataBuffer} of the response, without
+ * collecting the elements, and an interrupted export can be resumed after the id of the last received element.
+ */
+@Component
+public class EntityExporter {
+
+    public static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private static final byte[] NEW_LINE = { '\n' };
+
+    private static final String CSV_NEW_LINE = "\r\n";
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final Map<Class<?>, List<CsvColumn>> csvColumns = new ConcurrentHashMap<>();
+
+    public EntityExporter(ObjectMapper objectMapper, ApplicationProperties applicationProperties) {
+        this.objectMapper = objectMapper;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * The formats of an export.
+     */
+    public enum Format {
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+        CSV(TEXT_CSV, "csv");
+
+        private final MediaType mediaType;
+
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        /**
+         * Parses the {@code format} request parameter.
+         *
+         * @param format the format, case insensitive.
+         * @param entityName the name of the entity, used for the error alert.
+         * @return the format.
+         * @throws BadRequestAlertException if the format is not supported.
+         */
+        public static Format parse(String format, String entityName) {
+            try {
+                return valueOf(format.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException("Unsupported export format " + format, entityName, "formatinvalid");
+            }
+        }
+    }
+
+    /**
+     * Exports all the elements returned by a keyset paged query.
+     *
+     * @param name the name of the exported file, without extension.
+     * @param type the type of the elements.
+     * @param format the format of the export.
+     * @param after the id to resume the export after, or null to export from the first element.
+     * @param findAll the query of a page of elements, e.g. a {@code findAll(Keyset)} method of a service.
+     * @param bufferFactory the buffer factory of the response.
+     * @param <T> the type of the elements.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the stream of the encoded elements in body.
+     */
+    public <T> ResponseEntity<Flux<DataBuffer>> export(
+        String name,
+        Class<T> type,
+        Format format,
+        String after,
+        Function<Keyset, Flux<T>> findAll,
+        DataBufferFactory bufferFactory
+    ) {
+        Flux<T> elements = findAllInChunks(findAll, Keyset.after(applicationProperties.getExport().getChunkSize(), after));
+        Flux<DataBuffer> body = format == Format.CSV ? toCsv(elements, type, bufferFactory) : toNdjson(elements, type, bufferFactory);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(format.mediaType);
+        headers.setContentDisposition(ContentDisposition.attachment().filename(name + "." + format.extension).build());
+        return ResponseEntity.ok().headers(headers).body(body.doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release));
+    }
+
+    /**
+     * Concatenates the pages of a keyset paged query, starting from the given keyset: each page is queried when the
+     * previous one completed, and a partial page is the last one.
+     */
+    static <T> Flux<T> findAllInChunks(Function<Keyset, Flux<T>> findAll, Keyset first) {
+        return Flux.defer(() -> {
+            AtomicReference<Keyset> next = new AtomicReference<>(first);
+            return Flux
+                .defer(() -> {
+                    Keyset keyset = next.getAndSet(null);
+                    AtomicInteger count = new AtomicInteger();
+                    AtomicReference<T> last = new AtomicReference<>();
+                    return findAll
+                        .apply(keyset)
+                        .doOnNext(element -> {
+                            count.incrementAndGet();
+                            last.set(element);
+                        })
+                        .doOnComplete(() -> {
+                            if (count.get() == keyset.getSize()) {
+                                next.set(keyset.next(last.get()));
+                            }
+                        });
+                })
+                .repeat(() -> next.get() != null);
+        });
+    }
+
+    private <T> Flux<DataBuffer> toNdjson(Flux<T> elements, Class<T> type, DataBufferFactory bufferFactory) {
+        // the buffer is still written to after the element, so the generator must not close it
+        ObjectWriter writer = objectMapper.writerFor(type).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return elements.map(element ->
+            write(
+                bufferFactory,
+                out -> {
+                    writer.writeValue(out, element);
+                    out.write(NEW_LINE);
+                }
+            )
+        );
+    }
+
+    private <T> Flux<DataBuffer> toCsv(Flux<T> elements, Class<T> type, DataBufferFactory bufferFactory) {
+        List<CsvColumn> columns = csvColumns.computeIfAbsent(type, EntityExporter::createCsvColumns);
+        String header = columns.stream().map(column -> escapeCsv(column.name)).collect(Collectors.joining(",", "", CSV_NEW_LINE));
+        return Mono
+            .fromCallable(() -> write(bufferFactory, out -> out.write(header.getBytes(StandardCharsets.UTF_8))))
+            .concatWith(
+                elements.map(element -> {
+                    StringBuilder line = new StringBuilder();
+                    for (int i = 0; i < columns.size(); i++) {
+                        if (i > 0) {
+                            line.append(',');
+                        }
+                        line.append(escapeCsv(columns.get(i).read(element)));
+                    }
+                    line.append(CSV_NEW_LINE);
+                    return write(bufferFactory, out -> out.write(line.toString().getBytes(StandardCharsets.UTF_8)));
+                })
+            );
+    }
+
+    private static DataBuffer write(DataBufferFactory bufferFactory, BufferWriter writer) {
+        DataBuffer buffer = bufferFactory.allocateBuffer();
+        boolean release = true;
+        try (OutputStream out = buffer.asOutputStream()) {
+            writer.write(out);
+            release = false;
+            return buffer;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode the exported element", e);
+        } finally {
+            if (release) {
+                DataBufferUtils.release(buffer);
+            }
+        }
+    }
+
+    /**
+     * Quotes a CSV value if it contains a separator, a quote or a line break, as of RFC 4180.
+     */
+    static String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * The CSV columns of a type are its properties of simple types, e.g. strings, numbers and dates, in the order of
+     * their declaration. Binary properties are not exported, and a relationship is exported as the id of the related
+     * element.
+     */
+    private static List<CsvColumn> createCsvColumns(Class<?> type) {
+        List<CsvColumn> columns = new ArrayList<>();
+        ReflectionUtils.doWithFields(
+            type,
+            field -> {
+                PropertyDescriptor property = BeanUtils.getPropertyDescriptor(type, field.getName());
+                if (property == null || property.getReadMethod() == null) {
+                    return;
+                }
+                Method getter = property.getReadMethod();
+                if (BeanUtils.isSimpleValueType(field.getType())) {
+                    columns.add(new CsvColumn(field.getName(), getter, null));
+                    return;
+                }
+                PropertyDescriptor id = BeanUtils.getPropertyDescriptor(field.getType(), "id");
+                if (id != null && id.getReadMethod() != null) {
+                    columns.add(new CsvColumn(field.getName() + ".id", getter, id.getReadMethod()));
+                }
+            },
+            field -> !Modifier.isStatic(field.getModifiers()) && !field.getType().isArray()
+        );
+        return columns;
+    }
+
+    @FunctionalInterface
+    private interface BufferWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private static class CsvColumn {
+
+        private final String name;
+
+        private final Method getter;
+
+        private final Method idGetter;
+
+        CsvColumn(String name, Method getter, Method idGetter) {
+            this.name = name;
+            this.getter = getter;
+            this.idGetter = idGetter;
+        }
+
+        Object read(Object element) {
+            Object value = ReflectionUtils.invokeMethod(getter, element);
+            return value != null && idGetter != null ? ReflectionUtils.invokeMethod(idGetter, value) : value;
+        }
+    }
+}
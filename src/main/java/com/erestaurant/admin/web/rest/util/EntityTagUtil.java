@@ -0,0 +1,116 @@
+package com.erestaurant.admin.web.rest.util;
+
+import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Utility class for the {@code ETag} of the entities, which is their version, see the {@code updated_entity} changelogs,
+ * and of the lists of entities.
+ * <p>
+ * The {@code ETag} of an entity is strong, as every update of the entity increments its version. A matching
+ * {@code If-None-Match} is answered with {@code 304 (Not Modified)}. An {@code If-Match} makes an update conditional: it
+ * only applies to the version of the tag, otherwise it is answered with {@code 412 (Precondition Failed)}, see the
+ * {@link com.erestaurant.admin.web.rest.errors.ExceptionTranslator}. As all the entities are versioned, an update must
+ * give the version it is based on, in the body or with an {@code If-Match}, see {@link #requireVersion(String, Long)}.
+ * <p>
+ * The {@code ETag} of a list is weak, it is the change tag of the entity type, see
+ * {@link com.erestaurant.admin.service.sequence.ChangeSequenceService}. It is checked before the entities are read, so a
+ * client polling a list which did not change costs no query.
+ */
+public final class EntityTagUtil {
+
+    private EntityTagUtil() {}
+
+    /**
+     * @param version the version of an entity.
+     * @return the {@code ETag} of the entity.
+     */
+    public static String toETag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * @param changeTag the change tag of an entity type.
+     * @return the {@code ETag} of the lists of entities of this type.
+     */
+    public static String toListETag(String changeTag) {
+        return "W/\"" + changeTag + "\"";
+    }
+
+    /**
+     * @param <X> the type of the body.
+     * @param eTag the {@code ETag} which the client has.
+     * @return the {@link ResponseEntity} with status {@code 304 (Not Modified)}.
+     */
+    public static <X> Mono<ResponseEntity<X>> notModified(String eTag) {
+        return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build());
+    }
+
+    /**
+     * Parse the version expected by an {@code If-Match} header.
+     *
+     * @param ifMatch the {@code If-Match} header, or null.
+     * @return the version, or empty if there is no header or if it matches any version.
+     * @throws ResponseStatusException with status {@code 412 (Precondition Failed)} if the header can't match the tag of
+     * a version, e.g. it is a weak tag.
+     */
+    public static Optional<Long> parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return Optional.empty();
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Optional.of(Long.valueOf(tag.substring(1, tag.length() - 1)));
+            } catch (NumberFormatException e) {
+                // not the tag of a version
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match does not match the version of the entity");
+    }
+
+    /**
+     * Resolve the version an update applies to, so that concurrent updates of an entity can't overwrite each other.
+     *
+     * @param ifMatch the {@code If-Match} header, or null.
+     * @param version the version given in the body of the update, or null.
+     * @return the version of the {@code If-Match} header if any, otherwise the version of the body, which is null if the
+     * header explicitly matches any version with {@code *}.
+     * @throws ResponseStatusException with status {@code 428 (Precondition Required)} if there is neither a header nor
+     * a version, or with status {@code 412 (Precondition Failed)} if the header can't match the tag of a version.
+     */
+    public static Long requireVersion(String ifMatch, Long version) {
+        if (ifMatch == null && version == null) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_REQUIRED, "The version of the entity or If-Match is required");
+        }
+        return parseIfMatch(ifMatch).orElse(version);
+    }
+
+    /**
+     * Wrap an entity into a {@link ResponseEntity} with its {@code ETag}, or signal {@code 404 (Not Found)}.
+     *
+     * @param <X> the type of the entity.
+     * @param maybeResponse the entity, or empty if not found.
+     * @param version the version of the entity.
+     * @param exchange the current exchange, for the conditional request headers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the entity in body, or with status
+     * {@code 304 (Not Modified)} if the client has this version, or a {@link ResponseStatusException} with status
+     * {@code 404 (Not Found)}.
+     */
+    public static <X> Mono<ResponseEntity<X>> wrapOrNotFound(Mono<X> maybeResponse, Function<X, Long> version, ServerWebExchange exchange) {
+        return maybeResponse
+            .map(response -> {
+                String eTag = toETag(version.apply(response));
+                if (exchange.checkNotModified(eTag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<X>build();
+                }
+                return ResponseEntity.ok().eTag(eTag).body(response);
+            })
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)));
+    }
+}
@@ -0,0 +1,62 @@
+package com.erestaurant.admin.web.rest.util;
+
+import com.erestaurant.admin.repository.Keyset;
+import com.erestaurant.admin.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (cursor based) pagination.
+ * <p>
+ * The continuation token of the next page is returned in the {@code X-Next-Cursor} header and as a {@code next}
+ * link in the {@code Link} header, which is omitted on the last page.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String HEADER_X_NEXT_CURSOR = "X-Next-Cursor";
+
+    private static final String CURSOR_PARAM = "cursor";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Parses the cursor request parameters.
+     *
+     * @param cursor the continuation token, or null or empty for the first page.
+     * @param size the size of the page.
+     * @param sort the sort order of the first page.
+     * @param entityName the name of the entity, used for the error alert.
+     * @return the keyset to continue from.
+     * @throws BadRequestAlertException if the cursor or the size is invalid.
+     */
+    public static Keyset parseKeyset(String cursor, int size, Sort sort, String entityName) {
+        try {
+            return Keyset.of(size, sort, cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", entityName, "cursorinvalid");
+        }
+    }
+
+    /**
+     * Generate the pagination headers for a page fetched with a {@link Keyset}.
+     *
+     * @param uriBuilder a {@link UriComponentsBuilder} object.
+     * @param keyset the keyset the page was fetched with.
+     * @param page the elements of the page, either entities or DTOs.
+     * @return the {@link HttpHeaders}.
+     */
+    public static HttpHeaders generateKeysetHttpHeaders(UriComponentsBuilder uriBuilder, Keyset keyset, List<?> page) {
+        HttpHeaders headers = new HttpHeaders();
+        // a partial page is the last one
+        if (page.size() < keyset.getSize()) {
+            return headers;
+        }
+        String token = keyset.next(page.get(page.size() - 1)).getToken();
+        headers.add(HEADER_X_NEXT_CURSOR, token);
+        String link = uriBuilder.replaceQueryParam(CURSOR_PARAM, token).replaceQueryParam("sort").toUriString();
+        headers.add(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+        return headers;
+    }
+}
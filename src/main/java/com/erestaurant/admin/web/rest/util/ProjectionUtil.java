@@ -0,0 +1,37 @@
+package com.erestaurant.admin.web.rest.util;
+
+import com.erestaurant.admin.repository.Projection;
+import com.erestaurant.admin.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Utility class for the {@code fields} request parameter, which selects the fields returned by the list endpoints.
+ */
+public final class ProjectionUtil {
+
+    private ProjectionUtil() {}
+
+    /**
+     * Parses the {@code fields} request parameter.
+     *
+     * @param fields the requested fields, or null for the default projection of the list endpoint.
+     * @param supportedFields the fields which may be requested, besides the id and the version.
+     * @param defaultProjection the projection of the list endpoint.
+     * @param entityName the name of the entity, used for the error alert.
+     * @return the projection.
+     * @throws BadRequestAlertException if a field is not supported.
+     */
+    public static Projection parseProjection(
+        List<String> fields,
+        Set<String> supportedFields,
+        Projection defaultProjection,
+        String entityName
+    ) {
+        try {
+            return Projection.parse(fields, supportedFields, defaultProjection);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid field", entityName, "fieldinvalid");
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.erestaurant.admin.web.rest.util;
+
+import com.erestaurant.admin.service.feed.ChangeFeedEvent;
+import java.time.Duration;
+import java.util.Locale;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Utility class for the streams of server-sent events, e.g. of the changes of the entities.
+ * <p>
+ * Every event of a change is named after its operation, e.g. {@code updated}, or {@code reset} when the client missed changes and
+ * has to read the entities again, and has the change in its data. Its id is sent back by the client as
+ * {@code Last-Event-ID} when it reconnects, e.g. after it was disconnected for being too slow, to resume after it.
+ */
+public final class ServerSentEventUtil {
+
+    public static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private static final String RESET = "reset";
+
+    private ServerSentEventUtil() {}
+
+    /**
+     * Convert changes to server-sent events, with a heartbeat comment at the start and in between.
+     *
+     * @param changes the changes.
+     * @param heartbeat the interval of the heartbeat comments.
+     * @return the server-sent events, completing with the changes.
+     */
+    public static Flux<ServerSentEvent<ChangeFeedEvent>> toServerSentEvents(Flux<ChangeFeedEvent> changes, Duration heartbeat) {
+        return withHeartbeat(changes.map(ServerSentEventUtil::toServerSentEvent), heartbeat);
+    }
+
+    /**
+     * Add a heartbeat comment at the start of server-sent events and in between. The first heartbeat is sent right away,
+     * so the client gets the response headers before the first event. The heartbeats are skipped while the client is
+     * behind.
+     *
+     * @param <T> the type of the data of the events.
+     * @param events the server-sent events.
+     * @param heartbeat the interval of the heartbeat comments.
+     * @return the server-sent events with the heartbeats, completing with the events.
+     */
+    public static <T> Flux<ServerSentEvent<T>> withHeartbeat(Flux<ServerSentEvent<T>> events, Duration heartbeat) {
+        return Flux.defer(() -> {
+            Sinks.Empty<Void> done = Sinks.empty();
+            Flux<ServerSentEvent<T>> heartbeats = Flux
+                .interval(Duration.ZERO, heartbeat)
+                .onBackpressureDrop()
+                .map(tick -> ServerSentEvent.<T>builder().comment("heartbeat").build())
+                .takeUntilOther(done.asMono());
+            return events.doFinally(signal -> done.tryEmitEmpty()).mergeWith(heartbeats);
+        });
+    }
+
+    private static ServerSentEvent<ChangeFeedEvent> toServerSentEvent(ChangeFeedEvent change) {
+        return ServerSentEvent
+            .builder(change)
+            .id(change.getEventId())
+            .event(change.isReset() ? RESET : change.getOperation().name().toLowerCase(Locale.ROOT))
+            .build();
+    }
+}
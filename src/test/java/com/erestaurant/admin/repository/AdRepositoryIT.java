@@ -0,0 +1,129 @@
+package com.erestaurant.admin.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.erestaurant.admin.IntegrationTest;
+import com.erestaurant.admin.domain.Ad;
+import com.erestaurant.admin.repository.rowmapper.AdRowMapper;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Integration tests for the statements generated by {@link AdRepositoryInternalImpl}.
+ */
+@IntegrationTest
+class AdRepositoryIT {
+
+    @Autowired
+    private AdRepository adRepository;
+
+    @Autowired
+    private R2dbcEntityTemplate template;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private AdRowMapper adRowMapper;
+
+    @Autowired
+    private R2dbcConverter converter;
+
+    private DatabaseClient db;
+
+    private AdRepositoryInternalImpl repository;
+
+    @BeforeEach
+    public void initTest() {
+        em.deleteAll(Ad.class).block();
+        for (String id : List.of("ad-1", "ad-2")) {
+            Ad ad = new Ad().url("http://" + id).description(id);
+            ad.setId(id);
+            adRepository.save(ad).block();
+        }
+        // record the SQL text of the statements sent through the database client of the repository
+        db = spy(template.getDatabaseClient());
+        R2dbcEntityTemplate spiedTemplate = spy(template);
+        doReturn(db).when(spiedTemplate).getDatabaseClient();
+        repository = new AdRepositoryInternalImpl(spiedTemplate, em, adRowMapper, template, converter);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        em.deleteAll(Ad.class).block();
+    }
+
+    @Test
+    void findByIdUsesTheSameStatementForAllIds() {
+        assertThat(repository.findById("ad-1").block()).extracting(Ad::getDescription).isEqualTo("ad-1");
+        assertThat(repository.findById("ad-2").block()).extracting(Ad::getDescription).isEqualTo("ad-2");
+        assertThat(repository.findById("unknown").block()).isNull();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(db, times(3)).sql(sql.capture());
+        assertThat(sql.getAllValues()).containsOnly(sql.getValue());
+        assertThat(sql.getValue()).doesNotContain("ad-1", "ad-2", "unknown");
+    }
+
+    @Test
+    void updateNonNullWritesOnlyTheNonNullColumns() {
+        Ad patch = new Ad().description("patched");
+        patch.setId("ad-1");
+
+        assertThat(adRepository.updateNonNull(patch).block()).isEqualTo(1);
+
+        Ad ad = adRepository.findById("ad-1").block();
+        assertThat(ad.getDescription()).isEqualTo("patched");
+        assertThat(ad.getUrl()).isEqualTo("http://ad-1");
+    }
+
+    @Test
+    void updateWritesAllTheColumns() {
+        Ad update = new Ad().url("http://updated");
+        update.setId("ad-1");
+
+        assertThat(adRepository.update(update).block()).isEqualTo(1);
+
+        Ad ad = adRepository.findById("ad-1").block();
+        assertThat(ad.getUrl()).isEqualTo("http://updated");
+        assertThat(ad.getDescription()).isNull();
+    }
+
+    @Test
+    void updateOfAnUnknownIdUpdatesNoRow() {
+        Ad update = new Ad().url("http://unknown");
+        update.setId("unknown");
+
+        assertThat(adRepository.update(update).block()).isZero();
+        assertThat(adRepository.updateNonNull(update).block()).isZero();
+        assertThat(adRepository.updateNonNull(new Ad().id("ad-2")).block()).isEqualTo(1);
+        assertThat(adRepository.count().block()).isEqualTo(2);
+    }
+
+    @Test
+    void updateChecksTheVersionOfTheEntity() {
+        Ad ad = adRepository.findById("ad-1").block();
+        assertThat(ad.getVersion()).isZero();
+
+        assertThat(adRepository.update(ad.description("updated")).block()).isEqualTo(1);
+        assertThat(ad.getVersion()).isEqualTo(1L);
+
+        Ad stale = new Ad().id("ad-1").url("http://stale").version(0L);
+        assertThatExceptionOfType(OptimisticLockingFailureException.class).isThrownBy(() -> adRepository.update(stale).block());
+        assertThat(adRepository.updateNonNull(new Ad().id("unknown").version(0L)).block()).isZero();
+        assertThat(adRepository.findById("ad-1").block()).extracting(Ad::getUrl, Ad::getVersion).containsExactly("http://ad-1", 1L);
+    }
+}
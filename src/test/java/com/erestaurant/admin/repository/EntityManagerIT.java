@@ -0,0 +1,126 @@
+package com.erestaurant.admin.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.erestaurant.admin.IntegrationTest;
+import com.erestaurant.admin.domain.Authority;
+import com.erestaurant.admin.domain.Role;
+import com.erestaurant.admin.domain.User;
+import com.erestaurant.admin.security.AuthoritiesConstants;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
+import org.springframework.data.relational.core.sql.Table;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Integration tests for {@link EntityManager}, the link table methods use the user authorities as link table.
+ */
+@IntegrationTest
+class EntityManagerIT {
+
+    private static final EntityManager.LinkTable USER_AUTHORITY = new EntityManager.LinkTable(
+        "jhi_user_authority",
+        "user_id",
+        "authority_name"
+    );
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @Autowired
+    private DatabaseClient db;
+
+    private User user;
+
+    @BeforeEach
+    public void initTest() {
+        for (String name : List.of(AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER)) {
+            Authority authority = new Authority();
+            authority.setName(name);
+            authorityRepository.findById(name).switchIfEmpty(authorityRepository.save(authority)).block();
+        }
+        userRepository.deleteAllUserAuthorities().block();
+        userRepository.deleteAll().block();
+        user = new User();
+        user.setId(UUID.randomUUID().toString());
+        user.setLogin("link-table");
+        user.setActivated(true);
+        userRepository.create(user).block();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        userRepository.deleteAllUserAuthorities().block();
+        userRepository.deleteAll().block();
+    }
+
+    @Test
+    void updateLinkTableReplacesAllLinks() {
+        assertThat(em.updateLinkTable(USER_AUTHORITY, user.getId(), Stream.of(AuthoritiesConstants.USER)).block()).isEqualTo(1);
+
+        Integer inserted = em
+            .updateLinkTable(USER_AUTHORITY, user.getId(), Stream.of(AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER))
+            .block();
+
+        assertThat(inserted).isEqualTo(2);
+        assertThat(countLinks()).isEqualTo(2);
+    }
+
+    @Test
+    void mergeLinkTableWritesOnlyTheChanges() {
+        em.updateLinkTable(USER_AUTHORITY, user.getId(), Stream.of(AuthoritiesConstants.USER)).block();
+
+        assertThat(em.mergeLinkTable(USER_AUTHORITY, user.getId(), Stream.of(AuthoritiesConstants.USER)).block()).isZero();
+        assertThat(em.mergeLinkTable(USER_AUTHORITY, user.getId(), Stream.of(AuthoritiesConstants.ADMIN)).block()).isEqualTo(2);
+        assertThat(countLinks()).isEqualTo(1);
+        assertThat(em.mergeLinkTable(USER_AUTHORITY, user.getId(), Stream.empty()).block()).isEqualTo(1);
+        assertThat(countLinks()).isZero();
+    }
+
+    @Test
+    void createSelectRendersEachShapeOnce() {
+        AtomicInteger builds = new AtomicInteger();
+        Table table = Table.aliased("role", EntityManager.ENTITY_ALIAS);
+        Supplier<SelectFromAndJoin> selectFrom = () -> {
+            builds.incrementAndGet();
+            return Select.builder().select(RoleSqlHelper.getColumns(table, EntityManager.ENTITY_ALIAS)).from(table);
+        };
+
+        String firstPage = em.createSelect("test", selectFrom, Role.class, PageRequest.of(0, 10, Sort.by("id")), null);
+        String secondPage = em.createSelect("test", selectFrom, Role.class, PageRequest.of(3, 20, Sort.by("id")), null);
+
+        assertThat(secondPage).isSameAs(firstPage);
+        assertThat(builds).hasValue(1);
+
+        assertThat(em.createSelect("test", selectFrom, Role.class, PageRequest.of(0, 10, Sort.by("description")), null))
+            .isNotEqualTo(firstPage);
+        assertThat(em.createSelect("test", selectFrom, Role.class, null, null)).isNotEqualTo(firstPage);
+        assertThat(builds).hasValue(3);
+    }
+
+    private long countLinks() {
+        return db
+            .sql("SELECT COUNT(*) FROM jhi_user_authority WHERE user_id = :userId")
+            .bind("userId", user.getId())
+            .map(row -> row.get(0, Long.class))
+            .one()
+            .block();
+    }
+}
@@ -0,0 +1,67 @@
+package com.erestaurant.admin.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.erestaurant.admin.domain.Discount;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Test class for the {@link Keyset} continuation tokens.
+ */
+class KeysetTest {
+
+    @Test
+    void firstPageIsSortedByIdByDefault() {
+        Keyset keyset = Keyset.of(10, Sort.unsorted(), null);
+
+        assertThat(keyset.isFirst()).isTrue();
+        assertThat(keyset.isSortedById()).isTrue();
+        assertThat(keyset.getOrder()).isEqualTo(Sort.Order.asc("id"));
+        assertThat(keyset.getToken()).isNull();
+    }
+
+    @Test
+    void tokenRoundTrip() {
+        Discount last = new Discount().id("discount-2").code("code.with|separators").percentage(2.5F);
+        Keyset next = Keyset.first(2, Sort.by(Sort.Direction.DESC, "percentage")).next(last);
+
+        Keyset parsed = Keyset.of(2, Sort.by("code"), next.getToken());
+
+        assertThat(parsed).isEqualTo(next);
+        assertThat(parsed.isFirst()).isFalse();
+        assertThat(parsed.getOrder()).isEqualTo(Sort.Order.desc("percentage"));
+        assertThat(parsed.getLastValue()).isEqualTo("2.5");
+        assertThat(parsed.getLastId()).isEqualTo("discount-2");
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        Discount last = new Discount().id("a/b+c=d?").code("é & ü");
+        String token = Keyset.first(2, Sort.by("code")).next(last).getToken();
+
+        assertThat(token).matches("[A-Za-z0-9_.-]+");
+    }
+
+    @Test
+    void afterIdIsSortedById() {
+        Keyset keyset = Keyset.after(10, "discount-2");
+
+        assertThat(keyset.isFirst()).isFalse();
+        assertThat(keyset.isSortedById()).isTrue();
+        assertThat(keyset.getLastId()).isEqualTo("discount-2");
+        assertThat(Keyset.after(10, "")).isEqualTo(Keyset.first(10, Sort.unsorted()));
+    }
+
+    @Test
+    void malformedTokenIsRejected() {
+        assertThatThrownBy(() -> Keyset.of(2, Sort.unsorted(), "not-a-token")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Keyset.of(2, Sort.unsorted(), "a.a.%%.a")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void sizeMustBePositive() {
+        assertThatThrownBy(() -> Keyset.first(0, Sort.unsorted())).isInstanceOf(IllegalArgumentException.class);
+    }
+}
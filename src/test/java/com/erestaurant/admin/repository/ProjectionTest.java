@@ -0,0 +1,60 @@
+package com.erestaurant.admin.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.relational.core.sql.Table;
+
+/**
+ * Test class for the {@link Projection} of the list queries.
+ */
+class ProjectionTest {
+
+    @Test
+    void defaultProjectionIfNoFieldIsRequested() {
+        assertThat(Projection.parse(null, AdminSqlHelper.FIELDS, AdminSqlHelper.SUMMARY)).isSameAs(AdminSqlHelper.SUMMARY);
+        assertThat(Projection.parse(List.of(), AdminSqlHelper.FIELDS, AdminSqlHelper.SUMMARY)).isSameAs(AdminSqlHelper.SUMMARY);
+    }
+
+    @Test
+    void alwaysIncludesTheId() {
+        Projection projection = Projection.parse(List.of("email", "id", "name"), AdminSqlHelper.FIELDS, AdminSqlHelper.SUMMARY);
+
+        assertThat(projection).isEqualTo(Projection.of("name", "email"));
+        assertThat(projection.includes("id")).isTrue();
+        assertThat(projection.includes("description")).isFalse();
+        assertThat(projection.getKey()).isEqualTo("email,name");
+    }
+
+    @Test
+    void alwaysIncludesTheVersion() {
+        Projection projection = Projection.parse(List.of("name", "version"), AdminSqlHelper.FIELDS, AdminSqlHelper.SUMMARY);
+
+        assertThat(projection).isEqualTo(Projection.of("name"));
+        assertThat(projection.includes("version")).isTrue();
+    }
+
+    @Test
+    void allFieldsAreTheFullProjection() {
+        assertThat(Projection.parse(List.copyOf(AdminSqlHelper.FIELDS), AdminSqlHelper.FIELDS, AdminSqlHelper.SUMMARY))
+            .isSameAs(Projection.ALL);
+    }
+
+    @Test
+    void failsOnUnsupportedFields() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> Projection.parse(List.of("name", "image"), AdminSqlHelper.FIELDS, AdminSqlHelper.SUMMARY))
+            .withMessageContaining("image");
+    }
+
+    @Test
+    void selectsTheColumnsOfTheProjection() {
+        Table table = Table.aliased("admin", "e");
+
+        assertThat(AdminSqlHelper.getColumns(table, "e", Projection.of("name", "email"))).hasSize(4);
+        assertThat(AdminSqlHelper.getColumns(table, "e", AdminSqlHelper.SUMMARY)).hasSize(9);
+        assertThat(AdminSqlHelper.getColumns(table, "e")).hasSize(10);
+    }
+}
@@ -0,0 +1,138 @@
+package com.erestaurant.admin.repository.rowmapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+
+/**
+ * Unit tests for {@link RowReader}.
+ */
+class RowReaderTest {
+
+    enum Status {
+        ACTIVE,
+        INACTIVE,
+    }
+
+    private RowReader.Column<String> name;
+    private RowReader.Column<Status> status;
+    private RowReader reader;
+
+    @BeforeEach
+    public void init() {
+        ColumnConverter converter = new ColumnConverter(
+            R2dbcCustomConversions.of(H2Dialect.INSTANCE, List.of()),
+            new MappingR2dbcConverter(new R2dbcMappingContext())
+        );
+        RowReader.Builder builder = RowReader.builder(converter);
+        name = builder.column("name", String.class);
+        status = builder.column("status", Status.class);
+        reader = builder.build();
+    }
+
+    private static RowMetadata createMetadata(String... columnNames) {
+        List<ColumnMetadata> columnMetadatas = Stream
+            .of(columnNames)
+            .map(columnName -> {
+                ColumnMetadata columnMetadata = mock(ColumnMetadata.class);
+                when(columnMetadata.getName()).thenReturn(columnName);
+                return columnMetadata;
+            })
+            .collect(Collectors.toList());
+        RowMetadata metadata = mock(RowMetadata.class);
+        doReturn(columnMetadatas).when(metadata).getColumnMetadatas();
+        return metadata;
+    }
+
+    @Test
+    void readsTheColumnsByIndex() {
+        RowMetadata metadata = createMetadata("E_ID", "E_STATUS", "E_NAME");
+        Row row = mock(Row.class);
+        when(row.get(2, String.class)).thenReturn("john");
+        when(row.get(1)).thenReturn("ACTIVE");
+
+        RowReader.Columns columns = reader.columns(metadata, "e");
+
+        assertThat(columns.get(row, name)).isEqualTo("john");
+        assertThat(columns.get(row, status)).isEqualTo(Status.ACTIVE);
+    }
+
+    @Test
+    void resolvesTheColumnsOncePerLayout() {
+        RowMetadata metadata = createMetadata("e_name", "e_status", "other_name", "other_status");
+
+        RowReader.Columns columns = reader.columns(metadata, "e");
+
+        assertThat(reader.columns(metadata, "e")).isSameAs(columns);
+        assertThat(reader.columns(metadata, "other")).isNotSameAs(columns);
+        assertThat(reader.columns(createMetadata("e_name", "e_status"), "e")).isNotSameAs(columns);
+        assertThat(reader.columns(createMetadata("e_name", "e_status", "other_name", "other_status"), "e")).isSameAs(columns);
+        verify(metadata, times(2)).getColumnMetadatas();
+    }
+
+    @Test
+    void queriesOfAnotherLayoutDoNotEvictTheResolution() {
+        RowMetadata full = createMetadata("e_name", "e_status", "e_description");
+        RowMetadata summary = createMetadata("e_name", "e_status");
+
+        RowReader.Columns fullColumns = reader.columns(full, "e");
+        RowReader.Columns summaryColumns = reader.columns(summary, "e");
+
+        assertThat(reader.columns(createMetadata("e_name", "e_status", "e_description"), "e")).isSameAs(fullColumns);
+        assertThat(reader.columns(createMetadata("e_name", "e_status"), "e")).isSameAs(summaryColumns);
+        assertThat(summaryColumns).isNotSameAs(fullColumns);
+    }
+
+    @Test
+    void convertsFromThenOnWhenTheDriverCannotReadTheType() {
+        RowMetadata metadata = createMetadata("e_name", "e_status");
+        Row row = mock(Row.class);
+        when(row.get(0, String.class)).thenThrow(new IllegalArgumentException("unsupported"));
+        when(row.get(0)).thenReturn(new StringBuilder("john"));
+
+        RowReader.Columns columns = reader.columns(metadata, "e");
+
+        assertThat(columns.get(row, name)).isEqualTo("john");
+        assertThat(columns.get(row, name)).isEqualTo("john");
+        verify(row, times(1)).get(0, String.class);
+    }
+
+    @Test
+    void failsOnMissingColumns() {
+        RowMetadata metadata = createMetadata("e_name");
+
+        assertThatIllegalArgumentException().isThrownBy(() -> reader.columns(metadata, "e")).withMessageContaining("e_status");
+    }
+
+    @Test
+    void readsMissingOptionalColumnsAsNull() {
+        RowReader.Builder builder = RowReader.builder(mock(ColumnConverter.class));
+        RowReader.Column<String> id = builder.column("id", String.class);
+        RowReader.Column<String> description = builder.optionalColumn("description", String.class);
+        RowReader optionalReader = builder.build();
+        Row row = mock(Row.class);
+        when(row.get(0, String.class)).thenReturn("1");
+
+        RowReader.Columns columns = optionalReader.columns(createMetadata("e_id"), "e");
+
+        assertThat(columns.get(row, id)).isEqualTo("1");
+        assertThat(columns.get(row, description)).isNull();
+    }
+}
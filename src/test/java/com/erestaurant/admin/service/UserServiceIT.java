@@ -9,21 +9,25 @@ import static org.mockito.Mockito.when;
 
 import com.erestaurant.admin.IntegrationTest;
 import com.erestaurant.admin.config.Constants;
+import com.erestaurant.admin.domain.Authority;
 import com.erestaurant.admin.domain.User;
+import com.erestaurant.admin.repository.AuthorityRepository;
 import com.erestaurant.admin.repository.UserRepository;
 import com.erestaurant.admin.repository.search.UserSearchRepository;
 import com.erestaurant.admin.security.AuthoritiesConstants;
 import com.erestaurant.admin.service.dto.AdminUserDTO;
 import java.time.ZoneOffset;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -53,6 +57,9 @@ class UserServiceIT {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
     @Autowired
     private UserService userService;
 
@@ -156,8 +163,83 @@ class UserServiceIT {
         assertThat(userDTO.getLangKey()).isEqualTo("en");
     }
 
+    @Test
+    void assertThatManagedUsersArePagedAndSortedWithTheirAuthorities() {
+        for (String login : List.of("user-a", "user-b", "user-c")) {
+            Map<String, Object> details = new HashMap<>(userDetails);
+            details.put("sub", login);
+            details.put("email", login + "@localhost");
+            userService.getUserFromAuthentication(createMockOAuth2AuthenticationToken(details)).block();
+        }
+
+        List<AdminUserDTO> users = userService
+            .getAllManagedUsers(PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "login")))
+            .collectList()
+            .block();
+
+        assertThat(users).extracting(AdminUserDTO::getLogin).containsExactly("user-c", "user-b");
+        assertThat(users).allSatisfy(userDTO -> assertThat(userDTO.getAuthorities()).containsExactly(AuthoritiesConstants.ANONYMOUS));
+
+        List<AdminUserDTO> lastPage = userService
+            .getAllManagedUsers(PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "login")))
+            .collectList()
+            .block();
+
+        assertThat(lastPage).extracting(AdminUserDTO::getLogin).containsExactly("user-a");
+    }
+
+    @Test
+    void assertThatAuthoritiesAreSyncedOnLogin() {
+        userService.getUserFromAuthentication(createMockOAuth2AuthenticationToken(userDetails)).block();
+        assertThat(getPersistedAuthorities()).containsExactly(AuthoritiesConstants.ANONYMOUS);
+
+        userService
+            .getUserFromAuthentication(
+                createMockOAuth2AuthenticationToken(userDetails, AuthoritiesConstants.ANONYMOUS, AuthoritiesConstants.USER)
+            )
+            .block();
+        assertThat(getPersistedAuthorities()).containsExactlyInAnyOrder(AuthoritiesConstants.ANONYMOUS, AuthoritiesConstants.USER);
+        assertThat(authorityRepository.findById(AuthoritiesConstants.USER).block()).isNotNull();
+
+        userService.getUserFromAuthentication(createMockOAuth2AuthenticationToken(userDetails, AuthoritiesConstants.USER)).block();
+        assertThat(getPersistedAuthorities()).containsExactly(AuthoritiesConstants.USER);
+    }
+
+    @Test
+    void assertThatRepeatedLoginDoesNotUpdateTheUser() {
+        userService.getUserFromAuthentication(createMockOAuth2AuthenticationToken(userDetails)).block();
+        User persistedUser = userRepository.findOneByLogin(DEFAULT_LOGIN).block();
+        Long authorityCount = authorityRepository.count().block();
+
+        userService.getUserFromAuthentication(createMockOAuth2AuthenticationToken(userDetails)).block();
+
+        User userAfterLogin = userRepository.findOneByLogin(DEFAULT_LOGIN).block();
+        assertThat(userAfterLogin.getLastModifiedDate()).isEqualTo(persistedUser.getLastModifiedDate());
+        assertThat(userAfterLogin.getLastModifiedBy()).isEqualTo(persistedUser.getLastModifiedBy());
+        assertThat(authorityRepository.count().block()).isEqualTo(authorityCount);
+        assertThat(getPersistedAuthorities()).containsExactly(AuthoritiesConstants.ANONYMOUS);
+        verify(mockUserSearchRepository, never()).save(any());
+    }
+
+    private List<String> getPersistedAuthorities() {
+        return userRepository
+            .findOneWithAuthoritiesByLogin(DEFAULT_LOGIN)
+            .block()
+            .getAuthorities()
+            .stream()
+            .map(Authority::getName)
+            .collect(Collectors.toList());
+    }
+
     private OAuth2AuthenticationToken createMockOAuth2AuthenticationToken(Map<String, Object> userDetails) {
-        Collection<GrantedAuthority> authorities = Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.ANONYMOUS));
+        return createMockOAuth2AuthenticationToken(userDetails, AuthoritiesConstants.ANONYMOUS);
+    }
+
+    private OAuth2AuthenticationToken createMockOAuth2AuthenticationToken(Map<String, Object> userDetails, String... authorityNames) {
+        Collection<GrantedAuthority> authorities = Arrays
+            .stream(authorityNames)
+            .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+            .collect(Collectors.toList());
         UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
             "anonymous",
             "anonymous",
@@ -0,0 +1,85 @@
+package com.erestaurant.admin.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.erestaurant.admin.config.ApplicationProperties;
+import com.erestaurant.admin.domain.Authority;
+import com.erestaurant.admin.domain.User;
+import com.erestaurant.admin.security.AuthoritiesConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link UserSyncCache}.
+ */
+class UserSyncCacheTest {
+
+    private static final String SUBJECT = "johndoe";
+
+    private MeterRegistry meterRegistry;
+    private ApplicationProperties applicationProperties;
+    private UserSyncCache userSyncCache;
+
+    @BeforeEach
+    public void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        applicationProperties = new ApplicationProperties();
+        userSyncCache = new UserSyncCache(applicationProperties, meterRegistry);
+    }
+
+    private static User createUser(String... authorityNames) {
+        User user = new User();
+        user.setId(SUBJECT);
+        user.setLogin(SUBJECT);
+        user.setEmail("johndoe@localhost");
+        user.setFirstName("john");
+        user.setActivated(true);
+        Set<Authority> authorities = new HashSet<>();
+        for (String name : authorityNames) {
+            Authority authority = new Authority();
+            authority.setName(name);
+            authorities.add(authority);
+        }
+        user.setAuthorities(authorities);
+        return user;
+    }
+
+    private double syncs(String result) {
+        return meterRegistry.get("user.sync").tag("result", result).counter().count();
+    }
+
+    @Test
+    void unchangedUserShouldBeSynced() {
+        assertThat(userSyncCache.isSynced(SUBJECT, createUser(AuthoritiesConstants.USER))).isFalse();
+        userSyncCache.putAfterCommit(SUBJECT, createUser(AuthoritiesConstants.USER)).block();
+
+        assertThat(userSyncCache.isSynced(SUBJECT, createUser(AuthoritiesConstants.USER))).isTrue();
+        assertThat(syncs("performed")).isEqualTo(1);
+        assertThat(syncs("avoided")).isEqualTo(1);
+    }
+
+    @Test
+    void changedUserShouldNotBeSynced() {
+        userSyncCache.putAfterCommit(SUBJECT, createUser(AuthoritiesConstants.USER)).block();
+
+        User renamed = createUser(AuthoritiesConstants.USER);
+        renamed.setFirstName("jane");
+        assertThat(userSyncCache.isSynced(SUBJECT, renamed)).isFalse();
+        assertThat(userSyncCache.isSynced(SUBJECT, createUser(AuthoritiesConstants.USER, AuthoritiesConstants.ADMIN))).isFalse();
+        assertThat(userSyncCache.isSynced("janedoe", createUser(AuthoritiesConstants.USER))).isFalse();
+        assertThat(syncs("performed")).isEqualTo(3);
+    }
+
+    @Test
+    void disabledCacheShouldNeverBeSynced() {
+        applicationProperties.getUserSync().setEnabled(false);
+        userSyncCache = new UserSyncCache(applicationProperties, new SimpleMeterRegistry());
+        userSyncCache.putAfterCommit(SUBJECT, createUser(AuthoritiesConstants.USER)).block();
+
+        assertThat(userSyncCache.isSynced(SUBJECT, createUser(AuthoritiesConstants.USER))).isFalse();
+    }
+}
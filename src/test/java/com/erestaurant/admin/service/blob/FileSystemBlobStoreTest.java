@@ -0,0 +1,60 @@
+package com.erestaurant.admin.service.blob;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+/**
+ * Unit tests for {@link FileSystemBlobStore}.
+ */
+class FileSystemBlobStoreTest {
+
+    private static final byte[] CONTENT = "content".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path directory;
+
+    private FileSystemBlobStore blobStore;
+
+    @BeforeEach
+    public void init() {
+        blobStore = new FileSystemBlobStore(directory);
+    }
+
+    @Test
+    void testPutAndGet() throws Exception {
+        Blob blob = blobStore.put(CONTENT).block();
+
+        assertThat(blob).isEqualTo(Blob.of(CONTENT));
+        assertThat(blob.getSize()).isEqualTo(CONTENT.length);
+        Resource resource = blobStore.get(blob.getHash()).block();
+        assertThat(resource).isNotNull();
+        assertThat(resource.getInputStream().readAllBytes()).isEqualTo(CONTENT);
+        assertThat(resource.getFile().toPath()).startsWith(directory.resolve(blob.getHash().substring(0, 2)));
+    }
+
+    @Test
+    void testPutSameContentTwice() throws Exception {
+        Blob blob = blobStore.put(CONTENT).block();
+        Blob sameBlob = blobStore.put(CONTENT).block();
+
+        assertThat(sameBlob).isEqualTo(blob);
+        try (Stream<Path> files = Files.walk(directory)) {
+            assertThat(files.filter(Files::isRegularFile)).hasSize(1);
+        }
+    }
+
+    @Test
+    void testGetMissingOrInvalidHash() {
+        assertThat(blobStore.get(Blob.of(CONTENT).getHash()).block()).isNull();
+        assertThat(blobStore.get("../../etc/passwd").block()).isNull();
+        assertThat(blobStore.get(null).block()).isNull();
+    }
+}
@@ -0,0 +1,129 @@
+package com.erestaurant.admin.service.broadcast;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.erestaurant.admin.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Unit tests for {@link MessageBroadcaster}.
+ */
+class MessageBroadcasterTest {
+
+    private ApplicationProperties applicationProperties;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void init() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getKafkaSse().setBufferSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private MessageBroadcaster createBroadcaster(ApplicationProperties.KafkaSse.OverflowPolicy overflowPolicy) {
+        applicationProperties.getKafkaSse().setOverflowPolicy(overflowPolicy);
+        return new MessageBroadcaster(applicationProperties, meterRegistry);
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    @Test
+    void messagesShouldBeBroadcastToEverySubscriber() {
+        MessageBroadcaster messageBroadcaster = createBroadcaster(ApplicationProperties.KafkaSse.OverflowPolicy.DROP_OLDEST);
+        messageBroadcaster.broadcast("before");
+
+        List<String> first = new CopyOnWriteArrayList<>();
+        List<String> second = new CopyOnWriteArrayList<>();
+        messageBroadcaster.subscribe().take(2).subscribe(first::add);
+        messageBroadcaster.subscribe().take(2).subscribe(second::add);
+        assertThat(gauge("kafka.sse.subscribers")).isEqualTo(2);
+        messageBroadcaster.broadcast("message-1");
+        messageBroadcaster.broadcast("message-2");
+
+        assertThat(first).containsExactly("message-1", "message-2");
+        assertThat(second).containsExactly("message-1", "message-2");
+        assertThat(gauge("kafka.sse.subscribers")).isZero();
+        assertThat(gauge("kafka.sse.buffered")).isZero();
+    }
+
+    @Test
+    void slowSubscriberShouldLoseTheOldestMessages() {
+        MessageBroadcaster messageBroadcaster = createBroadcaster(ApplicationProperties.KafkaSse.OverflowPolicy.DROP_OLDEST);
+        SlowSubscriber slow = new SlowSubscriber();
+        messageBroadcaster.subscribe().subscribe(slow);
+
+        for (int i = 1; i <= 5; i++) {
+            messageBroadcaster.broadcast("message-" + i);
+        }
+        assertThat(gauge("kafka.sse.buffered")).isEqualTo(2);
+        assertThat(counter("kafka.sse.dropped")).isEqualTo(3);
+
+        slow.request(2);
+        assertThat(slow.received).containsExactly("message-4", "message-5");
+        assertThat(gauge("kafka.sse.buffered")).isZero();
+        messageBroadcaster.broadcast("message-6");
+        slow.request(1);
+        assertThat(slow.received).containsExactly("message-4", "message-5", "message-6");
+        assertThat(slow.terminated).isFalse();
+        slow.dispose();
+    }
+
+    @Test
+    void slowSubscriberShouldBeDisconnected() {
+        MessageBroadcaster messageBroadcaster = createBroadcaster(ApplicationProperties.KafkaSse.OverflowPolicy.DISCONNECT);
+        SlowSubscriber slow = new SlowSubscriber();
+        messageBroadcaster.subscribe().subscribe(slow);
+        List<String> others = new CopyOnWriteArrayList<>();
+        messageBroadcaster.subscribe().take(5).subscribe(others::add);
+        for (int i = 1; i <= 5; i++) {
+            messageBroadcaster.broadcast("message-" + i);
+        }
+        slow.requestUnbounded();
+
+        assertThat(others).hasSize(5);
+        assertThat(slow.received).hasSizeLessThanOrEqualTo(2);
+        assertThat(slow.terminated).isTrue();
+        assertThat(counter("kafka.sse.disconnected")).isEqualTo(1);
+        assertThat(counter("kafka.sse.dropped")).isZero();
+        assertThat(gauge("kafka.sse.buffered")).isZero();
+    }
+
+    /**
+     * A subscriber which only requests messages when told to.
+     */
+    private static class SlowSubscriber extends BaseSubscriber<String> {
+
+        private final List<String> received = new CopyOnWriteArrayList<>();
+
+        private boolean terminated;
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            // requests nothing until told to
+        }
+
+        @Override
+        protected void hookOnNext(String message) {
+            received.add(message);
+        }
+
+        @Override
+        protected void hookFinally(SignalType type) {
+            terminated = type != SignalType.CANCEL;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.erestaurant.admin.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.erestaurant.admin.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Unit tests for {@link CaffeineEntityCacheManager}.
+ */
+class CaffeineEntityCacheManagerTest {
+
+    private static final String ENTITY_TYPE = "role";
+
+    private MeterRegistry meterRegistry;
+    private EntityCache<String> cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CaffeineEntityCacheManager(new ApplicationProperties().getCache(), meterRegistry).getCache(ENTITY_TYPE);
+        loads = new AtomicInteger();
+    }
+
+    private Mono<String> load(String id) {
+        return Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            return "value-" + id;
+        });
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", ENTITY_TYPE).tag("result", result).counter().count();
+    }
+
+    @Test
+    void getShouldLoadOnceAndCountHitsAndMisses() {
+        assertThat(cache.get("1", this::load).block()).isEqualTo("value-1");
+        assertThat(cache.get("1", this::load).block()).isEqualTo("value-1");
+
+        assertThat(loads).hasValue(1);
+        assertThat(gets("miss")).isEqualTo(1);
+        assertThat(gets("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void getShouldNotCacheEmptyResults() {
+        assertThat(cache.get("1", id -> Mono.<String>empty().doOnSubscribe(s -> loads.incrementAndGet())).block()).isNull();
+        assertThat(cache.get("1", this::load).block()).isEqualTo("value-1");
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void evictShouldReloadTheEntityAndTheList() {
+        cache.get("1", this::load).block();
+        cache.getAll(() -> Flux.just("a", "b").doOnSubscribe(s -> loads.incrementAndGet())).collectList().block();
+
+        cache.evict("1");
+
+        assertThat(cache.get("1", this::load).block()).isEqualTo("value-1");
+        assertThat(cache.getAll(() -> Flux.just("a", "b", "c")).collectList().block()).containsExactly("a", "b", "c");
+        assertThat(loads).hasValue(3);
+        assertThat(gets("hit")).isZero();
+    }
+
+    @Test
+    void getAllShouldServeTheCachedList() {
+        cache.getAll(() -> Flux.just("a", "b")).collectList().block();
+
+        assertThat(cache.getAll(() -> Flux.just("c")).collectList().block()).containsExactly("a", "b");
+        assertThat(gets("hit")).isEqualTo(1);
+    }
+}
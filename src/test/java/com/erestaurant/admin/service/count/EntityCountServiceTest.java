@@ -0,0 +1,107 @@
+package com.erestaurant.admin.service.count;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.erestaurant.admin.config.ApplicationProperties;
+import com.erestaurant.admin.domain.Role;
+import com.erestaurant.admin.repository.EntityManager;
+import com.erestaurant.admin.service.event.EntityChangeEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+/**
+ * Unit tests for {@link EntityCountService}.
+ */
+class EntityCountServiceTest {
+
+    private static final String ENTITY_TYPE = "role";
+
+    private EntityManager entityManager;
+    private ApplicationProperties applicationProperties;
+    private EntityCountService entityCountService;
+
+    @BeforeEach
+    public void init() {
+        entityManager = mock(EntityManager.class);
+        when(entityManager.count(Role.class)).thenReturn(Mono.just(10L));
+        when(entityManager.countExactly(Role.class)).thenReturn(Mono.just(12L));
+        applicationProperties = new ApplicationProperties();
+        entityCountService = new EntityCountService(entityManager, applicationProperties);
+    }
+
+    @AfterEach
+    public void destroy() {
+        entityCountService.destroy();
+    }
+
+    private static EntityChangeEvent change(EntityChangeEvent.Operation operation) {
+        return new EntityChangeEvent(ENTITY_TYPE, "role-1", null, operation, "instance");
+    }
+
+    @Test
+    void countShouldBeQueriedOnceAndFollowTheChanges() {
+        EntityCount count = entityCountService.getCount(ENTITY_TYPE, Role.class);
+
+        assertThat(count.get().block()).isEqualTo(10L);
+        entityCountService.onEntityChange(change(EntityChangeEvent.Operation.CREATED));
+        entityCountService.onEntityChange(change(EntityChangeEvent.Operation.CREATED));
+        entityCountService.onEntityChange(change(EntityChangeEvent.Operation.UPDATED));
+        entityCountService.onEntityChange(change(EntityChangeEvent.Operation.DELETED));
+
+        assertThat(count.get().block()).isEqualTo(11L);
+        verify(entityManager, times(1)).count(Role.class);
+    }
+
+    @Test
+    void changesShouldBeIgnoredUntilTheCountIsQueried() {
+        EntityCount count = entityCountService.getCount(ENTITY_TYPE, Role.class);
+
+        entityCountService.onEntityChange(change(EntityChangeEvent.Operation.CREATED));
+
+        assertThat(count.get().block()).isEqualTo(10L);
+    }
+
+    @Test
+    void reconcileShouldQueryTheCountAgain() {
+        EntityCount count = entityCountService.getCount(ENTITY_TYPE, Role.class);
+        entityCountService.reconcile().block();
+        verify(entityManager, never()).count(Role.class);
+
+        assertThat(count.get().block()).isEqualTo(10L);
+        entityCountService.onEntityChange(change(EntityChangeEvent.Operation.DELETED));
+        when(entityManager.count(Role.class)).thenReturn(Mono.just(15L));
+        entityCountService.reconcile().block();
+
+        assertThat(count.get().block()).isEqualTo(15L);
+    }
+
+    @Test
+    void exactModeShouldCountExactly() {
+        entityCountService.destroy();
+        applicationProperties.getCount().setMode(ApplicationProperties.Count.Mode.EXACT);
+        entityCountService = new EntityCountService(entityManager, applicationProperties);
+
+        assertThat(entityCountService.getCount(ENTITY_TYPE, Role.class).get().block()).isEqualTo(12L);
+    }
+
+    @Test
+    void disabledCountShouldBeQueriedEveryTime() {
+        entityCountService.destroy();
+        applicationProperties.getCount().setEnabled(false);
+        entityCountService = new EntityCountService(entityManager, applicationProperties);
+        EntityCount count = entityCountService.getCount(ENTITY_TYPE, Role.class);
+
+        count.get().block();
+        entityCountService.onEntityChange(change(EntityChangeEvent.Operation.CREATED));
+
+        assertThat(count.get().block()).isEqualTo(10L);
+        verify(entityManager, times(2)).count(Role.class);
+    }
+}
@@ -0,0 +1,102 @@
+package com.erestaurant.admin.service.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.erestaurant.admin.IntegrationTest;
+import com.erestaurant.admin.config.EmbeddedKafka;
+import com.erestaurant.admin.config.KafkaEntityChangeConsumer;
+import com.erestaurant.admin.config.KafkaEntityChangeProducer;
+import com.erestaurant.admin.service.RoleService;
+import com.erestaurant.admin.service.dto.RoleDTO;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cloud.stream.test.binder.MessageCollector;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Integration tests for {@link KafkaEntityChangeBridge}.
+ * <p>
+ * Only the events published on the test thread are recorded, i.e. the ones received from the input channel.
+ */
+@IntegrationTest
+@EmbeddedKafka
+@RecordApplicationEvents
+class KafkaEntityChangeBridgeIT {
+
+    @Autowired
+    @Qualifier(KafkaEntityChangeProducer.CHANNELNAME)
+    private MessageChannel output;
+
+    @Autowired
+    @Qualifier(KafkaEntityChangeConsumer.CHANNELNAME)
+    private MessageChannel input;
+
+    @Autowired
+    private MessageCollector collector;
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private EntityChangePublisher entityChangePublisher;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Test
+    void sendsLocalChanges() throws InterruptedException {
+        String id = UUID.randomUUID().toString();
+        RoleDTO roleDTO = new RoleDTO();
+        roleDTO.setId(id);
+        roleService.save(roleDTO).block();
+
+        BlockingQueue<Message<?>> messages = collector.forChannel(output);
+        String payload = null;
+        while (payload == null || !payload.contains(id)) {
+            Message<?> message = messages.poll(5, TimeUnit.SECONDS);
+            assertThat(message).isNotNull();
+            payload = message.getPayload() instanceof byte[]
+                ? new String((byte[]) message.getPayload(), StandardCharsets.UTF_8)
+                : message.getPayload().toString();
+        }
+        assertThat(payload)
+            .contains("\"entityType\":\"role\"")
+            .contains("\"operation\":\"CREATED\"")
+            .contains("\"origin\":\"" + entityChangePublisher.getInstanceId() + "\"");
+    }
+
+    @Test
+    void publishesRemoteChanges() {
+        input.send(changes("other-instance", "remote-id"));
+
+        assertThat(applicationEvents.stream(EntityChangeEvent.class))
+            .containsExactly(new EntityChangeEvent("role", "remote-id", null, EntityChangeEvent.Operation.DELETED, "other-instance"));
+    }
+
+    @Test
+    void ignoresItsOwnChanges() {
+        input.send(changes(entityChangePublisher.getInstanceId(), "own-id"));
+
+        assertThat(applicationEvents.stream(EntityChangeEvent.class)).isEmpty();
+    }
+
+    private static Message<String> changes(String origin, String id) {
+        return MessageBuilder
+            .withPayload(
+                "[{\"entityType\":\"role\",\"id\":\"" + id + "\",\"operation\":\"DELETED\",\"origin\":\"" + origin + "\"}]"
+            )
+            .setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON_VALUE)
+            .build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.erestaurant.admin.service.feed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.erestaurant.admin.config.ApplicationProperties;
+import com.erestaurant.admin.service.event.EntityChangeEvent;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BaseSubscriber;
+
+/**
+ * Unit tests for {@link ChangeFeedService}.
+ */
+class ChangeFeedServiceTest {
+
+    private static final String ENTITY_TYPE = "discount";
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private ApplicationProperties applicationProperties;
+    private ChangeFeedService changeFeedService;
+
+    @BeforeEach
+    public void init() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getChangeFeed().setHistorySize(3);
+        applicationProperties.getChangeFeed().setMaxPending(2);
+        changeFeedService = new ChangeFeedService(applicationProperties);
+    }
+
+    private void publish(String id) {
+        changeFeedService.onEntityChange(new EntityChangeEvent(ENTITY_TYPE, id, 1L, EntityChangeEvent.Operation.UPDATED, "instance"));
+    }
+
+    private List<ChangeFeedEvent> publishAll(String... ids) {
+        CompletableFuture<List<ChangeFeedEvent>> events = changeFeedService
+            .getFeed(ENTITY_TYPE)
+            .changes(null)
+            .take(ids.length)
+            .collectList()
+            .toFuture();
+        for (String id : ids) {
+            publish(id);
+        }
+        return events.join();
+    }
+
+    private static List<String> ids(List<ChangeFeedEvent> events) {
+        return events.stream().map(ChangeFeedEvent::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void subscriberShouldGetTheChangesFromNowOn() {
+        ChangeFeed feed = changeFeedService.getFeed(ENTITY_TYPE);
+        publish("discount-1");
+
+        CompletableFuture<List<ChangeFeedEvent>> events = feed.changes(null).take(1).collectList().toFuture();
+        publish("discount-2");
+        changeFeedService.onEntityChange(new EntityChangeEvent("ad", "ad-1", 1L, EntityChangeEvent.Operation.CREATED, "instance"));
+
+        assertThat(ids(events.join())).containsExactly("discount-2");
+        assertThat(events.join().get(0).getEntityType()).isEqualTo(ENTITY_TYPE);
+        assertThat(events.join().get(0).getOperation()).isEqualTo(EntityChangeEvent.Operation.UPDATED);
+    }
+
+    @Test
+    void subscriberShouldResumeAfterTheLastEvent() {
+        List<ChangeFeedEvent> published = publishAll("discount-1", "discount-2", "discount-3");
+
+        List<ChangeFeedEvent> events = changeFeedService
+            .getFeed(ENTITY_TYPE)
+            .changes(published.get(0).getEventId())
+            .take(2)
+            .collectList()
+            .block(TIMEOUT);
+
+        assertThat(events)
+            .extracting(ChangeFeedEvent::getEventId)
+            .containsExactly(published.get(1).getEventId(), published.get(2).getEventId());
+    }
+
+    @Test
+    void subscriberShouldBeResetIfChangesAreNotKeptAnymore() {
+        List<ChangeFeedEvent> published = publishAll("discount-1", "discount-2", "discount-3", "discount-4", "discount-5");
+
+        List<ChangeFeedEvent> events = changeFeedService
+            .getFeed(ENTITY_TYPE)
+            .changes(published.get(0).getEventId())
+            .take(4)
+            .collectList()
+            .block(TIMEOUT);
+
+        assertThat(events.get(0).isReset()).isTrue();
+        assertThat(events.get(0).getEventId()).isEqualTo(published.get(1).getEventId());
+        assertThat(ids(events.subList(1, 4))).containsExactly("discount-3", "discount-4", "discount-5");
+    }
+
+    @Test
+    void subscriberShouldBeResetIfTheEventIsFromAnotherInstance() {
+        publishAll("discount-1");
+
+        ChangeFeedEvent event = changeFeedService.getFeed(ENTITY_TYPE).changes("other-1").blockFirst(TIMEOUT);
+
+        assertThat(event.isReset()).isTrue();
+        assertThat(event.getEntityType()).isEqualTo(ENTITY_TYPE);
+    }
+
+    @Test
+    void slowSubscriberShouldBeDisconnectedWithoutDelayingTheOthers() {
+        ChangeFeed feed = changeFeedService.getFeed(ENTITY_TYPE);
+        List<ChangeFeedEvent> received = new CopyOnWriteArrayList<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        BaseSubscriber<ChangeFeedEvent> slow = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                // requests nothing until the changes are published
+            }
+
+            @Override
+            protected void hookOnNext(ChangeFeedEvent event) {
+                received.add(event);
+            }
+
+            @Override
+            protected void hookOnError(Throwable throwable) {
+                error.set(throwable);
+            }
+        };
+        feed.changes(null).subscribe(slow);
+
+        List<ChangeFeedEvent> published = publishAll("discount-1", "discount-2", "discount-3");
+        slow.requestUnbounded();
+
+        assertThat(ids(published)).containsExactly("discount-1", "discount-2", "discount-3");
+        assertThat(received).hasSizeLessThanOrEqualTo(2);
+        assertThat(error.get()).matches(Exceptions::isOverflow);
+    }
+}
@@ -0,0 +1,133 @@
+package com.erestaurant.admin.service.image;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ImageMetadataStripper}.
+ */
+class ImageMetadataStripperTest {
+
+    private static final String LOCATION = "GPSLatitude 48.8584";
+
+    private static byte[] createImage(String format) throws IOException {
+        BufferedImage image = new BufferedImage(16, 8, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(3, 2, 0xff0000);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, format, output);
+        return output.toByteArray();
+    }
+
+    private static byte[] insert(byte[] image, int position, byte[]... parts) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        output.write(image, 0, position);
+        for (byte[] part : parts) {
+            output.write(part);
+        }
+        output.write(image, position, image.length - position);
+        return output.toByteArray();
+    }
+
+    private static byte[] jpegSegment(int marker, String content) {
+        byte[] data = content.getBytes(StandardCharsets.US_ASCII);
+        byte[] segment = new byte[data.length + 4];
+        segment[0] = (byte) 0xff;
+        segment[1] = (byte) marker;
+        segment[2] = (byte) ((data.length + 2) >> 8);
+        segment[3] = (byte) (data.length + 2);
+        System.arraycopy(data, 0, segment, 4, data.length);
+        return segment;
+    }
+
+    private static byte[] pngChunk(String type, String content) {
+        byte[] typeAndData = (type + content).getBytes(StandardCharsets.ISO_8859_1);
+        CRC32 crc = new CRC32();
+        crc.update(typeAndData);
+        int length = typeAndData.length - 4;
+        long value = crc.getValue();
+        byte[] chunk = new byte[typeAndData.length + 8];
+        chunk[0] = (byte) (length >> 24);
+        chunk[1] = (byte) (length >> 16);
+        chunk[2] = (byte) (length >> 8);
+        chunk[3] = (byte) length;
+        System.arraycopy(typeAndData, 0, chunk, 4, typeAndData.length);
+        chunk[chunk.length - 4] = (byte) (value >> 24);
+        chunk[chunk.length - 3] = (byte) (value >> 16);
+        chunk[chunk.length - 2] = (byte) (value >> 8);
+        chunk[chunk.length - 1] = (byte) value;
+        return chunk;
+    }
+
+    private static int[] pixels(byte[] image) throws IOException {
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(image));
+        return decoded.getRGB(0, 0, decoded.getWidth(), decoded.getHeight(), null, 0, decoded.getWidth());
+    }
+
+    private static boolean contains(byte[] image, String text) {
+        return new String(image, StandardCharsets.ISO_8859_1).contains(text);
+    }
+
+    @Test
+    void testJpegMetadataIsRemoved() throws Exception {
+        byte[] image = createImage("jpeg");
+        byte[] icc = jpegSegment(0xe2, "ICC_PROFILE\0\1\1profile");
+        byte[] uploaded = insert(
+            image,
+            2,
+            jpegSegment(0xe1, "Exif\0\0" + LOCATION),
+            icc,
+            jpegSegment(0xed, "Photoshop 3.0\0" + LOCATION),
+            jpegSegment(0xfe, LOCATION)
+        );
+        byte[] preview = "trailing preview".getBytes(StandardCharsets.US_ASCII);
+
+        byte[] stripped = ImageMetadataStripper.strip(insert(uploaded, uploaded.length, preview));
+
+        assertThat(contains(stripped, LOCATION)).isFalse();
+        assertThat(contains(stripped, "trailing preview")).isFalse();
+        assertThat(stripped).isEqualTo(insert(image, 2, icc));
+    }
+
+    @Test
+    void testJpegWithoutMetadataIsUnchanged() throws Exception {
+        byte[] image = createImage("jpeg");
+
+        assertThat(ImageMetadataStripper.strip(image)).isEqualTo(image);
+    }
+
+    @Test
+    void testPngMetadataIsRemoved() throws Exception {
+        byte[] image = createImage("png");
+        // after the signature and the header chunk
+        int afterHeader = 8 + 25;
+        byte[] uploaded = insert(
+            image,
+            afterHeader,
+            pngChunk("tEXt", "Comment\0" + LOCATION),
+            pngChunk("eXIf", "MM\0*" + LOCATION),
+            pngChunk("iTXt", "XML:com.adobe.xmp\0\0\0\0\0" + LOCATION)
+        );
+
+        byte[] stripped = ImageMetadataStripper.strip(uploaded);
+
+        assertThat(contains(stripped, LOCATION)).isFalse();
+        assertThat(stripped).isEqualTo(image);
+        assertThat(pixels(stripped)).isEqualTo(pixels(uploaded));
+    }
+
+    @Test
+    void testOtherFormatsAreUnchanged() throws Exception {
+        byte[] image = createImage("bmp");
+
+        assertThat(ImageMetadataStripper.strip(image)).isSameAs(image);
+        assertThat(ImageMetadataStripper.strip(new byte[] { 1, 2, 3 })).containsExactly(1, 2, 3);
+    }
+}
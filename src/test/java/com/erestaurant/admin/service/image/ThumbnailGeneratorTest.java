@@ -0,0 +1,87 @@
+package com.erestaurant.admin.service.image;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.erestaurant.admin.config.ApplicationProperties;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ThumbnailGenerator}.
+ */
+class ThumbnailGeneratorTest {
+
+    private ApplicationProperties applicationProperties;
+    private ThumbnailGenerator thumbnailGenerator;
+
+    @BeforeEach
+    public void init() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getThumbnail().setSize(64);
+        thumbnailGenerator = new ThumbnailGenerator(applicationProperties);
+    }
+
+    @AfterEach
+    public void destroy() {
+        thumbnailGenerator.destroy();
+    }
+
+    static byte[] createImage(int width, int height, int type, String format) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, type);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, format, output);
+        return output.toByteArray();
+    }
+
+    private static BufferedImage read(Thumbnail thumbnail) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(thumbnail.getContent()));
+    }
+
+    @Test
+    void testThumbnailFitsInTheSize() throws Exception {
+        Thumbnail thumbnail = thumbnailGenerator.generate(createImage(400, 200, BufferedImage.TYPE_INT_RGB, "png")).block();
+
+        assertThat(thumbnail).isNotNull();
+        assertThat(thumbnail.getContentType()).isEqualTo(ThumbnailGenerator.JPEG);
+        BufferedImage image = read(thumbnail);
+        assertThat(image.getWidth()).isEqualTo(64);
+        assertThat(image.getHeight()).isEqualTo(32);
+    }
+
+    @Test
+    void testSmallImageIsNotEnlarged() throws Exception {
+        Thumbnail thumbnail = thumbnailGenerator.generate(createImage(20, 10, BufferedImage.TYPE_INT_RGB, "bmp")).block();
+
+        assertThat(thumbnail).isNotNull();
+        BufferedImage image = read(thumbnail);
+        assertThat(image.getWidth()).isEqualTo(20);
+        assertThat(image.getHeight()).isEqualTo(10);
+    }
+
+    @Test
+    void testTransparentImageThumbnailIsPng() throws Exception {
+        Thumbnail thumbnail = thumbnailGenerator.generate(createImage(100, 100, BufferedImage.TYPE_INT_ARGB, "png")).block();
+
+        assertThat(thumbnail).isNotNull();
+        assertThat(thumbnail.getContentType()).isEqualTo(ThumbnailGenerator.PNG);
+        assertThat(read(thumbnail).getColorModel().hasAlpha()).isTrue();
+    }
+
+    @Test
+    void testNoThumbnailForUnsupportedContent() {
+        assertThat(thumbnailGenerator.generate(new byte[] { 1, 2, 3 }).block()).isNull();
+    }
+
+    @Test
+    void testNoThumbnailForTooLargeImage() throws Exception {
+        applicationProperties.getThumbnail().setMaxPixels(100 * 100 - 1);
+
+        assertThat(thumbnailGenerator.generate(createImage(100, 100, BufferedImage.TYPE_INT_RGB, "png")).block()).isNull();
+    }
+}
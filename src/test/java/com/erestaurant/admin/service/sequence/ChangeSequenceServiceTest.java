@@ -0,0 +1,44 @@
+package com.erestaurant.admin.service.sequence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.erestaurant.admin.service.event.EntityChangeEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ChangeSequenceService}.
+ */
+class ChangeSequenceServiceTest {
+
+    private ChangeSequenceService changeSequenceService;
+
+    @BeforeEach
+    public void init() {
+        changeSequenceService = new ChangeSequenceService();
+    }
+
+    private static EntityChangeEvent change(String entityType) {
+        return new EntityChangeEvent(entityType, "id-1", 0L, EntityChangeEvent.Operation.UPDATED, "instance");
+    }
+
+    @Test
+    void tagShouldChangeWithTheChangesOfItsEntityType() {
+        ChangeSequence sequence = changeSequenceService.getSequence("discount");
+        String tag = sequence.getTag();
+
+        changeSequenceService.onEntityChange(change("ad"));
+        assertThat(sequence.getTag()).isEqualTo(tag);
+
+        changeSequenceService.onEntityChange(change("discount"));
+        assertThat(sequence.getTag()).isNotEqualTo(tag);
+        assertThat(changeSequenceService.getSequence("discount")).isSameAs(sequence);
+    }
+
+    @Test
+    void tagsShouldDifferBetweenInstances() {
+        String tag = changeSequenceService.getSequence("discount").getTag();
+
+        assertThat(new ChangeSequenceService().getSequence("discount").getTag()).isNotEqualTo(tag);
+    }
+}
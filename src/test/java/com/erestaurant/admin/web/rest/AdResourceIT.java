@@ -299,8 +299,8 @@ class AdResourceIT {
 
         // Create the Ad
         AdDTO adDTO = adMapper.toDto(ad);
+        adDTO.setVersion(0L);
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
         webTestClient
             .put()
             .uri(ENTITY_API_URL_ID, adDTO.getId())
@@ -308,7 +308,7 @@ class AdResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(adDTO))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the Ad in the database
         List<Ad> adList = adRepository.findAll().collectList().block();
@@ -372,6 +372,7 @@ class AdResourceIT {
         // Update the ad using partial update
         Ad partialUpdatedAd = new Ad();
         partialUpdatedAd.setId(ad.getId());
+        partialUpdatedAd.setVersion(0L);
 
         partialUpdatedAd.url(UPDATED_URL).description(UPDATED_DESCRIPTION);
 
@@ -403,6 +404,7 @@ class AdResourceIT {
         // Update the ad using partial update
         Ad partialUpdatedAd = new Ad();
         partialUpdatedAd.setId(ad.getId());
+        partialUpdatedAd.setVersion(0L);
 
         partialUpdatedAd.url(UPDATED_URL).description(UPDATED_DESCRIPTION);
 
@@ -430,8 +432,8 @@ class AdResourceIT {
 
         // Create the Ad
         AdDTO adDTO = adMapper.toDto(ad);
+        adDTO.setVersion(0L);
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
         webTestClient
             .patch()
             .uri(ENTITY_API_URL_ID, adDTO.getId())
@@ -439,7 +441,7 @@ class AdResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(adDTO))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the Ad in the database
         List<Ad> adList = adRepository.findAll().collectList().block();
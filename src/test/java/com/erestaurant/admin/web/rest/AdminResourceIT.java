@@ -1,19 +1,28 @@
 package com.erestaurant.admin.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.csrf;
 
 import com.erestaurant.admin.IntegrationTest;
 import com.erestaurant.admin.domain.Admin;
 import com.erestaurant.admin.repository.AdminRepository;
 import com.erestaurant.admin.repository.EntityManager;
+import com.erestaurant.admin.service.blob.Blob;
 import com.erestaurant.admin.service.dto.AdminDTO;
 import com.erestaurant.admin.service.mapper.AdminMapper;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import javax.imageio.ImageIO;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,6 +31,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -43,6 +55,10 @@ class AdminResourceIT {
 
     private static final byte[] DEFAULT_IMAGE = TestUtil.createByteArray(1, "0");
     private static final byte[] UPDATED_IMAGE = TestUtil.createByteArray(1, "1");
+    private static final String DEFAULT_IMAGE_HASH = Blob.of(DEFAULT_IMAGE).getHash();
+    private static final String UPDATED_IMAGE_HASH = Blob.of(UPDATED_IMAGE).getHash();
+    private static final Long DEFAULT_IMAGE_SIZE = (long) DEFAULT_IMAGE.length;
+    private static final Long UPDATED_IMAGE_SIZE = (long) UPDATED_IMAGE.length;
     private static final String DEFAULT_IMAGE_CONTENT_TYPE = "image/jpg";
     private static final String UPDATED_IMAGE_CONTENT_TYPE = "image/png";
 
@@ -76,7 +92,8 @@ class AdminResourceIT {
         Admin admin = new Admin()
             .name(DEFAULT_NAME)
             .description(DEFAULT_DESCRIPTION)
-            .image(DEFAULT_IMAGE)
+            .imageHash(DEFAULT_IMAGE_HASH)
+            .imageSize(DEFAULT_IMAGE_SIZE)
             .imageContentType(DEFAULT_IMAGE_CONTENT_TYPE)
             .email(DEFAULT_EMAIL);
         return admin;
@@ -92,7 +109,8 @@ class AdminResourceIT {
         Admin admin = new Admin()
             .name(UPDATED_NAME)
             .description(UPDATED_DESCRIPTION)
-            .image(UPDATED_IMAGE)
+            .imageHash(UPDATED_IMAGE_HASH)
+            .imageSize(UPDATED_IMAGE_SIZE)
             .imageContentType(UPDATED_IMAGE_CONTENT_TYPE)
             .email(UPDATED_EMAIL);
         return admin;
@@ -142,8 +160,9 @@ class AdminResourceIT {
         Admin testAdmin = adminList.get(adminList.size() - 1);
         assertThat(testAdmin.getName()).isEqualTo(DEFAULT_NAME);
         assertThat(testAdmin.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
-        assertThat(testAdmin.getImage()).isEqualTo(DEFAULT_IMAGE);
-        assertThat(testAdmin.getImageContentType()).isEqualTo(DEFAULT_IMAGE_CONTENT_TYPE);
+        // the image is only referenced from an upload, never from a hash given by the client
+        assertThat(testAdmin.getImageHash()).isNull();
+        assertThat(testAdmin.getImageContentType()).isNull();
         assertThat(testAdmin.getEmail()).isEqualTo(DEFAULT_EMAIL);
     }
 
@@ -219,7 +238,6 @@ class AdminResourceIT {
         Admin testAdmin = adminList.get(0);
         assertThat(testAdmin.getName()).isEqualTo(DEFAULT_NAME);
         assertThat(testAdmin.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
-        assertThat(testAdmin.getImage()).isEqualTo(DEFAULT_IMAGE);
         assertThat(testAdmin.getImageContentType()).isEqualTo(DEFAULT_IMAGE_CONTENT_TYPE);
         assertThat(testAdmin.getEmail()).isEqualTo(DEFAULT_EMAIL);
     }
@@ -246,15 +264,55 @@ class AdminResourceIT {
             .jsonPath("$.[*].name")
             .value(hasItem(DEFAULT_NAME))
             .jsonPath("$.[*].description")
-            .value(hasItem(DEFAULT_DESCRIPTION.toString()))
+            .value(everyItem(nullValue()))
             .jsonPath("$.[*].imageContentType")
             .value(hasItem(DEFAULT_IMAGE_CONTENT_TYPE))
-            .jsonPath("$.[*].image")
-            .value(hasItem(Base64Utils.encodeToString(DEFAULT_IMAGE)))
+            .jsonPath("$.[*].imageHash")
+            .value(hasItem(DEFAULT_IMAGE_HASH))
             .jsonPath("$.[*].email")
             .value(hasItem(DEFAULT_EMAIL));
     }
 
+    @Test
+    void getAllAdminsWithFields() {
+        // Initialize the database
+        admin.setId(UUID.randomUUID().toString());
+        adminRepository.save(admin).block();
+
+        // Get the names and the descriptions of the adminList
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc&fields=name,description")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(admin.getId()))
+            .jsonPath("$.[*].name")
+            .value(hasItem(DEFAULT_NAME))
+            .jsonPath("$.[*].description")
+            .value(hasItem(DEFAULT_DESCRIPTION.toString()))
+            .jsonPath("$.[*].version")
+            .value(hasItem(0))
+            .jsonPath("$.[*].imageHash")
+            .value(everyItem(nullValue()))
+            .jsonPath("$.[*].email")
+            .value(everyItem(nullValue()));
+    }
+
+    @Test
+    void getAllAdminsWithUnsupportedField() {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?fields=name,password")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
     @Test
     void getAdmin() {
         // Initialize the database
@@ -280,12 +338,154 @@ class AdminResourceIT {
             .value(is(DEFAULT_DESCRIPTION.toString()))
             .jsonPath("$.imageContentType")
             .value(is(DEFAULT_IMAGE_CONTENT_TYPE))
-            .jsonPath("$.image")
-            .value(is(Base64Utils.encodeToString(DEFAULT_IMAGE)))
+            .jsonPath("$.imageHash")
+            .value(is(DEFAULT_IMAGE_HASH))
             .jsonPath("$.email")
             .value(is(DEFAULT_EMAIL));
     }
 
+    @Test
+    void getAdminImage() {
+        // Initialize the database
+        admin.setId(UUID.randomUUID().toString());
+        admin.imageHash(null).imageSize(null);
+        adminRepository.save(admin).block();
+        byte[] image = TestUtil.createByteArray(16, "1");
+
+        // Upload the image, which is not part of the serialized DTO
+        webTestClient
+            .patch()
+            .uri(ENTITY_API_URL_ID, admin.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(Map.of("id", admin.getId(), "version", 0, "image", Base64Utils.encodeToString(image)))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.imageHash")
+            .value(is(Blob.of(image).getHash()))
+            .jsonPath("$.image")
+            .doesNotExist();
+
+        // Get the image
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/image", admin.getId())
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(DEFAULT_IMAGE_CONTENT_TYPE)
+            .expectHeader()
+            .valueEquals(HttpHeaders.ETAG, "\"" + Blob.of(image).getHash() + "\"")
+            .expectHeader()
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .expectBody(byte[].class)
+            .isEqualTo(image);
+
+        // Revalidate the image
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/image", admin.getId())
+            .ifNoneMatch("\"" + Blob.of(image).getHash() + "\"")
+            .exchange()
+            .expectStatus()
+            .isNotModified()
+            .expectBody()
+            .isEmpty();
+
+        // Get a range of the image
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/image", admin.getId())
+            .header(HttpHeaders.RANGE, "bytes=0-3")
+            .exchange()
+            .expectStatus()
+            .isEqualTo(HttpStatus.PARTIAL_CONTENT)
+            .expectBody(byte[].class)
+            .isEqualTo(Arrays.copyOf(image, 4));
+    }
+
+    @Test
+    void getAdminThumbnail() throws Exception {
+        // Initialize the database
+        admin.setId(UUID.randomUUID().toString());
+        admin.imageHash(null).imageSize(null);
+        adminRepository.save(admin).block();
+        ByteArrayOutputStream image = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(1024, 512, BufferedImage.TYPE_INT_RGB), "png", image);
+
+        // Upload the image
+        webTestClient
+            .patch()
+            .uri(ENTITY_API_URL_ID, admin.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(Map.of("id", admin.getId(), "version", 0, "image", Base64Utils.encodeToString(image.toByteArray())))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.thumbnailHash")
+            .isNotEmpty()
+            .jsonPath("$.thumbnailContentType")
+            .value(is("image/jpeg"));
+
+        // Get the thumbnail
+        byte[] thumbnail = webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/thumbnail", admin.getId())
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(MediaType.IMAGE_JPEG)
+            .expectBody(byte[].class)
+            .returnResult()
+            .getResponseBody();
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(thumbnail));
+        assertThat(decoded.getWidth()).isEqualTo(128);
+        assertThat(decoded.getHeight()).isEqualTo(64);
+    }
+
+    @Test
+    void removeAdminImage() {
+        // Initialize the database
+        admin.setId(UUID.randomUUID().toString());
+        adminRepository.save(admin).block();
+
+        // Remove the image explicitly, the hashes given by the client are ignored
+        webTestClient
+            .patch()
+            .uri(ENTITY_API_URL_ID, admin.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(Map.of("id", admin.getId(), "version", 0, "removeImage", true, "imageHash", UPDATED_IMAGE_HASH))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.imageHash")
+            .doesNotExist()
+            .jsonPath("$.name")
+            .value(is(DEFAULT_NAME));
+
+        Admin testAdmin = adminRepository.findById(admin.getId()).block();
+        assertThat(testAdmin.getImageHash()).isNull();
+        assertThat(testAdmin.getImageSize()).isNull();
+        assertThat(testAdmin.getImageContentType()).isNull();
+        webTestClient.get().uri(ENTITY_API_URL_ID + "/image", admin.getId()).exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void getNonExistingAdminImage() {
+        // Initialize the database
+        admin.setId(UUID.randomUUID().toString());
+        admin.imageHash(null).imageSize(null);
+        adminRepository.save(admin).block();
+
+        // Get the image
+        webTestClient.get().uri(ENTITY_API_URL_ID + "/image", admin.getId()).exchange().expectStatus().isNotFound();
+    }
+
     @Test
     void getNonExistingAdmin() {
         // Get the admin
@@ -311,7 +511,8 @@ class AdminResourceIT {
         updatedAdmin
             .name(UPDATED_NAME)
             .description(UPDATED_DESCRIPTION)
-            .image(UPDATED_IMAGE)
+            .imageHash(UPDATED_IMAGE_HASH)
+            .imageSize(UPDATED_IMAGE_SIZE)
             .imageContentType(UPDATED_IMAGE_CONTENT_TYPE)
             .email(UPDATED_EMAIL);
         AdminDTO adminDTO = adminMapper.toDto(updatedAdmin);
@@ -331,8 +532,9 @@ class AdminResourceIT {
         Admin testAdmin = adminList.get(adminList.size() - 1);
         assertThat(testAdmin.getName()).isEqualTo(UPDATED_NAME);
         assertThat(testAdmin.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
-        assertThat(testAdmin.getImage()).isEqualTo(UPDATED_IMAGE);
-        assertThat(testAdmin.getImageContentType()).isEqualTo(UPDATED_IMAGE_CONTENT_TYPE);
+        // an update without image keeps the stored one, whatever hash the client gives
+        assertThat(testAdmin.getImageHash()).isEqualTo(DEFAULT_IMAGE_HASH);
+        assertThat(testAdmin.getImageContentType()).isEqualTo(DEFAULT_IMAGE_CONTENT_TYPE);
         assertThat(testAdmin.getEmail()).isEqualTo(UPDATED_EMAIL);
     }
 
@@ -343,8 +545,8 @@ class AdminResourceIT {
 
         // Create the Admin
         AdminDTO adminDTO = adminMapper.toDto(admin);
+        adminDTO.setVersion(0L);
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
         webTestClient
             .put()
             .uri(ENTITY_API_URL_ID, adminDTO.getId())
@@ -352,7 +554,7 @@ class AdminResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(adminDTO))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the Admin in the database
         List<Admin> adminList = adminRepository.findAll().collectList().block();
@@ -416,8 +618,14 @@ class AdminResourceIT {
         // Update the admin using partial update
         Admin partialUpdatedAdmin = new Admin();
         partialUpdatedAdmin.setId(admin.getId());
+        partialUpdatedAdmin.setVersion(0L);
 
-        partialUpdatedAdmin.name(UPDATED_NAME).image(UPDATED_IMAGE).imageContentType(UPDATED_IMAGE_CONTENT_TYPE).email(UPDATED_EMAIL);
+        partialUpdatedAdmin
+            .name(UPDATED_NAME)
+            .imageHash(UPDATED_IMAGE_HASH)
+            .imageSize(UPDATED_IMAGE_SIZE)
+            .imageContentType(UPDATED_IMAGE_CONTENT_TYPE)
+            .email(UPDATED_EMAIL);
 
         webTestClient
             .patch()
@@ -434,8 +642,9 @@ class AdminResourceIT {
         Admin testAdmin = adminList.get(adminList.size() - 1);
         assertThat(testAdmin.getName()).isEqualTo(UPDATED_NAME);
         assertThat(testAdmin.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
-        assertThat(testAdmin.getImage()).isEqualTo(UPDATED_IMAGE);
-        assertThat(testAdmin.getImageContentType()).isEqualTo(UPDATED_IMAGE_CONTENT_TYPE);
+        // an update without image keeps the stored one, whatever hash the client gives
+        assertThat(testAdmin.getImageHash()).isEqualTo(DEFAULT_IMAGE_HASH);
+        assertThat(testAdmin.getImageContentType()).isEqualTo(DEFAULT_IMAGE_CONTENT_TYPE);
         assertThat(testAdmin.getEmail()).isEqualTo(UPDATED_EMAIL);
     }
 
@@ -450,11 +659,13 @@ class AdminResourceIT {
         // Update the admin using partial update
         Admin partialUpdatedAdmin = new Admin();
         partialUpdatedAdmin.setId(admin.getId());
+        partialUpdatedAdmin.setVersion(0L);
 
         partialUpdatedAdmin
             .name(UPDATED_NAME)
             .description(UPDATED_DESCRIPTION)
-            .image(UPDATED_IMAGE)
+            .imageHash(UPDATED_IMAGE_HASH)
+            .imageSize(UPDATED_IMAGE_SIZE)
             .imageContentType(UPDATED_IMAGE_CONTENT_TYPE)
             .email(UPDATED_EMAIL);
 
@@ -473,8 +684,9 @@ class AdminResourceIT {
         Admin testAdmin = adminList.get(adminList.size() - 1);
         assertThat(testAdmin.getName()).isEqualTo(UPDATED_NAME);
         assertThat(testAdmin.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
-        assertThat(testAdmin.getImage()).isEqualTo(UPDATED_IMAGE);
-        assertThat(testAdmin.getImageContentType()).isEqualTo(UPDATED_IMAGE_CONTENT_TYPE);
+        // an update without image keeps the stored one, whatever hash the client gives
+        assertThat(testAdmin.getImageHash()).isEqualTo(DEFAULT_IMAGE_HASH);
+        assertThat(testAdmin.getImageContentType()).isEqualTo(DEFAULT_IMAGE_CONTENT_TYPE);
         assertThat(testAdmin.getEmail()).isEqualTo(UPDATED_EMAIL);
     }
 
@@ -485,8 +697,8 @@ class AdminResourceIT {
 
         // Create the Admin
         AdminDTO adminDTO = adminMapper.toDto(admin);
+        adminDTO.setVersion(0L);
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
         webTestClient
             .patch()
             .uri(ENTITY_API_URL_ID, adminDTO.getId())
@@ -494,7 +706,7 @@ class AdminResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(adminDTO))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the Admin in the database
         List<Admin> adminList = adminRepository.findAll().collectList().block();
@@ -331,8 +331,8 @@ class AppDiscountResourceIT {
 
         // Create the AppDiscount
         AppDiscountDTO appDiscountDTO = appDiscountMapper.toDto(appDiscount);
+        appDiscountDTO.setVersion(0L);
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
         webTestClient
             .put()
             .uri(ENTITY_API_URL_ID, appDiscountDTO.getId())
@@ -340,7 +340,7 @@ class AppDiscountResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(appDiscountDTO))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the AppDiscount in the database
         List<AppDiscount> appDiscountList = appDiscountRepository.findAll().collectList().block();
@@ -404,6 +404,7 @@ class AppDiscountResourceIT {
         // Update the appDiscount using partial update
         AppDiscount partialUpdatedAppDiscount = new AppDiscount();
         partialUpdatedAppDiscount.setId(appDiscount.getId());
+        partialUpdatedAppDiscount.setVersion(0L);
 
         partialUpdatedAppDiscount.percentage(UPDATED_PERCENTAGE);
 
@@ -436,6 +437,7 @@ class AppDiscountResourceIT {
         // Update the appDiscount using partial update
         AppDiscount partialUpdatedAppDiscount = new AppDiscount();
         partialUpdatedAppDiscount.setId(appDiscount.getId());
+        partialUpdatedAppDiscount.setVersion(0L);
 
         partialUpdatedAppDiscount.code(UPDATED_CODE).description(UPDATED_DESCRIPTION).percentage(UPDATED_PERCENTAGE);
 
@@ -464,8 +466,8 @@ class AppDiscountResourceIT {
 
         // Create the AppDiscount
         AppDiscountDTO appDiscountDTO = appDiscountMapper.toDto(appDiscount);
+        appDiscountDTO.setVersion(0L);
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
         webTestClient
             .patch()
             .uri(ENTITY_API_URL_ID, appDiscountDTO.getId())
@@ -473,7 +475,7 @@ class AppDiscountResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(appDiscountDTO))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the AppDiscount in the database
         List<AppDiscount> appDiscountList = appDiscountRepository.findAll().collectList().block();
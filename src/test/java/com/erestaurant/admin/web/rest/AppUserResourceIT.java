@@ -1,8 +1,10 @@
 package com.erestaurant.admin.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.csrf;
 
@@ -11,6 +13,7 @@ import com.erestaurant.admin.domain.AppUser;
 import com.erestaurant.admin.repository.AppUserRepository;
 import com.erestaurant.admin.repository.EntityManager;
 import com.erestaurant.admin.service.AppUserService;
+import com.erestaurant.admin.service.blob.Blob;
 import com.erestaurant.admin.service.dto.AppUserDTO;
 import com.erestaurant.admin.service.mapper.AppUserMapper;
 import java.time.Duration;
@@ -29,7 +32,6 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
-import org.springframework.util.Base64Utils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -50,6 +52,10 @@ class AppUserResourceIT {
 
     private static final byte[] DEFAULT_IMAGE = TestUtil.createByteArray(1, "0");
     private static final byte[] UPDATED_IMAGE = TestUtil.createByteArray(1, "1");
+    private static final String DEFAULT_IMAGE_HASH = Blob.of(DEFAULT_IMAGE).getHash();
+    private static final String UPDATED_IMAGE_HASH = Blob.of(UPDATED_IMAGE).getHash();
+    private static final Long DEFAULT_IMAGE_SIZE = (long) DEFAULT_IMAGE.length;
+    private static final Long UPDATED_IMAGE_SIZE = (long) UPDATED_IMAGE.length;
     private static final String DEFAULT_IMAGE_CONTENT_TYPE = "image/jpg";
     private static final String UPDATED_IMAGE_CONTENT_TYPE = "image/png";
 
@@ -89,7 +95,8 @@ class AppUserResourceIT {
         AppUser appUser = new AppUser()
             .name(DEFAULT_NAME)
             .description(DEFAULT_DESCRIPTION)
-            .image(DEFAULT_IMAGE)
+            .imageHash(DEFAULT_IMAGE_HASH)
+            .imageSize(DEFAULT_IMAGE_SIZE)
             .imageContentType(DEFAULT_IMAGE_CONTENT_TYPE)
             .email(DEFAULT_EMAIL);
         return appUser;
@@ -105,7 +112,8 @@ class AppUserResourceIT {
         AppUser appUser = new AppUser()
             .name(UPDATED_NAME)
             .description(UPDATED_DESCRIPTION)
-            .image(UPDATED_IMAGE)
+            .imageHash(UPDATED_IMAGE_HASH)
+            .imageSize(UPDATED_IMAGE_SIZE)
             .imageContentType(UPDATED_IMAGE_CONTENT_TYPE)
             .email(UPDATED_EMAIL);
         return appUser;
@@ -155,8 +163,9 @@ class AppUserResourceIT {
         AppUser testAppUser = appUserList.get(appUserList.size() - 1);
         assertThat(testAppUser.getName()).isEqualTo(DEFAULT_NAME);
         assertThat(testAppUser.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
-        assertThat(testAppUser.getImage()).isEqualTo(DEFAULT_IMAGE);
-        assertThat(testAppUser.getImageContentType()).isEqualTo(DEFAULT_IMAGE_CONTENT_TYPE);
+        // the image is only referenced from an upload, never from a hash given by the client
+        assertThat(testAppUser.getImageHash()).isNull();
+        assertThat(testAppUser.getImageContentType()).isNull();
         assertThat(testAppUser.getEmail()).isEqualTo(DEFAULT_EMAIL);
     }
 
@@ -232,7 +241,6 @@ class AppUserResourceIT {
         AppUser testAppUser = appUserList.get(0);
         assertThat(testAppUser.getName()).isEqualTo(DEFAULT_NAME);
         assertThat(testAppUser.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
-        assertThat(testAppUser.getImage()).isEqualTo(DEFAULT_IMAGE);
         assertThat(testAppUser.getImageContentType()).isEqualTo(DEFAULT_IMAGE_CONTENT_TYPE);
         assertThat(testAppUser.getEmail()).isEqualTo(DEFAULT_EMAIL);
     }
@@ -259,11 +267,11 @@ class AppUserResourceIT {
             .jsonPath("$.[*].name")
             .value(hasItem(DEFAULT_NAME))
             .jsonPath("$.[*].description")
-            .value(hasItem(DEFAULT_DESCRIPTION.toString()))
+            .value(everyItem(nullValue()))
             .jsonPath("$.[*].imageContentType")
             .value(hasItem(DEFAULT_IMAGE_CONTENT_TYPE))
-            .jsonPath("$.[*].image")
-            .value(hasItem(Base64Utils.encodeToString(DEFAULT_IMAGE)))
+            .jsonPath("$.[*].imageHash")
+            .value(hasItem(DEFAULT_IMAGE_HASH))
             .jsonPath("$.[*].email")
             .value(hasItem(DEFAULT_EMAIL));
     }
@@ -311,8 +319,8 @@ class AppUserResourceIT {
             .value(is(DEFAULT_DESCRIPTION.toString()))
             .jsonPath("$.imageContentType")
             .value(is(DEFAULT_IMAGE_CONTENT_TYPE))
-            .jsonPath("$.image")
-            .value(is(Base64Utils.encodeToString(DEFAULT_IMAGE)))
+            .jsonPath("$.imageHash")
+            .value(is(DEFAULT_IMAGE_HASH))
             .jsonPath("$.email")
             .value(is(DEFAULT_EMAIL));
     }
@@ -342,7 +350,8 @@ class AppUserResourceIT {
         updatedAppUser
             .name(UPDATED_NAME)
             .description(UPDATED_DESCRIPTION)
-            .image(UPDATED_IMAGE)
+            .imageHash(UPDATED_IMAGE_HASH)
+            .imageSize(UPDATED_IMAGE_SIZE)
             .imageContentType(UPDATED_IMAGE_CONTENT_TYPE)
             .email(UPDATED_EMAIL);
         AppUserDTO appUserDTO = appUserMapper.toDto(updatedAppUser);
@@ -362,8 +371,9 @@ class AppUserResourceIT {
         AppUser testAppUser = appUserList.get(appUserList.size() - 1);
         assertThat(testAppUser.getName()).isEqualTo(UPDATED_NAME);
         assertThat(testAppUser.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
-        assertThat(testAppUser.getImage()).isEqualTo(UPDATED_IMAGE);
-        assertThat(testAppUser.getImageContentType()).isEqualTo(UPDATED_IMAGE_CONTENT_TYPE);
+        // an update without image keeps the stored one, whatever hash the client gives
+        assertThat(testAppUser.getImageHash()).isEqualTo(DEFAULT_IMAGE_HASH);
+        assertThat(testAppUser.getImageContentType()).isEqualTo(DEFAULT_IMAGE_CONTENT_TYPE);
         assertThat(testAppUser.getEmail()).isEqualTo(UPDATED_EMAIL);
     }
 
@@ -374,8 +384,8 @@ class AppUserResourceIT {
 
         // Create the AppUser
         AppUserDTO appUserDTO = appUserMapper.toDto(appUser);
+        appUserDTO.setVersion(0L);
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
         webTestClient
             .put()
             .uri(ENTITY_API_URL_ID, appUserDTO.getId())
@@ -383,7 +393,7 @@ class AppUserResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(appUserDTO))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the AppUser in the database
         List<AppUser> appUserList = appUserRepository.findAll().collectList().block();
@@ -447,6 +457,7 @@ class AppUserResourceIT {
         // Update the appUser using partial update
         AppUser partialUpdatedAppUser = new AppUser();
         partialUpdatedAppUser.setId(appUser.getId());
+        partialUpdatedAppUser.setVersion(0L);
 
         partialUpdatedAppUser.name(UPDATED_NAME).description(UPDATED_DESCRIPTION);
 
@@ -465,7 +476,7 @@ class AppUserResourceIT {
         AppUser testAppUser = appUserList.get(appUserList.size() - 1);
         assertThat(testAppUser.getName()).isEqualTo(UPDATED_NAME);
         assertThat(testAppUser.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
-        assertThat(testAppUser.getImage()).isEqualTo(DEFAULT_IMAGE);
+        assertThat(testAppUser.getImageHash()).isEqualTo(DEFAULT_IMAGE_HASH);
         assertThat(testAppUser.getImageContentType()).isEqualTo(DEFAULT_IMAGE_CONTENT_TYPE);
         assertThat(testAppUser.getEmail()).isEqualTo(DEFAULT_EMAIL);
     }
@@ -481,11 +492,13 @@ class AppUserResourceIT {
         // Update the appUser using partial update
         AppUser partialUpdatedAppUser = new AppUser();
         partialUpdatedAppUser.setId(appUser.getId());
+        partialUpdatedAppUser.setVersion(0L);
 
         partialUpdatedAppUser
             .name(UPDATED_NAME)
             .description(UPDATED_DESCRIPTION)
-            .image(UPDATED_IMAGE)
+            .imageHash(UPDATED_IMAGE_HASH)
+            .imageSize(UPDATED_IMAGE_SIZE)
             .imageContentType(UPDATED_IMAGE_CONTENT_TYPE)
             .email(UPDATED_EMAIL);
 
@@ -504,8 +517,9 @@ class AppUserResourceIT {
         AppUser testAppUser = appUserList.get(appUserList.size() - 1);
         assertThat(testAppUser.getName()).isEqualTo(UPDATED_NAME);
         assertThat(testAppUser.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
-        assertThat(testAppUser.getImage()).isEqualTo(UPDATED_IMAGE);
-        assertThat(testAppUser.getImageContentType()).isEqualTo(UPDATED_IMAGE_CONTENT_TYPE);
+        // an update without image keeps the stored one, whatever hash the client gives
+        assertThat(testAppUser.getImageHash()).isEqualTo(DEFAULT_IMAGE_HASH);
+        assertThat(testAppUser.getImageContentType()).isEqualTo(DEFAULT_IMAGE_CONTENT_TYPE);
         assertThat(testAppUser.getEmail()).isEqualTo(UPDATED_EMAIL);
     }
 
@@ -516,8 +530,8 @@ class AppUserResourceIT {
 
         // Create the AppUser
         AppUserDTO appUserDTO = appUserMapper.toDto(appUser);
+        appUserDTO.setVersion(0L);
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
         webTestClient
             .patch()
             .uri(ENTITY_API_URL_ID, appUserDTO.getId())
@@ -525,7 +539,7 @@ class AppUserResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(appUserDTO))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the AppUser in the database
         List<AppUser> appUserList = appUserRepository.findAll().collectList().block();
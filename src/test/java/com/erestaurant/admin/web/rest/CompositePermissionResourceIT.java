@@ -267,8 +267,8 @@ class CompositePermissionResourceIT {
 
         // Create the CompositePermission
         CompositePermissionDTO compositePermissionDTO = compositePermissionMapper.toDto(compositePermission);
+        compositePermissionDTO.setVersion(0L);
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
         webTestClient
             .put()
             .uri(ENTITY_API_URL_ID, compositePermissionDTO.getId())
@@ -276,7 +276,7 @@ class CompositePermissionResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(compositePermissionDTO))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the CompositePermission in the database
         List<CompositePermission> compositePermissionList = compositePermissionRepository.findAll().collectList().block();
@@ -340,6 +340,7 @@ class CompositePermissionResourceIT {
         // Update the compositePermission using partial update
         CompositePermission partialUpdatedCompositePermission = new CompositePermission();
         partialUpdatedCompositePermission.setId(compositePermission.getId());
+        partialUpdatedCompositePermission.setVersion(0L);
 
         webTestClient
             .patch()
@@ -368,6 +369,7 @@ class CompositePermissionResourceIT {
         // Update the compositePermission using partial update
         CompositePermission partialUpdatedCompositePermission = new CompositePermission();
         partialUpdatedCompositePermission.setId(compositePermission.getId());
+        partialUpdatedCompositePermission.setVersion(0L);
 
         partialUpdatedCompositePermission.description(UPDATED_DESCRIPTION);
 
@@ -394,8 +396,8 @@ class CompositePermissionResourceIT {
 
         // Create the CompositePermission
         CompositePermissionDTO compositePermissionDTO = compositePermissionMapper.toDto(compositePermission);
+        compositePermissionDTO.setVersion(0L);
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
         webTestClient
             .patch()
             .uri(ENTITY_API_URL_ID, compositePermissionDTO.getId())
@@ -403,7 +405,7 @@ class CompositePermissionResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(compositePermissionDTO))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the CompositePermission in the database
         List<CompositePermission> compositePermissionList = compositePermissionRepository.findAll().collectList().block();
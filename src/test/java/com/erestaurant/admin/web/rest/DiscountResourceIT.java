@@ -1,6 +1,7 @@
 package com.erestaurant.admin.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.csrf;
@@ -9,11 +10,18 @@ import com.erestaurant.admin.IntegrationTest;
 import com.erestaurant.admin.domain.Discount;
 import com.erestaurant.admin.repository.DiscountRepository;
 import com.erestaurant.admin.repository.EntityManager;
+import com.erestaurant.admin.service.dto.BulkOperationDTO;
 import com.erestaurant.admin.service.dto.DiscountDTO;
 import com.erestaurant.admin.service.mapper.DiscountMapper;
+import com.erestaurant.admin.web.rest.util.EntityExporter;
+import com.erestaurant.admin.web.rest.util.KeysetPaginationUtil;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,8 +30,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.util.Base64Utils;
 
@@ -197,6 +210,118 @@ class DiscountResourceIT {
         assertThat(discountList).hasSize(databaseSizeBeforeTest);
     }
 
+    @Test
+    void getAllDiscountsByCursor() {
+        // Initialize the database
+        for (int i = 1; i <= 3; i++) {
+            Discount page = createEntity(em).id("discount-" + i).percentage((float) i);
+            discountRepository.save(page).block();
+        }
+
+        // Get the first page, sorted by percentage
+        EntityExchangeResult<byte[]> firstPage = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?cursor=&size=2&sort=percentage,desc")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .exists(KeysetPaginationUtil.HEADER_X_NEXT_CURSOR)
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .isEqualTo(List.of("discount-3", "discount-2"))
+            .returnResult();
+        String cursor = firstPage.getResponseHeaders().getFirst(KeysetPaginationUtil.HEADER_X_NEXT_CURSOR);
+
+        // Get the last page, continuing after the cursor
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?cursor={cursor}&size=2", cursor)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .doesNotExist(KeysetPaginationUtil.HEADER_X_NEXT_CURSOR)
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .isEqualTo(List.of("discount-1"));
+    }
+
+    @Test
+    void getAllDiscountsByInvalidCursor() {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?cursor=invalid&size=2")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
+    @Test
+    void exportDiscountsAsNdjson() {
+        // Initialize the database, with more discounts than the chunk size of the exports
+        for (int i = 1; i <= 3; i++) {
+            discountRepository.save(createEntity(em).id("discount-" + i).percentage((float) i)).block();
+        }
+
+        List<String> ids = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/_export")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .expectHeader()
+            .valueEquals(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"discounts.ndjson\"")
+            .returnResult(DiscountDTO.class)
+            .getResponseBody()
+            .map(DiscountDTO::getId)
+            .collectList()
+            .block(Duration.ofSeconds(5));
+
+        assertThat(ids).containsExactly("discount-1", "discount-2", "discount-3");
+    }
+
+    @Test
+    void exportDiscountsAsCsvAfterId() {
+        // Initialize the database
+        for (int i = 1; i <= 3; i++) {
+            discountRepository.save(createEntity(em).id("discount-" + i).percentage((float) i)).block();
+        }
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/_export?format=csv&after=discount-1")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentTypeCompatibleWith(EntityExporter.TEXT_CSV)
+            .expectBody(String.class)
+            .isEqualTo(
+                "id,code,description,percentage,version\r\n" +
+                "discount-2," +
+                DEFAULT_CODE +
+                "," +
+                DEFAULT_DESCRIPTION +
+                ",2.0,0\r\n" +
+                "discount-3," +
+                DEFAULT_CODE +
+                "," +
+                DEFAULT_DESCRIPTION +
+                ",3.0,0\r\n"
+            );
+    }
+
+    @Test
+    void exportDiscountsWithInvalidFormat() {
+        webTestClient.get().uri(ENTITY_API_URL + "/_export?format=xml").exchange().expectStatus().isBadRequest();
+    }
+
     @Test
     void getAllDiscountsAsStream() {
         // Initialize the database
@@ -254,6 +379,99 @@ class DiscountResourceIT {
             .value(hasItem(DEFAULT_PERCENTAGE.doubleValue()));
     }
 
+    @Test
+    void getAllDiscountsIfNoneMatch() throws Exception {
+        // Initialize the database
+        discount.setId(UUID.randomUUID().toString());
+        discountRepository.save(discount).block();
+
+        // The ETag of the list is weak and changes with every change of a discount
+        String eTag = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .returnResult()
+            .getResponseHeaders()
+            .getETag();
+        assertThat(eTag).startsWith("W/\"");
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc")
+            .accept(MediaType.APPLICATION_JSON)
+            .ifNoneMatch(eTag)
+            .exchange()
+            .expectStatus()
+            .isNotModified()
+            .expectHeader()
+            .valueEquals(HttpHeaders.ETAG, eTag);
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(discountMapper.toDto(createUpdatedEntity(em))))
+            .exchange()
+            .expectStatus()
+            .isCreated();
+
+        String changedETag = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc")
+            .accept(MediaType.APPLICATION_JSON)
+            .ifNoneMatch(eTag)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .returnResult()
+            .getResponseHeaders()
+            .getETag();
+        assertThat(changedETag).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void getAllDiscountsPaginated() {
+        // Initialize the database
+        for (int i = 0; i < 3; i++) {
+            discountRepository.save(createEntity(em).id("discount-" + i)).block();
+        }
+
+        // Get the second page of the discountList
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?page=1&size=2&sort=id,asc")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "3")
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(1)
+            .jsonPath("$.[0].id")
+            .isEqualTo("discount-2");
+
+        // The size of the page is limited by application.pagination.max-page-size
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?page=0&size=1000")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .value(HttpHeaders.LINK, containsString("size=100>"))
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(3);
+    }
+
     @Test
     void getDiscount() {
         // Initialize the database
@@ -281,6 +499,72 @@ class DiscountResourceIT {
             .value(is(DEFAULT_PERCENTAGE.doubleValue()));
     }
 
+    @Test
+    void getDiscountIfNoneMatch() {
+        // Initialize the database
+        discount.setId(UUID.randomUUID().toString());
+        discountRepository.save(discount).block();
+
+        // The ETag of the discount is its version
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, discount.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals(HttpHeaders.ETAG, "\"0\"")
+            .expectBody()
+            .jsonPath("$.version")
+            .value(is(0));
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, discount.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .ifNoneMatch("\"0\"")
+            .exchange()
+            .expectStatus()
+            .isNotModified();
+    }
+
+    @Test
+    void getDiscountChanges() throws Exception {
+        // The stream starts with a heartbeat, so the subscription is made once the response is received
+        CompletableFuture<ServerSentEvent<Map<String, Object>>> change = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/_changes")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .returnResult(new ParameterizedTypeReference<ServerSentEvent<Map<String, Object>>>() {})
+            .getResponseBody()
+            .filter(event -> event.event() != null)
+            .next()
+            .toFuture();
+
+        DiscountDTO discountDTO = discountMapper.toDto(discount);
+        String id = webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(discountDTO))
+            .exchange()
+            .expectStatus()
+            .isCreated()
+            .expectBody(DiscountDTO.class)
+            .returnResult()
+            .getResponseBody()
+            .getId();
+
+        ServerSentEvent<Map<String, Object>> event = change.get(10, TimeUnit.SECONDS);
+        assertThat(event.event()).isEqualTo("created");
+        assertThat(event.id()).isNotNull();
+        assertThat(event.data()).containsEntry("entityType", "discount").containsEntry("id", id).containsEntry("version", 0);
+    }
+
     @Test
     void getNonExistingDiscount() {
         // Get the discount
@@ -324,6 +608,108 @@ class DiscountResourceIT {
         assertThat(testDiscount.getPercentage()).isEqualTo(UPDATED_PERCENTAGE);
     }
 
+    @Test
+    void putDiscountIfMatch() throws Exception {
+        // Initialize the database
+        discount.setId(UUID.randomUUID().toString());
+        discountRepository.save(discount).block();
+
+        // Update the discount, the version of the body is replaced by the If-Match one
+        Discount updatedDiscount = discountRepository.findById(discount.getId()).block();
+        updatedDiscount.code(UPDATED_CODE).version(null);
+        DiscountDTO discountDTO = discountMapper.toDto(updatedDiscount);
+
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, discountDTO.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .ifMatch("\"0\"")
+            .bodyValue(TestUtil.convertObjectToJsonBytes(discountDTO))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals(HttpHeaders.ETAG, "\"1\"")
+            .expectBody()
+            .jsonPath("$.version")
+            .value(is(1));
+
+        // The same update again is based on a stale version
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, discountDTO.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .ifMatch("\"0\"")
+            .bodyValue(TestUtil.convertObjectToJsonBytes(discountDTO))
+            .exchange()
+            .expectStatus()
+            .isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        Discount testDiscount = discountRepository.findById(discount.getId()).block();
+        assertThat(testDiscount.getCode()).isEqualTo(UPDATED_CODE);
+        assertThat(testDiscount.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void putDiscountWithStaleVersion() throws Exception {
+        // Initialize the database
+        discount.setId(UUID.randomUUID().toString());
+        discountRepository.save(discount).block();
+
+        Discount updatedDiscount = discountRepository.findById(discount.getId()).block();
+        updatedDiscount.code(UPDATED_CODE).version(5L);
+        DiscountDTO discountDTO = discountMapper.toDto(updatedDiscount);
+
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, discountDTO.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(discountDTO))
+            .exchange()
+            .expectStatus()
+            .isEqualTo(HttpStatus.CONFLICT);
+
+        // Validate the Discount in the database
+        Discount testDiscount = discountRepository.findById(discount.getId()).block();
+        assertThat(testDiscount.getCode()).isEqualTo(DEFAULT_CODE);
+        assertThat(testDiscount.getVersion()).isZero();
+    }
+
+    @Test
+    void putDiscountWithoutVersion() throws Exception {
+        // Initialize the database
+        discount.setId(UUID.randomUUID().toString());
+        discountRepository.save(discount).block();
+
+        // Neither the body nor If-Match tell which version the update is based on
+        Discount updatedDiscount = discountRepository.findById(discount.getId()).block();
+        updatedDiscount.code(UPDATED_CODE).version(null);
+        DiscountDTO discountDTO = discountMapper.toDto(updatedDiscount);
+
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, discountDTO.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(discountDTO))
+            .exchange()
+            .expectStatus()
+            .isEqualTo(HttpStatus.PRECONDITION_REQUIRED);
+
+        webTestClient
+            .patch()
+            .uri(ENTITY_API_URL_ID, discountDTO.getId())
+            .contentType(MediaType.valueOf("application/merge-patch+json"))
+            .bodyValue(TestUtil.convertObjectToJsonBytes(discountDTO))
+            .exchange()
+            .expectStatus()
+            .isEqualTo(HttpStatus.PRECONDITION_REQUIRED);
+
+        // Validate the Discount in the database
+        Discount testDiscount = discountRepository.findById(discount.getId()).block();
+        assertThat(testDiscount.getCode()).isEqualTo(DEFAULT_CODE);
+        assertThat(testDiscount.getVersion()).isZero();
+    }
+
     @Test
     void putNonExistingDiscount() throws Exception {
         int databaseSizeBeforeUpdate = discountRepository.findAll().collectList().block().size();
@@ -331,8 +717,8 @@ class DiscountResourceIT {
 
         // Create the Discount
         DiscountDTO discountDTO = discountMapper.toDto(discount);
+        discountDTO.setVersion(0L);
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
         webTestClient
             .put()
             .uri(ENTITY_API_URL_ID, discountDTO.getId())
@@ -340,7 +726,7 @@ class DiscountResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(discountDTO))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the Discount in the database
         List<Discount> discountList = discountRepository.findAll().collectList().block();
@@ -404,6 +790,7 @@ class DiscountResourceIT {
         // Update the discount using partial update
         Discount partialUpdatedDiscount = new Discount();
         partialUpdatedDiscount.setId(discount.getId());
+        partialUpdatedDiscount.setVersion(0L);
 
         partialUpdatedDiscount.code(UPDATED_CODE);
 
@@ -436,6 +823,7 @@ class DiscountResourceIT {
         // Update the discount using partial update
         Discount partialUpdatedDiscount = new Discount();
         partialUpdatedDiscount.setId(discount.getId());
+        partialUpdatedDiscount.setVersion(0L);
 
         partialUpdatedDiscount.code(UPDATED_CODE).description(UPDATED_DESCRIPTION).percentage(UPDATED_PERCENTAGE);
 
@@ -464,8 +852,8 @@ class DiscountResourceIT {
 
         // Create the Discount
         DiscountDTO discountDTO = discountMapper.toDto(discount);
+        discountDTO.setVersion(0L);
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
         webTestClient
             .patch()
             .uri(ENTITY_API_URL_ID, discountDTO.getId())
@@ -473,7 +861,7 @@ class DiscountResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(discountDTO))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the Discount in the database
         List<Discount> discountList = discountRepository.findAll().collectList().block();
@@ -547,4 +935,123 @@ class DiscountResourceIT {
         List<Discount> discountList = discountRepository.findAll().collectList().block();
         assertThat(discountList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    void deleteNonExistingDiscount() {
+        // Initialize the database
+        discount.setId(UUID.randomUUID().toString());
+        discountRepository.save(discount).block();
+
+        String eTag = webTestClient
+            .get()
+            .uri(ENTITY_API_URL)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .returnResult()
+            .getResponseHeaders()
+            .getETag();
+
+        webTestClient
+            .delete()
+            .uri(ENTITY_API_URL_ID, UUID.randomUUID().toString())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isNoContent();
+
+        // Nothing was deleted, so no deletion is published and the list is not modified
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL)
+            .accept(MediaType.APPLICATION_JSON)
+            .ifNoneMatch(eTag)
+            .exchange()
+            .expectStatus()
+            .isNotModified();
+    }
+
+    @Test
+    void bulkDiscounts() throws Exception {
+        // Initialize the database
+        discount.setId("bulk-updated");
+        discountRepository.save(discount).block();
+        discountRepository.save(createEntity(em).id("bulk-deleted")).block();
+        discountRepository.save(createEntity(em).id("bulk-existing")).block();
+
+        DiscountDTO invalidDiscountDTO = discountMapper.toDto(createEntity(em).id("bulk-invalid"));
+        invalidDiscountDTO.setPercentage(null);
+        List<BulkOperationDTO<DiscountDTO>> operations = List.of(
+            bulkOperation(BulkOperationDTO.Operation.CREATE, discountMapper.toDto(createEntity(em).id("bulk-created"))),
+            bulkOperation(BulkOperationDTO.Operation.UPDATE, discountMapper.toDto(createUpdatedEntity(em).id("bulk-updated"))),
+            bulkOperation(BulkOperationDTO.Operation.DELETE, "bulk-deleted"),
+            bulkOperation(BulkOperationDTO.Operation.CREATE, invalidDiscountDTO),
+            bulkOperation(BulkOperationDTO.Operation.CREATE, discountMapper.toDto(createEntity(em).id("bulk-existing"))),
+            bulkOperation(BulkOperationDTO.Operation.UPDATE, discountMapper.toDto(createEntity(em).id("bulk-missing"))),
+            bulkOperation(BulkOperationDTO.Operation.DELETE, "bulk-created")
+        );
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/_bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(operations))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].index")
+            .isEqualTo(List.of(0, 1, 2, 3, 4, 5, 6))
+            .jsonPath("$.[*].status")
+            .isEqualTo(List.of(201, 200, 204, 400, 409, 404, 409))
+            .jsonPath("$.[3].message")
+            .isEqualTo("percentage: must not be null");
+
+        // Validate the Discounts in the database
+        assertThat(discountRepository.findById("bulk-created").block()).isNotNull();
+        assertThat(discountRepository.findById("bulk-updated").block().getCode()).isEqualTo(UPDATED_CODE);
+        assertThat(discountRepository.findById("bulk-deleted").block()).isNull();
+        assertThat(discountRepository.findById("bulk-invalid").block()).isNull();
+        assertThat(discountRepository.findById("bulk-missing").block()).isNull();
+    }
+
+    @Test
+    void bulkDiscountsAsNdjson() throws Exception {
+        StringBuilder operations = new StringBuilder();
+        for (int i = 1; i <= 3; i++) {
+            DiscountDTO discountDTO = discountMapper.toDto(createEntity(em).id("bulk-" + i));
+            byte[] operation = TestUtil.convertObjectToJsonBytes(bulkOperation(BulkOperationDTO.Operation.CREATE, discountDTO));
+            operations.append(new String(operation, StandardCharsets.UTF_8)).append('\n');
+        }
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/_bulk")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .bodyValue(operations.toString())
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].status")
+            .isEqualTo(List.of(201, 201, 201));
+
+        assertThat(discountRepository.findAll().collectList().block()).extracting(Discount::getId).contains("bulk-1", "bulk-2", "bulk-3");
+    }
+
+    private static BulkOperationDTO<DiscountDTO> bulkOperation(BulkOperationDTO.Operation operation, DiscountDTO discountDTO) {
+        BulkOperationDTO<DiscountDTO> bulkOperation = new BulkOperationDTO<>();
+        bulkOperation.setOperation(operation);
+        bulkOperation.setData(discountDTO);
+        return bulkOperation;
+    }
+
+    private static BulkOperationDTO<DiscountDTO> bulkOperation(BulkOperationDTO.Operation operation, String id) {
+        BulkOperationDTO<DiscountDTO> bulkOperation = new BulkOperationDTO<>();
+        bulkOperation.setOperation(operation);
+        bulkOperation.setId(id);
+        return bulkOperation;
+    }
 }
@@ -3,19 +3,27 @@ package com.erestaurant.admin.web.rest;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.erestaurant.admin.IntegrationTest;
+import com.erestaurant.admin.config.ApplicationProperties;
 import com.erestaurant.admin.config.EmbeddedKafka;
 import com.erestaurant.admin.config.KafkaSseConsumer;
 import com.erestaurant.admin.config.KafkaSseProducer;
-import java.time.Duration;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.cloud.stream.test.binder.MessageCollector;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.MessageHeaders;
@@ -23,6 +31,7 @@ import org.springframework.messaging.support.GenericMessage;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.util.MimeTypeUtils;
+import reactor.core.publisher.BaseSubscriber;
 
 @IntegrationTest
 @AutoConfigureMockMvc
@@ -44,6 +53,15 @@ class ERestaurantAdminKafkaResourceIT {
     @Autowired
     private MessageCollector collector;
 
+    @Autowired
+    private ERestaurantAdminKafkaResource resource;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void producesMessages() throws InterruptedException {
         client.post().uri("/api/e-restaurant-admin-kafka/publish?message=value-produce").exchange().expectStatus().isNoContent();
@@ -54,13 +72,9 @@ class ERestaurantAdminKafkaResourceIT {
     }
 
     @Test
-    void consumesMessages() {
-        Map<String, Object> map = new HashMap<>();
-        map.put(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.TEXT_PLAIN_VALUE);
-        MessageHeaders headers = new MessageHeaders(map);
-        Message<String> testMessage = new GenericMessage<>("value-consume", headers);
-        input.send(testMessage);
-        String value = client
+    void consumesMessages() throws Exception {
+        // the stream starts with a heartbeat, so the client is subscribed once the response is received
+        CompletableFuture<String> value = client
             .get()
             .uri("/api/e-restaurant-admin-kafka/consume")
             .accept(MediaType.TEXT_EVENT_STREAM)
@@ -71,7 +85,61 @@ class ERestaurantAdminKafkaResourceIT {
             .contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
             .returnResult(String.class)
             .getResponseBody()
-            .blockFirst(Duration.ofSeconds(10));
-        assertThat(value).isEqualTo("value-consume");
+            .next()
+            .toFuture();
+        input.send(message("value-consume"));
+        assertThat(value.get(10, TimeUnit.SECONDS)).isEqualTo("value-consume");
+    }
+
+    @Test
+    void broadcastsMessagesToThousandsOfClients() throws Exception {
+        int clients = 2000;
+        int slowClients = 500;
+        int bufferSize = applicationProperties.getKafkaSse().getBufferSize();
+        int messages = bufferSize + 100;
+        double subscribersBefore = gauge("kafka.sse.subscribers");
+        double bufferedBefore = gauge("kafka.sse.buffered");
+        double droppedBefore = meterRegistry.get("kafka.sse.dropped").counter().count();
+
+        List<CompletableFuture<List<String>>> received = IntStream
+            .range(0, clients)
+            .mapToObj(i -> resource.consume().filter(event -> event.data() != null).map(ServerSentEvent::data).take(messages))
+            .map(events -> events.collectList().toFuture())
+            .collect(Collectors.toList());
+        // the slow clients request nothing, as if their connection was stuck
+        List<BaseSubscriber<ServerSentEvent<String>>> slow = IntStream
+            .range(0, slowClients)
+            .mapToObj(i -> resource.consume().subscribeWith(new BaseSubscriber<ServerSentEvent<String>>() {
+                @Override
+                protected void hookOnSubscribe(Subscription subscription) {}
+            }))
+            .collect(Collectors.toList());
+        assertThat(gauge("kafka.sse.subscribers")).isEqualTo(subscribersBefore + clients + slowClients);
+
+        List<String> sent = IntStream.range(0, messages).mapToObj(i -> "value-" + i).collect(Collectors.toList());
+        sent.forEach(value -> input.send(message(value)));
+
+        for (CompletableFuture<List<String>> values : received) {
+            assertThat(values.get(10, TimeUnit.SECONDS)).isEqualTo(sent);
+        }
+        // the buffers of the slow clients are full, the messages prefetched by the stream of a client are not counted
+        assertThat(gauge("kafka.sse.buffered")).isEqualTo(bufferedBefore + slowClients * bufferSize);
+        assertThat(meterRegistry.get("kafka.sse.dropped").counter().count() - droppedBefore)
+            .isPositive()
+            .isLessThanOrEqualTo(slowClients * (messages - bufferSize));
+
+        slow.forEach(BaseSubscriber::dispose);
+        assertThat(gauge("kafka.sse.subscribers")).isEqualTo(subscribersBefore);
+        assertThat(gauge("kafka.sse.buffered")).isEqualTo(bufferedBefore);
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private static Message<String> message(String payload) {
+        Map<String, Object> map = new HashMap<>();
+        map.put(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.TEXT_PLAIN_VALUE);
+        return new GenericMessage<>(payload, new MessageHeaders(map));
     }
 }
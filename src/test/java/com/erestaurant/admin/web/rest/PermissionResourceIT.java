@@ -267,8 +267,8 @@ class PermissionResourceIT {
 
         // Create the Permission
         PermissionDTO permissionDTO = permissionMapper.toDto(permission);
+        permissionDTO.setVersion(0L);
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
         webTestClient
             .put()
             .uri(ENTITY_API_URL_ID, permissionDTO.getId())
@@ -276,7 +276,7 @@ class PermissionResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(permissionDTO))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the Permission in the database
         List<Permission> permissionList = permissionRepository.findAll().collectList().block();
@@ -340,6 +340,7 @@ class PermissionResourceIT {
         // Update the permission using partial update
         Permission partialUpdatedPermission = new Permission();
         partialUpdatedPermission.setId(permission.getId());
+        partialUpdatedPermission.setVersion(0L);
 
         partialUpdatedPermission.description(UPDATED_DESCRIPTION);
 
@@ -370,6 +371,7 @@ class PermissionResourceIT {
         // Update the permission using partial update
         Permission partialUpdatedPermission = new Permission();
         partialUpdatedPermission.setId(permission.getId());
+        partialUpdatedPermission.setVersion(0L);
 
         partialUpdatedPermission.description(UPDATED_DESCRIPTION);
 
@@ -396,8 +398,8 @@ class PermissionResourceIT {
 
         // Create the Permission
         PermissionDTO permissionDTO = permissionMapper.toDto(permission);
+        permissionDTO.setVersion(0L);
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
         webTestClient
             .patch()
             .uri(ENTITY_API_URL_ID, permissionDTO.getId())
@@ -405,7 +407,7 @@ class PermissionResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(permissionDTO))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the Permission in the database
         List<Permission> permissionList = permissionRepository.findAll().collectList().block();
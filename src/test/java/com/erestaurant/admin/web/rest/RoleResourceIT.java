@@ -267,8 +267,8 @@ class RoleResourceIT {
 
         // Create the Role
         RoleDTO roleDTO = roleMapper.toDto(role);
+        roleDTO.setVersion(0L);
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
         webTestClient
             .put()
             .uri(ENTITY_API_URL_ID, roleDTO.getId())
@@ -276,7 +276,7 @@ class RoleResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(roleDTO))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the Role in the database
         List<Role> roleList = roleRepository.findAll().collectList().block();
@@ -340,6 +340,7 @@ class RoleResourceIT {
         // Update the role using partial update
         Role partialUpdatedRole = new Role();
         partialUpdatedRole.setId(role.getId());
+        partialUpdatedRole.setVersion(0L);
 
         webTestClient
             .patch()
@@ -368,6 +369,7 @@ class RoleResourceIT {
         // Update the role using partial update
         Role partialUpdatedRole = new Role();
         partialUpdatedRole.setId(role.getId());
+        partialUpdatedRole.setVersion(0L);
 
         partialUpdatedRole.description(UPDATED_DESCRIPTION);
 
@@ -394,8 +396,8 @@ class RoleResourceIT {
 
         // Create the Role
         RoleDTO roleDTO = roleMapper.toDto(role);
+        roleDTO.setVersion(0L);
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
         webTestClient
             .patch()
             .uri(ENTITY_API_URL_ID, roleDTO.getId())
@@ -403,7 +405,7 @@ class RoleResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(roleDTO))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the Role in the database
         List<Role> roleList = roleRepository.findAll().collectList().block();
@@ -267,8 +267,8 @@ class SimplePermissionResourceIT {
 
         // Create the SimplePermission
         SimplePermissionDTO simplePermissionDTO = simplePermissionMapper.toDto(simplePermission);
+        simplePermissionDTO.setVersion(0L);
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
         webTestClient
             .put()
             .uri(ENTITY_API_URL_ID, simplePermissionDTO.getId())
@@ -276,7 +276,7 @@ class SimplePermissionResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(simplePermissionDTO))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the SimplePermission in the database
         List<SimplePermission> simplePermissionList = simplePermissionRepository.findAll().collectList().block();
@@ -340,6 +340,7 @@ class SimplePermissionResourceIT {
         // Update the simplePermission using partial update
         SimplePermission partialUpdatedSimplePermission = new SimplePermission();
         partialUpdatedSimplePermission.setId(simplePermission.getId());
+        partialUpdatedSimplePermission.setVersion(0L);
 
         partialUpdatedSimplePermission.description(UPDATED_DESCRIPTION);
 
@@ -370,6 +371,7 @@ class SimplePermissionResourceIT {
         // Update the simplePermission using partial update
         SimplePermission partialUpdatedSimplePermission = new SimplePermission();
         partialUpdatedSimplePermission.setId(simplePermission.getId());
+        partialUpdatedSimplePermission.setVersion(0L);
 
         partialUpdatedSimplePermission.description(UPDATED_DESCRIPTION);
 
@@ -396,8 +398,8 @@ class SimplePermissionResourceIT {
 
         // Create the SimplePermission
         SimplePermissionDTO simplePermissionDTO = simplePermissionMapper.toDto(simplePermission);
+        simplePermissionDTO.setVersion(0L);
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
         webTestClient
             .patch()
             .uri(ENTITY_API_URL_ID, simplePermissionDTO.getId())
@@ -405,7 +407,7 @@ class SimplePermissionResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(simplePermissionDTO))
             .exchange()
             .expectStatus()
-            .isBadRequest();
+            .isNotFound();
 
         // Validate the SimplePermission in the database
         List<SimplePermission> simplePermissionList = simplePermissionRepository.findAll().collectList().block();